@@ -0,0 +1,73 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmarks;
+
+import java.io.Reader;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.jdbc.ScriptRunner;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Shared benchmark state: an in-memory HSQLDB database holding {@link #ROWS} items and a {@link SqlSessionFactory}
+ * built from the benchmark <code>mybatis-config.xml</code>.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkState {
+
+  public static final int ROWS = 1000;
+
+  private static final String CONFIG = "org/apache/ibatis/benchmarks/mybatis-config.xml";
+  private static final String DDL = "org/apache/ibatis/benchmarks/CreateDB.sql";
+
+  SqlSessionFactory sqlSessionFactory;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader(CONFIG)) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    DataSource dataSource = getConfiguration().getEnvironment().getDataSource();
+    try (Reader reader = Resources.getResourceAsReader(DDL)) {
+      ScriptRunner runner = new ScriptRunner(dataSource.getConnection());
+      runner.setLogWriter(null);
+      runner.runScript(reader);
+      runner.closeConnection();
+    }
+    try (SqlSession session = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      ItemMapper mapper = session.getMapper(ItemMapper.class);
+      for (int i = 1; i <= ROWS; i++) {
+        mapper.insert(Item.create(i));
+      }
+      session.commit();
+    }
+  }
+
+  Configuration getConfiguration() {
+    return sqlSessionFactory.getConfiguration();
+  }
+
+}
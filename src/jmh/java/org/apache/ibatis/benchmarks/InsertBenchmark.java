@@ -0,0 +1,63 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures batch inserts through {@code BatchExecutor}, reported per inserted row. Every invocation is rolled back so
+ * the table keeps its initial size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InsertBenchmark {
+
+  private static final int BATCH_SIZE = 500;
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH_SIZE)
+  public int batchInsert(BenchmarkState state) {
+    try (SqlSession session = state.sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      ItemMapper mapper = session.getMapper(ItemMapper.class);
+      int offset = BenchmarkState.ROWS + 1;
+      for (int i = 0; i < BATCH_SIZE; i++) {
+        mapper.insert(Item.create(offset + i));
+      }
+      int count = 0;
+      for (BatchResult result : session.flushStatements()) {
+        count += result.getUpdateCounts().length;
+      }
+      session.rollback(true);
+      return count;
+    }
+  }
+
+}
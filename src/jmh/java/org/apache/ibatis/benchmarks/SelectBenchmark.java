@@ -0,0 +1,65 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.session.SqlSession;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the full <code>selectList</code> path: {@code DefaultSqlSession} → {@code CachingExecutor} →
+ * {@code SimpleExecutor} → {@code DefaultResultSetHandler}. The multi-row benchmarks report the cost per mapped row.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SelectBenchmark {
+
+  @Benchmark
+  @OperationsPerInvocation(BenchmarkState.ROWS)
+  public List<Item> selectListAutoMapping(BenchmarkState state) {
+    try (SqlSession session = state.sqlSessionFactory.openSession()) {
+      return session.getMapper(ItemMapper.class).selectAll();
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BenchmarkState.ROWS)
+  public List<Item> selectListResultMap(BenchmarkState state) {
+    try (SqlSession session = state.sqlSessionFactory.openSession()) {
+      return session.getMapper(ItemMapper.class).selectAllWithResultMap();
+    }
+  }
+
+  @Benchmark
+  public Item selectOne(BenchmarkState state) {
+    try (SqlSession session = state.sqlSessionFactory.openSession()) {
+      return session.getMapper(ItemMapper.class).selectById(BenchmarkState.ROWS / 2);
+    }
+  }
+
+}
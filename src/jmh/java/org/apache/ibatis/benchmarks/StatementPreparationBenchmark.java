@@ -0,0 +1,110 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.benchmarks;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.transaction.jdbc.JdbcTransaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the per-call work done before a statement reaches the driver: dynamic SQL rendering, {@link CacheKey}
+ * creation and parameter binding.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatementPreparationBenchmark {
+
+  private Configuration configuration;
+  private MappedStatement search;
+  private Map<String, Object> criteria;
+  private BoundSql boundSql;
+  private Executor executor;
+  private Connection connection;
+  private PreparedStatement preparedStatement;
+
+  @Setup(Level.Trial)
+  public void setUp(BenchmarkState state) throws SQLException {
+    configuration = state.getConfiguration();
+    search = configuration.getMappedStatement("org.apache.ibatis.benchmarks.ItemMapper.search");
+    criteria = new HashMap<>();
+    criteria.put("name", "item-%");
+    criteria.put("minPrice", new BigDecimal("1.00"));
+    criteria.put("maxPrice", new BigDecimal("9.00"));
+    criteria.put("active", Boolean.TRUE);
+    criteria.put("ids", Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9, 10));
+    boundSql = search.getBoundSql(criteria);
+    executor = configuration.newExecutor(
+        new JdbcTransaction(configuration.getEnvironment().getDataSource(), null, false), ExecutorType.SIMPLE);
+    connection = configuration.getEnvironment().getDataSource().getConnection();
+    preparedStatement = connection.prepareStatement(boundSql.getSql());
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws SQLException {
+    preparedStatement.close();
+    connection.close();
+    executor.close(false);
+  }
+
+  @Benchmark
+  public BoundSql renderDynamicSql() {
+    return search.getBoundSql(criteria);
+  }
+
+  @Benchmark
+  public CacheKey createCacheKey() {
+    return executor.createCacheKey(search, criteria, RowBounds.DEFAULT, boundSql);
+  }
+
+  @Benchmark
+  public PreparedStatement bindParameters() throws SQLException {
+    ParameterHandler parameterHandler = configuration.newParameterHandler(search, criteria, boundSql);
+    parameterHandler.setParameters(preparedStatement);
+    return preparedStatement;
+  }
+
+}
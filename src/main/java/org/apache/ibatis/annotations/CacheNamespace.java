@@ -72,6 +72,24 @@ public @interface CacheNamespace {
    */
   long flushInterval() default 0;
 
+  /**
+   * Returns the time in milliseconds after which each entry expires once it has been put in the cache.
+   *
+   * @return the expiration time, {@code 0} if entries do not expire after write
+   *
+   * @since 3.5.17
+   */
+  long expireAfterWrite() default 0;
+
+  /**
+   * Returns the time in milliseconds after which each entry expires once it has been put in or read from the cache.
+   *
+   * @return the expiration time, {@code 0} if entries do not expire after access
+   *
+   * @since 3.5.17
+   */
+  long expireAfterAccess() default 0;
+
   /**
    * Return the cache size.
    *
@@ -136,6 +136,21 @@ public @interface Options {
    */
   String resultSets() default "";
 
+  /**
+   * Returns the tables that the statement reads or writes, used when the {@code cacheInvalidationScope} setting is
+   * {@code TABLE}. When empty, the tables are derived from the SQL. When the {@code maxBatchStatements} setting is set,
+   * only updates that declare their tables, including those they reference through foreign keys, are grouped with
+   * earlier statements of the batch.
+   * <p>
+   * If you specify multiple table, please separate using comma(',').
+   * </p>
+   *
+   * @return table names that separate with comma(',')
+   *
+   * @since 3.5.17
+   */
+  String tables() default "";
+
   /**
    * @return A database id that correspond this options
    *
@@ -16,6 +16,8 @@
 package org.apache.ibatis.builder;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
@@ -36,13 +38,42 @@ public class SqlSourceBuilder extends BaseBuilder {
 
   private static final String PARAMETER_PROPERTIES = "javaType,jdbcType,mode,numericScale,resultMap,typeHandler,jdbcTypeName";
 
+  /**
+   * The content of a placeholder whose mapping was resolved while rendering the SQL, e.g. by a {@code <foreach>}. Such
+   * placeholders take the given resolved mappings in order.
+   *
+   * @since 3.5.17
+   */
+  public static final String RESOLVED_PARAMETER = "\u0000";
+
   public SqlSourceBuilder(Configuration configuration) {
     super(configuration);
   }
 
   public SqlSource parse(String originalSql, Class<?> parameterType, Map<String, Object> additionalParameters) {
+    return parse(originalSql, parameterType, additionalParameters, Collections.emptyList());
+  }
+
+  /**
+   * Parses the placeholders of a SQL.
+   *
+   * @param originalSql
+   *          the SQL
+   * @param parameterType
+   *          the parameter type
+   * @param additionalParameters
+   *          the additional parameters
+   * @param resolvedParameterMappings
+   *          the mappings of the placeholders whose content is {@link #RESOLVED_PARAMETER}, in order
+   *
+   * @return the SQL source
+   *
+   * @since 3.5.17
+   */
+  public SqlSource parse(String originalSql, Class<?> parameterType, Map<String, Object> additionalParameters,
+      List<ParameterMapping> resolvedParameterMappings) {
     ParameterMappingTokenHandler handler = new ParameterMappingTokenHandler(configuration, parameterType,
-        additionalParameters);
+        additionalParameters, resolvedParameterMappings.iterator());
     GenericTokenParser parser = new GenericTokenParser("#{", "}", handler);
     String sql;
     if (configuration.isShrinkWhitespacesInSql()) {
@@ -50,9 +81,30 @@ public class SqlSourceBuilder extends BaseBuilder {
     } else {
       sql = parser.parse(originalSql);
     }
+    if (handler.resolvedParameterMappings.hasNext()) {
+      throw new BuilderException("The SQL has fewer resolved parameter placeholders than resolved parameter mappings.");
+    }
     return new StaticSqlSource(configuration, sql, handler.getParameterMappings());
   }
 
+  /**
+   * Builds the mapping of the content of a {@code #{}} placeholder whose property type is known.
+   *
+   * @param content
+   *          the content of the placeholder
+   * @param propertyType
+   *          the type of the property
+   *
+   * @return the parameter mapping
+   *
+   * @since 3.5.17
+   */
+  public ParameterMapping buildParameterMapping(String content, Class<?> propertyType) {
+    ParameterMappingTokenHandler handler = new ParameterMappingTokenHandler(configuration, Object.class,
+        Collections.emptyMap(), Collections.emptyIterator());
+    return handler.buildParameterMapping(content, handler.parseParameterMapping(content), propertyType);
+  }
+
   public static String removeExtraWhitespaces(String original) {
     StringTokenizer tokenizer = new StringTokenizer(original);
     StringBuilder builder = new StringBuilder();
@@ -72,12 +124,14 @@ public class SqlSourceBuilder extends BaseBuilder {
     private final List<ParameterMapping> parameterMappings = new ArrayList<>();
     private final Class<?> parameterType;
     private final MetaObject metaParameters;
+    private final Iterator<ParameterMapping> resolvedParameterMappings;
 
     public ParameterMappingTokenHandler(Configuration configuration, Class<?> parameterType,
-        Map<String, Object> additionalParameters) {
+        Map<String, Object> additionalParameters, Iterator<ParameterMapping> resolvedParameterMappings) {
       super(configuration);
       this.parameterType = parameterType;
       this.metaParameters = configuration.newMetaObject(additionalParameters);
+      this.resolvedParameterMappings = resolvedParameterMappings;
     }
 
     public List<ParameterMapping> getParameterMappings() {
@@ -86,7 +140,15 @@ public class SqlSourceBuilder extends BaseBuilder {
 
     @Override
     public String handleToken(String content) {
-      parameterMappings.add(buildParameterMapping(content));
+      if (RESOLVED_PARAMETER.equals(content)) {
+        if (!resolvedParameterMappings.hasNext()) {
+          throw new BuilderException(
+              "The SQL has more resolved parameter placeholders than resolved parameter mappings.");
+        }
+        parameterMappings.add(resolvedParameterMappings.next());
+      } else {
+        parameterMappings.add(buildParameterMapping(content));
+      }
       return "?";
     }
 
@@ -110,6 +172,12 @@ public class SqlSourceBuilder extends BaseBuilder {
           propertyType = Object.class;
         }
       }
+      return buildParameterMapping(content, propertiesMap, propertyType);
+    }
+
+    private ParameterMapping buildParameterMapping(String content, Map<String, String> propertiesMap,
+        Class<?> propertyType) {
+      String property = propertiesMap.get("property");
       ParameterMapping.Builder builder = new ParameterMapping.Builder(configuration, property, propertyType);
       Class<?> javaType = propertyType;
       String typeHandlerAlias = null;
@@ -39,8 +39,10 @@ import org.apache.ibatis.reflection.MetaClass;
 import org.apache.ibatis.reflection.ReflectorFactory;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
 import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
+import org.apache.ibatis.scripting.xmltags.ExpressionEngine;
 import org.apache.ibatis.session.AutoMappingBehavior;
 import org.apache.ibatis.session.AutoMappingUnknownColumnBehavior;
+import org.apache.ibatis.session.CacheInvalidationScope;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.LocalCacheScope;
@@ -277,6 +279,8 @@ public class XMLConfigBuilder extends BaseBuilder {
     configuration.setMapUnderscoreToCamelCase(booleanValueOf(props.getProperty("mapUnderscoreToCamelCase"), false));
     configuration.setSafeRowBoundsEnabled(booleanValueOf(props.getProperty("safeRowBoundsEnabled"), false));
     configuration.setLocalCacheScope(LocalCacheScope.valueOf(props.getProperty("localCacheScope", "SESSION")));
+    configuration.setCacheInvalidationScope(
+        CacheInvalidationScope.valueOf(props.getProperty("cacheInvalidationScope", "NAMESPACE")));
     configuration.setJdbcTypeForNull(JdbcType.valueOf(props.getProperty("jdbcTypeForNull", "OTHER")));
     configuration.setLazyLoadTriggerMethods(
         stringSetValueOf(props.getProperty("lazyLoadTriggerMethods"), "equals,clone,hashCode,toString"));
@@ -293,6 +297,14 @@ public class XMLConfigBuilder extends BaseBuilder {
         booleanValueOf(props.getProperty("argNameBasedConstructorAutoMapping"), false));
     configuration.setDefaultSqlProviderType(resolveClass(props.getProperty("defaultSqlProviderType")));
     configuration.setNullableOnForEach(booleanValueOf(props.getProperty("nullableOnForEach"), false));
+    configuration.setUseCompiledResultMappings(booleanValueOf(props.getProperty("useCompiledResultMappings"), false));
+    configuration.setUseCompiledForEach(booleanValueOf(props.getProperty("useCompiledForEach"), false));
+    configuration.setCacheSerializerImpl(resolveClass(props.getProperty("cacheSerializerImpl")));
+    configuration.setCacheStatisticsJmxEnabled(booleanValueOf(props.getProperty("cacheStatisticsJmxEnabled"), false));
+    configuration.setDynamicSqlShapeCacheSize(integerValueOf(props.getProperty("dynamicSqlShapeCacheSize"), 64));
+    configuration.setMaxBatchStatements(integerValueOf(props.getProperty("maxBatchStatements"), null));
+    configuration.setBatchSize(integerValueOf(props.getProperty("batchSize"), null));
+    configuration.setExpressionEngine((ExpressionEngine) createInstance(props.getProperty("expressionEngine")));
   }
 
   private void environmentsElement(XNode context) throws Exception {
@@ -16,18 +16,25 @@
 package org.apache.ibatis.cache;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.StringJoiner;
 
 import org.apache.ibatis.reflection.ArrayUtil;
 
 /**
+ * A key composed of an ordered list of objects.
+ * <p>
+ * Components are kept in a flat array that can be pre-sized with {@link #CacheKey(int)}, and every update is folded
+ * into a 64-bit hash so that keys with different content are almost always told apart without comparing components.
+ *
  * @author Clinton Begin
  */
 public class CacheKey implements Cloneable, Serializable {
 
-  private static final long serialVersionUID = 1146682552656046210L;
+  private static final long serialVersionUID = 1146682552656046211L;
+
+  // must be initialized before NULL_CACHE_KEY
+  private static final Object[] EMPTY_UPDATE_LIST = {};
 
   public static final CacheKey NULL_CACHE_KEY = new CacheKey() {
 
@@ -44,43 +51,56 @@ public class CacheKey implements Cloneable, Serializable {
     }
   };
 
-  private static final int DEFAULT_MULTIPLIER = 37;
-  private static final int DEFAULT_HASHCODE = 17;
+  private static final int DEFAULT_CAPACITY = 8;
+  private static final long DEFAULT_HASHCODE = 17;
+  private static final long HASH_MULTIPLIER = 0x9E3779B97F4A7C15L;
 
-  private final int multiplier;
-  private int hashcode;
+  private long hashcode;
   private long checksum;
   private int count;
   // 8/21/2017 - Sonarlint flags this as needing to be marked transient. While true if content is not serializable, this
   // is not always true and thus should not be marked transient.
-  private List<Object> updateList;
+  private Object[] updateList;
 
   public CacheKey() {
     this.hashcode = DEFAULT_HASHCODE;
-    this.multiplier = DEFAULT_MULTIPLIER;
     this.count = 0;
-    this.updateList = new ArrayList<>();
+    this.updateList = EMPTY_UPDATE_LIST;
   }
 
-  public CacheKey(Object[] objects) {
+  /**
+   * Creates an empty key with room for the given number of components.
+   *
+   * @param expectedUpdateCount
+   *          the expected number of {@link #update(Object)} calls
+   *
+   * @since 3.5.17
+   */
+  public CacheKey(int expectedUpdateCount) {
     this();
+    this.updateList = expectedUpdateCount > 0 ? new Object[expectedUpdateCount] : EMPTY_UPDATE_LIST;
+  }
+
+  public CacheKey(Object[] objects) {
+    this(objects.length);
     updateAll(objects);
   }
 
   public int getUpdateCount() {
-    return updateList.size();
+    return count;
   }
 
   public void update(Object object) {
     int baseHashCode = object == null ? 1 : ArrayUtil.hashCode(object);
 
-    count++;
+    if (count == updateList.length) {
+      updateList = Arrays.copyOf(updateList, Math.max(DEFAULT_CAPACITY, count << 1));
+    }
+    updateList[count++] = object;
     checksum += baseHashCode;
-    baseHashCode *= count;
 
-    hashcode = multiplier * hashcode + baseHashCode;
-
-    updateList.add(object);
+    long h = (hashcode + baseHashCode) * HASH_MULTIPLIER;
+    hashcode = h ^ (h >>> 29) ^ count;
   }
 
   public void updateAll(Object[] objects) {
@@ -104,10 +124,10 @@ public class CacheKey implements Cloneable, Serializable {
       return false;
     }
 
-    for (int i = 0; i < updateList.size(); i++) {
-      Object thisObject = updateList.get(i);
-      Object thatObject = cacheKey.updateList.get(i);
-      if (!ArrayUtil.equals(thisObject, thatObject)) {
+    for (int i = 0; i < count; i++) {
+      Object thisObject = updateList[i];
+      Object thatObject = cacheKey.updateList[i];
+      if (thisObject != thatObject && !ArrayUtil.equals(thisObject, thatObject)) {
         return false;
       }
     }
@@ -116,22 +136,25 @@ public class CacheKey implements Cloneable, Serializable {
 
   @Override
   public int hashCode() {
-    return hashcode;
+    return (int) (hashcode ^ (hashcode >>> 32));
   }
 
   @Override
   public String toString() {
     StringJoiner returnValue = new StringJoiner(":");
-    returnValue.add(String.valueOf(hashcode));
+    returnValue.add(String.valueOf(hashCode()));
     returnValue.add(String.valueOf(checksum));
-    updateList.stream().map(ArrayUtil::toString).forEach(returnValue::add);
+    for (int i = 0; i < count; i++) {
+      returnValue.add(ArrayUtil.toString(updateList[i]));
+    }
     return returnValue.toString();
   }
 
   @Override
   public CacheKey clone() throws CloneNotSupportedException {
     CacheKey clonedCacheKey = (CacheKey) super.clone();
-    clonedCacheKey.updateList = new ArrayList<>(updateList);
+    // leave room for one more component, a cloned key is usually updated right away
+    clonedCacheKey.updateList = Arrays.copyOf(updateList, count + 1);
     return clonedCacheKey;
   }
 
@@ -0,0 +1,169 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of a second level cache, available through
+ * {@link org.apache.ibatis.session.Configuration#getCacheStatistics(String)}. Counters are striped so that recording
+ * does not make threads contend.
+ *
+ * @since 3.5.17
+ */
+public class CacheStatistics implements CacheStatisticsMBean {
+
+  private final String id;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder puts = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder clears = new LongAdder();
+  private final LongAdder serializedBytes = new LongAdder();
+  private final LongAdder loads = new LongAdder();
+  private final LongAdder loadTimeNanos = new LongAdder();
+  private final LongAdder commits = new LongAdder();
+  private final LongAdder rollbacks = new LongAdder();
+
+  public CacheStatistics(String id) {
+    this.id = id;
+  }
+
+  public void recordHit() {
+    hits.increment();
+  }
+
+  public void recordMiss() {
+    misses.increment();
+  }
+
+  public void recordPut() {
+    puts.increment();
+  }
+
+  public void recordEviction() {
+    evictions.increment();
+  }
+
+  public void recordClear() {
+    clears.increment();
+  }
+
+  public void recordSerializedBytes(int bytes) {
+    serializedBytes.add(bytes);
+  }
+
+  /**
+   * Records a query that was executed because its result was not found in the cache.
+   *
+   * @param nanos
+   *          the time the query took in nanoseconds
+   */
+  public void recordLoad(long nanos) {
+    loads.increment();
+    loadTimeNanos.add(nanos);
+  }
+
+  /**
+   * Records the commit of a transaction that had entries to add to the cache or that cleared it.
+   */
+  public void recordCommit() {
+    commits.increment();
+  }
+
+  /**
+   * Records the rollback of a transaction that had entries to add to the cache or that cleared it.
+   */
+  public void recordRollback() {
+    rollbacks.increment();
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public long getHits() {
+    return hits.sum();
+  }
+
+  @Override
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /**
+   * Returns the ratio of lookups that found a value.
+   *
+   * @return the hit ratio, {@code 0} if there was no lookup yet
+   */
+  @Override
+  public double getHitRatio() {
+    long hitCount = getHits();
+    long requests = hitCount + getMisses();
+    return requests == 0 ? 0 : (double) hitCount / requests;
+  }
+
+  @Override
+  public long getPuts() {
+    return puts.sum();
+  }
+
+  @Override
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  @Override
+  public long getClears() {
+    return clears.sum();
+  }
+
+  @Override
+  public long getSerializedBytes() {
+    return serializedBytes.sum();
+  }
+
+  @Override
+  public long getLoads() {
+    return loads.sum();
+  }
+
+  @Override
+  public long getLoadTimeNanos() {
+    return loadTimeNanos.sum();
+  }
+
+  @Override
+  public long getCommits() {
+    return commits.sum();
+  }
+
+  @Override
+  public long getRollbacks() {
+    return rollbacks.sum();
+  }
+
+  @Override
+  public String toString() {
+    return "CacheStatistics [id=" + id + ", hits=" + getHits() + ", misses=" + getMisses() + ", puts=" + getPuts()
+        + ", evictions=" + getEvictions() + ", clears=" + getClears() + ", serializedBytes=" + getSerializedBytes()
+        + ", loads=" + getLoads() + ", loadTimeNanos=" + getLoadTimeNanos() + ", commits=" + getCommits()
+        + ", rollbacks=" + getRollbacks() + "]";
+  }
+
+}
@@ -0,0 +1,57 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import java.io.Serializable;
+
+/**
+ * A cached query result together with the tables it was read from and their versions at load time.
+ *
+ * @since 3.5.17
+ *
+ * @see TableVersions
+ */
+public class TableDependentValue implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private Object value;
+  private String[] tables;
+  private long[] versions;
+
+  TableDependentValue() {
+    // for serializers
+  }
+
+  public TableDependentValue(Object value, String[] tables, long[] versions) {
+    this.value = value;
+    this.tables = tables;
+    this.versions = versions;
+  }
+
+  public Object getValue() {
+    return value;
+  }
+
+  public String[] getTables() {
+    return tables;
+  }
+
+  public long[] getVersions() {
+    return versions;
+  }
+
+}
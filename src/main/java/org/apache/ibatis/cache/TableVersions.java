@@ -0,0 +1,103 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.ibatis.util.MapUtil;
+
+/**
+ * Version counters of the tables that second level cache entries depend on, used when the
+ * {@code cacheInvalidationScope} setting is {@code TABLE}.
+ * <p>
+ * A cached query result carries the versions of its tables taken before it was loaded. A committed write bumps the
+ * version of the tables it touched, so every entry read from those tables, in any namespace, is seen as stale on its
+ * next lookup.
+ *
+ * @since 3.5.17
+ */
+public class TableVersions {
+
+  private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+  // bumped by writes whose tables are unknown
+  private final AtomicLong allTables = new AtomicLong();
+
+  /**
+   * Takes the current versions of the given tables.
+   *
+   * @param tables
+   *          the normalized table names
+   *
+   * @return the versions, in the order of the tables, followed by the version of all tables
+   */
+  public long[] snapshot(String[] tables) {
+    long[] snapshot = new long[tables.length + 1];
+    for (int i = 0; i < tables.length; i++) {
+      snapshot[i] = counter(tables[i]).get();
+    }
+    snapshot[tables.length] = allTables.get();
+    return snapshot;
+  }
+
+  /**
+   * Checks that none of the tables was written since the snapshot was taken.
+   *
+   * @param tables
+   *          the normalized table names
+   * @param snapshot
+   *          the versions returned by {@link #snapshot(String[])}
+   *
+   * @return {@code true} if the snapshot is still current
+   */
+  public boolean isCurrent(String[] tables, long[] snapshot) {
+    if (allTables.get() != snapshot[tables.length]) {
+      return false;
+    }
+    for (int i = 0; i < tables.length; i++) {
+      if (counter(tables[i]).get() != snapshot[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Invalidates every cache entry that depends on one of the given tables.
+   *
+   * @param tables
+   *          the normalized table names
+   */
+  public void invalidate(Collection<String> tables) {
+    for (String table : tables) {
+      counter(table).incrementAndGet();
+    }
+  }
+
+  /**
+   * Invalidates every cache entry, for a write whose tables are unknown.
+   */
+  public void invalidateAll() {
+    allTables.incrementAndGet();
+  }
+
+  private AtomicLong counter(String table) {
+    return MapUtil.computeIfAbsent(versions, table, k -> new AtomicLong());
+  }
+
+}
@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.Map;
 
 import org.apache.ibatis.cache.decorators.TransactionalCache;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.util.MapUtil;
 
 /**
@@ -27,6 +28,24 @@ import org.apache.ibatis.util.MapUtil;
 public class TransactionalCacheManager {
 
   private final Map<Cache, TransactionalCache> transactionalCaches = new HashMap<>();
+  private final Configuration configuration;
+
+  public TransactionalCacheManager() {
+    this(null);
+  }
+
+  /**
+   * Creates a manager whose transactional buffers record commits and rollbacks in the cache statistics of the
+   * configuration.
+   *
+   * @param configuration
+   *          the configuration, may be {@code null}
+   *
+   * @since 3.5.17
+   */
+  public TransactionalCacheManager(Configuration configuration) {
+    this.configuration = configuration;
+  }
 
   public void clear(Cache cache) {
     getTransactionalCache(cache).clear();
@@ -53,7 +72,8 @@ public class TransactionalCacheManager {
   }
 
   private TransactionalCache getTransactionalCache(Cache cache) {
-    return MapUtil.computeIfAbsent(transactionalCaches, cache, TransactionalCache::new);
+    return MapUtil.computeIfAbsent(transactionalCaches, cache,
+        k -> new TransactionalCache(k, configuration == null ? null : configuration.getCacheStatistics(k.getId())));
   }
 
 }
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -15,9 +15,11 @@
  */
 package org.apache.ibatis.cache.decorators;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheException;
@@ -26,9 +28,15 @@ import org.apache.ibatis.cache.CacheException;
  * <p>
  * Simple blocking decorator
  * <p>
- * Simple and inefficient version of EhCache's BlockingCache decorator. It sets a lock over a cache key when the element
- * is not found in cache. This way, other threads will wait until this element is filled instead of hitting the
- * database.
+ * Coalesces concurrent misses of the same key: the first thread that misses a key becomes its loader and gets
+ * {@code null}, other threads asking for the key wait until the loader puts the value (or removes the key to signal
+ * that it gave up) instead of hitting the database too. When {@code handOffLoadedValues} is enabled, the value put by
+ * the loader is handed to the waiting threads directly, which is only appropriate for read-only caches. Otherwise the
+ * waiting threads read it from the cache.
+ * <p>
+ * Hits do not take any lock. Waiting threads are parked, not blocked on a monitor, so virtual threads do not pin their
+ * carrier, and they give up after {@code timeout} milliseconds when it is set. A thread that asks again for a key it is
+ * already loading gets {@code null} instead of waiting for itself.
  * <p>
  * By its nature, this implementation can cause deadlock when used incorrectly.
  *
@@ -37,12 +45,13 @@ import org.apache.ibatis.cache.CacheException;
 public class BlockingCache implements Cache {
 
   private long timeout;
+  private boolean handOffLoadedValues;
   private final Cache delegate;
-  private final ConcurrentHashMap<Object, CountDownLatch> locks;
+  private final ConcurrentHashMap<Object, Load> loads;
 
   public BlockingCache(Cache delegate) {
     this.delegate = delegate;
-    this.locks = new ConcurrentHashMap<>();
+    this.loads = new ConcurrentHashMap<>();
   }
 
   @Override
@@ -60,16 +69,37 @@ public class BlockingCache implements Cache {
     try {
       delegate.putObject(key, value);
     } finally {
-      releaseLock(key);
+      release(key, value);
     }
   }
 
   @Override
   public Object getObject(Object key) {
-    acquireLock(key);
     Object value = delegate.getObject(key);
-    if (value != null) {
-      releaseLock(key);
+    Load newLoad = null;
+    while (value == null) {
+      Load load = loads.get(key);
+      if (load == null) {
+        if (newLoad == null) {
+          newLoad = new Load();
+        }
+        load = loads.putIfAbsent(key, newLoad);
+        if (load == null) {
+          // the value may have been put since the first read
+          value = delegate.getObject(key);
+          if (value != null) {
+            release(key, value);
+          }
+          return value;
+        }
+      }
+      if (load.loader == Thread.currentThread()) {
+        return null;
+      }
+      value = await(key, load);
+      if (value == null) {
+        value = delegate.getObject(key);
+      }
     }
     return value;
   }
@@ -77,7 +107,7 @@ public class BlockingCache implements Cache {
   @Override
   public Object removeObject(Object key) {
     // despite its name, this method is called only to release locks
-    releaseLock(key);
+    release(key, null);
     return null;
   }
 
@@ -86,35 +116,29 @@ public class BlockingCache implements Cache {
     delegate.clear();
   }
 
-  private void acquireLock(Object key) {
-    CountDownLatch newLatch = new CountDownLatch(1);
-    while (true) {
-      CountDownLatch latch = locks.putIfAbsent(key, newLatch);
-      if (latch == null) {
-        break;
-      }
-      try {
-        if (timeout > 0) {
-          boolean acquired = latch.await(timeout, TimeUnit.MILLISECONDS);
-          if (!acquired) {
-            throw new CacheException(
-                "Couldn't get a lock in " + timeout + " for the key " + key + " at the cache " + delegate.getId());
-          }
-        } else {
-          latch.await();
-        }
-      } catch (InterruptedException e) {
-        throw new CacheException("Got interrupted while trying to acquire lock for key " + key, e);
+  private Object await(Object key, Load load) {
+    try {
+      if (timeout > 0) {
+        return load.result.get(timeout, TimeUnit.MILLISECONDS);
       }
+      return load.result.get();
+    } catch (TimeoutException e) {
+      throw new CacheException(
+          "Couldn't get a lock in " + timeout + " for the key " + key + " at the cache " + delegate.getId());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new CacheException("Got interrupted while trying to acquire lock for key " + key, e);
+    } catch (ExecutionException e) {
+      throw new CacheException("Error waiting for the key " + key + " at the cache " + delegate.getId(), e);
     }
   }
 
-  private void releaseLock(Object key) {
-    CountDownLatch latch = locks.remove(key);
-    if (latch == null) {
-      throw new IllegalStateException("Detected an attempt at releasing unacquired lock. This should never happen.");
+  private void release(Object key, Object value) {
+    // a key that is not being loaded (e.g. one that was found in the cache) has nothing to release
+    Load load = loads.remove(key);
+    if (load != null) {
+      load.result.complete(handOffLoadedValues ? value : null);
     }
-    latch.countDown();
   }
 
   public long getTimeout() {
@@ -124,4 +148,33 @@ public class BlockingCache implements Cache {
   public void setTimeout(long timeout) {
     this.timeout = timeout;
   }
+
+  /**
+   * Returns whether the value put by the loading thread is handed to the waiting threads directly.
+   *
+   * @return {@code true} if loaded values are handed off
+   *
+   * @since 3.5.17
+   */
+  public boolean isHandOffLoadedValues() {
+    return handOffLoadedValues;
+  }
+
+  /**
+   * Sets whether the value put by the loading thread is handed to the waiting threads directly instead of being read
+   * from the cache again. All of them then get the same instance.
+   *
+   * @param handOffLoadedValues
+   *          {@code true} to hand off loaded values
+   *
+   * @since 3.5.17
+   */
+  public void setHandOffLoadedValues(boolean handOffLoadedValues) {
+    this.handOffLoadedValues = handOffLoadedValues;
+  }
+
+  private static final class Load {
+    private final Thread loader = Thread.currentThread();
+    private final CompletableFuture<Object> result = new CompletableFuture<>();
+  }
 }
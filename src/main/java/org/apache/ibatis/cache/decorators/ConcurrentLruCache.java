@@ -0,0 +1,254 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.decorators;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheStatistics;
+import org.apache.ibatis.cache.CacheStatisticsAware;
+
+/**
+ * Lock-striped Lru (least recently used) cache decorator that is safe for concurrent use.
+ * <p>
+ * Entries are spread over segments, each one an access ordered map guarded by its own lock, so threads working on
+ * different keys do not contend on a single monitor. Eviction is LRU within a segment, which approximates a global LRU.
+ * When {@code frequencyAdmission} is enabled, a new entry only replaces the eldest entry of a full segment if its key
+ * has been requested more often recently (TinyLFU admission), so one-off queries do not push out hot entries.
+ * <p>
+ * Unlike the other eviction decorators, entries are kept here instead of in the delegate, which is why
+ * {@link org.apache.ibatis.mapping.CacheBuilder} does not wrap this cache in a {@link SynchronizedCache}.
+ */
+public class ConcurrentLruCache implements Cache, CacheStatisticsAware {
+
+  private static final int DEFAULT_SIZE = 1024;
+  private static final int MIN_SEGMENT_SIZE = 16;
+  private static final int MAX_SEGMENTS = tableSizeFor(Runtime.getRuntime().availableProcessors() * 4);
+
+  private final Cache delegate;
+  private volatile Segment[] segments;
+  private volatile FrequencySketch sketch;
+  private volatile boolean frequencyAdmission;
+  private CacheStatistics statistics;
+
+  public ConcurrentLruCache(Cache delegate) {
+    this.delegate = delegate;
+    setSize(DEFAULT_SIZE);
+  }
+
+  @Override
+  public void setCacheStatistics(CacheStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  @Override
+  public String getId() {
+    return delegate.getId();
+  }
+
+  @Override
+  public int getSize() {
+    int size = 0;
+    for (Segment segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  public void setSize(final int size) {
+    int segmentCount = Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, size / MIN_SEGMENT_SIZE)));
+    int segmentSize = Math.max(1, (size + segmentCount - 1) / segmentCount);
+    Segment[] newSegments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      newSegments[i] = new Segment(segmentSize);
+    }
+    this.sketch = new FrequencySketch(size);
+    this.segments = newSegments;
+  }
+
+  public void setFrequencyAdmission(boolean frequencyAdmission) {
+    this.frequencyAdmission = frequencyAdmission;
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    int hash = hash(key);
+    FrequencySketch frequencies = sketch;
+    frequencies.increment(hash);
+    if (segmentFor(hash).put(key, value, frequencyAdmission ? frequencies : null) && statistics != null) {
+      statistics.recordEviction();
+    }
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    int hash = hash(key);
+    sketch.increment(hash);
+    return segmentFor(hash).get(key);
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    return segmentFor(hash(key)).remove(key);
+  }
+
+  @Override
+  public void clear() {
+    for (Segment segment : segments) {
+      segment.clear();
+    }
+    delegate.clear();
+  }
+
+  private Segment segmentFor(int hash) {
+    Segment[] current = segments;
+    return current[hash & (current.length - 1)];
+  }
+
+  private static int hash(Object key) {
+    int h = key == null ? 0 : key.hashCode();
+    return h ^ (h >>> 16);
+  }
+
+  private static int tableSizeFor(int capacity) {
+    return capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+  }
+
+  private static final class Segment {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Object, Object> map;
+    private final int capacity;
+
+    Segment(int capacity) {
+      this.capacity = capacity;
+      this.map = new LinkedHashMap<>(Math.min(capacity, 1024), .75F, true);
+    }
+
+    Object get(Object key) {
+      lock.lock();
+      try {
+        return map.get(key);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    boolean put(Object key, Object value, FrequencySketch admission) {
+      lock.lock();
+      try {
+        boolean evicted = false;
+        if (map.size() >= capacity && !map.containsKey(key)) {
+          Iterator<Object> keys = map.keySet().iterator();
+          Object eldestKey = keys.next();
+          if (admission != null && admission.frequency(hash(key)) <= admission.frequency(hash(eldestKey))) {
+            return false;
+          }
+          keys.remove();
+          evicted = true;
+        }
+        map.put(key, value);
+        return evicted;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    Object remove(Object key) {
+      lock.lock();
+      try {
+        return map.remove(key);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void clear() {
+      lock.lock();
+      try {
+        map.clear();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    int size() {
+      lock.lock();
+      try {
+        return map.size();
+      } finally {
+        lock.unlock();
+      }
+    }
+  }
+
+  /**
+   * Count-min sketch with four rows of 4-bit counters that estimates how often a key hash was seen recently. Counters
+   * are halved once the number of increments reaches ten times the cache size so old popularity fades away. Updates are
+   * not synchronized; lost increments only make the estimate slightly less accurate.
+   */
+  private static final class FrequencySketch {
+    private static final int[] SEEDS = { 0x97cb3127, 0x0ef1b8a1, 0x3c6ef372, 0xa54ff53a };
+    private static final int MAX_COUNT = 15;
+
+    private final byte[] table;
+    private final int width;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+      this.width = tableSizeFor(Math.max(maximumSize, MIN_SEGMENT_SIZE));
+      this.table = new byte[width * SEEDS.length];
+      this.sampleSize = Math.max(maximumSize, 1) * 10;
+    }
+
+    int frequency(int hash) {
+      int frequency = MAX_COUNT;
+      for (int i = 0; i < SEEDS.length; i++) {
+        frequency = Math.min(frequency, table[indexOf(hash, i)]);
+      }
+      return frequency;
+    }
+
+    void increment(int hash) {
+      for (int i = 0; i < SEEDS.length; i++) {
+        int index = indexOf(hash, i);
+        if (table[index] < MAX_COUNT) {
+          table[index]++;
+        }
+      }
+      if (++additions >= sampleSize) {
+        reset();
+      }
+    }
+
+    private void reset() {
+      for (int i = 0; i < table.length; i++) {
+        table[i] = (byte) (table[i] >>> 1);
+      }
+      additions = 0;
+    }
+
+    private int indexOf(int hash, int row) {
+      int h = hash * SEEDS[row];
+      h ^= h >>> 17;
+      return row * width + (h & (width - 1));
+    }
+  }
+
+}
@@ -0,0 +1,240 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.decorators;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheStatistics;
+import org.apache.ibatis.cache.CacheStatisticsAware;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * Cache decorator that expires each entry on its own, after a fixed time since it was written and/or since it was last
+ * read. Unlike {@link ScheduledCache}, which clears the whole cache at once, entries of a hot cache expire at different
+ * times so the database is not hit by every caller at the same moment.
+ * <p>
+ * Expiration is checked when an entry is read and by a background sweeper that periodically removes expired entries, so
+ * entries that are never read again do not stay around. The delegate must be safe for concurrent use because the
+ * sweeper runs on its own thread.
+ */
+public class ExpiringCache implements Cache, CacheStatisticsAware {
+
+  private static final Log log = LogFactory.getLog(ExpiringCache.class);
+
+  private static final ScheduledExecutorService SWEEPER_EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread thread = new Thread(r, "mybatis-cache-sweeper");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final Cache delegate;
+  private final Map<Object, Timestamps> timestamps = new ConcurrentHashMap<>();
+  private final AtomicBoolean sweeperStarted = new AtomicBoolean();
+  private long expireAfterWrite;
+  private long expireAfterAccess;
+  private long sweepInterval;
+  private CacheStatistics statistics;
+
+  public ExpiringCache(Cache delegate) {
+    this.delegate = delegate;
+  }
+
+  /**
+   * Sets the time after which an entry expires once it has been put in the cache.
+   *
+   * @param expireAfterWrite
+   *          the time in milliseconds, zero or a negative value disables this expiration
+   */
+  public void setExpireAfterWrite(long expireAfterWrite) {
+    this.expireAfterWrite = TimeUnit.MILLISECONDS.toNanos(Math.max(0, expireAfterWrite));
+  }
+
+  /**
+   * Sets the time after which an entry expires once it has been put in or read from the cache.
+   *
+   * @param expireAfterAccess
+   *          the time in milliseconds, zero or a negative value disables this expiration
+   */
+  public void setExpireAfterAccess(long expireAfterAccess) {
+    this.expireAfterAccess = TimeUnit.MILLISECONDS.toNanos(Math.max(0, expireAfterAccess));
+  }
+
+  /**
+   * Sets how often the background sweeper removes expired entries. Defaults to the shortest expiration time.
+   *
+   * @param sweepInterval
+   *          the interval in milliseconds, a negative value disables the sweeper
+   */
+  public void setSweepInterval(long sweepInterval) {
+    this.sweepInterval = sweepInterval;
+  }
+
+  @Override
+  public void setCacheStatistics(CacheStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  @Override
+  public String getId() {
+    return delegate.getId();
+  }
+
+  @Override
+  public int getSize() {
+    return delegate.getSize();
+  }
+
+  @Override
+  public void putObject(Object key, Object object) {
+    startSweeperIfNecessary();
+    // before the value, so that an expiration of the previous value running meanwhile does not remove the new one
+    timestamps.put(key, new Timestamps(System.nanoTime()));
+    delegate.putObject(key, object);
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    Timestamps entryTimestamps = timestamps.get(key);
+    if (entryTimestamps == null) {
+      return delegate.getObject(key);
+    }
+    long now = System.nanoTime();
+    if (isExpired(entryTimestamps, now)) {
+      expire(key, entryTimestamps);
+      return null;
+    }
+    Object value = delegate.getObject(key);
+    if (value == null) {
+      // evicted by the delegate
+      timestamps.remove(key, entryTimestamps);
+    } else {
+      entryTimestamps.accessed = now;
+    }
+    return value;
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    timestamps.remove(key);
+    return delegate.removeObject(key);
+  }
+
+  @Override
+  public void clear() {
+    timestamps.clear();
+    delegate.clear();
+  }
+
+  @Override
+  public int hashCode() {
+    return delegate.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return delegate.equals(obj);
+  }
+
+  /**
+   * Removes all expired entries.
+   */
+  public void sweep() {
+    long now = System.nanoTime();
+    for (Map.Entry<Object, Timestamps> entry : timestamps.entrySet()) {
+      if (isExpired(entry.getValue(), now)) {
+        expire(entry.getKey(), entry.getValue());
+      }
+    }
+  }
+
+  private boolean isExpired(Timestamps entryTimestamps, long now) {
+    return expireAfterWrite > 0 && now - entryTimestamps.written >= expireAfterWrite
+        || expireAfterAccess > 0 && now - entryTimestamps.accessed >= expireAfterAccess;
+  }
+
+  private void expire(Object key, Timestamps entryTimestamps) {
+    // do not remove a value that was put again in the meantime
+    if (timestamps.remove(key, entryTimestamps)) {
+      delegate.removeObject(key);
+      if (statistics != null) {
+        statistics.recordEviction();
+      }
+    }
+  }
+
+  private void startSweeperIfNecessary() {
+    if (sweeperStarted.get() || !sweeperStarted.compareAndSet(false, true)) {
+      return;
+    }
+    long interval = sweepInterval;
+    if (interval == 0) {
+      long shortest = expireAfterWrite > 0 && expireAfterAccess > 0 ? Math.min(expireAfterWrite, expireAfterAccess)
+          : Math.max(expireAfterWrite, expireAfterAccess);
+      interval = TimeUnit.NANOSECONDS.toMillis(shortest);
+    }
+    if (interval > 0) {
+      Sweeper sweeper = new Sweeper(this);
+      sweeper.future = SWEEPER_EXECUTOR.scheduleWithFixedDelay(sweeper, interval, interval, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private static final class Timestamps {
+    private final long written;
+    private volatile long accessed;
+
+    Timestamps(long now) {
+      this.written = now;
+      this.accessed = now;
+    }
+  }
+
+  /**
+   * Holds the cache weakly so that a cache discarded together with its configuration stops being swept.
+   */
+  private static final class Sweeper implements Runnable {
+    private final WeakReference<ExpiringCache> cache;
+    private volatile ScheduledFuture<?> future;
+
+    Sweeper(ExpiringCache cache) {
+      this.cache = new WeakReference<>(cache);
+    }
+
+    @Override
+    public void run() {
+      ExpiringCache target = cache.get();
+      if (target != null) {
+        try {
+          target.sweep();
+        } catch (RuntimeException e) {
+          // keep the schedule alive, expired entries are still removed when they are read
+          log.warn("Failed to remove expired entries from cache '" + target.getId() + "'. Cause: " + e);
+        }
+      } else if (future != null) {
+        future.cancel(false);
+      }
+    }
+  }
+
+}
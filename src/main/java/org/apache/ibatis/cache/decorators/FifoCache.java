@@ -19,17 +19,20 @@ import java.util.Deque;
 import java.util.LinkedList;
 
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheStatistics;
+import org.apache.ibatis.cache.CacheStatisticsAware;
 
 /**
  * FIFO (first in, first out) cache decorator.
  *
  * @author Clinton Begin
  */
-public class FifoCache implements Cache {
+public class FifoCache implements Cache, CacheStatisticsAware {
 
   private final Cache delegate;
   private final Deque<Object> keyList;
   private int size;
+  private CacheStatistics statistics;
 
   public FifoCache(Cache delegate) {
     this.delegate = delegate;
@@ -37,6 +40,11 @@ public class FifoCache implements Cache {
     this.size = 1024;
   }
 
+  @Override
+  public void setCacheStatistics(CacheStatistics statistics) {
+    this.statistics = statistics;
+  }
+
   @Override
   public String getId() {
     return delegate.getId();
@@ -79,6 +87,9 @@ public class FifoCache implements Cache {
     if (keyList.size() > size) {
       Object oldestKey = keyList.removeFirst();
       delegate.removeObject(oldestKey);
+      if (statistics != null) {
+        statistics.recordEviction();
+      }
     }
   }
 
@@ -16,6 +16,7 @@
 package org.apache.ibatis.cache.decorators;
 
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheStatistics;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 
@@ -26,11 +27,39 @@ public class LoggingCache implements Cache {
 
   private final Log log;
   private final Cache delegate;
-  protected int requests;
-  protected int hits;
+  private final CacheStatistics statistics;
+  /**
+   * The number of lookups, read from the statistics when the hit ratio is logged.
+   *
+   * @deprecated use {@link #getStatistics()} instead
+   */
+  @Deprecated
+  protected volatile int requests;
+  /**
+   * The number of lookups that found a value, read from the statistics when the hit ratio is logged.
+   *
+   * @deprecated use {@link #getStatistics()} instead
+   */
+  @Deprecated
+  protected volatile int hits;
 
   public LoggingCache(Cache delegate) {
+    this(delegate, new CacheStatistics(delegate.getId()));
+  }
+
+  /**
+   * Creates a cache that records hits, misses, puts and clears in the given statistics.
+   *
+   * @param delegate
+   *          the delegate
+   * @param statistics
+   *          the statistics
+   *
+   * @since 3.5.17
+   */
+  public LoggingCache(Cache delegate, CacheStatistics statistics) {
     this.delegate = delegate;
+    this.statistics = statistics;
     this.log = LogFactory.getLog(getId());
   }
 
@@ -47,14 +76,16 @@ public class LoggingCache implements Cache {
   @Override
   public void putObject(Object key, Object object) {
     delegate.putObject(key, object);
+    statistics.recordPut();
   }
 
   @Override
   public Object getObject(Object key) {
-    requests++;
     final Object value = delegate.getObject(key);
     if (value != null) {
-      hits++;
+      statistics.recordHit();
+    } else {
+      statistics.recordMiss();
     }
     if (log.isDebugEnabled()) {
       log.debug("Cache Hit Ratio [" + getId() + "]: " + getHitRatio());
@@ -70,6 +101,7 @@ public class LoggingCache implements Cache {
   @Override
   public void clear() {
     delegate.clear();
+    statistics.recordClear();
   }
 
   @Override
@@ -82,8 +114,24 @@ public class LoggingCache implements Cache {
     return delegate.equals(obj);
   }
 
+  @SuppressWarnings("deprecation")
   private double getHitRatio() {
-    return (double) hits / (double) requests;
+    // the counters are only brought up to date here, so that lookups do not write to shared fields
+    final long hitCount = statistics.getHits();
+    hits = (int) hitCount;
+    requests = (int) (hitCount + statistics.getMisses());
+    return requests == 0 ? 0 : (double) hits / requests;
+  }
+
+  /**
+   * Returns the statistics this cache records in.
+   *
+   * @return the statistics
+   *
+   * @since 3.5.17
+   */
+  public CacheStatistics getStatistics() {
+    return statistics;
   }
 
 }
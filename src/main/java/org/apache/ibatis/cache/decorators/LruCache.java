@@ -19,23 +19,31 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheStatistics;
+import org.apache.ibatis.cache.CacheStatisticsAware;
 
 /**
  * Lru (least recently used) cache decorator.
  *
  * @author Clinton Begin
  */
-public class LruCache implements Cache {
+public class LruCache implements Cache, CacheStatisticsAware {
 
   private final Cache delegate;
   private Map<Object, Object> keyMap;
   private Object eldestKey;
+  private CacheStatistics statistics;
 
   public LruCache(Cache delegate) {
     this.delegate = delegate;
     setSize(1024);
   }
 
+  @Override
+  public void setCacheStatistics(CacheStatistics statistics) {
+    this.statistics = statistics;
+  }
+
   @Override
   public String getId() {
     return delegate.getId();
@@ -90,6 +98,9 @@ public class LruCache implements Cache {
     if (eldestKey != null) {
       delegate.removeObject(eldestKey);
       eldestKey = null;
+      if (statistics != null) {
+        statistics.recordEviction();
+      }
     }
   }
 
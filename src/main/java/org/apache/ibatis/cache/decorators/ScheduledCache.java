@@ -16,6 +16,7 @@
 package org.apache.ibatis.cache.decorators;
 
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.ibatis.cache.Cache;
 
@@ -25,8 +26,9 @@ import org.apache.ibatis.cache.Cache;
 public class ScheduledCache implements Cache {
 
   private final Cache delegate;
-  protected long clearInterval;
-  protected long lastClear;
+  private final ReentrantLock clearLock = new ReentrantLock();
+  protected volatile long clearInterval;
+  protected volatile long lastClear;
 
   public ScheduledCache(Cache delegate) {
     this.delegate = delegate;
@@ -84,7 +86,15 @@ public class ScheduledCache implements Cache {
 
   private boolean clearWhenStale() {
     if (System.currentTimeMillis() - lastClear > clearInterval) {
-      clear();
+      // the delegate may be used without a lock, so only one of the threads that find the cache stale clears it
+      clearLock.lock();
+      try {
+        if (System.currentTimeMillis() - lastClear > clearInterval) {
+          clear();
+        }
+      } finally {
+        clearLock.unlock();
+      }
       return true;
     }
     return false;
@@ -15,29 +15,55 @@
  */
 package org.apache.ibatis.cache.decorators;
 
-import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.io.ObjectStreamClass;
-import java.io.Serializable;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.ibatis.cache.Cache;
-import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheStatistics;
+import org.apache.ibatis.cache.CacheStatisticsAware;
+import org.apache.ibatis.cache.serializer.CacheSerializer;
+import org.apache.ibatis.cache.serializer.JavaCacheSerializer;
 import org.apache.ibatis.io.Resources;
-import org.apache.ibatis.io.SerialFilterChecker;
 
 /**
+ * Stores a serialized copy of each object and returns a new copy on every read. The copy is made by a
+ * {@link CacheSerializer}, Java serialization by default.
+ *
  * @author Clinton Begin
  */
-public class SerializedCache implements Cache {
+public class SerializedCache implements Cache, CacheStatisticsAware {
 
   private final Cache delegate;
+  private final CacheSerializer serializer;
+  private final LongAdder serializedCount = new LongAdder();
+  private final LongAdder serializedBytes = new LongAdder();
+  private CacheStatistics statistics;
 
   public SerializedCache(Cache delegate) {
+    this(delegate, new JavaCacheSerializer());
+  }
+
+  /**
+   * Creates a cache that copies objects with the given serializer.
+   *
+   * @param delegate
+   *          the delegate
+   * @param serializer
+   *          the serializer
+   *
+   * @since 3.5.17
+   */
+  public SerializedCache(Cache delegate, CacheSerializer serializer) {
     this.delegate = delegate;
+    this.serializer = serializer;
+  }
+
+  @Override
+  public void setCacheStatistics(CacheStatistics statistics) {
+    this.statistics = statistics;
   }
 
   @Override
@@ -52,16 +78,19 @@ public class SerializedCache implements Cache {
 
   @Override
   public void putObject(Object key, Object object) {
-    if ((object != null) && !(object instanceof Serializable)) {
-      throw new CacheException("SharedCache failed to make a copy of a non-serializable object: " + object);
+    byte[] bytes = serializer.serialize(object);
+    serializedCount.increment();
+    serializedBytes.add(bytes.length);
+    if (statistics != null) {
+      statistics.recordSerializedBytes(bytes.length);
     }
-    delegate.putObject(key, serialize((Serializable) object));
+    delegate.putObject(key, bytes);
   }
 
   @Override
   public Object getObject(Object key) {
     Object object = delegate.getObject(key);
-    return object == null ? null : deserialize((byte[]) object);
+    return object == null ? null : serializer.deserialize((byte[]) object);
   }
 
   @Override
@@ -84,27 +113,37 @@ public class SerializedCache implements Cache {
     return delegate.equals(obj);
   }
 
-  private byte[] serialize(Serializable value) {
-    try (ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        ObjectOutputStream oos = new ObjectOutputStream(bos)) {
-      oos.writeObject(value);
-      oos.flush();
-      return bos.toByteArray();
-    } catch (Exception e) {
-      throw new CacheException("Error serializing object.  Cause: " + e, e);
-    }
+  /**
+   * Returns the serializer that copies the cached objects.
+   *
+   * @return the serializer
+   *
+   * @since 3.5.17
+   */
+  public CacheSerializer getSerializer() {
+    return serializer;
   }
 
-  private Serializable deserialize(byte[] value) {
-    SerialFilterChecker.check();
-    Serializable result;
-    try (ByteArrayInputStream bis = new ByteArrayInputStream(value);
-        ObjectInputStream ois = new CustomObjectInputStream(bis)) {
-      result = (Serializable) ois.readObject();
-    } catch (Exception e) {
-      throw new CacheException("Error deserializing object.  Cause: " + e, e);
-    }
-    return result;
+  /**
+   * Returns how many objects have been serialized into this cache.
+   *
+   * @return the number of serialized objects
+   *
+   * @since 3.5.17
+   */
+  public long getSerializedCount() {
+    return serializedCount.sum();
+  }
+
+  /**
+   * Returns the total size in bytes of all objects serialized into this cache.
+   *
+   * @return the number of serialized bytes
+   *
+   * @since 3.5.17
+   */
+  public long getSerializedBytes() {
+    return serializedBytes.sum();
   }
 
   public static class CustomObjectInputStream extends ObjectInputStream {
@@ -22,6 +22,8 @@ import java.util.LinkedList;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheStatistics;
+import org.apache.ibatis.cache.CacheStatisticsAware;
 
 /**
  * Soft Reference cache decorator.
@@ -30,11 +32,12 @@ import org.apache.ibatis.cache.Cache;
  *
  * @author Clinton Begin
  */
-public class SoftCache implements Cache {
+public class SoftCache implements Cache, CacheStatisticsAware {
   private final Deque<Object> hardLinksToAvoidGarbageCollection;
   private final ReferenceQueue<Object> queueOfGarbageCollectedEntries;
   private final Cache delegate;
   private int numberOfHardLinks;
+  private CacheStatistics statistics;
   private final ReentrantLock lock = new ReentrantLock();
 
   public SoftCache(Cache delegate) {
@@ -44,6 +47,11 @@ public class SoftCache implements Cache {
     this.queueOfGarbageCollectedEntries = new ReferenceQueue<>();
   }
 
+  @Override
+  public void setCacheStatistics(CacheStatistics statistics) {
+    this.statistics = statistics;
+  }
+
   @Override
   public String getId() {
     return delegate.getId();
@@ -114,6 +122,9 @@ public class SoftCache implements Cache {
     SoftEntry sv;
     while ((sv = (SoftEntry) queueOfGarbageCollectedEntries.poll()) != null) {
       delegate.removeObject(sv.key);
+      if (statistics != null) {
+        statistics.recordEviction();
+      }
     }
   }
 
@@ -21,6 +21,7 @@ import java.util.Map;
 import java.util.Set;
 
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheStatistics;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
 
@@ -43,9 +44,25 @@ public class TransactionalCache implements Cache {
   private boolean clearOnCommit;
   private final Map<Object, Object> entriesToAddOnCommit;
   private final Set<Object> entriesMissedInCache;
+  private final CacheStatistics statistics;
 
   public TransactionalCache(Cache delegate) {
+    this(delegate, null);
+  }
+
+  /**
+   * Creates a transactional buffer that records commits and rollbacks in the given statistics.
+   *
+   * @param delegate
+   *          the delegate
+   * @param statistics
+   *          the statistics of the delegate, may be {@code null}
+   *
+   * @since 3.5.17
+   */
+  public TransactionalCache(Cache delegate, CacheStatistics statistics) {
     this.delegate = delegate;
+    this.statistics = statistics;
     this.clearOnCommit = false;
     this.entriesToAddOnCommit = new HashMap<>();
     this.entriesMissedInCache = new HashSet<>();
@@ -92,6 +109,9 @@ public class TransactionalCache implements Cache {
   }
 
   public void commit() {
+    if (statistics != null && hasPendingChanges()) {
+      statistics.recordCommit();
+    }
     if (clearOnCommit) {
       delegate.clear();
     }
@@ -100,10 +120,17 @@ public class TransactionalCache implements Cache {
   }
 
   public void rollback() {
+    if (statistics != null && hasPendingChanges()) {
+      statistics.recordRollback();
+    }
     unlockMissedEntries();
     reset();
   }
 
+  private boolean hasPendingChanges() {
+    return clearOnCommit || !entriesToAddOnCommit.isEmpty() || !entriesMissedInCache.isEmpty();
+  }
+
   private void reset() {
     clearOnCommit = false;
     entriesToAddOnCommit.clear();
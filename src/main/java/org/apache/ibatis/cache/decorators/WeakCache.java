@@ -22,6 +22,8 @@ import java.util.LinkedList;
 import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheStatistics;
+import org.apache.ibatis.cache.CacheStatisticsAware;
 
 /**
  * Weak Reference cache decorator.
@@ -30,11 +32,12 @@ import org.apache.ibatis.cache.Cache;
  *
  * @author Clinton Begin
  */
-public class WeakCache implements Cache {
+public class WeakCache implements Cache, CacheStatisticsAware {
   private final Deque<Object> hardLinksToAvoidGarbageCollection;
   private final ReferenceQueue<Object> queueOfGarbageCollectedEntries;
   private final Cache delegate;
   private int numberOfHardLinks;
+  private CacheStatistics statistics;
   private final ReentrantLock lock = new ReentrantLock();
 
   public WeakCache(Cache delegate) {
@@ -44,6 +47,11 @@ public class WeakCache implements Cache {
     this.queueOfGarbageCollectedEntries = new ReferenceQueue<>();
   }
 
+  @Override
+  public void setCacheStatistics(CacheStatistics statistics) {
+    this.statistics = statistics;
+  }
+
   @Override
   public String getId() {
     return delegate.getId();
@@ -113,6 +121,9 @@ public class WeakCache implements Cache {
     WeakEntry sv;
     while ((sv = (WeakEntry) queueOfGarbageCollectedEntries.poll()) != null) {
       delegate.removeObject(sv.key);
+      if (statistics != null) {
+        statistics.recordEviction();
+      }
     }
   }
 
@@ -0,0 +1,351 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.impl;
+
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.ibatis.builder.InitializingObject;
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheStatistics;
+import org.apache.ibatis.cache.CacheStatisticsAware;
+import org.apache.ibatis.cache.serializer.BinaryCacheSerializer;
+import org.apache.ibatis.cache.serializer.CacheSerializer;
+import org.apache.ibatis.io.Resources;
+
+/**
+ * Cache that keeps serialized values in direct memory instead of on the Java heap, so that large read-mostly caches do
+ * not add to the heap and to garbage collection pauses. Only the keys and a small index stay on the heap.
+ * <p>
+ * The memory is split into segments that are allocated on first use, each with its own lock. A segment is divided into
+ * fixed size blocks and a value takes as many blocks as it needs, so freed memory can always be reused. When a segment
+ * is full, its least recently used entries are evicted. A value that is larger than a segment is not cached.
+ * <p>
+ * Every read returns a new copy of the cached object. Supported properties:
+ * <ul>
+ * <li>{@code capacity}: the memory to use in bytes, 64 MiB by default</li>
+ * <li>{@code blockSize}: the allocation unit in bytes, 256 by default</li>
+ * <li>{@code serializer}: the fully qualified class name of a {@link CacheSerializer}, {@link BinaryCacheSerializer} by
+ * default</li>
+ * </ul>
+ *
+ * @since 3.5.17
+ */
+public class OffHeapCache implements Cache, CacheStatisticsAware, InitializingObject {
+
+  private static final long DEFAULT_CAPACITY = 64L * 1024 * 1024;
+  private static final int DEFAULT_BLOCK_SIZE = 256;
+  private static final int MAX_SEGMENT_CAPACITY = 1 << 30;
+  private static final int MIN_BLOCKS_PER_SEGMENT = 1024;
+  private static final int MAX_SEGMENTS = Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1) * 2;
+
+  private final String id;
+  private long capacity = DEFAULT_CAPACITY;
+  private int blockSize = DEFAULT_BLOCK_SIZE;
+  private CacheSerializer serializer = new BinaryCacheSerializer();
+  private volatile Segment[] segments;
+  private CacheStatistics statistics;
+
+  public OffHeapCache(String id) {
+    this.id = id;
+    initialize();
+  }
+
+  public void setCapacity(long capacity) {
+    this.capacity = capacity;
+  }
+
+  public void setBlockSize(int blockSize) {
+    this.blockSize = blockSize;
+  }
+
+  public void setSerializer(String serializer) {
+    try {
+      this.serializer = (CacheSerializer) Resources.classForName(serializer).getDeclaredConstructor().newInstance();
+    } catch (Exception e) {
+      throw new CacheException("Error creating cache serializer '" + serializer + "'.  Cause: " + e, e);
+    }
+  }
+
+  @Override
+  public void setCacheStatistics(CacheStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  /**
+   * Sets up the segments for the configured capacity. Entries that were cached before are dropped.
+   */
+  @Override
+  public void initialize() {
+    if (blockSize <= 0 || capacity < blockSize) {
+      throw new CacheException(
+          "The capacity of cache '" + id + "' must be at least one block, but was " + capacity + " bytes.");
+    }
+    if (blockSize > MAX_SEGMENT_CAPACITY) {
+      throw new CacheException("The block size of cache '" + id + "' must be at most " + MAX_SEGMENT_CAPACITY
+          + " bytes, but was " + blockSize + " bytes.");
+    }
+    long totalBlocks = capacity / blockSize;
+    int segmentCount = 1;
+    while (segmentCount < MAX_SEGMENTS && totalBlocks / (segmentCount * 2) >= MIN_BLOCKS_PER_SEGMENT) {
+      segmentCount *= 2;
+    }
+    int maxBlocksPerSegment = MAX_SEGMENT_CAPACITY / blockSize;
+    while (totalBlocks / segmentCount > maxBlocksPerSegment) {
+      segmentCount *= 2;
+    }
+    Segment[] newSegments = new Segment[segmentCount];
+    for (int i = 0; i < segmentCount; i++) {
+      newSegments[i] = new Segment((int) (totalBlocks / segmentCount), blockSize);
+    }
+    this.segments = newSegments;
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public int getSize() {
+    int size = 0;
+    for (Segment segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    byte[] bytes = serializer.serialize(value);
+    int evictions = segmentFor(key).put(key, bytes);
+    if (statistics != null) {
+      statistics.recordSerializedBytes(bytes.length);
+      for (int i = 0; i < evictions; i++) {
+        statistics.recordEviction();
+      }
+    }
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    byte[] bytes = segmentFor(key).get(key);
+    return bytes == null ? null : serializer.deserialize(bytes);
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    byte[] bytes = segmentFor(key).remove(key);
+    return bytes == null ? null : serializer.deserialize(bytes);
+  }
+
+  @Override
+  public void clear() {
+    for (Segment segment : segments) {
+      segment.clear();
+    }
+  }
+
+  /**
+   * Returns the number of bytes currently taken by cached values, rounded up to whole blocks.
+   *
+   * @return the used memory in bytes
+   */
+  public long getUsedBytes() {
+    long used = 0;
+    for (Segment segment : segments) {
+      used += segment.usedBlocks() * (long) blockSize;
+    }
+    return used;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (getId() == null) {
+      throw new CacheException("Cache instances require an ID.");
+    }
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof Cache)) {
+      return false;
+    }
+
+    Cache otherCache = (Cache) o;
+    return getId().equals(otherCache.getId());
+  }
+
+  @Override
+  public int hashCode() {
+    if (getId() == null) {
+      throw new CacheException("Cache instances require an ID.");
+    }
+    return getId().hashCode();
+  }
+
+  private Segment segmentFor(Object key) {
+    Segment[] current = segments;
+    int h = key == null ? 0 : key.hashCode();
+    h ^= h >>> 16;
+    return current[h & current.length - 1];
+  }
+
+  private static final class Entry {
+    private final int[] blocks;
+    private final int length;
+
+    Entry(int[] blocks, int length) {
+      this.blocks = blocks;
+      this.length = length;
+    }
+  }
+
+  private static final class Segment {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LinkedHashMap<Object, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final int blockCount;
+    private final int blockSize;
+    private ByteBuffer memory;
+    private int[] freeBlocks;
+    private int freeCount;
+
+    Segment(int blockCount, int blockSize) {
+      this.blockCount = blockCount;
+      this.blockSize = blockSize;
+    }
+
+    int size() {
+      lock.lock();
+      try {
+        return entries.size();
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    int usedBlocks() {
+      lock.lock();
+      try {
+        return memory == null ? 0 : blockCount - freeCount;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    int put(Object key, byte[] bytes) {
+      int needed = Math.max(1, (bytes.length + blockSize - 1) / blockSize);
+      lock.lock();
+      try {
+        release(entries.remove(key));
+        if (needed > blockCount) {
+          // larger than the whole segment
+          return 0;
+        }
+        allocateMemoryIfNecessary();
+        int evictions = 0;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (freeCount < needed) {
+          release(eldest.next());
+          eldest.remove();
+          evictions++;
+        }
+        int[] blocks = Arrays.copyOfRange(freeBlocks, freeCount - needed, freeCount);
+        freeCount -= needed;
+        for (int i = 0, offset = 0; i < blocks.length; i++, offset += blockSize) {
+          ((Buffer) memory).position(blocks[i] * blockSize);
+          memory.put(bytes, offset, Math.min(blockSize, bytes.length - offset));
+        }
+        entries.put(key, new Entry(blocks, bytes.length));
+        return evictions;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    byte[] get(Object key) {
+      lock.lock();
+      try {
+        Entry entry = entries.get(key);
+        return entry == null ? null : read(entry);
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    byte[] remove(Object key) {
+      lock.lock();
+      try {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+          return null;
+        }
+        byte[] bytes = read(entry);
+        release(entry);
+        return bytes;
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    void clear() {
+      lock.lock();
+      try {
+        entries.clear();
+        if (memory != null) {
+          for (int i = 0; i < blockCount; i++) {
+            freeBlocks[i] = i;
+          }
+          freeCount = blockCount;
+        }
+      } finally {
+        lock.unlock();
+      }
+    }
+
+    private byte[] read(Entry entry) {
+      byte[] bytes = new byte[entry.length];
+      for (int i = 0, offset = 0; i < entry.blocks.length; i++, offset += blockSize) {
+        ((Buffer) memory).position(entry.blocks[i] * blockSize);
+        memory.get(bytes, offset, Math.min(blockSize, bytes.length - offset));
+      }
+      return bytes;
+    }
+
+    private void release(Entry entry) {
+      if (entry != null) {
+        System.arraycopy(entry.blocks, 0, freeBlocks, freeCount, entry.blocks.length);
+        freeCount += entry.blocks.length;
+      }
+    }
+
+    private void allocateMemoryIfNecessary() {
+      if (memory == null) {
+        memory = ByteBuffer.allocateDirect(blockCount * blockSize);
+        freeBlocks = new int[blockCount];
+        for (int i = 0; i < blockCount; i++) {
+          freeBlocks[i] = blockCount - 1 - i;
+        }
+        freeCount = blockCount;
+      }
+    }
+  }
+
+}
@@ -0,0 +1,674 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.serializer;
+
+import java.io.Externalizable;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.reflection.Reflector;
+
+/**
+ * Serializes cached objects into a compact binary form without Java serialization.
+ * <p>
+ * Common value types (strings, numbers, dates, enums), arrays, the usual {@code java.util} lists, sets and maps and
+ * plain beans are written field by field, so result objects do not have to be {@link java.io.Serializable}. A bean
+ * needs a no-argument constructor, which is called when the copy is created, and its transient and static fields are
+ * not copied. Objects that control their own serialization (e.g. lazy loading proxies) and other JDK types are written
+ * with Java serialization instead and must then be {@link java.io.Serializable}.
+ * <p>
+ * Classes are written as ids that are only known to this instance, so the bytes can only be read by the serializer that
+ * wrote them.
+ *
+ * @since 3.5.17
+ */
+public class BinaryCacheSerializer implements CacheSerializer {
+
+  private static final byte NULL = 0;
+  private static final byte REFERENCE = 1;
+  private static final byte TRUE = 2;
+  private static final byte FALSE = 3;
+  private static final byte INTEGER = 4;
+  private static final byte LONG = 5;
+  private static final byte SHORT = 6;
+  private static final byte BYTE = 7;
+  private static final byte CHARACTER = 8;
+  private static final byte FLOAT = 9;
+  private static final byte DOUBLE = 10;
+  private static final byte ENUM = 11;
+  private static final byte STRING = 12;
+  private static final byte BIG_DECIMAL = 13;
+  private static final byte BIG_INTEGER = 14;
+  private static final byte DATE = 15;
+  private static final byte SQL_DATE = 16;
+  private static final byte SQL_TIME = 17;
+  private static final byte SQL_TIMESTAMP = 18;
+  private static final byte LOCAL_DATE = 19;
+  private static final byte LOCAL_TIME = 20;
+  private static final byte LOCAL_DATE_TIME = 21;
+  private static final byte INSTANT = 22;
+  private static final byte BYTE_ARRAY = 23;
+  private static final byte ARRAY = 24;
+  private static final byte COLLECTION = 25;
+  private static final byte MAP = 26;
+  private static final byte BEAN = 27;
+  private static final byte SERIALIZED = 28;
+
+  private static final List<Class<?>> COLLECTION_TYPES = Arrays.asList(ArrayList.class, LinkedList.class, HashSet.class,
+      LinkedHashSet.class, ArrayDeque.class);
+  private static final List<Class<?>> MAP_TYPES = Arrays.asList(HashMap.class, LinkedHashMap.class);
+
+  private final JavaCacheSerializer javaSerializer = new JavaCacheSerializer();
+  private final Map<Class<?>, ClassDescriptor> descriptors = new ConcurrentHashMap<>();
+  private volatile ClassDescriptor[] descriptorsById = new ClassDescriptor[16];
+  private int descriptorCount;
+  private final ReentrantLock registerLock = new ReentrantLock();
+
+  @Override
+  public byte[] serialize(Object object) {
+    Output out = new Output();
+    try {
+      writeObject(out, object);
+    } catch (CacheException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new CacheException("Error serializing object.  Cause: " + e, e);
+    }
+    return out.toByteArray();
+  }
+
+  @Override
+  public Object deserialize(byte[] bytes) {
+    try {
+      return readObject(new Input(bytes));
+    } catch (CacheException e) {
+      throw e;
+    } catch (Exception e) {
+      throw new CacheException("Error deserializing object.  Cause: " + e, e);
+    }
+  }
+
+  private void writeObject(Output out, Object value) throws ReflectiveOperationException {
+    if (value == null) {
+      out.writeByte(NULL);
+      return;
+    }
+    Class<?> type = value.getClass();
+    if (type == Integer.class) {
+      out.writeByte(INTEGER);
+      out.writeInt((Integer) value);
+    } else if (type == Long.class) {
+      out.writeByte(LONG);
+      out.writeLong((Long) value);
+    } else if (type == Boolean.class) {
+      out.writeByte((Boolean) value ? TRUE : FALSE);
+    } else if (type == Short.class) {
+      out.writeByte(SHORT);
+      out.writeInt((Short) value);
+    } else if (type == Byte.class) {
+      out.writeByte(BYTE);
+      out.writeByte((Byte) value);
+    } else if (type == Character.class) {
+      out.writeByte(CHARACTER);
+      out.writeInt((Character) value);
+    } else if (type == Float.class) {
+      out.writeByte(FLOAT);
+      out.writeInt(Float.floatToRawIntBits((Float) value));
+    } else if (type == Double.class) {
+      out.writeByte(DOUBLE);
+      out.writeLong(Double.doubleToRawLongBits((Double) value));
+    } else if (value instanceof Enum) {
+      out.writeByte(ENUM);
+      out.writeVarInt(describe(((Enum<?>) value).getDeclaringClass()).id);
+      out.writeVarInt(((Enum<?>) value).ordinal());
+    } else {
+      int handle = out.handleOf(value);
+      if (handle >= 0) {
+        out.writeByte(REFERENCE);
+        out.writeVarInt(handle);
+      } else {
+        writeReferenceType(out, type, value);
+      }
+    }
+  }
+
+  private void writeReferenceType(Output out, Class<?> type, Object value) throws ReflectiveOperationException {
+    if (type == String.class) {
+      out.writeByte(STRING);
+      out.writeString((String) value);
+    } else if (type == BigDecimal.class) {
+      out.writeByte(BIG_DECIMAL);
+      out.writeBytes(((BigDecimal) value).unscaledValue().toByteArray());
+      out.writeInt(((BigDecimal) value).scale());
+    } else if (type == BigInteger.class) {
+      out.writeByte(BIG_INTEGER);
+      out.writeBytes(((BigInteger) value).toByteArray());
+    } else if (type == Date.class) {
+      out.writeByte(DATE);
+      out.writeLong(((Date) value).getTime());
+    } else if (type == java.sql.Date.class) {
+      out.writeByte(SQL_DATE);
+      out.writeLong(((Date) value).getTime());
+    } else if (type == Time.class) {
+      out.writeByte(SQL_TIME);
+      out.writeLong(((Date) value).getTime());
+    } else if (type == Timestamp.class) {
+      out.writeByte(SQL_TIMESTAMP);
+      out.writeLong(((Timestamp) value).getTime());
+      out.writeInt(((Timestamp) value).getNanos());
+    } else if (type == LocalDate.class) {
+      out.writeByte(LOCAL_DATE);
+      out.writeLong(((LocalDate) value).toEpochDay());
+    } else if (type == LocalTime.class) {
+      out.writeByte(LOCAL_TIME);
+      out.writeLong(((LocalTime) value).toNanoOfDay());
+    } else if (type == LocalDateTime.class) {
+      out.writeByte(LOCAL_DATE_TIME);
+      out.writeLong(((LocalDateTime) value).toLocalDate().toEpochDay());
+      out.writeLong(((LocalDateTime) value).toLocalTime().toNanoOfDay());
+    } else if (type == Instant.class) {
+      out.writeByte(INSTANT);
+      out.writeLong(((Instant) value).getEpochSecond());
+      out.writeInt(((Instant) value).getNano());
+    } else if (type == byte[].class) {
+      out.writeByte(BYTE_ARRAY);
+      out.writeBytes((byte[]) value);
+    } else {
+      ClassDescriptor descriptor = describe(type);
+      out.writeByte(descriptor.tag);
+      if (descriptor.tag == SERIALIZED) {
+        out.writeBytes(javaSerializer.serialize(value));
+        return;
+      }
+      out.writeVarInt(descriptor.id);
+      if (descriptor.tag == ARRAY) {
+        writeArray(out, descriptor.type.getComponentType(), value);
+      } else if (descriptor.tag == COLLECTION) {
+        Collection<?> collection = (Collection<?>) value;
+        out.writeVarInt(collection.size());
+        for (Object element : collection) {
+          writeObject(out, element);
+        }
+      } else if (descriptor.tag == MAP) {
+        Map<?, ?> map = (Map<?, ?>) value;
+        out.writeVarInt(map.size());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+          writeObject(out, entry.getKey());
+          writeObject(out, entry.getValue());
+        }
+      } else {
+        for (Field field : descriptor.fields) {
+          writeValue(out, field.getType(), field.get(value));
+        }
+      }
+    }
+  }
+
+  private void writeArray(Output out, Class<?> componentType, Object array) throws ReflectiveOperationException {
+    int length = Array.getLength(array);
+    out.writeVarInt(length);
+    for (int i = 0; i < length; i++) {
+      writeValue(out, componentType, Array.get(array, i));
+    }
+  }
+
+  private void writeValue(Output out, Class<?> type, Object value) throws ReflectiveOperationException {
+    if (!type.isPrimitive()) {
+      writeObject(out, value);
+    } else if (type == int.class) {
+      out.writeInt((Integer) value);
+    } else if (type == long.class) {
+      out.writeLong((Long) value);
+    } else if (type == boolean.class) {
+      out.writeByte((Boolean) value ? TRUE : FALSE);
+    } else if (type == double.class) {
+      out.writeLong(Double.doubleToRawLongBits((Double) value));
+    } else if (type == float.class) {
+      out.writeInt(Float.floatToRawIntBits((Float) value));
+    } else if (type == short.class) {
+      out.writeInt((Short) value);
+    } else if (type == char.class) {
+      out.writeInt((Character) value);
+    } else {
+      out.writeByte((Byte) value);
+    }
+  }
+
+  private Object readObject(Input in) throws ReflectiveOperationException {
+    byte tag = in.readByte();
+    switch (tag) {
+      case NULL:
+        return null;
+      case REFERENCE:
+        return in.handle(in.readVarInt());
+      case TRUE:
+        return Boolean.TRUE;
+      case FALSE:
+        return Boolean.FALSE;
+      case INTEGER:
+        return in.readInt();
+      case LONG:
+        return in.readLong();
+      case SHORT:
+        return (short) in.readInt();
+      case BYTE:
+        return in.readByte();
+      case CHARACTER:
+        return (char) in.readInt();
+      case FLOAT:
+        return Float.intBitsToFloat(in.readInt());
+      case DOUBLE:
+        return Double.longBitsToDouble(in.readLong());
+      case ENUM:
+        return describe(in.readVarInt()).enumConstants[in.readVarInt()];
+      case STRING:
+        return in.register(in.readString());
+      case BIG_DECIMAL:
+        return in.register(new BigDecimal(new BigInteger(in.readBytes()), in.readInt()));
+      case BIG_INTEGER:
+        return in.register(new BigInteger(in.readBytes()));
+      case DATE:
+        return in.register(new Date(in.readLong()));
+      case SQL_DATE:
+        return in.register(new java.sql.Date(in.readLong()));
+      case SQL_TIME:
+        return in.register(new Time(in.readLong()));
+      case SQL_TIMESTAMP:
+        Timestamp timestamp = new Timestamp(in.readLong());
+        timestamp.setNanos(in.readInt());
+        return in.register(timestamp);
+      case LOCAL_DATE:
+        return in.register(LocalDate.ofEpochDay(in.readLong()));
+      case LOCAL_TIME:
+        return in.register(LocalTime.ofNanoOfDay(in.readLong()));
+      case LOCAL_DATE_TIME:
+        LocalDate date = LocalDate.ofEpochDay(in.readLong());
+        return in.register(LocalDateTime.of(date, LocalTime.ofNanoOfDay(in.readLong())));
+      case INSTANT:
+        return in.register(Instant.ofEpochSecond(in.readLong(), in.readInt()));
+      case BYTE_ARRAY:
+        return in.register(in.readBytes());
+      case SERIALIZED:
+        return in.register(javaSerializer.deserialize(in.readBytes()));
+      case ARRAY:
+        return readArray(in, describe(in.readVarInt()).type.getComponentType());
+      case COLLECTION:
+        return readCollection(in, describe(in.readVarInt()));
+      case MAP:
+        return readMap(in, describe(in.readVarInt()));
+      case BEAN:
+        return readBean(in, describe(in.readVarInt()));
+      default:
+        throw new CacheException("Error deserializing object.  Cause: unknown type tag " + tag);
+    }
+  }
+
+  private Object readArray(Input in, Class<?> componentType) throws ReflectiveOperationException {
+    int length = in.readVarInt();
+    Object array = Array.newInstance(componentType, length);
+    in.register(array);
+    for (int i = 0; i < length; i++) {
+      Array.set(array, i, readValue(in, componentType));
+    }
+    return array;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Object readCollection(Input in, ClassDescriptor descriptor) throws ReflectiveOperationException {
+    int size = in.readVarInt();
+    Collection<Object> collection = (Collection<Object>) descriptor.constructor.newInstance();
+    in.register(collection);
+    for (int i = 0; i < size; i++) {
+      collection.add(readObject(in));
+    }
+    return collection;
+  }
+
+  @SuppressWarnings("unchecked")
+  private Object readMap(Input in, ClassDescriptor descriptor) throws ReflectiveOperationException {
+    int size = in.readVarInt();
+    Map<Object, Object> map = (Map<Object, Object>) descriptor.constructor.newInstance();
+    in.register(map);
+    for (int i = 0; i < size; i++) {
+      Object key = readObject(in);
+      map.put(key, readObject(in));
+    }
+    return map;
+  }
+
+  private Object readBean(Input in, ClassDescriptor descriptor) throws ReflectiveOperationException {
+    Object bean = descriptor.constructor.newInstance();
+    in.register(bean);
+    for (Field field : descriptor.fields) {
+      field.set(bean, readValue(in, field.getType()));
+    }
+    return bean;
+  }
+
+  private Object readValue(Input in, Class<?> type) throws ReflectiveOperationException {
+    if (!type.isPrimitive()) {
+      return readObject(in);
+    }
+    if (type == int.class) {
+      return in.readInt();
+    }
+    if (type == long.class) {
+      return in.readLong();
+    }
+    if (type == boolean.class) {
+      return in.readByte() == TRUE;
+    }
+    if (type == double.class) {
+      return Double.longBitsToDouble(in.readLong());
+    }
+    if (type == float.class) {
+      return Float.intBitsToFloat(in.readInt());
+    }
+    if (type == short.class) {
+      return (short) in.readInt();
+    }
+    if (type == char.class) {
+      return (char) in.readInt();
+    }
+    return in.readByte();
+  }
+
+  private ClassDescriptor describe(Class<?> type) {
+    ClassDescriptor descriptor = descriptors.get(type);
+    return descriptor != null ? descriptor : register(type);
+  }
+
+  private ClassDescriptor describe(int id) {
+    ClassDescriptor[] byId = descriptorsById;
+    if (id >= byId.length || byId[id] == null) {
+      throw new CacheException("Error deserializing object.  Cause: unknown class id " + id);
+    }
+    return byId[id];
+  }
+
+  private ClassDescriptor register(Class<?> type) {
+    registerLock.lock();
+    try {
+      ClassDescriptor descriptor = descriptors.get(type);
+      if (descriptor != null) {
+        return descriptor;
+      }
+      descriptor = new ClassDescriptor(descriptorCount, type);
+      ClassDescriptor[] byId = descriptorsById;
+      if (descriptorCount == byId.length) {
+        byId = Arrays.copyOf(byId, byId.length * 2);
+      }
+      byId[descriptorCount++] = descriptor;
+      descriptorsById = byId;
+      descriptors.put(type, descriptor);
+      return descriptor;
+    } finally {
+      registerLock.unlock();
+    }
+  }
+
+  private static final class ClassDescriptor {
+    private final int id;
+    private final Class<?> type;
+    private final byte tag;
+    private final Object[] enumConstants;
+    private final Constructor<?> constructor;
+    private final Field[] fields;
+
+    ClassDescriptor(int id, Class<?> type) {
+      this.id = id;
+      this.type = type;
+      this.enumConstants = type.getEnumConstants();
+      Constructor<?> noArgConstructor = null;
+      Field[] beanFields = null;
+      if (type.isEnum()) {
+        tag = ENUM;
+      } else if (type.isArray()) {
+        tag = ARRAY;
+      } else if (COLLECTION_TYPES.contains(type)) {
+        tag = COLLECTION;
+        noArgConstructor = noArgConstructor(type);
+      } else if (MAP_TYPES.contains(type)) {
+        tag = MAP;
+        noArgConstructor = noArgConstructor(type);
+      } else {
+        noArgConstructor = isBeanCandidate(type) ? noArgConstructor(type) : null;
+        beanFields = noArgConstructor != null ? beanFields(type) : null;
+        tag = beanFields != null ? BEAN : SERIALIZED;
+      }
+      this.constructor = noArgConstructor;
+      this.fields = beanFields;
+    }
+
+    private static boolean isBeanCandidate(Class<?> type) {
+      if (type.isInterface() || Modifier.isAbstract(type.getModifiers()) || type.isSynthetic()
+          || Proxy.isProxyClass(type) || Externalizable.class.isAssignableFrom(type)) {
+        return false;
+      }
+      for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+        if (isPlatformClass(current) || hasMethod(current, "writeObject", ObjectOutputStream.class)
+            || hasMethod(current, "readObject", ObjectInputStream.class) || hasMethod(current, "writeReplace")
+            || hasMethod(current, "readResolve")) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private static boolean isPlatformClass(Class<?> type) {
+      String name = type.getName();
+      return name.startsWith("java.") || name.startsWith("javax.") || name.startsWith("jdk.") || name.startsWith("sun.")
+          || name.startsWith("com.sun.");
+    }
+
+    private static boolean hasMethod(Class<?> type, String name, Class<?>... parameterTypes) {
+      try {
+        type.getDeclaredMethod(name, parameterTypes);
+        return true;
+      } catch (NoSuchMethodException e) {
+        return false;
+      }
+    }
+
+    private static Constructor<?> noArgConstructor(Class<?> type) {
+      try {
+        Constructor<?> constructor = type.getDeclaredConstructor();
+        if (!Modifier.isPublic(constructor.getModifiers()) || !Modifier.isPublic(type.getModifiers())) {
+          if (!Reflector.canControlMemberAccessible()) {
+            return null;
+          }
+          constructor.setAccessible(true);
+        }
+        return constructor;
+      } catch (NoSuchMethodException | RuntimeException e) {
+        return null;
+      }
+    }
+
+    private static Field[] beanFields(Class<?> type) {
+      if (!Reflector.canControlMemberAccessible()) {
+        return null;
+      }
+      List<Field> fields = new ArrayList<>();
+      try {
+        for (Class<?> current = type; current != Object.class; current = current.getSuperclass()) {
+          for (Field field : current.getDeclaredFields()) {
+            int modifiers = field.getModifiers();
+            if (!Modifier.isStatic(modifiers) && !Modifier.isTransient(modifiers)) {
+              field.setAccessible(true);
+              fields.add(field);
+            }
+          }
+        }
+      } catch (RuntimeException e) {
+        // not accessible, fall back to java serialization
+        return null;
+      }
+      return fields.toArray(new Field[0]);
+    }
+  }
+
+  private static final class Output {
+    private byte[] buffer = new byte[256];
+    private int position;
+    private final Map<Object, Integer> handles = new IdentityHashMap<>();
+
+    int handleOf(Object value) {
+      Integer handle = handles.get(value);
+      if (handle != null) {
+        return handle;
+      }
+      handles.put(value, handles.size());
+      return -1;
+    }
+
+    void writeByte(int value) {
+      ensureCapacity(1);
+      buffer[position++] = (byte) value;
+    }
+
+    void writeInt(int value) {
+      ensureCapacity(4);
+      buffer[position++] = (byte) (value >>> 24);
+      buffer[position++] = (byte) (value >>> 16);
+      buffer[position++] = (byte) (value >>> 8);
+      buffer[position++] = (byte) value;
+    }
+
+    void writeLong(long value) {
+      writeInt((int) (value >>> 32));
+      writeInt((int) value);
+    }
+
+    void writeVarInt(int value) {
+      ensureCapacity(5);
+      while ((value & ~0x7F) != 0) {
+        buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+        value >>>= 7;
+      }
+      buffer[position++] = (byte) value;
+    }
+
+    void writeBytes(byte[] bytes) {
+      writeVarInt(bytes.length);
+      ensureCapacity(bytes.length);
+      System.arraycopy(bytes, 0, buffer, position, bytes.length);
+      position += bytes.length;
+    }
+
+    void writeString(String value) {
+      writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    byte[] toByteArray() {
+      return Arrays.copyOf(buffer, position);
+    }
+
+    private void ensureCapacity(int length) {
+      if (position + length > buffer.length) {
+        buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + length));
+      }
+    }
+  }
+
+  private static final class Input {
+    private final byte[] buffer;
+    private int position;
+    private final List<Object> handles = new ArrayList<>();
+
+    Input(byte[] buffer) {
+      this.buffer = buffer;
+    }
+
+    Object register(Object value) {
+      handles.add(value);
+      return value;
+    }
+
+    Object handle(int handle) {
+      return handles.get(handle);
+    }
+
+    byte readByte() {
+      return buffer[position++];
+    }
+
+    int readInt() {
+      return (buffer[position++] & 0xFF) << 24 | (buffer[position++] & 0xFF) << 16 | (buffer[position++] & 0xFF) << 8
+          | buffer[position++] & 0xFF;
+    }
+
+    long readLong() {
+      return (long) readInt() << 32 | readInt() & 0xFFFFFFFFL;
+    }
+
+    int readVarInt() {
+      int value = 0;
+      for (int shift = 0;; shift += 7) {
+        byte b = buffer[position++];
+        value |= (b & 0x7F) << shift;
+        if (b >= 0) {
+          return value;
+        }
+      }
+    }
+
+    byte[] readBytes() {
+      int length = readVarInt();
+      byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+      position += length;
+      return bytes;
+    }
+
+    String readString() {
+      int length = readVarInt();
+      String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+      position += length;
+      return value;
+    }
+  }
+
+}
@@ -0,0 +1,54 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.serializer;
+
+/**
+ * Turns cached objects into bytes and back so that a read-write cache hands every caller its own copy.
+ * <p>
+ * Implementations must be thread-safe and must be able to read any bytes they produced. The bytes are only kept in
+ * memory by the cache, they are never read by another JVM.
+ *
+ * @since 3.5.17
+ */
+public interface CacheSerializer {
+
+  /**
+   * Serializes an object.
+   *
+   * @param object
+   *          the object to serialize, may be {@code null}
+   *
+   * @return the serialized form
+   *
+   * @throws org.apache.ibatis.cache.CacheException
+   *           if the object cannot be serialized
+   */
+  byte[] serialize(Object object);
+
+  /**
+   * Creates a new object from bytes produced by {@link #serialize(Object)}.
+   *
+   * @param bytes
+   *          the serialized form
+   *
+   * @return the new object
+   *
+   * @throws org.apache.ibatis.cache.CacheException
+   *           if the bytes cannot be deserialized
+   */
+  Object deserialize(byte[] bytes);
+
+}
@@ -21,6 +21,7 @@ import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.SQLException;
 
+import org.apache.ibatis.executor.statement.StatementCache;
 import org.apache.ibatis.reflection.ExceptionUtil;
 
 /**
@@ -29,12 +30,15 @@ import org.apache.ibatis.reflection.ExceptionUtil;
 class PooledConnection implements InvocationHandler {
 
   private static final String CLOSE = "close";
+  private static final String UNWRAP = "unwrap";
+  private static final String IS_WRAPPER_FOR = "isWrapperFor";
   private static final Class<?>[] IFACES = { Connection.class };
 
   private final int hashCode;
   private final PooledDataSource dataSource;
   private final Connection realConnection;
   private final Connection proxyConnection;
+  private final StatementCache statementCache;
   private long checkoutTimestamp;
   private long createdTimestamp;
   private long lastUsedTimestamp;
@@ -50,12 +54,28 @@ class PooledConnection implements InvocationHandler {
    *          - the dataSource that the connection is from
    */
   public PooledConnection(Connection connection, PooledDataSource dataSource) {
+    this(connection, dataSource, dataSource.getPoolMaximumCachedStatements() > 0
+        ? new StatementCache(dataSource.getPoolMaximumCachedStatements()) : null);
+  }
+
+  /**
+   * Constructor for a connection returned to the pool, which keeps the statements cached on the real connection.
+   *
+   * @param connection
+   *          - the connection that is to be presented as a pooled connection
+   * @param dataSource
+   *          - the dataSource that the connection is from
+   * @param statementCache
+   *          - the statements cached on the connection, or null
+   */
+  PooledConnection(Connection connection, PooledDataSource dataSource, StatementCache statementCache) {
     this.hashCode = connection.hashCode();
     this.realConnection = connection;
     this.dataSource = dataSource;
     this.createdTimestamp = System.currentTimeMillis();
     this.lastUsedTimestamp = System.currentTimeMillis();
     this.valid = true;
+    this.statementCache = statementCache;
     this.proxyConnection = (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), IFACES, this);
   }
 
@@ -93,6 +113,15 @@ class PooledConnection implements InvocationHandler {
     return proxyConnection;
   }
 
+  /**
+   * Getter for the statements cached on the *real* connection.
+   *
+   * @return The statement cache, or null if statements are not cached
+   */
+  StatementCache getStatementCache() {
+    return statementCache;
+  }
+
   /**
    * Gets the hashcode of the real connection (or 0 if it is null).
    *
@@ -249,6 +278,15 @@ class PooledConnection implements InvocationHandler {
       dataSource.pushConnection(this);
       return null;
     }
+    if (statementCache != null && args != null && args.length == 1 && StatementCache.class.equals(args[0])) {
+      if (UNWRAP.equals(methodName)) {
+        checkConnection();
+        return statementCache;
+      }
+      if (IS_WRAPPER_FOR.equals(methodName)) {
+        return true;
+      }
+    }
     try {
       if (!Object.class.equals(method.getDeclaringClass())) {
         // issue #579 toString() should never fail
@@ -57,6 +57,7 @@ public class PooledDataSource implements DataSource {
   protected String poolPingQuery = "NO PING QUERY SET";
   protected boolean poolPingEnabled;
   protected int poolPingConnectionsNotUsedFor;
+  protected int poolMaximumCachedStatements;
 
   private int expectedConnectionTypeCode;
 
@@ -265,6 +266,21 @@ public class PooledDataSource implements DataSource {
     forceCloseAll();
   }
 
+  /**
+   * The maximum number of statements kept open on each connection, so that a
+   * {@link org.apache.ibatis.executor.ReuseExecutor} reuses them across the sessions that check the connection out. The
+   * least recently used statement is closed when the limit is reached. Zero, the default, disables the cache.
+   *
+   * @param poolMaximumCachedStatements
+   *          the maximum number of cached statements per connection
+   *
+   * @since 3.5.17
+   */
+  public void setPoolMaximumCachedStatements(int poolMaximumCachedStatements) {
+    this.poolMaximumCachedStatements = poolMaximumCachedStatements;
+    forceCloseAll();
+  }
+
   public String getDriver() {
     return dataSource.getDriver();
   }
@@ -336,6 +352,13 @@ public class PooledDataSource implements DataSource {
     return poolPingConnectionsNotUsedFor;
   }
 
+  /**
+   * @since 3.5.17
+   */
+  public int getPoolMaximumCachedStatements() {
+    return poolMaximumCachedStatements;
+  }
+
   /**
    * Closes all active and idle connections in the pool.
    */
@@ -400,7 +423,7 @@ public class PooledDataSource implements DataSource {
           if (!conn.getRealConnection().getAutoCommit()) {
             conn.getRealConnection().rollback();
           }
-          PooledConnection newConn = new PooledConnection(conn.getRealConnection(), this);
+          PooledConnection newConn = new PooledConnection(conn.getRealConnection(), this, conn.getStatementCache());
           state.idleConnections.add(newConn);
           newConn.setCreatedTimestamp(conn.getCreatedTimestamp());
           newConn.setLastUsedTimestamp(conn.getLastUsedTimestamp());
@@ -476,6 +499,10 @@ public class PooledDataSource implements DataSource {
                 log.debug("Bad connection. Could not roll back");
               }
             }
+            if (oldestActiveConnection.getStatementCache() != null) {
+              // the overdue borrower may still be using its statements, so they are not handed over
+              oldestActiveConnection.getStatementCache().clear();
+            }
             conn = new PooledConnection(oldestActiveConnection.getRealConnection(), this);
             conn.setCreatedTimestamp(oldestActiveConnection.getCreatedTimestamp());
             conn.setLastUsedTimestamp(oldestActiveConnection.getLastUsedTimestamp());
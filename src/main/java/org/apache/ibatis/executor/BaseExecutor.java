@@ -20,6 +20,7 @@ import static org.apache.ibatis.executor.ExecutionPlaceholder.EXECUTION_PLACEHOL
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
@@ -109,12 +110,17 @@ public abstract class BaseExecutor implements Executor {
 
   @Override
   public int update(MappedStatement ms, Object parameter) throws SQLException {
+    return update(ms, parameter, null);
+  }
+
+  @Override
+  public int update(MappedStatement ms, Object parameter, BoundSql boundSql) throws SQLException {
     ErrorContext.instance().resource(ms.getResource()).activity("executing an update").object(ms.getId());
     if (closed) {
       throw new ExecutorException("Executor was closed.");
     }
     clearLocalCache();
-    return doUpdate(ms, parameter);
+    return boundSql == null ? doUpdate(ms, parameter) : doUpdate(ms, parameter, boundSql);
   }
 
   @Override
@@ -177,6 +183,10 @@ public abstract class BaseExecutor implements Executor {
   @Override
   public <E> Cursor<E> queryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds) throws SQLException {
     BoundSql boundSql = ms.getBoundSql(parameter);
+    if (!boundSql.getRemainingChunks().isEmpty()) {
+      throw new ExecutorException(
+          "Statement '" + ms.getId() + "' is split into chunks, which a cursor does not support.");
+    }
     return doQueryCursor(ms, parameter, rowBounds, boundSql);
   }
 
@@ -199,16 +209,29 @@ public abstract class BaseExecutor implements Executor {
     if (closed) {
       throw new ExecutorException("Executor was closed.");
     }
-    CacheKey cacheKey = new CacheKey();
+    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    // id, offset, limit, sql, parameters and environment id
+    CacheKey cacheKey = new CacheKey(parameterMappings.size() + 5);
     cacheKey.update(ms.getId());
     cacheKey.update(rowBounds.getOffset());
     cacheKey.update(rowBounds.getLimit());
+    updateCacheKey(cacheKey, ms, parameterObject, boundSql);
+    for (BoundSql chunk : boundSql.getRemainingChunks()) {
+      updateCacheKey(cacheKey, ms, parameterObject, chunk);
+    }
+    if (configuration.getEnvironment() != null) {
+      // issue #176
+      cacheKey.update(configuration.getEnvironment().getId());
+    }
+    return cacheKey;
+  }
+
+  private void updateCacheKey(CacheKey cacheKey, MappedStatement ms, Object parameterObject, BoundSql boundSql) {
     cacheKey.update(boundSql.getSql());
-    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
     TypeHandlerRegistry typeHandlerRegistry = ms.getConfiguration().getTypeHandlerRegistry();
     // mimic DefaultParameterHandler logic
     MetaObject metaObject = null;
-    for (ParameterMapping parameterMapping : parameterMappings) {
+    for (ParameterMapping parameterMapping : boundSql.getParameterMappings()) {
       if (parameterMapping.getMode() != ParameterMode.OUT) {
         Object value;
         String propertyName = parameterMapping.getProperty();
@@ -227,11 +250,6 @@ public abstract class BaseExecutor implements Executor {
         cacheKey.update(value);
       }
     }
-    if (configuration.getEnvironment() != null) {
-      // issue #176
-      cacheKey.update(configuration.getEnvironment().getId());
-    }
-    return cacheKey;
   }
 
   @Override
@@ -275,6 +293,15 @@ public abstract class BaseExecutor implements Executor {
 
   protected abstract int doUpdate(MappedStatement ms, Object parameter) throws SQLException;
 
+  /**
+   * Executes an update whose SQL was already built. Executors that do not override it build the SQL again.
+   *
+   * @since 3.5.17
+   */
+  protected int doUpdate(MappedStatement ms, Object parameter, BoundSql boundSql) throws SQLException {
+    return doUpdate(ms, parameter);
+  }
+
   protected abstract List<BatchResult> doFlushStatements(boolean isRollback) throws SQLException;
 
   protected abstract <E> List<E> doQuery(MappedStatement ms, Object parameter, RowBounds rowBounds,
@@ -333,7 +360,11 @@ public abstract class BaseExecutor implements Executor {
     List<E> list;
     localCache.putObject(key, EXECUTION_PLACEHOLDER);
     try {
-      list = doQuery(ms, parameter, rowBounds, resultHandler, boundSql);
+      if (boundSql == null || boundSql.getRemainingChunks().isEmpty()) {
+        list = doQuery(ms, parameter, rowBounds, resultHandler, boundSql);
+      } else {
+        list = queryChunks(ms, parameter, rowBounds, resultHandler, boundSql);
+      }
     } finally {
       localCache.removeObject(key);
     }
@@ -344,6 +375,24 @@ public abstract class BaseExecutor implements Executor {
     return list;
   }
 
+  private <E> List<E> queryChunks(MappedStatement ms, Object parameter, RowBounds rowBounds,
+      ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+    if (rowBounds.getOffset() != RowBounds.NO_ROW_OFFSET || rowBounds.getLimit() != RowBounds.NO_ROW_LIMIT) {
+      throw new ExecutorException(
+          "Statement '" + ms.getId() + "' is split into chunks, which does not support RowBounds.");
+    }
+    if (ms.hasNestedResultMaps()) {
+      // the rows of one result could be split across chunks, which would map them to several results
+      throw new ExecutorException(
+          "Statement '" + ms.getId() + "' is split into chunks, which does not support nested result maps.");
+    }
+    List<E> list = new ArrayList<>(doQuery(ms, parameter, rowBounds, resultHandler, boundSql));
+    for (BoundSql chunk : boundSql.getRemainingChunks()) {
+      list.addAll(doQuery(ms, parameter, rowBounds, resultHandler, chunk));
+    }
+    return list;
+  }
+
   protected Connection getConnection(Log statementLog) throws SQLException {
     Connection connection = transaction.getConnection();
     if (statementLog.isDebugEnabled()) {
@@ -20,6 +20,7 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -30,6 +31,7 @@ import org.apache.ibatis.executor.keygen.NoKeyGenerator;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.parsing.SqlTableExtractor;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
@@ -44,6 +46,10 @@ public class BatchExecutor extends BaseExecutor {
 
   private final List<Statement> statementList = new ArrayList<>();
   private final List<BatchResult> batchResultList = new ArrayList<>();
+  // the tables named in the SQL of each statement when updates are grouped, empty if unknown
+  private final List<String[]> tablesList = new ArrayList<>();
+  // the results of the batches executed before the statements are flushed
+  private final List<BatchResult> executedResultList = new ArrayList<>();
   private String currentSql;
   private MappedStatement currentStatement;
 
@@ -53,32 +59,88 @@ public class BatchExecutor extends BaseExecutor {
 
   @Override
   public int doUpdate(MappedStatement ms, Object parameterObject) throws SQLException {
+    return doUpdate(ms, parameterObject, null);
+  }
+
+  @Override
+  protected int doUpdate(MappedStatement ms, Object parameterObject, BoundSql boundSql) throws SQLException {
     final Configuration configuration = ms.getConfiguration();
     final StatementHandler handler = configuration.newStatementHandler(this, ms, parameterObject, RowBounds.DEFAULT,
-        null, null);
-    final BoundSql boundSql = handler.getBoundSql();
-    final String sql = boundSql.getSql();
+        null, boundSql);
+    final String sql = handler.getBoundSql().getSql();
+    final Integer maxStatements = configuration.getMaxBatchStatements();
+    final String[] tables = maxStatements == null ? null : SqlTableExtractor.extract(sql);
+    final int index = maxStatements == null ? currentStatementIndex(ms, sql) : groupedStatementIndex(ms, sql, tables);
     final Statement stmt;
-    if (sql.equals(currentSql) && ms.equals(currentStatement)) {
-      int last = statementList.size() - 1;
-      stmt = statementList.get(last);
+    final BatchResult batchResult;
+    if (index >= 0) {
+      stmt = statementList.get(index);
       applyTransactionTimeout(stmt);
       handler.parameterize(stmt);// fix Issues 322
-      BatchResult batchResult = batchResultList.get(last);
+      batchResult = batchResultList.get(index);
       batchResult.addParameterObject(parameterObject);
     } else {
+      if (maxStatements != null && statementList.size() >= maxStatements) {
+        executedResultList.addAll(executeStatements());
+      }
       Connection connection = getConnection(ms.getStatementLog());
       stmt = handler.prepare(connection, transaction.getTimeout());
       handler.parameterize(stmt); // fix Issues 322
       currentSql = sql;
       currentStatement = ms;
       statementList.add(stmt);
-      batchResultList.add(new BatchResult(ms, sql, parameterObject));
+      batchResult = new BatchResult(ms, sql, parameterObject);
+      batchResultList.add(batchResult);
+      tablesList.add(tables);
     }
     handler.batch(stmt);
+    Integer batchSize = configuration.getBatchSize();
+    if (batchSize != null && batchResult.getParameterObjects().size() >= batchSize) {
+      executePendingBatches();
+    }
     return BATCH_UPDATE_RETURN_VALUE;
   }
 
+  private int currentStatementIndex(MappedStatement ms, String sql) {
+    return sql.equals(currentSql) && ms.equals(currentStatement) ? statementList.size() - 1 : -1;
+  }
+
+  /**
+   * Finds the open statement an update can be added to without being executed before a statement added after it that it
+   * may depend on or that may depend on it. The update is only moved ahead of the statements opened since then when it
+   * declares the tables it writes, reads or references (e.g. through a foreign key) and none of them, nor the tables
+   * named in its SQL, is named in the SQL of those statements. An update that does not declare its tables can only be
+   * added to the previous statement.
+   */
+  private int groupedStatementIndex(MappedStatement ms, String sql, String[] tables) {
+    final String[] declaredTables = ms.getTables();
+    for (int i = statementList.size() - 1; i >= 0; i--) {
+      BatchResult batchResult = batchResultList.get(i);
+      if (sql.equals(batchResult.getSql()) && ms.equals(batchResult.getMappedStatement())) {
+        return i;
+      }
+      String[] otherTables = tablesList.get(i);
+      if (declaredTables == null || sharesTable(declaredTables, otherTables) || sharesTable(tables, otherTables)) {
+        return -1;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean sharesTable(String[] tables, String[] otherTables) {
+    if (tables.length == 0 || otherTables.length == 0) {
+      return true;
+    }
+    for (String table : tables) {
+      for (String otherTable : otherTables) {
+        if (table.equals(otherTable)) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
   @Override
   public <E> List<E> doQuery(MappedStatement ms, Object parameterObject, RowBounds rowBounds,
       ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
@@ -114,50 +176,107 @@ public class BatchExecutor extends BaseExecutor {
   @Override
   public List<BatchResult> doFlushStatements(boolean isRollback) throws SQLException {
     try {
-      List<BatchResult> results = new ArrayList<>();
       if (isRollback) {
         return Collections.emptyList();
       }
+      List<BatchResult> results = new ArrayList<>(executedResultList);
+      results.addAll(executeStatements());
+      return results;
+    } finally {
+      closeStatements();
+      executedResultList.clear();
+    }
+  }
+
+  /**
+   * Executes the batches of the open statements and closes them.
+   *
+   * @return the results of the batches
+   */
+  private List<BatchResult> executeStatements() throws SQLException {
+    try {
+      List<BatchResult> results = new ArrayList<>();
       for (int i = 0, n = statementList.size(); i < n; i++) {
-        Statement stmt = statementList.get(i);
-        applyTransactionTimeout(stmt);
         BatchResult batchResult = batchResultList.get(i);
-        try {
-          batchResult.setUpdateCounts(stmt.executeBatch());
-          MappedStatement ms = batchResult.getMappedStatement();
-          List<Object> parameterObjects = batchResult.getParameterObjects();
-          KeyGenerator keyGenerator = ms.getKeyGenerator();
-          if (Jdbc3KeyGenerator.class.equals(keyGenerator.getClass())) {
-            Jdbc3KeyGenerator jdbc3KeyGenerator = (Jdbc3KeyGenerator) keyGenerator;
-            jdbc3KeyGenerator.processBatch(ms, stmt, parameterObjects);
-          } else if (!NoKeyGenerator.class.equals(keyGenerator.getClass())) { // issue #141
-            for (Object parameter : parameterObjects) {
-              keyGenerator.processAfter(this, ms, stmt, parameter);
-            }
-          }
-          // Close statement to close cursor #1109
-          closeStatement(stmt);
-        } catch (BatchUpdateException e) {
-          StringBuilder message = new StringBuilder();
-          message.append(batchResult.getMappedStatement().getId()).append(" (batch index #").append(i + 1).append(")")
-              .append(" failed.");
-          if (i > 0) {
-            message.append(" ").append(i)
-                .append(" prior sub executor(s) completed successfully, but will be rolled back.");
-          }
-          throw new BatchExecutorException(message.toString(), e, results, batchResult);
+        // the rows of a statement may all have been executed already when the batch size was reached
+        if (batchResult.getUpdateCounts() == null || !batchResult.getParameterObjects().isEmpty()) {
+          executeBatch(i, results);
         }
+        // Close statement to close cursor #1109
+        closeStatement(statementList.get(i));
         results.add(batchResult);
       }
       return results;
     } finally {
-      for (Statement stmt : statementList) {
-        closeStatement(stmt);
+      closeStatements();
+    }
+  }
+
+  /**
+   * Executes the rows added to the open statements since they were last executed, keeping the statements open, and
+   * releases their parameter objects.
+   */
+  private void executePendingBatches() throws SQLException {
+    for (int i = 0, n = statementList.size(); i < n; i++) {
+      BatchResult batchResult = batchResultList.get(i);
+      if (!batchResult.getParameterObjects().isEmpty()) {
+        executeBatch(i, batchResultList.subList(0, i));
+        batchResult.getParameterObjects().clear();
+      }
+    }
+  }
+
+  /**
+   * Executes the batch of an open statement, adding its update counts to those of the rows executed before, and
+   * processes the generated keys of its parameter objects.
+   */
+  private void executeBatch(int i, List<BatchResult> results) throws SQLException {
+    Statement stmt = statementList.get(i);
+    applyTransactionTimeout(stmt);
+    BatchResult batchResult = batchResultList.get(i);
+    try {
+      int[] updateCounts = stmt.executeBatch();
+      int[] executedUpdateCounts = batchResult.getUpdateCounts();
+      if (executedUpdateCounts != null) {
+        int[] allUpdateCounts = Arrays.copyOf(executedUpdateCounts, executedUpdateCounts.length + updateCounts.length);
+        System.arraycopy(updateCounts, 0, allUpdateCounts, executedUpdateCounts.length, updateCounts.length);
+        updateCounts = allUpdateCounts;
+      }
+      batchResult.setUpdateCounts(updateCounts);
+      MappedStatement ms = batchResult.getMappedStatement();
+      List<Object> parameterObjects = batchResult.getParameterObjects();
+      KeyGenerator keyGenerator = ms.getKeyGenerator();
+      if (Jdbc3KeyGenerator.class.equals(keyGenerator.getClass())) {
+        Jdbc3KeyGenerator jdbc3KeyGenerator = (Jdbc3KeyGenerator) keyGenerator;
+        jdbc3KeyGenerator.processBatch(ms, stmt, parameterObjects);
+      } else if (!NoKeyGenerator.class.equals(keyGenerator.getClass())) { // issue #141
+        for (Object parameter : parameterObjects) {
+          keyGenerator.processAfter(this, ms, stmt, parameter);
+        }
       }
-      currentSql = null;
-      statementList.clear();
-      batchResultList.clear();
+    } catch (BatchUpdateException e) {
+      int completed = executedResultList.size() + i;
+      StringBuilder message = new StringBuilder();
+      message.append(batchResult.getMappedStatement().getId()).append(" (batch index #").append(completed + 1)
+          .append(")").append(" failed.");
+      if (completed > 0) {
+        message.append(" ").append(completed)
+            .append(" prior sub executor(s) completed successfully, but will be rolled back.");
+      }
+      List<BatchResult> successfulResults = new ArrayList<>(executedResultList);
+      successfulResults.addAll(results);
+      throw new BatchExecutorException(message.toString(), e, successfulResults, batchResult);
+    }
+  }
+
+  private void closeStatements() {
+    for (Statement stmt : statementList) {
+      closeStatement(stmt);
     }
+    currentSql = null;
+    statementList.clear();
+    batchResultList.clear();
+    tablesList.clear();
   }
 
 }
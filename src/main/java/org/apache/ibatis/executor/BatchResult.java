@@ -21,6 +21,13 @@ import java.util.List;
 import org.apache.ibatis.mapping.MappedStatement;
 
 /**
+ * The result of the batch of a statement.
+ * <p>
+ * The update counts cover every row added to the batch. When the executor runs a batch in parts because of the
+ * <code>batchSize</code> setting, the parameter objects of the rows executed before the last part are released, so the
+ * parameter objects are those of the last rows only: the parameter object at index {@code i} matches the update count
+ * at index {@code getUpdateCounts().length - getParameterObjects().size() + i}.
+ *
  * @author Jeff Butler
  */
 public class BatchResult {
@@ -28,6 +35,8 @@ public class BatchResult {
   private final MappedStatement mappedStatement;
   private final String sql;
   private final List<Object> parameterObjects;
+  private Object firstParameterObject;
+  private boolean hasParameterObject;
 
   private int[] updateCounts;
 
@@ -50,9 +59,17 @@ public class BatchResult {
     return sql;
   }
 
+  /**
+   * Returns the parameter object of the first row added to the batch, which is kept even if the executor has released
+   * the parameter objects of the rows executed so far.
+   *
+   * @return the parameter object of the first row, {@code null} if no row was added
+   *
+   * @deprecated use {@link #getParameterObjects()} instead
+   */
   @Deprecated
   public Object getParameterObject() {
-    return parameterObjects.get(0);
+    return firstParameterObject;
   }
 
   public List<Object> getParameterObjects() {
@@ -68,6 +85,10 @@ public class BatchResult {
   }
 
   public void addParameterObject(Object parameterObject) {
+    if (!hasParameterObject) {
+      this.firstParameterObject = parameterObject;
+      this.hasParameterObject = true;
+    }
     this.parameterObjects.add(parameterObject);
   }
 
@@ -16,18 +16,29 @@
 package org.apache.ibatis.executor;
 
 import java.sql.SQLException;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cache.CacheStatistics;
+import org.apache.ibatis.cache.TableDependentValue;
+import org.apache.ibatis.cache.TableVersions;
 import org.apache.ibatis.cache.TransactionalCacheManager;
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
 import org.apache.ibatis.mapping.StatementType;
+import org.apache.ibatis.parsing.SqlTableExtractor;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.CacheInvalidationScope;
+import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.transaction.Transaction;
@@ -39,10 +50,29 @@ import org.apache.ibatis.transaction.Transaction;
 public class CachingExecutor implements Executor {
 
   private final Executor delegate;
-  private final TransactionalCacheManager tcm = new TransactionalCacheManager();
+  private final TransactionalCacheManager tcm;
+  private final Set<String> tablesToInvalidateOnCommit = new HashSet<>();
+  // whether a write of unknown tables must invalidate all of them on commit
+  private boolean allTablesToInvalidateOnCommit;
+  private TableVersions tableVersions;
 
   public CachingExecutor(Executor delegate) {
+    this(delegate, null);
+  }
+
+  /**
+   * Creates an executor that records commits, rollbacks and load times in the cache statistics of the configuration.
+   *
+   * @param delegate
+   *          the delegate
+   * @param configuration
+   *          the configuration, may be {@code null}
+   *
+   * @since 3.5.17
+   */
+  public CachingExecutor(Executor delegate, Configuration configuration) {
     this.delegate = delegate;
+    this.tcm = new TransactionalCacheManager(configuration);
     delegate.setExecutorWrapper(this);
   }
 
@@ -56,8 +86,11 @@ public class CachingExecutor implements Executor {
     try {
       // issues #499, #524 and #573
       if (forceRollback) {
+        tablesToInvalidateOnCommit.clear();
+        allTablesToInvalidateOnCommit = false;
         tcm.rollback();
       } else {
+        invalidateTables();
         tcm.commit();
       }
     } finally {
@@ -72,13 +105,37 @@ public class CachingExecutor implements Executor {
 
   @Override
   public int update(MappedStatement ms, Object parameterObject) throws SQLException {
-    flushCacheIfRequired(ms);
-    return delegate.update(ms, parameterObject);
+    BoundSql boundSql = null;
+    if (ms.isFlushCacheRequired() && isTableScoped(ms) && ms.getTables() == null && !generatesKeysBefore(ms)) {
+      // the SQL is built once, to derive the tables it writes and to execute it
+      boundSql = ms.getBoundSql(parameterObject);
+    }
+    return update(ms, parameterObject, boundSql);
+  }
+
+  @Override
+  public int update(MappedStatement ms, Object parameterObject, BoundSql boundSql) throws SQLException {
+    flushCacheIfRequired(ms, parameterObject, boundSql);
+    if (boundSql == null || !boundSql.getRemainingChunks().isEmpty()) {
+      // chunked SQL is rejected by the statement handler when it builds the SQL
+      return delegate.update(ms, parameterObject);
+    }
+    return delegate.update(ms, parameterObject, boundSql);
+  }
+
+  /**
+   * Returns whether the key generator of a statement may run before the statement, and change the SQL built from the
+   * parameter.
+   */
+  private static boolean generatesKeysBefore(MappedStatement ms) {
+    Class<?> keyGeneratorType = ms.getKeyGenerator() == null ? null : ms.getKeyGenerator().getClass();
+    return keyGeneratorType != null && keyGeneratorType != NoKeyGenerator.class
+        && keyGeneratorType != Jdbc3KeyGenerator.class;
   }
 
   @Override
   public <E> Cursor<E> queryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds) throws SQLException {
-    flushCacheIfRequired(ms);
+    flushCacheIfRequired(ms, parameter, null);
     return delegate.queryCursor(ms, parameter, rowBounds);
   }
 
@@ -93,16 +150,32 @@ public class CachingExecutor implements Executor {
   @Override
   public <E> List<E> query(MappedStatement ms, Object parameterObject, RowBounds rowBounds, ResultHandler resultHandler,
       CacheKey key, BoundSql boundSql) throws SQLException {
+    flushCacheIfRequired(ms, parameterObject, boundSql);
     Cache cache = ms.getCache();
     if (cache != null) {
-      flushCacheIfRequired(ms);
       if (ms.isUseCache() && resultHandler == null) {
         ensureNoOutParams(ms, boundSql);
         @SuppressWarnings("unchecked")
-        List<E> list = (List<E>) tcm.getObject(cache, key);
+        List<E> list = (List<E>) getCachedObject(ms, cache, key);
         if (list == null) {
+          String[] tables = null;
+          long[] versions = null;
+          if (isTableScoped(ms)) {
+            // versions are taken before the query so that a concurrent write makes the result stale
+            tables = resolveTables(ms, boundSql);
+            versions = ms.getConfiguration().getTableVersions().snapshot(tables);
+          }
+          long start = System.nanoTime();
           list = delegate.query(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
-          tcm.putObject(cache, key, list); // issue #578 and #116
+          CacheStatistics statistics = ms.getConfiguration().getCacheStatistics(cache.getId());
+          if (statistics != null) {
+            statistics.recordLoad(System.nanoTime() - start);
+          }
+          if (tables == null) {
+            tcm.putObject(cache, key, list); // issue #578 and #116
+          } else if (tables.length > 0) {
+            tcm.putObject(cache, key, new TableDependentValue(list, tables, versions));
+          }
         }
         return list;
       }
@@ -118,6 +191,7 @@ public class CachingExecutor implements Executor {
   @Override
   public void commit(boolean required) throws SQLException {
     delegate.commit(required);
+    invalidateTables();
     tcm.commit();
   }
 
@@ -127,6 +201,8 @@ public class CachingExecutor implements Executor {
       delegate.rollback(required);
     } finally {
       if (required) {
+        tablesToInvalidateOnCommit.clear();
+        allTablesToInvalidateOnCommit = false;
         tcm.rollback();
       }
     }
@@ -165,13 +241,65 @@ public class CachingExecutor implements Executor {
     delegate.clearLocalCache();
   }
 
-  private void flushCacheIfRequired(MappedStatement ms) {
+  private void flushCacheIfRequired(MappedStatement ms, Object parameterObject, BoundSql boundSql) {
+    if (!ms.isFlushCacheRequired()) {
+      return;
+    }
+    if (isTableScoped(ms)) {
+      String[] tables = resolveTables(ms, boundSql == null ? ms.getBoundSql(parameterObject) : boundSql);
+      tableVersions = ms.getConfiguration().getTableVersions();
+      if (tables.length > 0) {
+        Collections.addAll(tablesToInvalidateOnCommit, tables);
+      } else {
+        // the write may touch any table
+        allTablesToInvalidateOnCommit = true;
+      }
+      return;
+    }
     Cache cache = ms.getCache();
-    if (cache != null && ms.isFlushCacheRequired()) {
+    if (cache != null) {
       tcm.clear(cache);
     }
   }
 
+  private Object getCachedObject(MappedStatement ms, Cache cache, CacheKey key) {
+    Object object = tcm.getObject(cache, key);
+    if (object instanceof TableDependentValue) {
+      if (allTablesToInvalidateOnCommit) {
+        return null;
+      }
+      TableDependentValue value = (TableDependentValue) object;
+      for (String table : value.getTables()) {
+        if (tablesToInvalidateOnCommit.contains(table)) {
+          return null;
+        }
+      }
+      TableVersions versions = ms.getConfiguration().getTableVersions();
+      return versions.isCurrent(value.getTables(), value.getVersions()) ? value.getValue() : null;
+    }
+    return object;
+  }
+
+  private boolean isTableScoped(MappedStatement ms) {
+    return ms.getConfiguration().getCacheInvalidationScope() == CacheInvalidationScope.TABLE;
+  }
+
+  private String[] resolveTables(MappedStatement ms, BoundSql boundSql) {
+    String[] tables = ms.getTables();
+    return tables != null ? tables : SqlTableExtractor.extract(boundSql.getSql());
+  }
+
+  private void invalidateTables() {
+    if (allTablesToInvalidateOnCommit) {
+      tableVersions.invalidateAll();
+      allTablesToInvalidateOnCommit = false;
+      tablesToInvalidateOnCommit.clear();
+    } else if (!tablesToInvalidateOnCommit.isEmpty()) {
+      tableVersions.invalidate(tablesToInvalidateOnCommit);
+      tablesToInvalidateOnCommit.clear();
+    }
+  }
+
   @Override
   public void setExecutorWrapper(Executor executor) {
     throw new UnsupportedOperationException("This method should not be called");
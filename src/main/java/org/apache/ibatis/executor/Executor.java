@@ -36,6 +36,28 @@ public interface Executor {
 
   int update(MappedStatement ms, Object parameter) throws SQLException;
 
+  /**
+   * Executes an update whose SQL was already built from the parameter, so that it is not built again. The SQL must not
+   * depend on keys generated before the update.
+   *
+   * @param ms
+   *          the mapped statement
+   * @param parameter
+   *          the parameter
+   * @param boundSql
+   *          the SQL built from the parameter
+   *
+   * @return the number of updated rows
+   *
+   * @throws SQLException
+   *           if the update fails
+   *
+   * @since 3.5.17
+   */
+  default int update(MappedStatement ms, Object parameter, BoundSql boundSql) throws SQLException {
+    return update(ms, parameter);
+  }
+
   <E> List<E> query(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler,
       CacheKey cacheKey, BoundSql boundSql) throws SQLException;
 
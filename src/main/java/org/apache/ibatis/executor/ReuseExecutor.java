@@ -24,8 +24,8 @@ import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.statement.StatementCache;
 import org.apache.ibatis.executor.statement.StatementHandler;
-import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.session.Configuration;
@@ -39,6 +39,8 @@ import org.apache.ibatis.transaction.Transaction;
 public class ReuseExecutor extends BaseExecutor {
 
   private final Map<String, Statement> statementMap = new HashMap<>();
+  // whether the statements are owned by the statement cache of the connection, which keeps them open
+  private boolean statementsCachedOnConnection;
 
   public ReuseExecutor(Configuration configuration, Transaction transaction) {
     super(configuration, transaction);
@@ -46,9 +48,15 @@ public class ReuseExecutor extends BaseExecutor {
 
   @Override
   public int doUpdate(MappedStatement ms, Object parameter) throws SQLException {
+    return doUpdate(ms, parameter, null);
+  }
+
+  @Override
+  protected int doUpdate(MappedStatement ms, Object parameter, BoundSql boundSql) throws SQLException {
     Configuration configuration = ms.getConfiguration();
-    StatementHandler handler = configuration.newStatementHandler(this, ms, parameter, RowBounds.DEFAULT, null, null);
-    Statement stmt = prepareStatement(handler, ms.getStatementLog());
+    StatementHandler handler = configuration.newStatementHandler(this, ms, parameter, RowBounds.DEFAULT, null,
+        boundSql);
+    Statement stmt = prepareStatement(handler, ms);
     return handler.update(stmt);
   }
 
@@ -58,7 +66,7 @@ public class ReuseExecutor extends BaseExecutor {
     Configuration configuration = ms.getConfiguration();
     StatementHandler handler = configuration.newStatementHandler(wrapper, ms, parameter, rowBounds, resultHandler,
         boundSql);
-    Statement stmt = prepareStatement(handler, ms.getStatementLog());
+    Statement stmt = prepareStatement(handler, ms);
     return handler.query(stmt, resultHandler);
   }
 
@@ -67,30 +75,42 @@ public class ReuseExecutor extends BaseExecutor {
       throws SQLException {
     Configuration configuration = ms.getConfiguration();
     StatementHandler handler = configuration.newStatementHandler(wrapper, ms, parameter, rowBounds, null, boundSql);
-    Statement stmt = prepareStatement(handler, ms.getStatementLog());
+    Statement stmt = prepareStatement(handler, ms);
     return handler.queryCursor(stmt);
   }
 
   @Override
   public List<BatchResult> doFlushStatements(boolean isRollback) {
-    for (Statement stmt : statementMap.values()) {
-      closeStatement(stmt);
+    if (!statementsCachedOnConnection) {
+      for (Statement stmt : statementMap.values()) {
+        closeStatement(stmt);
+      }
     }
     statementMap.clear();
     return Collections.emptyList();
   }
 
-  private Statement prepareStatement(StatementHandler handler, Log statementLog) throws SQLException {
+  private Statement prepareStatement(StatementHandler handler, MappedStatement ms) throws SQLException {
     Statement stmt;
     BoundSql boundSql = handler.getBoundSql();
-    String sql = boundSql.getSql();
-    if (hasStatementFor(sql)) {
-      stmt = getStatement(sql);
-      applyTransactionTimeout(stmt);
+    // statements created with other settings for the same SQL must not be shared
+    String key = StatementCache.keyOf(ms, boundSql.getSql());
+    if (hasStatementFor(key)) {
+      stmt = getStatement(key);
+      handler.reuse(stmt, transaction.getTimeout());
     } else {
-      Connection connection = getConnection(statementLog);
-      stmt = handler.prepare(connection, transaction.getTimeout());
-      putStatement(sql, stmt);
+      StatementCache statementCache = getStatementCache();
+      stmt = statementCache == null ? null : statementCache.getStatement(key);
+      if (stmt != null) {
+        handler.reuse(stmt, transaction.getTimeout());
+      } else {
+        Connection connection = getConnection(ms.getStatementLog());
+        stmt = handler.prepare(connection, transaction.getTimeout());
+        if (statementCache != null) {
+          statementCache.putStatement(key, stmt);
+        }
+      }
+      putStatement(key, stmt);
     }
     handler.parameterize(stmt);
     return stmt;
@@ -99,12 +119,22 @@ public class ReuseExecutor extends BaseExecutor {
   private boolean hasStatementFor(String sql) {
     try {
       Statement statement = statementMap.get(sql);
-      return statement != null && !statement.getConnection().isClosed();
+      // a statement evicted from the statement cache of the connection is closed
+      return statement != null && !statement.isClosed() && !statement.getConnection().isClosed();
     } catch (SQLException e) {
       return false;
     }
   }
 
+  private StatementCache getStatementCache() throws SQLException {
+    Connection connection = transaction.getConnection();
+    if (!connection.isWrapperFor(StatementCache.class)) {
+      return null;
+    }
+    statementsCachedOnConnection = true;
+    return connection.unwrap(StatementCache.class);
+  }
+
   private Statement getStatement(String s) {
     return statementMap.get(s);
   }
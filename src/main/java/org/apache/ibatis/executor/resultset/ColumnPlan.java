@@ -0,0 +1,101 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * The column layout of a result set together with everything resolved from it: the index and type handlers per column,
+ * the mapped and unmapped column names per result map, the auto-mappings, the compiled row mappers and the id columns.
+ * A plan is shared by all executions of a statement that return the same layout, so every cache in it is thread safe.
+ */
+final class ColumnPlan {
+
+  final List<String> columnNames;
+  // the labels the driver resolves column names against, the same list as the names when labels are used
+  final List<String> columnLabels;
+  final List<String> classNames;
+  final List<JdbcType> jdbcTypes;
+  private final int[] columnTypes;
+  final Map<String, Integer> columnIndexes = new ConcurrentHashMap<>();
+  final Map<String, Map<Class<?>, TypeHandler<?>>> typeHandlerMap = new ConcurrentHashMap<>();
+  final Map<String, Set<String>> mappedColumnNamesMap = new ConcurrentHashMap<>();
+  final Map<String, List<String>> unMappedColumnNamesMap = new ConcurrentHashMap<>();
+  final Map<String, List<DefaultResultSetHandler.UnMappedColumnAutoMapping>> autoMappings = new ConcurrentHashMap<>();
+  final Map<String, Optional<CompiledRowMapper>> compiledRowMappers = new ConcurrentHashMap<>();
+  final Map<String, RowKey.IdColumns> idColumns = new ConcurrentHashMap<>();
+
+  ColumnPlan(ResultSetMetaData metaData, Configuration configuration) throws SQLException {
+    final int columnCount = metaData.getColumnCount();
+    final List<String> columnNames = new ArrayList<>(columnCount);
+    final List<String> columnLabels = configuration.isUseColumnLabel() ? columnNames : new ArrayList<>(columnCount);
+    final List<String> classNames = new ArrayList<>(columnCount);
+    final List<JdbcType> jdbcTypes = new ArrayList<>(columnCount);
+    this.columnTypes = new int[columnCount];
+    for (int i = 1; i <= columnCount; i++) {
+      columnNames.add(columnName(metaData, i, configuration));
+      if (columnLabels != columnNames) {
+        columnLabels.add(metaData.getColumnLabel(i));
+      }
+      columnTypes[i - 1] = metaData.getColumnType(i);
+      jdbcTypes.add(JdbcType.forCode(columnTypes[i - 1]));
+      classNames.add(metaData.getColumnClassName(i));
+    }
+    this.columnNames = Collections.unmodifiableList(columnNames);
+    this.columnLabels = columnLabels == columnNames ? this.columnNames : Collections.unmodifiableList(columnLabels);
+    this.classNames = Collections.unmodifiableList(classNames);
+    this.jdbcTypes = Collections.unmodifiableList(jdbcTypes);
+  }
+
+  /**
+   * Checks whether a result set has the layout this plan was built from, comparing the column count and the name,
+   * label, type and class of each column.
+   */
+  boolean matches(ResultSetMetaData metaData, Configuration configuration) throws SQLException {
+    final int columnCount = metaData.getColumnCount();
+    if (columnCount != columnTypes.length) {
+      return false;
+    }
+    for (int i = 1; i <= columnCount; i++) {
+      if (columnTypes[i - 1] != metaData.getColumnType(i)
+          || !columnNames.get(i - 1).equals(columnName(metaData, i, configuration))
+          || columnLabels != columnNames && !columnLabels.get(i - 1).equals(metaData.getColumnLabel(i))
+          || !Objects.equals(classNames.get(i - 1), metaData.getColumnClassName(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static String columnName(ResultSetMetaData metaData, int column, Configuration configuration)
+      throws SQLException {
+    return configuration.isUseColumnLabel() ? metaData.getColumnLabel(column) : metaData.getColumnName(column);
+  }
+
+}
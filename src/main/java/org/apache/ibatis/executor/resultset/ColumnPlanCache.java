@@ -0,0 +1,54 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * Keeps the column plans of the result sets returned by one statement across its executions, so that the type handlers,
+ * mapped column names and auto-mappings resolved for a result set are reused as long as the following executions return
+ * the same columns. A plan that no longer matches the result set is replaced.
+ *
+ * @since 3.5.17
+ *
+ * @see org.apache.ibatis.mapping.MappedStatement#getColumnPlanCache()
+ */
+public final class ColumnPlanCache {
+
+  private final Map<Integer, ColumnPlan> plans = new ConcurrentHashMap<>();
+
+  ColumnPlan getPlan(int resultSetIndex, ResultSetMetaData metaData, Configuration configuration) throws SQLException {
+    ColumnPlan plan = plans.get(resultSetIndex);
+    if (plan == null || !plan.matches(metaData, configuration)) {
+      plan = new ColumnPlan(metaData, configuration);
+      plans.put(resultSetIndex, plan);
+    }
+    return plan;
+  }
+
+  /**
+   * Drops all plans, e.g. after type handlers have been registered that would resolve differently.
+   */
+  public void clear() {
+    plans.clear();
+  }
+
+}
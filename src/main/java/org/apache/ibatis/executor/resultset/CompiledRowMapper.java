@@ -0,0 +1,125 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.lang.invoke.MethodHandle;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * A row mapper resolved once per result map and result set. It reads every mapped column with its type handler and
+ * passes the value straight to a setter {@link MethodHandle}, skipping the property tokenizing and wrapper lookups that
+ * {@link org.apache.ibatis.reflection.MetaObject#setValue(String, Object)} performs for each column of each row.
+ */
+final class CompiledRowMapper {
+
+  private final Class<?> type;
+  private final int[] columnIndexes;
+  private final String[] properties;
+  private final TypeHandler<?>[] typeHandlers;
+  private final MethodHandle[] setters;
+  private final boolean[] primitives;
+
+  private CompiledRowMapper(Builder builder) {
+    this.type = builder.reflector.getType();
+    int size = builder.columnIndexes.size();
+    this.columnIndexes = new int[size];
+    this.properties = builder.properties.toArray(new String[size]);
+    this.typeHandlers = builder.typeHandlers.toArray(new TypeHandler<?>[size]);
+    this.setters = builder.setters.toArray(new MethodHandle[size]);
+    this.primitives = new boolean[size];
+    for (int i = 0; i < size; i++) {
+      columnIndexes[i] = builder.columnIndexes.get(i);
+      primitives[i] = builder.primitives.get(i);
+    }
+  }
+
+  boolean canMap(Object rowValue) {
+    return rowValue.getClass() == type;
+  }
+
+  boolean map(ResultSet rs, Object rowValue, boolean callSettersOnNulls) throws SQLException {
+    boolean foundValues = false;
+    for (int i = 0; i < columnIndexes.length; i++) {
+      final Object value = typeHandlers[i].getResult(rs, columnIndexes[i]);
+      if (value != null) {
+        foundValues = true;
+      }
+      if (value != null || callSettersOnNulls && !primitives[i]) {
+        // gcode issue #377, call setter on nulls (value is not 'found')
+        setValue(i, rowValue, value);
+      }
+    }
+    return foundValues;
+  }
+
+  private void setValue(int index, Object rowValue, Object value) {
+    try {
+      setters[index].invokeExact(rowValue, value);
+    } catch (Throwable t) {
+      Throwable cause = ExceptionUtil.unwrapThrowable(t);
+      throw new ReflectionException("Could not set property '" + properties[index] + "' of '" + type + "' with value '"
+          + value + "' Cause: " + cause.toString(), cause);
+    }
+  }
+
+  static class Builder {
+    private final Reflector reflector;
+    private final List<Integer> columnIndexes = new ArrayList<>();
+    private final List<String> properties = new ArrayList<>();
+    private final List<TypeHandler<?>> typeHandlers = new ArrayList<>();
+    private final List<MethodHandle> setters = new ArrayList<>();
+    private final List<Boolean> primitives = new ArrayList<>();
+
+    Builder(Reflector reflector) {
+      this.reflector = reflector;
+    }
+
+    /**
+     * Adds a column to property mapping.
+     *
+     * @return {@code false} if the property cannot be set directly, in which case the whole row mapper must not be used
+     */
+    boolean add(int columnIndex, String property, TypeHandler<?> typeHandler) {
+      if (columnIndex < 1 || property == null || typeHandler == null || property.indexOf('.') > -1
+          || property.indexOf('[') > -1 || !reflector.hasSetter(property)) {
+        return false;
+      }
+      MethodHandle setter = reflector.getSetterHandle(property);
+      if (setter == null) {
+        return false;
+      }
+      columnIndexes.add(columnIndex);
+      properties.add(property);
+      typeHandlers.add(typeHandler);
+      setters.add(setter);
+      primitives.add(reflector.getSetterType(property).isPrimitive());
+      return true;
+    }
+
+    CompiledRowMapper build() {
+      return new CompiledRowMapper(this);
+    }
+  }
+
+}
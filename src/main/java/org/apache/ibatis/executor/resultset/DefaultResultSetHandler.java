@@ -17,6 +17,8 @@ package org.apache.ibatis.executor.resultset;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Parameter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.sql.CallableStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -24,8 +26,10 @@ import java.sql.Statement;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
@@ -41,6 +45,7 @@ import org.apache.ibatis.cursor.defaults.DefaultCursor;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.executor.ResultExtractor;
 import org.apache.ibatis.executor.loader.ResultLoader;
 import org.apache.ibatis.executor.loader.ResultLoaderMap;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
@@ -56,8 +61,10 @@ import org.apache.ibatis.mapping.ResultMap;
 import org.apache.ibatis.mapping.ResultMapping;
 import org.apache.ibatis.reflection.MetaClass;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.ParamNameResolver;
 import org.apache.ibatis.reflection.ReflectorFactory;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.reflection.wrapper.BeanWrapper;
 import org.apache.ibatis.session.AutoMappingBehavior;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ResultContext;
@@ -90,7 +97,8 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   private final ReflectorFactory reflectorFactory;
 
   // nested resultmaps
-  private final Map<CacheKey, Object> nestedResultObjects = new HashMap<>();
+  // keyed by a RowKey for result maps with <id> mappings and by a CacheKey for the others
+  private final Map<Object, Object> nestedResultObjects = new HashMap<>();
   private final Map<String, Object> ancestorObjects = new HashMap<>();
   private Object previousRowValue;
 
@@ -98,8 +106,11 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   private final Map<String, ResultMapping> nextResultMaps = new HashMap<>();
   private final Map<CacheKey, List<PendingRelation>> pendingRelations = new HashMap<>();
 
-  // Cached Automappings
-  private final Map<String, List<UnMappedColumnAutoMapping>> autoMappingsCache = new HashMap<>();
+  // batched nested queries
+  private boolean batchNestedQueries;
+  private final List<PendingBatchLoad> pendingBatchLoads = new ArrayList<>();
+
+  // Automappings and compiled result mappings are cached in the column plan of the result set
   private final Map<String, List<String>> constructorAutoMappingColumns = new HashMap<>();
 
   // temporary marking flag that indicate using constructor mapping (use field to reduce memory usage)
@@ -110,14 +121,27 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     public ResultMapping propertyMapping;
   }
 
-  private static class UnMappedColumnAutoMapping {
+  private static class PendingBatchLoad {
+    private final ResultMapping propertyMapping;
+    private final Map<Object, Object> keys = new LinkedHashMap<>();
+    private final Map<Object, List<MetaObject>> targets = new HashMap<>();
+
+    PendingBatchLoad(ResultMapping propertyMapping) {
+      this.propertyMapping = propertyMapping;
+    }
+  }
+
+  static class UnMappedColumnAutoMapping {
     private final String column;
+    private final int columnIndex;
     private final String property;
     private final TypeHandler<?> typeHandler;
     private final boolean primitive;
 
-    public UnMappedColumnAutoMapping(String column, String property, TypeHandler<?> typeHandler, boolean primitive) {
+    public UnMappedColumnAutoMapping(String column, int columnIndex, String property, TypeHandler<?> typeHandler,
+        boolean primitive) {
       this.column = column;
+      this.columnIndex = columnIndex;
       this.property = property;
       this.typeHandler = typeHandler;
       this.primitive = primitive;
@@ -190,6 +214,8 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     ErrorContext.instance().activity("handling results").object(mappedStatement.getId());
 
     final List<Object> multipleResults = new ArrayList<>();
+    // nested results can only be loaded after the rows if they are not handed to a result handler first
+    batchNestedQueries = resultHandler == null;
 
     int resultSetCount = 0;
     ResultSetWrapper rsw = getFirstResultSet(stmt);
@@ -200,9 +226,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     while (rsw != null && resultMapCount > resultSetCount) {
       ResultMap resultMap = resultMaps.get(resultSetCount);
       handleResultSet(rsw, resultMap, multipleResults, null);
-      rsw = getNextResultSet(stmt);
-      cleanUpAfterHandlingResultSet();
       resultSetCount++;
+      rsw = getNextResultSet(stmt, resultSetCount);
+      cleanUpAfterHandlingResultSet();
     }
 
     String[] resultSets = mappedStatement.getResultSets();
@@ -214,12 +240,13 @@ public class DefaultResultSetHandler implements ResultSetHandler {
           ResultMap resultMap = configuration.getResultMap(nestedResultMapId);
           handleResultSet(rsw, resultMap, null, parentMapping);
         }
-        rsw = getNextResultSet(stmt);
-        cleanUpAfterHandlingResultSet();
         resultSetCount++;
+        rsw = getNextResultSet(stmt, resultSetCount);
+        cleanUpAfterHandlingResultSet();
       }
     }
 
+    loadPendingBatches();
     return collapseSingleResultList(multipleResults);
   }
 
@@ -253,10 +280,10 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         break;
       }
     }
-    return rs != null ? new ResultSetWrapper(rs, configuration) : null;
+    return rs != null ? new ResultSetWrapper(rs, configuration, mappedStatement.getColumnPlanCache(), 0) : null;
   }
 
-  private ResultSetWrapper getNextResultSet(Statement stmt) {
+  private ResultSetWrapper getNextResultSet(Statement stmt, int resultSetIndex) {
     // Making this method tolerant of bad JDBC drivers
     try {
       if (stmt.getConnection().getMetaData().supportsMultipleResultSets()) {
@@ -266,9 +293,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         if (!(!stmt.getMoreResults() && stmt.getUpdateCount() == -1)) {
           ResultSet rs = stmt.getResultSet();
           if (rs == null) {
-            return getNextResultSet(stmt);
+            return getNextResultSet(stmt, resultSetIndex);
           } else {
-            return new ResultSetWrapper(rs, configuration);
+            return new ResultSetWrapper(rs, configuration, mappedStatement.getColumnPlanCache(), resultSetIndex);
           }
         }
       }
@@ -412,10 +439,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     if (rowValue != null && !hasTypeHandlerForResultObject(rsw, resultMap.getType())) {
       final MetaObject metaObject = configuration.newMetaObject(rowValue);
       boolean foundValues = this.useConstructorMappings;
-      if (shouldApplyAutomaticMappings(resultMap, false)) {
-        foundValues = applyAutomaticMappings(rsw, resultMap, metaObject, columnPrefix) || foundValues;
-      }
-      foundValues = applyPropertyMappings(rsw, resultMap, metaObject, lazyLoader, columnPrefix) || foundValues;
+      foundValues = applyColumnMappings(rsw, resultMap, metaObject, lazyLoader, columnPrefix, false) || foundValues;
       foundValues = lazyLoader.size() > 0 || foundValues;
       rowValue = foundValues || configuration.isReturnInstanceForEmptyRow() ? rowValue : null;
     }
@@ -426,7 +450,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   // GET VALUE FROM ROW FOR NESTED RESULT MAP
   //
 
-  private Object getRowValue(ResultSetWrapper rsw, ResultMap resultMap, CacheKey combinedKey, String columnPrefix,
+  private Object getRowValue(ResultSetWrapper rsw, ResultMap resultMap, Object combinedKey, String columnPrefix,
       Object partialObject) throws SQLException {
     final String resultMapId = resultMap.getId();
     Object rowValue = partialObject;
@@ -441,10 +465,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       if (rowValue != null && !hasTypeHandlerForResultObject(rsw, resultMap.getType())) {
         final MetaObject metaObject = configuration.newMetaObject(rowValue);
         boolean foundValues = this.useConstructorMappings;
-        if (shouldApplyAutomaticMappings(resultMap, true)) {
-          foundValues = applyAutomaticMappings(rsw, resultMap, metaObject, columnPrefix) || foundValues;
-        }
-        foundValues = applyPropertyMappings(rsw, resultMap, metaObject, lazyLoader, columnPrefix) || foundValues;
+        foundValues = applyColumnMappings(rsw, resultMap, metaObject, lazyLoader, columnPrefix, true) || foundValues;
         putAncestor(rowValue, resultMapId);
         foundValues = applyNestedResultMappings(rsw, resultMap, metaObject, columnPrefix, combinedKey, true)
             || foundValues;
@@ -474,6 +495,70 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     }
   }
 
+  private boolean applyColumnMappings(ResultSetWrapper rsw, ResultMap resultMap, MetaObject metaObject,
+      ResultLoaderMap lazyLoader, String columnPrefix, boolean isNested) throws SQLException {
+    final boolean autoMapping = shouldApplyAutomaticMappings(resultMap, isNested);
+    if (configuration.isUseCompiledResultMappings()) {
+      CompiledRowMapper rowMapper = getCompiledRowMapper(rsw, resultMap, metaObject, columnPrefix, autoMapping);
+      if (rowMapper != null) {
+        return rowMapper.map(rsw.getResultSet(), metaObject.getOriginalObject(), configuration.isCallSettersOnNulls());
+      }
+    }
+    boolean foundValues = false;
+    if (autoMapping) {
+      foundValues = applyAutomaticMappings(rsw, resultMap, metaObject, columnPrefix);
+    }
+    return applyPropertyMappings(rsw, resultMap, metaObject, lazyLoader, columnPrefix) || foundValues;
+  }
+
+  //
+  // COMPILED MAPPINGS
+  //
+
+  private CompiledRowMapper getCompiledRowMapper(ResultSetWrapper rsw, ResultMap resultMap, MetaObject metaObject,
+      String columnPrefix, boolean autoMapping) throws SQLException {
+    final String mapKey = resultMap.getId() + ":" + columnPrefix + ":" + autoMapping;
+    final Map<String, Optional<CompiledRowMapper>> compiledRowMappers = rsw.getColumnPlan().compiledRowMappers;
+    Optional<CompiledRowMapper> rowMapper = compiledRowMappers.get(mapKey);
+    if (rowMapper == null) {
+      rowMapper = Optional.ofNullable(compileRowMapper(rsw, resultMap, metaObject, columnPrefix, autoMapping));
+      compiledRowMappers.put(mapKey, rowMapper);
+    }
+    return rowMapper.filter(m -> m.canMap(metaObject.getOriginalObject())).orElse(null);
+  }
+
+  private CompiledRowMapper compileRowMapper(ResultSetWrapper rsw, ResultMap resultMap, MetaObject metaObject,
+      String columnPrefix, boolean autoMapping) throws SQLException {
+    if (!(metaObject.getObjectWrapper() instanceof BeanWrapper)) {
+      return null;
+    }
+    final CompiledRowMapper.Builder builder = new CompiledRowMapper.Builder(
+        reflectorFactory.findForClass(metaObject.getOriginalObject().getClass()));
+    if (autoMapping) {
+      for (UnMappedColumnAutoMapping mapping : createAutomaticMappings(rsw, resultMap, metaObject, columnPrefix)) {
+        if (!builder.add(mapping.columnIndex, mapping.property, mapping.typeHandler)) {
+          return null;
+        }
+      }
+    }
+    final Set<String> mappedColumnNames = rsw.getMappedColumnNames(resultMap, columnPrefix);
+    for (ResultMapping propertyMapping : resultMap.getPropertyResultMappings()) {
+      if (propertyMapping.getNestedQueryId() != null || propertyMapping.getResultSet() != null
+          || propertyMapping.isCompositeResult()) {
+        return null;
+      }
+      final String column = prependPrefix(propertyMapping.getColumn(), columnPrefix);
+      if (propertyMapping.getNestedResultMapId() != null || propertyMapping.getProperty() == null || column == null
+          || !mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH))) {
+        continue;
+      }
+      if (!builder.add(rsw.getColumnIndex(column), propertyMapping.getProperty(), propertyMapping.getTypeHandler())) {
+        return null;
+      }
+    }
+    return builder.build();
+  }
+
   //
   // PROPERTY MAPPINGS
   //
@@ -492,8 +577,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       if (propertyMapping.isCompositeResult()
           || column != null && mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH))
           || propertyMapping.getResultSet() != null) {
-        Object value = getPropertyMappingValue(rsw.getResultSet(), metaObject, propertyMapping, lazyLoader,
-            columnPrefix);
+        Object value = getPropertyMappingValue(rsw, metaObject, propertyMapping, lazyLoader, columnPrefix);
         // issue #541 make property optional
         final String property = propertyMapping.getProperty();
         if (property == null) {
@@ -516,28 +600,30 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return foundValues;
   }
 
-  private Object getPropertyMappingValue(ResultSet rs, MetaObject metaResultObject, ResultMapping propertyMapping,
-      ResultLoaderMap lazyLoader, String columnPrefix) throws SQLException {
+  private Object getPropertyMappingValue(ResultSetWrapper rsw, MetaObject metaResultObject,
+      ResultMapping propertyMapping, ResultLoaderMap lazyLoader, String columnPrefix) throws SQLException {
     if (propertyMapping.getNestedQueryId() != null) {
-      return getNestedQueryMappingValue(rs, metaResultObject, propertyMapping, lazyLoader, columnPrefix);
+      return getNestedQueryMappingValue(rsw.getResultSet(), metaResultObject, propertyMapping, lazyLoader,
+          columnPrefix);
     }
     if (propertyMapping.getResultSet() != null) {
-      addPendingChildRelation(rs, metaResultObject, propertyMapping); // TODO is that OK?
+      addPendingChildRelation(rsw.getResultSet(), metaResultObject, propertyMapping); // TODO is that OK?
       return DEFERRED;
     } else {
       final TypeHandler<?> typeHandler = propertyMapping.getTypeHandler();
       final String column = prependPrefix(propertyMapping.getColumn(), columnPrefix);
-      return typeHandler.getResult(rs, column);
+      return rsw.getResult(typeHandler, column);
     }
   }
 
   private List<UnMappedColumnAutoMapping> createAutomaticMappings(ResultSetWrapper rsw, ResultMap resultMap,
       MetaObject metaObject, String columnPrefix) throws SQLException {
     final String mapKey = resultMap.getId() + ":" + columnPrefix;
+    final Map<String, List<UnMappedColumnAutoMapping>> autoMappingsCache = rsw.getColumnPlan().autoMappings;
     List<UnMappedColumnAutoMapping> autoMapping = autoMappingsCache.get(mapKey);
     if (autoMapping == null) {
       autoMapping = new ArrayList<>();
-      final List<String> unmappedColumnNames = rsw.getUnmappedColumnNames(resultMap, columnPrefix);
+      final List<String> unmappedColumnNames = new ArrayList<>(rsw.getUnmappedColumnNames(resultMap, columnPrefix));
       // Remove the entry to release the memory
       List<String> mappedInConstructorAutoMapping = constructorAutoMappingColumns.remove(mapKey);
       if (mappedInConstructorAutoMapping != null) {
@@ -561,8 +647,8 @@ public class DefaultResultSetHandler implements ResultSetHandler {
           final Class<?> propertyType = metaObject.getSetterType(property);
           if (typeHandlerRegistry.hasTypeHandler(propertyType, rsw.getJdbcType(columnName))) {
             final TypeHandler<?> typeHandler = rsw.getTypeHandler(propertyType, columnName);
-            autoMapping
-                .add(new UnMappedColumnAutoMapping(columnName, property, typeHandler, propertyType.isPrimitive()));
+            autoMapping.add(new UnMappedColumnAutoMapping(columnName, rsw.getColumnIndex(columnName), property,
+                typeHandler, propertyType.isPrimitive()));
           } else {
             configuration.getAutoMappingUnknownColumnBehavior().doAction(mappedStatement, columnName, property,
                 propertyType);
@@ -583,7 +669,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     boolean foundValues = false;
     if (!autoMapping.isEmpty()) {
       for (UnMappedColumnAutoMapping mapping : autoMapping) {
-        final Object value = mapping.typeHandler.getResult(rsw.getResultSet(), mapping.column);
+        final Object value = mapping.columnIndex > 0
+            ? mapping.typeHandler.getResult(rsw.getResultSet(), mapping.columnIndex)
+            : mapping.typeHandler.getResult(rsw.getResultSet(), mapping.column);
         if (value != null) {
           foundValues = true;
         }
@@ -710,7 +798,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
           value = getRowValue(rsw, resultMap, constructorColumnPrefix);
         } else {
           final TypeHandler<?> typeHandler = constructorMapping.getTypeHandler();
-          value = typeHandler.getResult(rsw.getResultSet(), prependPrefix(column, columnPrefix));
+          value = rsw.getResult(typeHandler, prependPrefix(column, columnPrefix));
         }
       } catch (ResultMapException | SQLException e) {
         throw new ExecutorException("Could not process result for mapping: " + constructorMapping, e);
@@ -787,7 +875,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       Class<?> parameterType = parameterTypes[i];
       String columnName = rsw.getColumnNames().get(i);
       TypeHandler<?> typeHandler = rsw.getTypeHandler(parameterType, columnName);
-      Object value = typeHandler.getResult(rsw.getResultSet(), columnName);
+      Object value = rsw.getResult(typeHandler, columnName);
       constructorArgTypes.add(parameterType);
       constructorArgs.add(value);
       foundValues = value != null || foundValues;
@@ -808,11 +896,11 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         if (columnMatchesParam(columnName, paramName, columnPrefix)) {
           Class<?> paramType = param.getType();
           TypeHandler<?> typeHandler = rsw.getTypeHandler(paramType, columnName);
-          Object value = typeHandler.getResult(rsw.getResultSet(), columnName);
+          Object value = rsw.getResult(typeHandler, columnName);
           constructorArgTypes.add(paramType);
           constructorArgs.add(value);
           final String mapKey = resultMap.getId() + ":" + columnPrefix;
-          if (!autoMappingsCache.containsKey(mapKey)) {
+          if (!rsw.getColumnPlan().autoMappings.containsKey(mapKey)) {
             MapUtil.computeIfAbsent(constructorAutoMappingColumns, mapKey, k -> new ArrayList<>()).add(columnName);
           }
           columnNotFound = false;
@@ -858,7 +946,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       columnName = rsw.getColumnNames().get(0);
     }
     final TypeHandler<?> typeHandler = rsw.getTypeHandler(resultType, columnName);
-    return typeHandler.getResult(rsw.getResultSet(), columnName);
+    return rsw.getResult(typeHandler, columnName);
   }
 
   //
@@ -902,6 +990,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       if (executor.isCached(nestedQuery, key)) {
         executor.deferLoad(nestedQuery, metaResultObject, property, key, targetType);
         value = DEFERRED;
+      } else if (batchNestedQueries && propertyMapping.getBatchQueryId() != null && !propertyMapping.isLazy()) {
+        addPendingBatchLoad(metaResultObject, propertyMapping, nestedQueryParameterObject);
+        value = DEFERRED;
       } else {
         final ResultLoader resultLoader = new ResultLoader(configuration, executor, nestedQuery,
             nestedQueryParameterObject, targetType, key, nestedBoundSql);
@@ -916,6 +1007,66 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return value;
   }
 
+  private void addPendingBatchLoad(MetaObject metaResultObject, ResultMapping propertyMapping, Object key) {
+    PendingBatchLoad batchLoad = null;
+    for (PendingBatchLoad pendingBatchLoad : pendingBatchLoads) {
+      if (pendingBatchLoad.propertyMapping == propertyMapping) {
+        batchLoad = pendingBatchLoad;
+        break;
+      }
+    }
+    if (batchLoad == null) {
+      batchLoad = new PendingBatchLoad(propertyMapping);
+      pendingBatchLoads.add(batchLoad);
+    }
+    Object normalizedKey = normalizeBatchKey(key);
+    batchLoad.keys.putIfAbsent(normalizedKey, key);
+    MapUtil.computeIfAbsent(batchLoad.targets, normalizedKey, k -> new ArrayList<>()).add(metaResultObject);
+  }
+
+  private void loadPendingBatches() throws SQLException {
+    final ResultExtractor resultExtractor = new ResultExtractor(configuration, objectFactory);
+    for (PendingBatchLoad batchLoad : pendingBatchLoads) {
+      final ResultMapping propertyMapping = batchLoad.propertyMapping;
+      final MappedStatement batchQuery = configuration.getMappedStatement(propertyMapping.getBatchQueryId());
+      final List<Object> keys = new ArrayList<>(batchLoad.keys.values());
+      final List<Object> results = executor.query(batchQuery, ParamNameResolver.wrapToMapIfCollection(keys, null),
+          RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+      final Map<Object, List<Object>> resultsByKey = new HashMap<>();
+      for (Object result : results) {
+        final Object key = configuration.newMetaObject(result).getValue(propertyMapping.getBatchKey());
+        MapUtil.computeIfAbsent(resultsByKey, normalizeBatchKey(key), k -> new ArrayList<>()).add(result);
+      }
+      final String property = propertyMapping.getProperty();
+      for (Map.Entry<Object, List<MetaObject>> entry : batchLoad.targets.entrySet()) {
+        final List<Object> keyResults = resultsByKey.getOrDefault(entry.getKey(), Collections.emptyList());
+        for (MetaObject target : entry.getValue()) {
+          final Object value = resultExtractor.extractObjectFromList(new ArrayList<>(keyResults),
+              propertyMapping.getJavaType());
+          if (value != null || configuration.isCallSettersOnNulls() && !target.getSetterType(property).isPrimitive()) {
+            target.setValue(property, value);
+          }
+        }
+      }
+    }
+    pendingBatchLoads.clear();
+  }
+
+  private static Object normalizeBatchKey(Object key) {
+    // a key read from the parent row and the key property of a nested result may be numbers of different types
+    if (key instanceof Byte || key instanceof Short || key instanceof Integer || key instanceof Long) {
+      return ((Number) key).longValue();
+    }
+    if (key instanceof BigInteger || key instanceof BigDecimal) {
+      try {
+        return new BigDecimal(key.toString()).longValueExact();
+      } catch (ArithmeticException e) {
+        return key;
+      }
+    }
+    return key;
+  }
+
   private Object prepareParameterForNestedQuery(ResultSet rs, ResultMapping resultMapping, Class<?> parameterType,
       String columnPrefix) throws SQLException {
     if (resultMapping.isCompositeResult()) {
@@ -995,7 +1146,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return typeHandler.getResult(rs, prependPrefix(resultMapping.getColumn(), columnPrefix));
   }
 
-  private String prependPrefix(String columnName, String prefix) {
+  static String prependPrefix(String columnName, String prefix) {
     if (columnName == null || columnName.length() == 0 || prefix == null || prefix.length() == 0) {
       return columnName;
     }
@@ -1014,7 +1165,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     Object rowValue = previousRowValue;
     while (shouldProcessMoreRows(resultContext, rowBounds) && !resultSet.isClosed() && resultSet.next()) {
       final ResultMap discriminatedResultMap = resolveDiscriminatedResultMap(resultSet, resultMap, null);
-      final CacheKey rowKey = createRowKey(discriminatedResultMap, rsw, null);
+      final Object rowKey = createRowKey(discriminatedResultMap, rsw, null, null);
       Object partialObject = nestedResultObjects.get(rowKey);
       // issue #577 && #542
       if (mappedStatement.isResultOrdered()) {
@@ -1043,7 +1194,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   //
 
   private boolean applyNestedResultMappings(ResultSetWrapper rsw, ResultMap resultMap, MetaObject metaObject,
-      String parentPrefix, CacheKey parentRowKey, boolean newObject) {
+      String parentPrefix, Object parentRowKey, boolean newObject) {
     boolean foundValues = false;
     for (ResultMapping resultMapping : resultMap.getPropertyResultMappings()) {
       final String nestedResultMapId = resultMapping.getNestedResultMapId();
@@ -1062,8 +1213,8 @@ public class DefaultResultSetHandler implements ResultSetHandler {
               continue;
             }
           }
-          final CacheKey rowKey = createRowKey(nestedResultMap, rsw, columnPrefix);
-          final CacheKey combinedKey = combineKeys(rowKey, parentRowKey);
+          final Object combinedKey = parentRowKey == CacheKey.NULL_CACHE_KEY ? CacheKey.NULL_CACHE_KEY
+              : createRowKey(nestedResultMap, rsw, columnPrefix, parentRowKey);
           Object rowValue = nestedResultObjects.get(combinedKey);
           boolean knownValue = rowValue != null;
           instantiateCollectionPropertyIfAppropriate(resultMapping, metaObject); // mandatory
@@ -1128,10 +1279,35 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   // UNIQUE RESULT KEY
   //
 
+  /**
+   * Creates the key of the current row for a result map, combined with the key of the enclosing row if there is one.
+   * Result maps whose <code>&lt;id&gt;</code> mappings are all simple columns get a {@link RowKey} read from the id
+   * columns only.
+   */
+  private Object createRowKey(ResultMap resultMap, ResultSetWrapper rsw, String columnPrefix, Object parentRowKey)
+      throws SQLException {
+    if (!RowKey.supports(resultMap)) {
+      final CacheKey rowKey = createRowKey(resultMap, rsw, columnPrefix);
+      return parentRowKey == null ? rowKey : combineKeys(rowKey, parentRowKey);
+    }
+    final String mapKey = resultMap.getId() + ":" + columnPrefix;
+    final Map<String, RowKey.IdColumns> idColumns = rsw.getColumnPlan().idColumns;
+    RowKey.IdColumns columns = idColumns.get(mapKey);
+    if (columns == null) {
+      columns = new RowKey.IdColumns(rsw, resultMap, columnPrefix);
+      idColumns.put(mapKey, columns);
+    }
+    final RowKey rowKey = columns.createKey(resultMap, rsw.getResultSet(), parentRowKey,
+        configuration.isReturnInstanceForEmptyRow());
+    return rowKey == null ? CacheKey.NULL_CACHE_KEY : rowKey;
+  }
+
   private CacheKey createRowKey(ResultMap resultMap, ResultSetWrapper rsw, String columnPrefix) throws SQLException {
-    final CacheKey cacheKey = new CacheKey();
-    cacheKey.update(resultMap.getId());
     List<ResultMapping> resultMappings = getResultMappingsForRowKey(resultMap);
+    // the result map id, then a column and a value per mapping, or per column when there is no mapping
+    final int keyedColumns = resultMappings.isEmpty() ? rsw.getColumnNames().size() : resultMappings.size();
+    final CacheKey cacheKey = new CacheKey(2 * keyedColumns + 1);
+    cacheKey.update(resultMap.getId());
     if (resultMappings.isEmpty()) {
       if (Map.class.isAssignableFrom(resultMap.getType())) {
         createRowKeyForMap(rsw, cacheKey);
@@ -1147,8 +1323,8 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     return cacheKey;
   }
 
-  private CacheKey combineKeys(CacheKey rowKey, CacheKey parentRowKey) {
-    if (rowKey.getUpdateCount() > 1 && parentRowKey.getUpdateCount() > 1) {
+  private CacheKey combineKeys(CacheKey rowKey, Object parentRowKey) {
+    if (rowKey != CacheKey.NULL_CACHE_KEY && parentRowKey != CacheKey.NULL_CACHE_KEY) {
       CacheKey combinedKey;
       try {
         combinedKey = rowKey.clone();
@@ -1178,7 +1354,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
         Set<String> mappedColumnNames = rsw.getMappedColumnNames(resultMap, columnPrefix);
         // Issue #114
         if (column != null && mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH))) {
-          final Object value = th.getResult(rsw.getResultSet(), column);
+          final Object value = rsw.getResult(th, column);
           if (value != null || configuration.isReturnInstanceForEmptyRow()) {
             cacheKey.update(column);
             cacheKey.update(value);
@@ -20,12 +20,12 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.mapping.ResultMap;
@@ -35,6 +35,7 @@ import org.apache.ibatis.type.ObjectTypeHandler;
 import org.apache.ibatis.type.TypeHandler;
 import org.apache.ibatis.type.TypeHandlerRegistry;
 import org.apache.ibatis.type.UnknownTypeHandler;
+import org.apache.ibatis.util.MapUtil;
 
 /**
  * @author Iwao AVE!
@@ -43,23 +44,39 @@ public class ResultSetWrapper {
 
   private final ResultSet resultSet;
   private final TypeHandlerRegistry typeHandlerRegistry;
-  private final List<String> columnNames = new ArrayList<>();
-  private final List<String> classNames = new ArrayList<>();
-  private final List<JdbcType> jdbcTypes = new ArrayList<>();
-  private final Map<String, Map<Class<?>, TypeHandler<?>>> typeHandlerMap = new HashMap<>();
-  private final Map<String, Set<String>> mappedColumnNamesMap = new HashMap<>();
-  private final Map<String, List<String>> unMappedColumnNamesMap = new HashMap<>();
+  private final ColumnPlan plan;
+  private final List<String> columnNames;
 
   public ResultSetWrapper(ResultSet rs, Configuration configuration) throws SQLException {
+    this(rs, configuration, null, 0);
+  }
+
+  /**
+   * Wraps a result set, reusing the column plan cached for the statement when the result set has the same columns as
+   * the previous execution.
+   *
+   * @param rs
+   *          the result set
+   * @param configuration
+   *          the configuration
+   * @param columnPlanCache
+   *          the plans of the statement, {@code null} to resolve the columns for this result set only
+   * @param resultSetIndex
+   *          the index of the result set among those returned by the statement
+   *
+   * @throws SQLException
+   *           if the result set metadata cannot be read
+   *
+   * @since 3.5.17
+   */
+  public ResultSetWrapper(ResultSet rs, Configuration configuration, ColumnPlanCache columnPlanCache,
+      int resultSetIndex) throws SQLException {
     this.typeHandlerRegistry = configuration.getTypeHandlerRegistry();
     this.resultSet = rs;
     final ResultSetMetaData metaData = rs.getMetaData();
-    final int columnCount = metaData.getColumnCount();
-    for (int i = 1; i <= columnCount; i++) {
-      columnNames.add(configuration.isUseColumnLabel() ? metaData.getColumnLabel(i) : metaData.getColumnName(i));
-      jdbcTypes.add(JdbcType.forCode(metaData.getColumnType(i)));
-      classNames.add(metaData.getColumnClassName(i));
-    }
+    this.plan = columnPlanCache == null ? new ColumnPlan(metaData, configuration)
+        : columnPlanCache.getPlan(resultSetIndex, metaData, configuration);
+    this.columnNames = plan.columnNames;
   }
 
   public ResultSet getResultSet() {
@@ -71,20 +88,80 @@ public class ResultSetWrapper {
   }
 
   public List<String> getClassNames() {
-    return Collections.unmodifiableList(classNames);
+    return plan.classNames;
   }
 
   public List<JdbcType> getJdbcTypes() {
-    return jdbcTypes;
+    return plan.jdbcTypes;
+  }
+
+  ColumnPlan getColumnPlan() {
+    return plan;
   }
 
   public JdbcType getJdbcType(String columnName) {
-    for (int i = 0; i < columnNames.size(); i++) {
-      if (columnNames.get(i).equalsIgnoreCase(columnName)) {
-        return jdbcTypes.get(i);
+    final int index = indexOfName(columnName);
+    return index > 0 ? plan.jdbcTypes.get(index - 1) : null;
+  }
+
+  /**
+   * Gets the index to read a column by. Like {@link ResultSet#findColumn(String)} the name is matched
+   * case-insensitively against the column labels and the first matching column wins, so that reading by index returns
+   * the same column as reading by name even if <code>useColumnLabel</code> is disabled. The index is resolved only once
+   * per column plan.
+   *
+   * @param columnName
+   *          the column name
+   *
+   * @return the 1-based column index, or -1 if the result set has no such column
+   *
+   * @since 3.5.17
+   */
+  public int getColumnIndex(String columnName) {
+    if (columnName == null) {
+      return -1;
+    }
+    Integer index = plan.columnIndexes.get(columnName);
+    if (index == null) {
+      index = indexOf(plan.columnLabels, columnName);
+      plan.columnIndexes.put(columnName, index);
+    }
+    return index;
+  }
+
+  private int indexOfName(String columnName) {
+    // the column metadata is looked up by name, which is the label when labels are used
+    return plan.columnLabels == columnNames ? getColumnIndex(columnName) : indexOf(columnNames, columnName);
+  }
+
+  private static int indexOf(List<String> columns, String columnName) {
+    for (int i = 0; i < columns.size(); i++) {
+      if (columns.get(i).equalsIgnoreCase(columnName)) {
+        return i + 1;
       }
     }
-    return null;
+    return -1;
+  }
+
+  /**
+   * Reads a column of the current row with a type handler, by index if the result set has the column and by name
+   * otherwise, so that a missing column is still reported by the driver.
+   *
+   * @param typeHandler
+   *          the type handler
+   * @param columnName
+   *          the column name
+   *
+   * @return the column value
+   *
+   * @throws SQLException
+   *           if the column cannot be read
+   *
+   * @since 3.5.17
+   */
+  public Object getResult(TypeHandler<?> typeHandler, String columnName) throws SQLException {
+    final int index = getColumnIndex(columnName);
+    return index > 0 ? typeHandler.getResult(resultSet, index) : typeHandler.getResult(resultSet, columnName);
   }
 
   /**
@@ -99,22 +176,17 @@ public class ResultSetWrapper {
    * @return the type handler
    */
   public TypeHandler<?> getTypeHandler(Class<?> propertyType, String columnName) {
-    TypeHandler<?> handler = null;
-    Map<Class<?>, TypeHandler<?>> columnHandlers = typeHandlerMap.get(columnName);
-    if (columnHandlers == null) {
-      columnHandlers = new HashMap<>();
-      typeHandlerMap.put(columnName, columnHandlers);
-    } else {
-      handler = columnHandlers.get(propertyType);
-    }
+    final Map<Class<?>, TypeHandler<?>> columnHandlers = propertyType == null ? null
+        : MapUtil.computeIfAbsent(plan.typeHandlerMap, columnName, k -> new ConcurrentHashMap<>());
+    TypeHandler<?> handler = columnHandlers == null ? null : columnHandlers.get(propertyType);
     if (handler == null) {
       JdbcType jdbcType = getJdbcType(columnName);
       handler = typeHandlerRegistry.getTypeHandler(propertyType, jdbcType);
       // Replicate logic of UnknownTypeHandler#resolveTypeHandler
       // See issue #59 comment 10
       if (handler == null || handler instanceof UnknownTypeHandler) {
-        final int index = columnNames.indexOf(columnName);
-        final Class<?> javaType = resolveClass(classNames.get(index));
+        final int index = indexOfName(columnName);
+        final Class<?> javaType = index > 0 ? resolveClass(plan.classNames.get(index - 1)) : null;
         if (javaType != null && jdbcType != null) {
           handler = typeHandlerRegistry.getTypeHandler(javaType, jdbcType);
         } else if (javaType != null) {
@@ -126,7 +198,9 @@ public class ResultSetWrapper {
       if (handler == null || handler instanceof UnknownTypeHandler) {
         handler = new ObjectTypeHandler();
       }
-      columnHandlers.put(propertyType, handler);
+      if (columnHandlers != null) {
+        columnHandlers.put(propertyType, handler);
+      }
     }
     return handler;
   }
@@ -156,24 +230,25 @@ public class ResultSetWrapper {
         unmappedColumnNames.add(columnName);
       }
     }
-    mappedColumnNamesMap.put(getMapKey(resultMap, columnPrefix), mappedColumnNames);
-    unMappedColumnNamesMap.put(getMapKey(resultMap, columnPrefix), unmappedColumnNames);
+    plan.mappedColumnNamesMap.put(getMapKey(resultMap, columnPrefix), Collections.unmodifiableSet(mappedColumnNames));
+    plan.unMappedColumnNamesMap.put(getMapKey(resultMap, columnPrefix),
+        Collections.unmodifiableList(unmappedColumnNames));
   }
 
   public Set<String> getMappedColumnNames(ResultMap resultMap, String columnPrefix) throws SQLException {
-    Set<String> mappedColumnNames = mappedColumnNamesMap.get(getMapKey(resultMap, columnPrefix));
+    Set<String> mappedColumnNames = plan.mappedColumnNamesMap.get(getMapKey(resultMap, columnPrefix));
     if (mappedColumnNames == null) {
       loadMappedAndUnmappedColumnNames(resultMap, columnPrefix);
-      mappedColumnNames = mappedColumnNamesMap.get(getMapKey(resultMap, columnPrefix));
+      mappedColumnNames = plan.mappedColumnNamesMap.get(getMapKey(resultMap, columnPrefix));
     }
     return mappedColumnNames;
   }
 
   public List<String> getUnmappedColumnNames(ResultMap resultMap, String columnPrefix) throws SQLException {
-    List<String> unMappedColumnNames = unMappedColumnNamesMap.get(getMapKey(resultMap, columnPrefix));
+    List<String> unMappedColumnNames = plan.unMappedColumnNamesMap.get(getMapKey(resultMap, columnPrefix));
     if (unMappedColumnNames == null) {
       loadMappedAndUnmappedColumnNames(resultMap, columnPrefix);
-      unMappedColumnNames = unMappedColumnNamesMap.get(getMapKey(resultMap, columnPrefix));
+      unMappedColumnNames = plan.unMappedColumnNamesMap.get(getMapKey(resultMap, columnPrefix));
     }
     return unMappedColumnNames;
   }
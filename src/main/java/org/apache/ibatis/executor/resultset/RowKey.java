@@ -0,0 +1,161 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.reflection.ArrayUtil;
+import org.apache.ibatis.type.TypeHandler;
+
+/**
+ * The identity of a row of a nested result map that declares <code>&lt;id&gt;</code> mappings. Unlike a
+ * {@link org.apache.ibatis.cache.CacheKey} built for the same row it holds only the result map, the column prefix and
+ * the id values, not the column names, and it refers to the key of the enclosing row instead of copying it. The keys
+ * kept for every partial object of a joined query therefore stay small, and comparing the keys of two children of the
+ * same parent compares the parent by reference.
+ */
+final class RowKey {
+
+  private final ResultMap resultMap;
+  private final String columnPrefix;
+  private final Object[] values;
+  private final Object parentKey;
+  private final int hashCode;
+
+  private RowKey(ResultMap resultMap, String columnPrefix, Object[] values, Object parentKey) {
+    this.resultMap = resultMap;
+    this.columnPrefix = columnPrefix;
+    this.values = values;
+    this.parentKey = parentKey;
+    int hash = 31 * resultMap.getId().hashCode() + Objects.hashCode(columnPrefix);
+    for (Object value : values) {
+      hash = 31 * hash + ArrayUtil.hashCode(value);
+    }
+    this.hashCode = parentKey == null ? hash : 31 * hash + parentKey.hashCode();
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+  @Override
+  public boolean equals(Object object) {
+    if (this == object) {
+      return true;
+    }
+    if (!(object instanceof RowKey)) {
+      return false;
+    }
+    final RowKey other = (RowKey) object;
+    if (hashCode != other.hashCode || resultMap != other.resultMap || values.length != other.values.length
+        || !Objects.equals(columnPrefix, other.columnPrefix)) {
+      return false;
+    }
+    for (int i = 0; i < values.length; i++) {
+      if (!ArrayUtil.equals(values[i], other.values[i])) {
+        return false;
+      }
+    }
+    return parentKey == other.parentKey || parentKey != null && parentKey.equals(other.parentKey);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder(resultMap.getId());
+    if (columnPrefix != null) {
+      builder.append('[').append(columnPrefix).append(']');
+    }
+    for (Object value : values) {
+      builder.append(':').append(ArrayUtil.toString(value));
+    }
+    return parentKey == null ? builder.toString() : builder.append(" < ").append(parentKey).toString();
+  }
+
+  /**
+   * Checks whether the rows of a result map can be keyed by a {@link RowKey}, which requires every
+   * <code>&lt;id&gt;</code> mapping to be read from a single column.
+   */
+  static boolean supports(ResultMap resultMap) {
+    final List<ResultMapping> idMappings = resultMap.getIdResultMappings();
+    if (idMappings.isEmpty()) {
+      return false;
+    }
+    for (ResultMapping idMapping : idMappings) {
+      if (!idMapping.isSimple()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * The <code>&lt;id&gt;</code> columns of a result map that a result set returns, resolved once per column plan.
+   */
+  static final class IdColumns {
+
+    private final String columnPrefix;
+    private final int[] columnIndexes;
+    private final String[] columns;
+    private final TypeHandler<?>[] typeHandlers;
+
+    IdColumns(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix) throws SQLException {
+      this.columnPrefix = columnPrefix;
+      final Set<String> mappedColumnNames = rsw.getMappedColumnNames(resultMap, columnPrefix);
+      final List<Integer> indexes = new ArrayList<>();
+      final List<String> names = new ArrayList<>();
+      final List<TypeHandler<?>> handlers = new ArrayList<>();
+      for (ResultMapping resultMapping : resultMap.getIdResultMappings()) {
+        final String column = DefaultResultSetHandler.prependPrefix(resultMapping.getColumn(), columnPrefix);
+        if (column != null && mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH))) {
+          indexes.add(rsw.getColumnIndex(column));
+          names.add(column);
+          handlers.add(resultMapping.getTypeHandler());
+        }
+      }
+      this.columnIndexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+      this.columns = names.toArray(new String[0]);
+      this.typeHandlers = handlers.toArray(new TypeHandler<?>[0]);
+    }
+
+    /**
+     * Reads the id values of the current row.
+     *
+     * @return the key, or {@code null} if the row has no id value and must not be merged with other rows
+     */
+    RowKey createKey(ResultMap resultMap, ResultSet rs, Object parentKey, boolean returnInstanceForEmptyRow)
+        throws SQLException {
+      final Object[] values = new Object[columnIndexes.length];
+      boolean found = false;
+      for (int i = 0; i < columnIndexes.length; i++) {
+        // a column that is not among the labels is read by name, so that the driver reports it
+        values[i] = columnIndexes[i] > 0 ? typeHandlers[i].getResult(rs, columnIndexes[i])
+            : typeHandlers[i].getResult(rs, columns[i]);
+        found = found || values[i] != null || returnInstanceForEmptyRow;
+      }
+      return found ? new RowKey(resultMap, columnPrefix, values, parentKey) : null;
+    }
+  }
+
+}
@@ -63,6 +63,10 @@ public abstract class BaseStatementHandler implements StatementHandler {
     if (boundSql == null) { // issue #435, get the key before calculating the statement
       generateKeys(parameterObject);
       boundSql = mappedStatement.getBoundSql(parameterObject);
+      if (!boundSql.getRemainingChunks().isEmpty()) {
+        throw new ExecutorException(
+            "Statement '" + mappedStatement.getId() + "' is split into chunks, which only select statements support.");
+      }
     }
 
     this.boundSql = boundSql;
@@ -100,6 +104,16 @@ public abstract class BaseStatementHandler implements StatementHandler {
     }
   }
 
+  @Override
+  public void reuse(Statement statement, Integer transactionTimeout) throws SQLException {
+    ErrorContext.instance().sql(boundSql.getSql());
+    // reset what the handler that prepared the statement may have set
+    statement.setQueryTimeout(0);
+    statement.setFetchSize(0);
+    setStatementTimeout(statement, transactionTimeout);
+    setFetchSize(statement);
+  }
+
   protected abstract Statement instantiateStatement(Connection connection) throws SQLException;
 
   protected void setStatementTimeout(Statement stmt, Integer transactionTimeout) throws SQLException {
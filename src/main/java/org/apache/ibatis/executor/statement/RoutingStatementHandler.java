@@ -90,6 +90,11 @@ public class RoutingStatementHandler implements StatementHandler {
     return delegate.getBoundSql();
   }
 
+  @Override
+  public void reuse(Statement statement, Integer transactionTimeout) throws SQLException {
+    delegate.reuse(statement, transactionTimeout);
+  }
+
   @Override
   public ParameterHandler getParameterHandler() {
     return delegate.getParameterHandler();
@@ -0,0 +1,151 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.statement;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.mapping.MappedStatement;
+
+/**
+ * Statements kept open on a connection so that they can be reused by the sessions that use the connection one after
+ * another. A connection exposes its cache through {@link java.sql.Connection#unwrap(Class)}, which the
+ * {@link org.apache.ibatis.executor.ReuseExecutor} looks up before preparing a statement.
+ * <p>
+ * Statements are cached by a key that holds the SQL and everything else the statement was created with, see
+ * {@link #keyOf(MappedStatement, String)}. The query timeout and fetch size are applied again each time a statement is
+ * reused.
+ * </p>
+ * <p>
+ * The cache holds at most a given number of statements and closes the least recently used one when it is full. As it
+ * belongs to a single connection, it is not thread safe.
+ * </p>
+ *
+ * @since 3.5.17
+ *
+ * @see org.apache.ibatis.datasource.pooled.PooledDataSource#setPoolMaximumCachedStatements(int)
+ */
+public class StatementCache {
+
+  private final int size;
+  private final Map<String, Statement> statements;
+
+  public StatementCache(int size) {
+    this.size = size;
+    this.statements = new LinkedHashMap<String, Statement>(16, 0.75f, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, Statement> eldest) {
+        if (size() > StatementCache.this.size) {
+          close(eldest.getValue());
+          return true;
+        }
+        return false;
+      }
+    };
+  }
+
+  public int getSize() {
+    return size;
+  }
+
+  /**
+   * Builds the key of the statement that a mapped statement prepares for an SQL. Besides the SQL it holds the statement
+   * type, the result set type and the generated keys settings, which cannot be changed on a prepared statement.
+   *
+   * @param ms
+   *          the mapped statement
+   * @param sql
+   *          the SQL
+   *
+   * @return the key
+   */
+  public static String keyOf(MappedStatement ms, String sql) {
+    final StringBuilder key = new StringBuilder().append(ms.getStatementType()).append(':')
+        .append(ms.getResultSetType()).append(':');
+    if (ms.getKeyGenerator() instanceof Jdbc3KeyGenerator) {
+      key.append(ms.getKeyColumns() == null ? "*" : String.join(",", ms.getKeyColumns()));
+    }
+    return key.append(':').append(sql).toString();
+  }
+
+  /**
+   * Returns the open statement cached for a key.
+   *
+   * @param sql
+   *          the key built by {@link #keyOf(MappedStatement, String)}
+   *
+   * @return the statement, or null if there is none or it has been closed
+   */
+  public Statement getStatement(String sql) {
+    Statement statement = statements.get(sql);
+    if (statement != null && isClosed(statement)) {
+      statements.remove(sql);
+      return null;
+    }
+    return statement;
+  }
+
+  /**
+   * Caches a statement, closing the least recently used one if the cache is full.
+   *
+   * @param sql
+   *          the key built by {@link #keyOf(MappedStatement, String)}
+   * @param statement
+   *          the statement prepared for the SQL
+   */
+  public void putStatement(String sql, Statement statement) {
+    Statement previous = statements.put(sql, statement);
+    if (previous != null && previous != statement) {
+      close(previous);
+    }
+  }
+
+  public int getStatementCount() {
+    return statements.size();
+  }
+
+  /**
+   * Closes and removes all statements.
+   */
+  public void clear() {
+    for (Statement statement : statements.values()) {
+      close(statement);
+    }
+    statements.clear();
+  }
+
+  private static boolean isClosed(Statement statement) {
+    try {
+      return statement.isClosed();
+    } catch (SQLException e) {
+      return true;
+    }
+  }
+
+  private static void close(Statement statement) {
+    try {
+      statement.close();
+    } catch (SQLException e) {
+      // ignore
+    }
+  }
+
+}
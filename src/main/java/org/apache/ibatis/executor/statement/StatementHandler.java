@@ -32,6 +32,24 @@ public interface StatementHandler {
 
   Statement prepare(Connection connection, Integer transactionTimeout) throws SQLException;
 
+  /**
+   * Readies a statement that an earlier handler prepared for the same SQL to be executed by this handler, by applying
+   * the query timeout and fetch size that {@link #prepare(Connection, Integer)} would have applied.
+   *
+   * @param statement
+   *          the reused statement
+   * @param transactionTimeout
+   *          the transaction timeout
+   *
+   * @throws SQLException
+   *           if the statement cannot be configured
+   *
+   * @since 3.5.17
+   */
+  default void reuse(Statement statement, Integer transactionTimeout) throws SQLException {
+    // nothing to apply by default
+  }
+
   void parameterize(Statement statement) throws SQLException;
 
   void batch(Statement statement) throws SQLException;
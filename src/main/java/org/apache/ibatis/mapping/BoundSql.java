@@ -15,6 +15,7 @@
  */
 package org.apache.ibatis.mapping;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +40,7 @@ public class BoundSql {
   private final Object parameterObject;
   private final Map<String, Object> additionalParameters;
   private final MetaObject metaParameters;
+  private List<BoundSql> remainingChunks = Collections.emptyList();
 
   public BoundSql(Configuration configuration, String sql, List<ParameterMapping> parameterMappings,
       Object parameterObject) {
@@ -77,4 +79,24 @@ public class BoundSql {
   public Map<String, Object> getAdditionalParameters() {
     return additionalParameters;
   }
+
+  /**
+   * Returns the statements of the remaining chunks when the SQL renders only the first chunk of a collection, e.g. of a
+   * {@code <foreach>} with a {@code chunkSize}. They are executed after this one and their results are appended to its
+   * results.
+   *
+   * @return the statements of the remaining chunks, empty if the SQL is not chunked
+   *
+   * @since 3.5.17
+   */
+  public List<BoundSql> getRemainingChunks() {
+    return remainingChunks;
+  }
+
+  /**
+   * @since 3.5.17
+   */
+  public void setRemainingChunks(List<BoundSql> remainingChunks) {
+    this.remainingChunks = remainingChunks;
+  }
 }
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -24,13 +24,18 @@ import java.util.Properties;
 import org.apache.ibatis.builder.InitializingObject;
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheStatistics;
+import org.apache.ibatis.cache.CacheStatisticsAware;
 import org.apache.ibatis.cache.decorators.BlockingCache;
+import org.apache.ibatis.cache.decorators.ConcurrentLruCache;
+import org.apache.ibatis.cache.decorators.ExpiringCache;
 import org.apache.ibatis.cache.decorators.LoggingCache;
 import org.apache.ibatis.cache.decorators.LruCache;
 import org.apache.ibatis.cache.decorators.ScheduledCache;
 import org.apache.ibatis.cache.decorators.SerializedCache;
 import org.apache.ibatis.cache.decorators.SynchronizedCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.cache.serializer.CacheSerializer;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.SystemMetaObject;
 
@@ -43,9 +48,13 @@ public class CacheBuilder {
   private final List<Class<? extends Cache>> decorators;
   private Integer size;
   private Long clearInterval;
+  private Long expireAfterWrite;
+  private Long expireAfterAccess;
   private boolean readWrite;
+  private Class<? extends CacheSerializer> serializer;
   private Properties properties;
   private boolean blocking;
+  private CacheStatistics statistics;
 
   public CacheBuilder(String id) {
     this.id = id;
@@ -74,11 +83,56 @@ public class CacheBuilder {
     return this;
   }
 
+  /**
+   * Sets the time after which each entry expires once it has been put in the cache.
+   *
+   * @param expireAfterWrite
+   *          the time in milliseconds
+   *
+   * @return this builder
+   *
+   * @since 3.5.17
+   */
+  public CacheBuilder expireAfterWrite(Long expireAfterWrite) {
+    this.expireAfterWrite = expireAfterWrite;
+    return this;
+  }
+
+  /**
+   * Sets the time after which each entry expires once it has been put in or read from the cache.
+   *
+   * @param expireAfterAccess
+   *          the time in milliseconds
+   *
+   * @return this builder
+   *
+   * @since 3.5.17
+   */
+  public CacheBuilder expireAfterAccess(Long expireAfterAccess) {
+    this.expireAfterAccess = expireAfterAccess;
+    return this;
+  }
+
   public CacheBuilder readWrite(boolean readWrite) {
     this.readWrite = readWrite;
     return this;
   }
 
+  /**
+   * Sets the serializer that copies the objects of a read-write cache.
+   *
+   * @param serializer
+   *          the serializer type, {@code null} to use java serialization
+   *
+   * @return this builder
+   *
+   * @since 3.5.17
+   */
+  public CacheBuilder serializer(Class<? extends CacheSerializer> serializer) {
+    this.serializer = serializer;
+    return this;
+  }
+
   public CacheBuilder blocking(boolean blocking) {
     this.blocking = blocking;
     return this;
@@ -89,19 +143,36 @@ public class CacheBuilder {
     return this;
   }
 
+  /**
+   * Sets the statistics that the cache and its decorators record in.
+   *
+   * @param statistics
+   *          the statistics
+   *
+   * @return this builder
+   *
+   * @since 3.5.17
+   */
+  public CacheBuilder statistics(CacheStatistics statistics) {
+    this.statistics = statistics;
+    return this;
+  }
+
   public Cache build() {
     setDefaultImplementations();
     Cache cache = newBaseCacheInstance(implementation, id);
     setCacheProperties(cache);
+    setCacheStatistics(cache);
     // issue #352, do not apply decorators to custom caches
     if (PerpetualCache.class.equals(cache.getClass())) {
       for (Class<? extends Cache> decorator : decorators) {
         cache = newCacheDecoratorInstance(decorator, cache);
         setCacheProperties(cache);
+        setCacheStatistics(cache);
       }
       cache = setStandardDecorators(cache);
     } else if (!LoggingCache.class.isAssignableFrom(cache.getClass())) {
-      cache = new LoggingCache(cache);
+      cache = newLoggingCache(cache);
     }
     return cache;
   }
@@ -117,6 +188,8 @@ public class CacheBuilder {
 
   private Cache setStandardDecorators(Cache cache) {
     try {
+      // a concurrent eviction decorator owns the entries, and the standard decorators above it are thread safe
+      boolean threadSafe = cache instanceof ConcurrentLruCache;
       MetaObject metaCache = SystemMetaObject.forObject(cache);
       if (size != null && metaCache.hasSetter("size")) {
         metaCache.setValue("size", size);
@@ -126,12 +199,31 @@ public class CacheBuilder {
         ((ScheduledCache) cache).setClearInterval(clearInterval);
       }
       if (readWrite) {
-        cache = new SerializedCache(cache);
+        cache = serializer == null ? new SerializedCache(cache)
+            : new SerializedCache(cache, serializer.getDeclaredConstructor().newInstance());
+        setCacheStatistics(cache);
+      }
+      if (isPositive(expireAfterWrite) || isPositive(expireAfterAccess)) {
+        // expired entries are also removed by a sweeper thread, which must hold the lock of the entries
+        if (!threadSafe) {
+          cache = new SynchronizedCache(cache);
+          threadSafe = true;
+        }
+        ExpiringCache expiringCache = new ExpiringCache(cache);
+        expiringCache.setExpireAfterWrite(isPositive(expireAfterWrite) ? expireAfterWrite : 0);
+        expiringCache.setExpireAfterAccess(isPositive(expireAfterAccess) ? expireAfterAccess : 0);
+        setCacheStatistics(expiringCache);
+        cache = expiringCache;
+      }
+      cache = newLoggingCache(cache);
+      if (!threadSafe) {
+        cache = new SynchronizedCache(cache);
       }
-      cache = new LoggingCache(cache);
-      cache = new SynchronizedCache(cache);
       if (blocking) {
-        cache = new BlockingCache(cache);
+        BlockingCache blockingCache = new BlockingCache(cache);
+        // a read-only cache returns the same instance to every caller anyway
+        blockingCache.setHandOffLoadedValues(!readWrite);
+        cache = blockingCache;
       }
       return cache;
     } catch (Exception e) {
@@ -139,6 +231,20 @@ public class CacheBuilder {
     }
   }
 
+  private Cache newLoggingCache(Cache cache) {
+    return statistics == null ? new LoggingCache(cache) : new LoggingCache(cache, statistics);
+  }
+
+  private void setCacheStatistics(Cache cache) {
+    if (statistics != null && cache instanceof CacheStatisticsAware) {
+      ((CacheStatisticsAware) cache).setCacheStatistics(statistics);
+    }
+  }
+
+  private static boolean isPositive(Long value) {
+    return value != null && value > 0;
+  }
+
   private void setCacheProperties(Cache cache) {
     if (properties != null) {
       MetaObject metaCache = SystemMetaObject.forObject(cache);
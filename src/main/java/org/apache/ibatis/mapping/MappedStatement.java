@@ -23,8 +23,10 @@ import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.executor.resultset.ColumnPlanCache;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.parsing.SqlTableExtractor;
 import org.apache.ibatis.scripting.LanguageDriver;
 import org.apache.ibatis.session.Configuration;
 
@@ -57,6 +59,8 @@ public final class MappedStatement {
   private LanguageDriver lang;
   private String[] resultSets;
   private boolean dirtySelect;
+  private String[] tables;
+  private final ColumnPlanCache columnPlanCache = new ColumnPlanCache();
 
   MappedStatement() {
     // constructor disabled
@@ -182,6 +186,22 @@ public final class MappedStatement {
       return this;
     }
 
+    /**
+     * Declares the tables that the statement reads or writes.
+     *
+     * @param tables
+     *          the table names separated with comma(','), {@code null} to derive them from the SQL
+     *
+     * @return the builder
+     *
+     * @since 3.5.17
+     */
+    public Builder tables(String tables) {
+      String[] names = delimitedStringToArray(tables);
+      mappedStatement.tables = names == null ? null : SqlTableExtractor.normalizeTableNames(names);
+      return this;
+    }
+
     /**
      * Resul sets.
      *
@@ -304,6 +324,28 @@ public final class MappedStatement {
     return dirtySelect;
   }
 
+  /**
+   * Gets the tables declared by the statement, normalized to lower case unqualified names.
+   *
+   * @return the tables, {@code null} when they are derived from the SQL
+   *
+   * @since 3.5.17
+   */
+  public String[] getTables() {
+    return tables;
+  }
+
+  /**
+   * Gets the column plans of the result sets returned by this statement, shared by all its executions.
+   *
+   * @return the column plan cache
+   *
+   * @since 3.5.17
+   */
+  public ColumnPlanCache getColumnPlanCache() {
+    return columnPlanCache;
+  }
+
   /**
    * Gets the resul sets.
    *
@@ -318,9 +360,14 @@ public final class MappedStatement {
 
   public BoundSql getBoundSql(Object parameterObject) {
     BoundSql boundSql = sqlSource.getBoundSql(parameterObject);
-    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
-    if (parameterMappings == null || parameterMappings.isEmpty()) {
-      boundSql = new BoundSql(configuration, boundSql.getSql(), parameterMap.getParameterMappings(), parameterObject);
+    List<BoundSql> remainingChunks = boundSql.getRemainingChunks();
+    boundSql = applyParameterMap(boundSql, parameterObject);
+    if (!remainingChunks.isEmpty()) {
+      List<BoundSql> chunks = new ArrayList<>(remainingChunks.size());
+      for (BoundSql chunk : remainingChunks) {
+        chunks.add(applyParameterMap(chunk, parameterObject));
+      }
+      boundSql.setRemainingChunks(chunks);
     }
 
     // check for nested result maps in parameter mappings (issue #30)
@@ -337,6 +384,14 @@ public final class MappedStatement {
     return boundSql;
   }
 
+  private BoundSql applyParameterMap(BoundSql boundSql, Object parameterObject) {
+    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    if (parameterMappings == null || parameterMappings.isEmpty()) {
+      return new BoundSql(configuration, boundSql.getSql(), parameterMap.getParameterMappings(), parameterObject);
+    }
+    return boundSql;
+  }
+
   private static String[] delimitedStringToArray(String in) {
     if (in == null || in.trim().length() == 0) {
       return null;
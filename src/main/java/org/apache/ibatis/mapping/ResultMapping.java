@@ -45,6 +45,8 @@ public class ResultMapping {
   private String resultSet;
   private String foreignColumn;
   private boolean lazy;
+  private String batchQueryId;
+  private String batchKey;
 
   ResultMapping() {
   }
@@ -132,6 +134,36 @@ public class ResultMapping {
       return this;
     }
 
+    /**
+     * Sets the statement that loads the nested results of all rows at once, given the list of their keys.
+     *
+     * @param batchQueryId
+     *          the id of the statement
+     *
+     * @return the builder
+     *
+     * @since 3.5.17
+     */
+    public Builder batchQueryId(String batchQueryId) {
+      resultMapping.batchQueryId = batchQueryId;
+      return this;
+    }
+
+    /**
+     * Sets the property of the results of the batch query that holds the key they belong to.
+     *
+     * @param batchKey
+     *          the property
+     *
+     * @return the builder
+     *
+     * @since 3.5.17
+     */
+    public Builder batchKey(String batchKey) {
+      resultMapping.batchKey = batchKey;
+      return this;
+    }
+
     public ResultMapping build() {
       // lock down collections
       resultMapping.flags = Collections.unmodifiableList(resultMapping.flags);
@@ -157,6 +189,16 @@ public class ResultMapping {
           && resultMapping.composites.isEmpty()) {
         throw new IllegalStateException("Mapping is missing column attribute for property " + resultMapping.property);
       }
+      if (resultMapping.batchQueryId != null) {
+        if (resultMapping.nestedQueryId == null || resultMapping.batchKey == null) {
+          throw new IllegalStateException(
+              "A batch query needs a nested query and a batch key in property " + resultMapping.property);
+        }
+        if (!resultMapping.composites.isEmpty()) {
+          throw new IllegalStateException(
+              "A batch query does not support composite keys in property " + resultMapping.property);
+        }
+      }
       if (resultMapping.getResultSet() != null) {
         int numColumns = 0;
         if (resultMapping.column != null) {
@@ -255,6 +297,28 @@ public class ResultMapping {
     this.lazy = lazy;
   }
 
+  /**
+   * Gets the statement that loads the nested results of all rows at once.
+   *
+   * @return the id of the statement, or {@code null} if the nested query is executed for each row
+   *
+   * @since 3.5.17
+   */
+  public String getBatchQueryId() {
+    return batchQueryId;
+  }
+
+  /**
+   * Gets the property of the results of the batch query that holds the key they belong to.
+   *
+   * @return the property
+   *
+   * @since 3.5.17
+   */
+  public String getBatchKey() {
+    return batchKey;
+  }
+
   public boolean isSimple() {
     return this.nestedResultMapId == null && this.nestedQueryId == null && this.resultSet == null;
   }
@@ -303,6 +367,8 @@ public class ResultMapping {
     sb.append(", resultSet='").append(resultSet).append('\'');
     sb.append(", foreignColumn='").append(foreignColumn).append('\'');
     sb.append(", lazy=").append(lazy);
+    sb.append(", batchQueryId='").append(batchQueryId).append('\'');
+    sb.append(", batchKey='").append(batchKey).append('\'');
     sb.append('}');
     return sb.toString();
   }
@@ -0,0 +1,285 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.parsing;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Derives the tables that a SQL statement reads or writes from the names that follow {@code FROM}, {@code JOIN},
+ * {@code INTO}, {@code UPDATE}, {@code USING} and {@code TABLE}, and the commas of a {@code FROM} clause.
+ * <p>
+ * The extraction is lexical and errs on the side of reporting too many tables: a name that only looks like a table
+ * (e.g. the operand of {@code EXTRACT(YEAR FROM col)}) is reported as well. When a table name cannot be told from a
+ * keyword (e.g. an unquoted table named {@code order}), no table is reported, so that callers treat the statement as
+ * touching unknown tables. Table names are normalized to their lower case unqualified form so that
+ * {@code "Public"."Blog"} and {@code blog} are the same table.
+ *
+ * @since 3.5.17
+ */
+public final class SqlTableExtractor {
+
+  private static final String[] NO_TABLES = {};
+  private static final int MAX_CACHED_STATEMENTS = 1024;
+
+  private static final Set<String> TABLE_KEYWORDS = new HashSet<>(
+      Arrays.asList("from", "join", "into", "update", "using", "table"));
+  private static final Set<String> CLAUSE_KEYWORDS = new HashSet<>(
+      Arrays.asList("select", "where", "set", "group", "order", "having", "limit", "offset", "fetch", "union",
+          "intersect", "except", "minus", "window", "qualify", "for", "returning", "connect", "start", "values"));
+  private static final Set<String> TABLE_MODIFIERS = new HashSet<>(
+      Arrays.asList("only", "lateral", "ignore", "low_priority", "if", "not", "exists"));
+  private static final Set<String> RESERVED_WORDS = new HashSet<>(Arrays.asList("select", "where", "set", "on", "using",
+      "join", "inner", "left", "right", "full", "cross", "natural", "outer", "group", "order", "having", "limit",
+      "offset", "fetch", "union", "intersect", "except", "minus", "values", "value", "as", "with", "window", "for",
+      "returning", "default", "of", "nowait", "skip", "start", "connect", "partition", "straight_join"));
+
+  private static final Map<String, String[]> cache = new ConcurrentHashMap<>();
+
+  private SqlTableExtractor() {
+    // Prevent Instantiation of Static Class
+  }
+
+  /**
+   * Extracts the tables referenced by a SQL statement.
+   *
+   * @param sql
+   *          the SQL statement
+   *
+   * @return the distinct normalized table names, empty when none could be found or when the tables are uncertain
+   */
+  public static String[] extract(String sql) {
+    if (sql == null || sql.isEmpty()) {
+      return NO_TABLES;
+    }
+    String[] tables = cache.get(sql);
+    if (tables == null) {
+      tables = doExtract(sql);
+      if (cache.size() < MAX_CACHED_STATEMENTS) {
+        cache.put(sql, tables);
+      }
+    }
+    return tables.length == 0 ? tables : tables.clone();
+  }
+
+  /**
+   * Normalizes table names to their lower case unqualified form, removing blanks and duplicates.
+   *
+   * @param names
+   *          the table names, possibly qualified or quoted
+   *
+   * @return the normalized table names
+   */
+  public static String[] normalizeTableNames(String... names) {
+    Set<String> tables = new LinkedHashSet<>();
+    for (String name : names) {
+      List<Token> tokens = tokenize(name);
+      if (tokens.size() == 1 && tokens.get(0).identifier) {
+        tables.add(tokens.get(0).text);
+      }
+    }
+    return tables.toArray(NO_TABLES);
+  }
+
+  private static String[] doExtract(String sql) {
+    List<Token> tokens = tokenize(sql);
+    Set<String> tables = new LinkedHashSet<>();
+    // the parenthesis depths of the FROM clauses being read, innermost last
+    Deque<Integer> fromDepths = new ArrayDeque<>();
+    int depth = 0;
+    for (int i = 0; i < tokens.size(); i++) {
+      Token token = tokens.get(i);
+      if (!token.identifier) {
+        if ("(".equals(token.text)) {
+          depth++;
+        } else if (")".equals(token.text)) {
+          depth--;
+          while (!fromDepths.isEmpty() && fromDepths.peekLast() > depth) {
+            fromDepths.removeLast();
+          }
+        } else if (",".equals(token.text) && !fromDepths.isEmpty() && fromDepths.peekLast() == depth) {
+          // another table of the FROM clause, e.g. after a JOIN ... ON condition
+          i = readTables(tokens, i + 1, tables);
+          if (i < 0) {
+            return NO_TABLES;
+          }
+        }
+        continue;
+      }
+      if (token.quoted) {
+        continue;
+      }
+      if (CLAUSE_KEYWORDS.contains(token.text) && !fromDepths.isEmpty() && fromDepths.peekLast() == depth) {
+        fromDepths.removeLast();
+      }
+      String previous = i > 0 ? tokens.get(i - 1).text : null;
+      String next = i + 1 < tokens.size() ? tokens.get(i + 1).text : null;
+      if (!TABLE_KEYWORDS.contains(token.text) || "key".equals(previous) || "for".equals(previous)
+          || "update".equals(token.text) && "set".equals(next)) {
+        // "ON DUPLICATE KEY UPDATE" and the "UPDATE SET" of a MERGE or upsert are followed by columns, and
+        // "FOR UPDATE" by lock options
+        continue;
+      }
+      if ("from".equals(token.text) && (fromDepths.isEmpty() || fromDepths.peekLast() != depth)) {
+        fromDepths.addLast(depth);
+      }
+      i = readTables(tokens, i + 1, tables);
+      if (i < 0) {
+        return NO_TABLES;
+      }
+    }
+    return tables.toArray(NO_TABLES);
+  }
+
+  /**
+   * Reads a list of tables and their aliases.
+   *
+   * @return the index of the last token read, or -1 if the list starts with a keyword that may be a table name
+   */
+  private static int readTables(List<Token> tokens, int start, Set<String> tables) {
+    int j = start;
+    while (j < tokens.size() && isKeyword(tokens.get(j), TABLE_MODIFIERS)) {
+      j++;
+    }
+    if (j < tokens.size() && tokens.get(j).identifier && !isName(tokens.get(j))) {
+      return -1;
+    }
+    while (j < tokens.size() && isName(tokens.get(j))) {
+      tables.add(tokens.get(j).text);
+      j++;
+      // skip the alias
+      if (j < tokens.size() && isKeyword(tokens.get(j), Collections.singleton("as"))) {
+        j++;
+      }
+      if (j < tokens.size() && isName(tokens.get(j))) {
+        j++;
+      }
+      if (j < tokens.size() && ",".equals(tokens.get(j).text)) {
+        j++;
+      } else {
+        break;
+      }
+      if (j < tokens.size() && tokens.get(j).identifier && !isName(tokens.get(j))) {
+        return -1;
+      }
+    }
+    return j - 1;
+  }
+
+  private static boolean isKeyword(Token token, Set<String> keywords) {
+    return !token.quoted && keywords.contains(token.text);
+  }
+
+  private static boolean isName(Token token) {
+    return token.identifier && (token.quoted || !RESERVED_WORDS.contains(token.text));
+  }
+
+  private static List<Token> tokenize(String sql) {
+    List<Token> tokens = new ArrayList<>();
+    int length = sql.length();
+    int i = 0;
+    while (i < length) {
+      char c = sql.charAt(i);
+      if (Character.isWhitespace(c)) {
+        i++;
+      } else if (c == '-' && i + 1 < length && sql.charAt(i + 1) == '-') {
+        int end = sql.indexOf('\n', i);
+        i = end == -1 ? length : end + 1;
+      } else if (c == '/' && i + 1 < length && sql.charAt(i + 1) == '*') {
+        int end = sql.indexOf("*/", i + 2);
+        i = end == -1 ? length : end + 2;
+      } else if (c == '\'') {
+        i = skipQuoted(sql, i, '\'');
+        tokens.add(new Token("'", false, false));
+      } else if (isIdentifierStart(c)) {
+        // a possibly qualified name, of which only the last part is kept
+        String name = null;
+        boolean quoted = false;
+        while (true) {
+          int start = i;
+          char first = sql.charAt(i);
+          if (first == '"' || first == '`' || first == '[') {
+            i = skipQuoted(sql, i, first == '[' ? ']' : first);
+            name = sql.substring(start + 1, Math.max(start + 1, i - 1));
+            quoted = true;
+          } else {
+            while (i < length && isIdentifierPart(sql.charAt(i))) {
+              i++;
+            }
+            name = sql.substring(start, i);
+            quoted = false;
+          }
+          if (i + 1 < length && sql.charAt(i) == '.' && isIdentifierStart(sql.charAt(i + 1))) {
+            i++;
+          } else {
+            break;
+          }
+        }
+        tokens.add(new Token(name.toLowerCase(Locale.ENGLISH), true, quoted));
+      } else {
+        tokens.add(new Token(String.valueOf(c), false, false));
+        i++;
+      }
+    }
+    return tokens;
+  }
+
+  private static int skipQuoted(String sql, int start, char close) {
+    int i = start + 1;
+    while (i < sql.length()) {
+      if (sql.charAt(i) == close) {
+        if (i + 1 < sql.length() && sql.charAt(i + 1) == close) {
+          i += 2;
+          continue;
+        }
+        return i + 1;
+      }
+      i++;
+    }
+    return i;
+  }
+
+  private static boolean isIdentifierStart(char c) {
+    return Character.isLetter(c) || c == '_' || c == '"' || c == '`' || c == '[';
+  }
+
+  private static boolean isIdentifierPart(char c) {
+    return Character.isLetterOrDigit(c) || c == '_' || c == '$';
+  }
+
+  private static final class Token {
+    private final String text;
+    private final boolean identifier;
+    private final boolean quoted;
+
+    Token(String text, boolean identifier, boolean quoted) {
+      this.text = text;
+      this.identifier = identifier;
+      this.quoted = quoted;
+    }
+  }
+
+}
@@ -18,6 +18,7 @@ package org.apache.ibatis.reflection;
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
@@ -36,6 +37,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.ibatis.reflection.invoker.AmbiguousMethodInvoker;
 import org.apache.ibatis.reflection.invoker.GetFieldInvoker;
@@ -58,6 +61,8 @@ public class Reflector {
   private final String[] readablePropertyNames;
   private final String[] writablePropertyNames;
   private final Map<String, Invoker> setMethods = new HashMap<>();
+  private final Map<String, AccessibleObject> setMembers = new HashMap<>();
+  private final Map<String, Optional<MethodHandle>> setterHandles = new ConcurrentHashMap<>();
   private final Map<String, Invoker> getMethods = new HashMap<>();
   private final Map<String, Class<?>> setTypes = new HashMap<>();
   private final Map<String, Class<?>> getTypes = new HashMap<>();
@@ -210,6 +215,7 @@ public class Reflector {
   private void addSetMethod(String name, Method method) {
     MethodInvoker invoker = new MethodInvoker(method);
     setMethods.put(name, invoker);
+    setMembers.put(name, method);
     Type[] paramTypes = TypeParameterResolver.resolveParamTypes(method, type);
     setTypes.put(name, typeToClass(paramTypes[0]));
   }
@@ -259,6 +265,7 @@ public class Reflector {
   private void addSetField(Field field) {
     if (isValidPropertyName(field.getName())) {
       setMethods.put(field.getName(), new SetFieldInvoker(field));
+      setMembers.put(field.getName(), field);
       Type fieldType = TypeParameterResolver.resolveFieldType(field, type);
       setTypes.put(field.getName(), typeToClass(fieldType));
     }
@@ -379,6 +386,48 @@ public class Reflector {
     return method;
   }
 
+  /**
+   * Gets a method handle of type <code>(Object, Object)void</code> that directly calls the setter of a property (or
+   * assigns its field). The handle is created on first use and cached.
+   *
+   * @param propertyName
+   *          the property name
+   *
+   * @return the method handle, or {@code null} when the property has no unambiguous setter or it is not accessible
+   *
+   * @since 3.5.17
+   */
+  public MethodHandle getSetterHandle(String propertyName) {
+    return setterHandles.computeIfAbsent(propertyName, this::createSetterHandle).orElse(null);
+  }
+
+  private Optional<MethodHandle> createSetterHandle(String propertyName) {
+    AccessibleObject member = setMembers.get(propertyName);
+    if (member == null || setMethods.get(propertyName) instanceof AmbiguousMethodInvoker) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(unreflectSetter(member));
+    } catch (IllegalAccessException e) {
+      if (canControlMemberAccessible()) {
+        try {
+          member.setAccessible(true);
+          return Optional.of(unreflectSetter(member));
+        } catch (IllegalAccessException | RuntimeException e2) {
+          // fall through, callers use the Invoker instead
+        }
+      }
+      return Optional.empty();
+    }
+  }
+
+  private static MethodHandle unreflectSetter(AccessibleObject member) throws IllegalAccessException {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    MethodHandle handle = member instanceof Method ? lookup.unreflect((Method) member)
+        : lookup.unreflectSetter((Field) member);
+    return handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+  }
+
   public Invoker getGetInvoker(String propertyName) {
     Invoker method = getMethods.get(propertyName);
     if (method == null) {
@@ -0,0 +1,91 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import java.util.Locale;
+
+/**
+ * How a database expands an array parameter into rows, used by a <code>foreach</code> that binds its items as one
+ * array.
+ *
+ * @since 3.5.17
+ *
+ * @see ForEachSqlNode
+ */
+public enum ArrayBindingDialect {
+
+  POSTGRESQL {
+    @Override
+    public String render(String placeholder, String elementTypeName) {
+      return "SELECT UNNEST(" + placeholder + ")";
+    }
+  },
+
+  H2 {
+    @Override
+    public String render(String placeholder, String elementTypeName) {
+      // H2 cannot infer the element type of an untyped array parameter
+      return "SELECT * FROM UNNEST(CAST(" + placeholder + " AS " + elementTypeName + " ARRAY))";
+    }
+  },
+
+  HSQLDB {
+    @Override
+    public String render(String placeholder, String elementTypeName) {
+      return "UNNEST(" + placeholder + ")";
+    }
+  };
+
+  /**
+   * Renders the SQL that expands an array parameter into rows, rendered between the open and close of the
+   * <code>foreach</code>.
+   *
+   * @param placeholder
+   *          the placeholder of the array parameter
+   * @param elementTypeName
+   *          the SQL type name of the array elements
+   *
+   * @return the SQL
+   */
+  public abstract String render(String placeholder, String elementTypeName);
+
+  /**
+   * Detects the dialect from a database id such as the product names returned by
+   * {@link org.apache.ibatis.mapping.VendorDatabaseIdProvider}.
+   *
+   * @param databaseId
+   *          the database id, may be null
+   *
+   * @return the dialect, or null if the database is not known to support array parameters
+   */
+  public static ArrayBindingDialect forDatabaseId(String databaseId) {
+    if (databaseId == null) {
+      return null;
+    }
+    String id = databaseId.toLowerCase(Locale.ENGLISH);
+    if (id.contains("postgres")) {
+      return POSTGRESQL;
+    }
+    if (id.contains("hsql")) {
+      return HSQLDB;
+    }
+    if (id.startsWith("h2")) {
+      return H2;
+    }
+    return null;
+  }
+
+}
@@ -0,0 +1,574 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import ognl.OgnlOps;
+
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.util.MapUtil;
+
+/**
+ * An expression engine that compiles the subset of OGNL commonly used in dynamic SQL into a tree of plain Java
+ * evaluators, bypassing the OGNL context and property accessor machinery.
+ * <p>
+ * Supported are {@code null}, boolean, string and simple numeric literals, property paths such as {@code a.b.c}
+ * (resolved through public getters of public classes and through {@link Map#get(Object)}), the {@code size()},
+ * {@code isEmpty()}, {@code length()} and {@code trim()} calls on collections, maps and strings, the comparison
+ * operators ({@code == != < > <= >=} and their {@code eq neq lt gt lte gte} spellings), {@code !}/{@code not},
+ * {@code and}/{@code &&}, {@code or}/{@code ||} and parentheses. Comparisons and truth values are delegated to
+ * {@link OgnlOps}, so results are identical to those of OGNL.
+ * <p>
+ * Any other expression, and any evaluation the compiled form cannot complete (e.g. a property of {@code null}, a
+ * non-public getter or an incomparable operand), is handed over to the fallback engine, which is OGNL by default. An
+ * exception thrown by a getter is not: it is reported right away, like OGNL does, without calling the getter again.
+ *
+ * @since 3.5.17
+ */
+public class CompiledExpressionEngine implements ExpressionEngine {
+
+  private static final Node UNSUPPORTED = root -> {
+    throw Fallback.INSTANCE;
+  };
+
+  private final ExpressionEngine fallback;
+  private final Map<String, Node> compiledExpressions = new ConcurrentHashMap<>();
+
+  public CompiledExpressionEngine() {
+    this(new OgnlExpressionEngine());
+  }
+
+  public CompiledExpressionEngine(ExpressionEngine fallback) {
+    this.fallback = fallback;
+  }
+
+  @Override
+  public Object getValue(String expression, Object root) {
+    Node node = MapUtil.computeIfAbsent(compiledExpressions, expression, CompiledExpressionEngine::compile);
+    if (node != UNSUPPORTED) {
+      try {
+        return node.evaluate(root);
+      } catch (GetterException e) {
+        throw new BuilderException("Error evaluating expression '" + expression + "'. Cause: " + e.getCause(),
+            e.getCause());
+      } catch (RuntimeException e) {
+        // let the fallback engine evaluate it again and report errors the way it always did
+      }
+    }
+    return fallback.getValue(expression, root);
+  }
+
+  /**
+   * Returns whether the expression is evaluated by compiled code rather than by the fallback engine.
+   *
+   * @param expression
+   *          the expression
+   *
+   * @return true if the expression is within the supported subset
+   */
+  public boolean isCompiled(String expression) {
+    return MapUtil.computeIfAbsent(compiledExpressions, expression, CompiledExpressionEngine::compile) != UNSUPPORTED;
+  }
+
+  private static Node compile(String expression) {
+    try {
+      return new Parser(expression).parse();
+    } catch (Fallback e) {
+      return UNSUPPORTED;
+    }
+  }
+
+  private interface Node {
+    Object evaluate(Object root);
+  }
+
+  /**
+   * Thrown to hand an expression over to the fallback engine. It is a shared instance without stack trace.
+   */
+  private static final class Fallback extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+    static final Fallback INSTANCE = new Fallback();
+
+    private Fallback() {
+      super(null, null, false, false);
+    }
+  }
+
+  /**
+   * Thrown when a getter called by compiled code fails, wrapping the exception the getter threw.
+   */
+  private static final class GetterException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    GetterException(Throwable cause) {
+      super(cause);
+    }
+  }
+
+  private static final class Parser {
+
+    private final String expression;
+    private int position;
+
+    Parser(String expression) {
+      this.expression = expression;
+    }
+
+    Node parse() {
+      Node node = parseOr();
+      skipWhitespace();
+      if (position < expression.length()) {
+        throw Fallback.INSTANCE;
+      }
+      return node;
+    }
+
+    private Node parseOr() {
+      Node left = parseAnd();
+      while (acceptOperator("||") || acceptKeyword("or")) {
+        Node first = left;
+        Node second = parseAnd();
+        left = root -> {
+          Object value = first.evaluate(root);
+          return OgnlOps.booleanValue(value) ? value : second.evaluate(root);
+        };
+      }
+      return left;
+    }
+
+    private Node parseAnd() {
+      Node left = parseEquality();
+      while (acceptOperator("&&") || acceptKeyword("and")) {
+        Node first = left;
+        Node second = parseEquality();
+        left = root -> {
+          Object value = first.evaluate(root);
+          return OgnlOps.booleanValue(value) ? second.evaluate(root) : value;
+        };
+      }
+      return left;
+    }
+
+    private Node parseEquality() {
+      Node left = parseRelational();
+      while (true) {
+        Node first = left;
+        if (acceptOperator("==") || acceptKeyword("eq")) {
+          Node second = parseRelational();
+          left = root -> OgnlOps.equal(first.evaluate(root), second.evaluate(root));
+        } else if (acceptOperator("!=") || acceptKeyword("neq")) {
+          Node second = parseRelational();
+          left = root -> !OgnlOps.equal(first.evaluate(root), second.evaluate(root));
+        } else {
+          return left;
+        }
+      }
+    }
+
+    private Node parseRelational() {
+      Node left = parseUnary();
+      while (true) {
+        Node first = left;
+        if (acceptOperator("<=") || acceptKeyword("lte")) {
+          Node second = parseUnary();
+          left = root -> !OgnlOps.greater(first.evaluate(root), second.evaluate(root));
+        } else if (acceptOperator(">=") || acceptKeyword("gte")) {
+          Node second = parseUnary();
+          left = root -> !OgnlOps.less(first.evaluate(root), second.evaluate(root));
+        } else if (acceptOperator("<") || acceptKeyword("lt")) {
+          Node second = parseUnary();
+          left = root -> OgnlOps.less(first.evaluate(root), second.evaluate(root));
+        } else if (acceptOperator(">") || acceptKeyword("gt")) {
+          Node second = parseUnary();
+          left = root -> OgnlOps.greater(first.evaluate(root), second.evaluate(root));
+        } else {
+          return left;
+        }
+      }
+    }
+
+    private Node parseUnary() {
+      if (acceptOperator("!") || acceptKeyword("not")) {
+        Node operand = parseUnary();
+        return root -> !OgnlOps.booleanValue(operand.evaluate(root));
+      }
+      return parsePrimary();
+    }
+
+    private Node parsePrimary() {
+      skipWhitespace();
+      if (position >= expression.length()) {
+        throw Fallback.INSTANCE;
+      }
+      char c = expression.charAt(position);
+      if (c == '(') {
+        position++;
+        Node node = parseOr();
+        if (!acceptOperator(")")) {
+          throw Fallback.INSTANCE;
+        }
+        return node;
+      }
+      if (c == '\'' || c == '"') {
+        return constant(parseString(c));
+      }
+      if (c >= '0' && c <= '9') {
+        return constant(parseNumber());
+      }
+      if (Character.isJavaIdentifierStart(c)) {
+        String identifier = parseIdentifier();
+        switch (identifier) {
+          case "null":
+            return constant(null);
+          case "true":
+            return constant(Boolean.TRUE);
+          case "false":
+            return constant(Boolean.FALSE);
+          default:
+            if (isReserved(identifier)) {
+              throw Fallback.INSTANCE;
+            }
+            return parsePath(new RootProperty(identifier));
+        }
+      }
+      throw Fallback.INSTANCE;
+    }
+
+    private Node parsePath(Node target) {
+      Node node = target;
+      while (acceptOperator(".")) {
+        skipWhitespace();
+        if (position >= expression.length() || !Character.isJavaIdentifierStart(expression.charAt(position))) {
+          throw Fallback.INSTANCE;
+        }
+        String name = parseIdentifier();
+        if (isReserved(name)) {
+          throw Fallback.INSTANCE;
+        }
+        if (acceptOperator("(")) {
+          if (!acceptOperator(")")) {
+            throw Fallback.INSTANCE;
+          }
+          node = methodCall(node, name);
+        } else {
+          node = new Property(node, name);
+        }
+      }
+      skipWhitespace();
+      if (position < expression.length()
+          && (expression.charAt(position) == '(' || expression.charAt(position) == '[')) {
+        throw Fallback.INSTANCE;
+      }
+      return node;
+    }
+
+    private static Node methodCall(Node target, String name) {
+      switch (name) {
+        case "size":
+          return root -> {
+            Object value = target.evaluate(root);
+            if (value instanceof Collection) {
+              return ((Collection<?>) value).size();
+            }
+            if (value instanceof Map) {
+              return ((Map<?, ?>) value).size();
+            }
+            throw Fallback.INSTANCE;
+          };
+        case "isEmpty":
+          return root -> {
+            Object value = target.evaluate(root);
+            if (value instanceof Collection) {
+              return ((Collection<?>) value).isEmpty();
+            }
+            if (value instanceof Map) {
+              return ((Map<?, ?>) value).isEmpty();
+            }
+            if (value instanceof String) {
+              return ((String) value).isEmpty();
+            }
+            throw Fallback.INSTANCE;
+          };
+        case "length":
+          return root -> {
+            Object value = target.evaluate(root);
+            if (value instanceof String) {
+              return ((String) value).length();
+            }
+            throw Fallback.INSTANCE;
+          };
+        case "trim":
+          return root -> {
+            Object value = target.evaluate(root);
+            if (value instanceof String) {
+              return ((String) value).trim();
+            }
+            throw Fallback.INSTANCE;
+          };
+        default:
+          throw Fallback.INSTANCE;
+      }
+    }
+
+    private static Node constant(Object value) {
+      return root -> value;
+    }
+
+    private Object parseString(char quote) {
+      int start = ++position;
+      while (position < expression.length() && expression.charAt(position) != quote) {
+        if (expression.charAt(position) == '\\') {
+          throw Fallback.INSTANCE;
+        }
+        position++;
+      }
+      if (position >= expression.length()) {
+        throw Fallback.INSTANCE;
+      }
+      String value = expression.substring(start, position++);
+      // OGNL reads a single character between single quotes as a Character
+      if (quote == '\'' && value.length() == 1) {
+        return value.charAt(0);
+      }
+      return value;
+    }
+
+    private Object parseNumber() {
+      int start = position;
+      skipDigits();
+      boolean decimal = false;
+      if (position + 1 < expression.length() && expression.charAt(position) == '.'
+          && Character.isDigit(expression.charAt(position + 1))) {
+        decimal = true;
+        position++;
+        skipDigits();
+      }
+      if (position < expression.length() && Character.isJavaIdentifierPart(expression.charAt(position))
+          || expression.charAt(start) == '0' && position - start > 1 && expression.charAt(start + 1) != '.') {
+        // type suffixes, hexadecimal and octal literals
+        throw Fallback.INSTANCE;
+      }
+      String literal = expression.substring(start, position);
+      if (decimal) {
+        return Double.valueOf(literal);
+      }
+      if (literal.length() > 9) {
+        throw Fallback.INSTANCE;
+      }
+      return Integer.valueOf(literal);
+    }
+
+    private void skipDigits() {
+      while (position < expression.length() && expression.charAt(position) >= '0'
+          && expression.charAt(position) <= '9') {
+        position++;
+      }
+    }
+
+    private String parseIdentifier() {
+      int start = position++;
+      while (position < expression.length() && Character.isJavaIdentifierPart(expression.charAt(position))) {
+        position++;
+      }
+      return expression.substring(start, position);
+    }
+
+    private boolean acceptOperator(String operator) {
+      skipWhitespace();
+      if (!expression.startsWith(operator, position)) {
+        return false;
+      }
+      int end = position + operator.length();
+      if (end < expression.length()) {
+        char next = expression.charAt(end);
+        // do not take '<' from '<=' or '!' from '!='
+        if ((operator.equals("<") || operator.equals(">") || operator.equals("!")) && next == '=') {
+          return false;
+        }
+      }
+      position = end;
+      return true;
+    }
+
+    private boolean acceptKeyword(String keyword) {
+      skipWhitespace();
+      int end = position + keyword.length();
+      if (!expression.startsWith(keyword, position)
+          || end < expression.length() && Character.isJavaIdentifierPart(expression.charAt(end))) {
+        return false;
+      }
+      position = end;
+      return true;
+    }
+
+    private void skipWhitespace() {
+      while (position < expression.length() && Character.isWhitespace(expression.charAt(position))) {
+        position++;
+      }
+    }
+
+    private static boolean isReserved(String identifier) {
+      switch (identifier) {
+        case "and":
+        case "or":
+        case "not":
+        case "eq":
+        case "neq":
+        case "lt":
+        case "gt":
+        case "lte":
+        case "gte":
+        case "in":
+        case "instanceof":
+        case "new":
+        case "shl":
+        case "shr":
+        case "ushr":
+        case "band":
+        case "bor":
+        case "xor":
+        case "null":
+        case "true":
+        case "false":
+          return true;
+        default:
+          return false;
+      }
+    }
+  }
+
+  /**
+   * A name resolved against the root, which is the bindings of the dynamic context when evaluating dynamic SQL.
+   */
+  private static final class RootProperty extends Property {
+
+    RootProperty(String name) {
+      super(null, name);
+    }
+
+    @Override
+    public Object evaluate(Object root) {
+      if (root instanceof DynamicContext.ContextMap) {
+        try {
+          return DynamicContext.getContextProperty((DynamicContext.ContextMap) root, name);
+        } catch (RuntimeException e) {
+          // the getter of a bean parameter failed
+          throw new GetterException(e);
+        }
+      }
+      return getProperty(root);
+    }
+  }
+
+  private static class Property implements Node {
+
+    private final Node target;
+    final String name;
+    private final String capitalizedName;
+    private volatile Getter getter;
+
+    Property(Node target, String name) {
+      this.target = target;
+      this.name = name;
+      // only names that map to a getter unambiguously, e.g. not 'uRL' or 'URL'
+      this.capitalizedName = Character.isLowerCase(name.charAt(0))
+          && (name.length() == 1 || !Character.isUpperCase(name.charAt(1)))
+              ? Character.toUpperCase(name.charAt(0)) + name.substring(1) : null;
+    }
+
+    @Override
+    public Object evaluate(Object root) {
+      return getProperty(target.evaluate(root));
+    }
+
+    Object getProperty(Object object) {
+      if (object instanceof Map) {
+        switch (name) {
+          case "size":
+          case "keys":
+          case "keySet":
+          case "values":
+          case "isEmpty":
+            // exposed as pseudo properties by OGNL
+            throw Fallback.INSTANCE;
+          default:
+            return ((Map<?, ?>) object).get(name);
+        }
+      }
+      if (object == null || capitalizedName == null || object instanceof Collection || object instanceof Iterator
+          || object instanceof Enumeration || object.getClass().isArray()) {
+        throw Fallback.INSTANCE;
+      }
+      Getter current = getter;
+      if (current == null || current.type != object.getClass()) {
+        current = new Getter(object.getClass(), findGetter(object.getClass()));
+        getter = current;
+      }
+      if (current.method == null) {
+        throw Fallback.INSTANCE;
+      }
+      try {
+        return current.method.invoke(object);
+      } catch (IllegalAccessException e) {
+        throw Fallback.INSTANCE;
+      } catch (InvocationTargetException e) {
+        throw new GetterException(e.getTargetException());
+      }
+    }
+
+    private Method findGetter(Class<?> type) {
+      if (!Modifier.isPublic(type.getModifiers())) {
+        return null;
+      }
+      try {
+        type.getMethod("is" + capitalizedName);
+        // leave boolean properties to OGNL, which may prefer the 'is' method
+        return null;
+      } catch (NoSuchMethodException e) {
+        // expected
+      }
+      try {
+        Method method = type.getMethod("get" + capitalizedName);
+        if (method.getReturnType() == void.class || Modifier.isStatic(method.getModifiers())
+            || !Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+          return null;
+        }
+        return method;
+      } catch (NoSuchMethodException | SecurityException e) {
+        return null;
+      }
+    }
+  }
+
+  private static final class Getter {
+    final Class<?> type;
+    final Method method;
+
+    Getter(Class<?> type, Method method) {
+      this.type = type;
+      this.method = method;
+    }
+  }
+
+}
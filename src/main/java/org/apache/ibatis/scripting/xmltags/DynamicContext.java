@@ -15,15 +15,19 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
-import java.util.StringJoiner;
 
 import ognl.OgnlContext;
 import ognl.OgnlRuntime;
 import ognl.PropertyAccessor;
 
+import org.apache.ibatis.builder.SqlSourceBuilder;
+import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.scripting.ScriptingException;
 import org.apache.ibatis.session.Configuration;
 
 /**
@@ -39,10 +43,19 @@ public class DynamicContext {
   }
 
   private final ContextMap bindings;
-  private final StringJoiner sqlBuilder = new StringJoiner(" ");
+  private final RenderingState renderingState;
+  private final StringBuilder sqlBuilder;
+  private boolean sqlAppended;
   private int uniqueNumber;
 
   public DynamicContext(Configuration configuration, Object parameterObject) {
+    this(configuration, parameterObject, 16);
+  }
+
+  // sizes the SQL buffer for the expected length of the rendered SQL
+  DynamicContext(Configuration configuration, Object parameterObject, int sqlLengthHint) {
+    sqlBuilder = new StringBuilder(sqlLengthHint);
+    renderingState = new RenderingState();
     if (parameterObject != null && !(parameterObject instanceof Map)) {
       MetaObject metaObject = configuration.newMetaObject(parameterObject);
       boolean existsTypeHandler = configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass());
@@ -54,6 +67,21 @@ public class DynamicContext {
     bindings.put(DATABASE_ID_KEY, configuration.getDatabaseId());
   }
 
+  /**
+   * Creates a context that wraps another one. It shares the bindings of the wrapped context and has no SQL buffer of
+   * its own, so subclasses must override {@link #appendSql(String)}, {@link #getSql()} and {@link #getUniqueNumber()}.
+   *
+   * @param delegate
+   *          the wrapped context
+   *
+   * @since 3.5.17
+   */
+  protected DynamicContext(DynamicContext delegate) {
+    this.bindings = delegate.bindings;
+    this.renderingState = delegate.renderingState;
+    this.sqlBuilder = null;
+  }
+
   public Map<String, Object> getBindings() {
     return bindings;
   }
@@ -63,7 +91,11 @@ public class DynamicContext {
   }
 
   public void appendSql(String sql) {
-    sqlBuilder.add(sql);
+    if (sqlAppended) {
+      sqlBuilder.append(' ');
+    }
+    sqlAppended = true;
+    sqlBuilder.append(sql);
   }
 
   public String getSql() {
@@ -74,6 +106,60 @@ public class DynamicContext {
     return uniqueNumber++;
   }
 
+  /**
+   * Adds the mapping of a placeholder rendered with the content {@link SqlSourceBuilder#RESOLVED_PARAMETER}. Mappings
+   * must be added in the order their placeholders appear in the SQL.
+   */
+  void addResolvedParameterMapping(ParameterMapping parameterMapping) {
+    renderingState.resolvedParameterMappings.add(parameterMapping);
+  }
+
+  List<ParameterMapping> getResolvedParameterMappings() {
+    return renderingState.resolvedParameterMappings;
+  }
+
+  void setChunk(int chunk) {
+    renderingState.chunk = chunk;
+  }
+
+  /**
+   * Registers a collection that may be split into chunks and returns the chunk to render. Only one collection of a
+   * statement can be split, and it cannot be iterated within another collection, whose items would each split it
+   * differently.
+   */
+  int startChunks(int chunkCount) {
+    if (renderingState.forEachDepth > 0) {
+      throw new ScriptingException("A foreach with a chunkSize cannot be nested in another foreach.");
+    }
+    if (chunkCount > 1) {
+      if (renderingState.chunkCount > 1) {
+        throw new ScriptingException("Only one foreach of a statement can be split into chunks.");
+      }
+      renderingState.chunkCount = chunkCount;
+    }
+    return renderingState.chunk;
+  }
+
+  void enterForEach() {
+    renderingState.forEachDepth++;
+  }
+
+  void exitForEach() {
+    renderingState.forEachDepth--;
+  }
+
+  int getChunkCount() {
+    return renderingState.chunkCount;
+  }
+
+  // shared by a context and the contexts wrapping it
+  private static final class RenderingState {
+    private final List<ParameterMapping> resolvedParameterMappings = new ArrayList<>();
+    private int chunk;
+    private int chunkCount = 1;
+    private int forEachDepth;
+  }
+
   static class ContextMap extends HashMap<String, Object> {
     private static final long serialVersionUID = 2977601501966151582L;
     private final MetaObject parameterMetaObject;
@@ -103,23 +189,25 @@ public class DynamicContext {
     }
   }
 
-  static class ContextAccessor implements PropertyAccessor {
+  static Object getContextProperty(Map<?, ?> map, Object name) {
+    Object result = map.get(name);
+    if (map.containsKey(name) || result != null) {
+      return result;
+    }
 
-    @Override
-    public Object getProperty(OgnlContext context, Object target, Object name) {
-      Map map = (Map) target;
+    Object parameterObject = map.get(PARAMETER_OBJECT_KEY);
+    if (parameterObject instanceof Map) {
+      return ((Map<?, ?>) parameterObject).get(name);
+    }
 
-      Object result = map.get(name);
-      if (map.containsKey(name) || result != null) {
-        return result;
-      }
+    return null;
+  }
 
-      Object parameterObject = map.get(PARAMETER_OBJECT_KEY);
-      if (parameterObject instanceof Map) {
-        return ((Map) parameterObject).get(name);
-      }
+  static class ContextAccessor implements PropertyAccessor {
 
-      return null;
+    @Override
+    public Object getProperty(OgnlContext context, Object target, Object name) {
+      return getContextProperty((Map) target, name);
     }
 
     @Override
@@ -15,9 +15,18 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
 import org.apache.ibatis.builder.SqlSourceBuilder;
+import org.apache.ibatis.builder.StaticSqlSource;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.SqlSource;
+import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.session.Configuration;
 
 /**
@@ -27,6 +36,10 @@ public class DynamicSqlSource implements SqlSource {
 
   private final Configuration configuration;
   private final SqlNode rootSqlNode;
+  // parsed #{} placeholders of the SQL texts rendered so far, bounded by dynamicSqlShapeCacheSize
+  private final Map<ShapeKey, Shape> shapes = new ConcurrentHashMap<>();
+  // length of the last rendered SQL, used to size the buffer of the next rendering
+  private int sqlLengthHint = 16;
 
   public DynamicSqlSource(Configuration configuration, SqlNode rootSqlNode) {
     this.configuration = configuration;
@@ -35,14 +48,141 @@ public class DynamicSqlSource implements SqlSource {
 
   @Override
   public BoundSql getBoundSql(Object parameterObject) {
-    DynamicContext context = new DynamicContext(configuration, parameterObject);
+    DynamicContext context = new DynamicContext(configuration, parameterObject, sqlLengthHint);
+    BoundSql boundSql = getBoundSql(context, parameterObject);
+    int chunkCount = context.getChunkCount();
+    if (chunkCount > 1) {
+      List<BoundSql> remainingChunks = new ArrayList<>(chunkCount - 1);
+      for (int chunk = 1; chunk < chunkCount; chunk++) {
+        DynamicContext chunkContext = new DynamicContext(configuration, parameterObject, sqlLengthHint);
+        chunkContext.setChunk(chunk);
+        remainingChunks.add(getBoundSql(chunkContext, parameterObject));
+      }
+      boundSql.setRemainingChunks(remainingChunks);
+    }
+    return boundSql;
+  }
+
+  private BoundSql getBoundSql(DynamicContext context, Object parameterObject) {
     rootSqlNode.apply(context);
-    SqlSourceBuilder sqlSourceParser = new SqlSourceBuilder(configuration);
+    String sql = context.getSql();
+    sqlLengthHint = sql.length() + 16;
     Class<?> parameterType = parameterObject == null ? Object.class : parameterObject.getClass();
-    SqlSource sqlSource = sqlSourceParser.parse(context.getSql(), parameterType, context.getBindings());
-    BoundSql boundSql = sqlSource.getBoundSql(parameterObject);
+    BoundSql boundSql = parse(sql, parameterType, context.getBindings(), context.getResolvedParameterMappings())
+        .getBoundSql(parameterObject);
     context.getBindings().forEach(boundSql::setAdditionalParameter);
     return boundSql;
   }
 
+  private SqlSource parse(String sql, Class<?> parameterType, Map<String, Object> bindings,
+      List<ParameterMapping> resolvedParameterMappings) {
+    int maxShapes = configuration.getDynamicSqlShapeCacheSize();
+    if (maxShapes <= 0) {
+      return new SqlSourceBuilder(configuration).parse(sql, parameterType, bindings, resolvedParameterMappings);
+    }
+    ShapeKey key = new ShapeKey(sql, parameterType);
+    Shape shape = shapes.get(key);
+    MetaObject metaBindings = configuration.newMetaObject(bindings);
+    // the type of a placeholder may come from a binding (e.g. a foreach item), which can change between calls
+    if (shape != null && shape.matches(metaBindings)) {
+      return shape.getSqlSource(configuration, resolvedParameterMappings);
+    }
+    SqlSource sqlSource = new SqlSourceBuilder(configuration).parse(sql, parameterType, bindings,
+        resolvedParameterMappings);
+    if (shape != null || shapes.size() < maxShapes) {
+      shapes.put(key, new Shape(sqlSource, resolvedParameterMappings, metaBindings));
+    }
+    return sqlSource;
+  }
+
+  private static final class ShapeKey {
+    private final String sql;
+    private final Class<?> parameterType;
+    private final int hashCode;
+
+    ShapeKey(String sql, Class<?> parameterType) {
+      this.sql = sql;
+      this.parameterType = parameterType;
+      this.hashCode = 31 * sql.hashCode() + parameterType.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof ShapeKey)) {
+        return false;
+      }
+      ShapeKey other = (ShapeKey) o;
+      return hashCode == other.hashCode && parameterType == other.parameterType && sql.equals(other.sql);
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+  }
+
+  private static final class Shape {
+    private final String sql;
+    // the mappings of the parsed placeholders, null at the positions of resolved placeholders
+    private final ParameterMapping[] parameterMappings;
+    private final String[] properties;
+    private final Class<?>[] bindingTypes;
+    private final SqlSource sqlSource;
+
+    Shape(SqlSource sqlSource, List<ParameterMapping> resolvedParameterMappings, MetaObject metaBindings) {
+      BoundSql boundSql = sqlSource.getBoundSql(null);
+      List<ParameterMapping> mappings = boundSql.getParameterMappings();
+      this.sql = boundSql.getSql();
+      this.parameterMappings = new ParameterMapping[mappings.size()];
+      this.properties = new String[parameterMappings.length];
+      this.bindingTypes = new Class<?>[parameterMappings.length];
+      int resolved = 0;
+      for (int i = 0; i < parameterMappings.length; i++) {
+        ParameterMapping mapping = mappings.get(i);
+        // resolved mappings are taken in order, by identity
+        if (resolved < resolvedParameterMappings.size() && mapping == resolvedParameterMappings.get(resolved)) {
+          resolved++;
+          continue;
+        }
+        parameterMappings[i] = mapping;
+        properties[i] = mapping.getProperty();
+        bindingTypes[i] = bindingType(metaBindings, properties[i]);
+      }
+      this.sqlSource = resolved == 0 ? sqlSource : null;
+    }
+
+    boolean matches(MetaObject metaBindings) {
+      for (int i = 0; i < properties.length; i++) {
+        if (parameterMappings[i] != null
+            && !Objects.equals(bindingTypes[i], bindingType(metaBindings, properties[i]))) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /**
+     * Gets the SQL source of the shape, with the resolved mappings of the current rendering in place of those of the
+     * rendering that created it.
+     */
+    SqlSource getSqlSource(Configuration configuration, List<ParameterMapping> resolvedParameterMappings) {
+      if (sqlSource != null) {
+        return sqlSource;
+      }
+      List<ParameterMapping> mappings = new ArrayList<>(parameterMappings.length);
+      int resolved = 0;
+      for (ParameterMapping mapping : parameterMappings) {
+        mappings.add(mapping != null ? mapping : resolvedParameterMappings.get(resolved++));
+      }
+      return new StaticSqlSource(configuration, sql, mappings);
+    }
+
+    private static Class<?> bindingType(MetaObject metaBindings, String property) {
+      return property != null && metaBindings.hasGetter(property) ? metaBindings.getGetterType(property) : null;
+    }
+  }
+
 }
@@ -0,0 +1,46 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+/**
+ * Evaluates the expressions of dynamic SQL: the {@code test} of {@code <if>} and {@code <when>}, the {@code collection}
+ * of {@code <foreach>}, the {@code value} of {@code <bind>} and {@code ${}} substitutions.
+ * <p>
+ * Implementations must be thread safe and should cache whatever they derive from an expression string, since the same
+ * expressions are evaluated on every execution of a statement.
+ *
+ * @since 3.5.17
+ *
+ * @see org.apache.ibatis.session.Configuration#setExpressionEngine(ExpressionEngine)
+ */
+public interface ExpressionEngine {
+
+  /**
+   * Evaluates an expression.
+   *
+   * @param expression
+   *          the expression
+   * @param root
+   *          the object that property names are resolved against, usually the bindings of the dynamic context
+   *
+   * @return the value of the expression
+   *
+   * @throws org.apache.ibatis.builder.BuilderException
+   *           if the expression cannot be evaluated
+   */
+  Object getValue(String expression, Object root);
+
+}
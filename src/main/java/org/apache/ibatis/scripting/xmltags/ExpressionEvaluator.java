@@ -28,8 +28,21 @@ import org.apache.ibatis.builder.BuilderException;
  */
 public class ExpressionEvaluator {
 
+  private final ExpressionEngine expressionEngine;
+
+  public ExpressionEvaluator() {
+    this(new OgnlExpressionEngine());
+  }
+
+  /**
+   * @since 3.5.17
+   */
+  public ExpressionEvaluator(ExpressionEngine expressionEngine) {
+    this.expressionEngine = expressionEngine;
+  }
+
   public boolean evaluateBoolean(String expression, Object parameterObject) {
-    Object value = OgnlCache.getValue(expression, parameterObject);
+    Object value = expressionEngine.getValue(expression, parameterObject);
     if (value instanceof Boolean) {
       return (Boolean) value;
     }
@@ -51,7 +64,7 @@ public class ExpressionEvaluator {
    * @since 3.5.9
    */
   public Iterable<?> evaluateIterable(String expression, Object parameterObject, boolean nullable) {
-    Object value = OgnlCache.getValue(expression, parameterObject);
+    Object value = expressionEngine.getValue(expression, parameterObject);
     if (value == null) {
       if (nullable) {
         return null;
@@ -15,11 +15,32 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.builder.ParameterExpression;
+import org.apache.ibatis.builder.SqlSourceBuilder;
+import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.parsing.GenericTokenParser;
+import org.apache.ibatis.reflection.MetaClass;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.property.PropertyTokenizer;
+import org.apache.ibatis.reflection.wrapper.ObjectWrapper;
 import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.ArrayTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.TypeHandler;
+import org.apache.ibatis.util.MapUtil;
 
 /**
  * @author Clinton Begin
@@ -36,7 +57,13 @@ public class ForEachSqlNode implements SqlNode {
   private final String separator;
   private final String item;
   private final String index;
+  private final Integer chunkSize;
   private final Configuration configuration;
+  // the contents compiled for rendering without per item contexts when useCompiledForEach is enabled, or null if they
+  // are not plain text
+  private final Template template;
+  // the dialect used to bind all items as one array, or null to render the contents per item
+  private final ArrayBindingDialect arrayBinding;
 
   /**
    * @deprecated Since 3.5.9, use the
@@ -53,7 +80,33 @@ public class ForEachSqlNode implements SqlNode {
    */
   public ForEachSqlNode(Configuration configuration, SqlNode contents, String collectionExpression, Boolean nullable,
       String index, String item, String open, String close, String separator) {
-    this.evaluator = new ExpressionEvaluator();
+    this(configuration, contents, collectionExpression, nullable, index, item, open, close, separator, null);
+  }
+
+  /**
+   * @param chunkSize
+   *          the maximum number of items rendered into one statement, or {@code null} to render all items. A larger
+   *          collection is rendered into several statements, see
+   *          {@link org.apache.ibatis.mapping.BoundSql#getRemainingChunks()}.
+   *
+   * @since 3.5.17
+   */
+  public ForEachSqlNode(Configuration configuration, SqlNode contents, String collectionExpression, Boolean nullable,
+      String index, String item, String open, String close, String separator, Integer chunkSize) {
+    this(configuration, contents, collectionExpression, nullable, index, item, open, close, separator, chunkSize, null);
+  }
+
+  /**
+   * @param arrayBinding
+   *          the dialect used to bind all items as one array parameter instead of one parameter per item, or
+   *          {@code null}. The contents must then be a single <code>#{item}</code> placeholder.
+   *
+   * @since 3.5.17
+   */
+  public ForEachSqlNode(Configuration configuration, SqlNode contents, String collectionExpression, Boolean nullable,
+      String index, String item, String open, String close, String separator, Integer chunkSize,
+      ArrayBindingDialect arrayBinding) {
+    this.evaluator = new ExpressionEvaluator(configuration.getExpressionEngine());
     this.collectionExpression = collectionExpression;
     this.nullable = nullable;
     this.contents = contents;
@@ -62,7 +115,14 @@ public class ForEachSqlNode implements SqlNode {
     this.separator = separator;
     this.index = index;
     this.item = item;
+    this.chunkSize = chunkSize;
     this.configuration = configuration;
+    this.template = Template.compile(configuration, contents, item, index);
+    this.arrayBinding = arrayBinding;
+    if (arrayBinding != null && (template == null || !template.isSingleItem())) {
+      throw new BuilderException("A foreach binding its items as an array must contain only the placeholder #{" + item
+          + "}, but the collection '" + collectionExpression + "' does not.");
+    }
   }
 
   @Override
@@ -73,10 +133,50 @@ public class ForEachSqlNode implements SqlNode {
     if (iterable == null || !iterable.iterator().hasNext()) {
       return true;
     }
-    boolean first = true;
+    if (arrayBinding != null) {
+      applyOpen(context);
+      applyArray(context, iterable);
+      applyClose(context);
+      return true;
+    }
+    int from = 0;
+    int to = Integer.MAX_VALUE;
+    if (chunkSize != null) {
+      int size = size(iterable);
+      int chunk = context.startChunks((size + chunkSize - 1) / chunkSize);
+      if (size > chunkSize) {
+        from = chunk * chunkSize;
+        to = from + chunkSize;
+      }
+    }
     applyOpen(context);
+    if (template != null && configuration.isUseCompiledForEach()) {
+      applyTemplate(context, iterable, from, to);
+    } else {
+      context.enterForEach();
+      try {
+        applyContents(context, iterable, from, to);
+      } finally {
+        context.exitForEach();
+      }
+    }
+    applyClose(context);
+    context.getBindings().remove(item);
+    context.getBindings().remove(index);
+    return true;
+  }
+
+  private void applyContents(DynamicContext context, Iterable<?> iterable, int from, int to) {
+    boolean first = true;
     int i = 0;
     for (Object o : iterable) {
+      if (i < from) {
+        i++;
+        continue;
+      }
+      if (i >= to) {
+        break;
+      }
       DynamicContext oldContext = context;
       if (first || separator == null) {
         context = new PrefixedContext(context, "");
@@ -94,17 +194,117 @@ public class ForEachSqlNode implements SqlNode {
         applyIndex(context, i, uniqueNumber);
         applyItem(context, o, uniqueNumber);
       }
-      contents.apply(new FilteredDynamicContext(configuration, context, index, item, uniqueNumber));
+      contents.apply(new FilteredDynamicContext(context, index, item, uniqueNumber));
       if (first) {
         first = !((PrefixedContext) context).isPrefixApplied();
       }
       context = oldContext;
       i++;
     }
-    applyClose(context);
-    context.getBindings().remove(item);
-    context.getBindings().remove(index);
-    return true;
+  }
+
+  /**
+   * Renders the same SQL as {@link #applyContents} without binding each item under its own name: the placeholders are
+   * rendered as resolved parameters that read the items by position from one list per variable.
+   */
+  private void applyTemplate(DynamicContext context, Iterable<?> iterable, int from, int to) {
+    int uniqueNumber = context.getUniqueNumber();
+    String itemsName = itemizeItem(item, uniqueNumber);
+    String indexesName = itemizeItem(index, uniqueNumber);
+    int position = 0;
+    List<Object> items = template.usesItem ? new ArrayList<>() : null;
+    List<Object> indexes = template.usesIndex ? new ArrayList<>() : null;
+    boolean first = true;
+    int i = 0;
+    for (Object o : iterable) {
+      if (i < from) {
+        i++;
+        continue;
+      }
+      if (i >= to) {
+        break;
+      }
+      Object itemValue = o;
+      Object indexValue = i;
+      // Issue #709
+      if (o instanceof Map.Entry) {
+        Map.Entry<?, ?> mapEntry = (Map.Entry<?, ?>) o;
+        itemValue = mapEntry.getValue();
+        indexValue = mapEntry.getKey();
+      }
+      if (items != null) {
+        items.add(itemValue);
+      }
+      if (indexes != null) {
+        indexes.add(indexValue);
+      }
+      // like PrefixedContext, apply the separator before the first non blank text of an item
+      String prefix = first || separator == null ? "" : separator;
+      boolean prefixApplied = false;
+      for (int t = 0; t < template.texts.length; t++) {
+        if (!prefixApplied && !template.blank[t]) {
+          context.appendSql(prefix);
+          prefixApplied = true;
+        }
+        context.appendSql(template.texts[t]);
+        for (Placeholder placeholder : template.placeholders[t]) {
+          boolean isItem = placeholder.variable == Variable.ITEM;
+          context.addResolvedParameterMapping(
+              placeholder.resolve(isItem ? itemsName : indexesName, position, isItem ? itemValue : indexValue));
+        }
+      }
+      if (first) {
+        first = !prefixApplied;
+      }
+      position++;
+      i++;
+    }
+    if (items != null) {
+      context.bind(itemsName, items);
+    }
+    if (indexes != null) {
+      context.bind(indexesName, indexes);
+    }
+  }
+
+  /**
+   * Binds all items as one array, typed by the common class of the items so that the driver can create a typed SQL
+   * array.
+   */
+  private void applyArray(DynamicContext context, Iterable<?> iterable) {
+    List<Object> items = new ArrayList<>();
+    Class<?> componentType = null;
+    for (Object o : iterable) {
+      // Issue #709
+      Object itemValue = o instanceof Map.Entry ? ((Map.Entry<?, ?>) o).getValue() : o;
+      if (itemValue != null) {
+        componentType = componentType == null || componentType == itemValue.getClass() ? itemValue.getClass()
+            : Object.class;
+      }
+      items.add(itemValue);
+    }
+    if (componentType == null) {
+      componentType = Object.class;
+    }
+    Object[] array = items.toArray((Object[]) Array.newInstance(componentType, items.size()));
+    String arrayName = itemizeItem(item, context.getUniqueNumber());
+    context.bind(arrayName, array);
+    context.appendSql(arrayBinding.render(Template.RESOLVED_PLACEHOLDER, ElementTypeNames.of(componentType)));
+    TypeHandler<?> typeHandler = configuration.getTypeHandlerRegistry().getTypeHandler(JdbcType.ARRAY);
+    context.addResolvedParameterMapping(new ParameterMapping.Builder(configuration, arrayName,
+        typeHandler == null ? new ArrayTypeHandler() : typeHandler).javaType(array.getClass()).jdbcType(JdbcType.ARRAY)
+            .build());
+  }
+
+  private static int size(Iterable<?> iterable) {
+    if (iterable instanceof Collection) {
+      return ((Collection<?>) iterable).size();
+    }
+    int size = 0;
+    for (Iterator<?> iterator = iterable.iterator(); iterator.hasNext(); iterator.next()) {
+      size++;
+    }
+    return size;
   }
 
   private void applyIndex(DynamicContext context, Object o, int i) {
@@ -143,9 +343,8 @@ public class ForEachSqlNode implements SqlNode {
     private final String itemIndex;
     private final String item;
 
-    public FilteredDynamicContext(Configuration configuration, DynamicContext delegate, String itemIndex, String item,
-        int i) {
-      super(configuration, null);
+    public FilteredDynamicContext(DynamicContext delegate, String itemIndex, String item, int i) {
+      super(delegate);
       this.delegate = delegate;
       this.index = i;
       this.itemIndex = itemIndex;
@@ -193,7 +392,7 @@ public class ForEachSqlNode implements SqlNode {
     private boolean prefixApplied;
 
     public PrefixedContext(DynamicContext delegate, String prefix) {
-      super(configuration, null);
+      super(delegate);
       this.delegate = delegate;
       this.prefix = prefix;
       this.prefixApplied = false;
@@ -233,4 +432,264 @@ public class ForEachSqlNode implements SqlNode {
     }
   }
 
+  private enum Variable {
+    ITEM, INDEX
+  }
+
+  private static final class Template {
+    private static final String RESOLVED_PLACEHOLDER = "#{" + SqlSourceBuilder.RESOLVED_PARAMETER + "}";
+
+    private final String[] texts;
+    private final boolean[] blank;
+    private final Placeholder[][] placeholders;
+    private final boolean usesItem;
+    private final boolean usesIndex;
+
+    private Template(List<String> texts, List<List<Placeholder>> placeholders) {
+      this.texts = texts.toArray(new String[0]);
+      this.blank = new boolean[this.texts.length];
+      this.placeholders = new Placeholder[this.texts.length][];
+      boolean item = false;
+      boolean index = false;
+      for (int t = 0; t < this.texts.length; t++) {
+        blank[t] = this.texts[t].trim().isEmpty();
+        this.placeholders[t] = placeholders.get(t).toArray(new Placeholder[0]);
+        for (Placeholder placeholder : this.placeholders[t]) {
+          item |= placeholder.variable == Variable.ITEM;
+          index |= placeholder.variable == Variable.INDEX;
+        }
+      }
+      this.usesItem = item;
+      this.usesIndex = index;
+    }
+
+    /**
+     * @return whether the template is a single placeholder of the item itself, surrounded by blank text only
+     */
+    boolean isSingleItem() {
+      int count = 0;
+      for (int t = 0; t < texts.length; t++) {
+        if (!texts[t].replace(RESOLVED_PLACEHOLDER, "").trim().isEmpty()) {
+          return false;
+        }
+        for (Placeholder placeholder : placeholders[t]) {
+          if (placeholder.variable != Variable.ITEM || placeholder.children != null || !placeholder.isBare()) {
+            return false;
+          }
+          count++;
+        }
+      }
+      return count == 1;
+    }
+
+    /**
+     * Compiles contents made of plain text whose placeholders refer to the item or index by name or by a property path.
+     *
+     * @return the template, or null if the contents must be rendered per item
+     */
+    static Template compile(Configuration configuration, SqlNode contents, String item, String index) {
+      List<String> sources = new ArrayList<>();
+      if (!collectTexts(contents, sources)) {
+        return null;
+      }
+      List<String> texts = new ArrayList<>(sources.size());
+      List<List<Placeholder>> placeholders = new ArrayList<>(sources.size());
+      boolean[] supported = { true };
+      for (String source : sources) {
+        if (source.contains(SqlSourceBuilder.RESOLVED_PARAMETER)) {
+          return null;
+        }
+        List<Placeholder> textPlaceholders = new ArrayList<>();
+        String text = new GenericTokenParser("#{", "}", content -> {
+          Placeholder placeholder = Placeholder.parse(configuration, content, item, index);
+          if (placeholder == Placeholder.UNSUPPORTED) {
+            supported[0] = false;
+          } else if (placeholder != null) {
+            textPlaceholders.add(placeholder);
+            return RESOLVED_PLACEHOLDER;
+          }
+          return "#{" + content + "}";
+        }).parse(source);
+        if (!supported[0]) {
+          return null;
+        }
+        texts.add(text);
+        placeholders.add(textPlaceholders);
+      }
+      return new Template(texts, placeholders);
+    }
+
+    private static boolean collectTexts(SqlNode node, List<String> texts) {
+      if (node instanceof StaticTextSqlNode) {
+        texts.add(((StaticTextSqlNode) node).getText());
+        return true;
+      }
+      if (node instanceof MixedSqlNode) {
+        for (SqlNode child : ((MixedSqlNode) node).getContents()) {
+          if (!collectTexts(child, texts)) {
+            return false;
+          }
+        }
+        return true;
+      }
+      return false;
+    }
+  }
+
+  private static final class Placeholder {
+    private static final Placeholder UNSUPPORTED = new Placeholder(null, null, null, null);
+    private static final int MAX_CACHED_POSITIONS = 1024;
+    private static final List<String> SUPPORTED_ATTRIBUTES = Collections.unmodifiableList(
+        Arrays.asList("property", "javaType", "jdbcType", "numericScale", "typeHandler", "jdbcTypeName"));
+
+    private final Configuration configuration;
+    private final String content;
+    private final Variable variable;
+    // the property path below the item or index, or null
+    private final String children;
+    private final Map<Class<?>, ParameterMapping> mappings = new ConcurrentHashMap<>();
+    // the mappings of the last list of items rendered, by property type
+    private final Map<Class<?>, Positions> positions = new ConcurrentHashMap<>();
+    // the type of the property below the item, by class of a bean item
+    private final Map<Class<?>, Class<?>> propertyTypes = new ConcurrentHashMap<>();
+
+    private Placeholder(Configuration configuration, String content, Variable variable, String children) {
+      this.configuration = configuration;
+      this.content = content;
+      this.variable = variable;
+      this.children = children;
+    }
+
+    /**
+     * @return the placeholder, null if it does not refer to the item or index, or {@link #UNSUPPORTED}
+     */
+    static Placeholder parse(Configuration configuration, String content, String item, String index) {
+      Map<String, String> attributes;
+      try {
+        attributes = new ParameterExpression(content);
+      } catch (RuntimeException e) {
+        return UNSUPPORTED;
+      }
+      String property = attributes.get("property");
+      if (property == null) {
+        return UNSUPPORTED;
+      }
+      PropertyTokenizer tokenizer = new PropertyTokenizer(property);
+      Variable variable;
+      if (tokenizer.getName().equals(item)) {
+        variable = Variable.ITEM;
+      } else if (tokenizer.getName().equals(index)) {
+        variable = Variable.INDEX;
+      } else {
+        return null;
+      }
+      if (tokenizer.getIndex() != null || !SUPPORTED_ATTRIBUTES.containsAll(attributes.keySet())) {
+        return UNSUPPORTED;
+      }
+      return new Placeholder(configuration, content, variable, tokenizer.getChildren());
+    }
+
+    /**
+     * Resolves the mapping of the placeholder for an item, the same way {@link SqlSourceBuilder} resolves it for a
+     * binding holding the value. The mappings are reused as long as the items are bound under the same name, which is
+     * the case for every execution of a foreach that is not nested in another one.
+     */
+    ParameterMapping resolve(String listName, int position, Object value) {
+      Class<?> propertyType = propertyType(value);
+      Positions cached = positions.get(propertyType);
+      if (cached == null || !cached.listName.equals(listName)) {
+        ParameterMapping mapping = MapUtil.computeIfAbsent(mappings, propertyType,
+            type -> new SqlSourceBuilder(configuration).buildParameterMapping(content, type));
+        cached = new Positions(listName, mapping);
+        positions.put(propertyType, cached);
+      }
+      return cached.get(position);
+    }
+
+    /**
+     * @return whether the placeholder has no attribute besides the property
+     */
+    boolean isBare() {
+      return new ParameterExpression(content).size() == 1;
+    }
+
+    private Class<?> propertyType(Object value) {
+      if (value == null) {
+        return Object.class;
+      }
+      if (children == null) {
+        return value.getClass();
+      }
+      if (isBean(value)) {
+        // the type of a simple property of a bean depends on its class only
+        return MapUtil.computeIfAbsent(propertyTypes, value.getClass(), type -> {
+          MetaClass metaClass = MetaClass.forClass(type, configuration.getReflectorFactory());
+          return metaClass.hasGetter(children) ? metaClass.getGetterType(children) : Object.class;
+        });
+      }
+      MetaObject metaValue = configuration.newMetaObject(value);
+      return metaValue.hasGetter(children) ? metaValue.getGetterType(children) : Object.class;
+    }
+
+    private boolean isBean(Object value) {
+      return children.indexOf('.') < 0 && children.indexOf('[') < 0 && !(value instanceof ObjectWrapper)
+          && !(value instanceof Map) && !(value instanceof Collection)
+          && !configuration.getObjectWrapperFactory().hasWrapperFor(value);
+    }
+
+    /**
+     * The mappings of the items of a list, built on first use.
+     */
+    private final class Positions {
+      private final String listName;
+      private final ParameterMapping mapping;
+      private volatile AtomicReferenceArray<ParameterMapping> byPosition = new AtomicReferenceArray<>(16);
+
+      Positions(String listName, ParameterMapping mapping) {
+        this.listName = listName;
+        this.mapping = mapping;
+      }
+
+      ParameterMapping get(int position) {
+        if (position >= MAX_CACHED_POSITIONS) {
+          return build(position);
+        }
+        AtomicReferenceArray<ParameterMapping> cached = byPosition;
+        if (position >= cached.length()) {
+          AtomicReferenceArray<ParameterMapping> grown = new AtomicReferenceArray<>(
+              Math.min(Math.max(position + 1, cached.length() * 2), MAX_CACHED_POSITIONS));
+          for (int i = 0; i < cached.length(); i++) {
+            grown.set(i, cached.get(i));
+          }
+          byPosition = grown;
+          cached = grown;
+        }
+        ParameterMapping positionMapping = cached.get(position);
+        if (positionMapping == null) {
+          positionMapping = build(position);
+          cached.set(position, positionMapping);
+        }
+        return positionMapping;
+      }
+
+      private ParameterMapping build(int position) {
+        String property = listName + "[" + position + "]";
+        return new ParameterMapping.Builder(configuration, children == null ? property : property + "." + children,
+            mapping.getTypeHandler()).javaType(mapping.getJavaType()).jdbcType(mapping.getJdbcType())
+                .numericScale(mapping.getNumericScale()).jdbcTypeName(mapping.getJdbcTypeName()).build();
+      }
+    }
+  }
+
+  /**
+   * Resolves the SQL type name of array elements the same way {@link ArrayTypeHandler} does.
+   */
+  private static final class ElementTypeNames extends ArrayTypeHandler {
+    private static final ElementTypeNames INSTANCE = new ElementTypeNames();
+
+    static String of(Class<?> type) {
+      return INSTANCE.resolveTypeName(type);
+    }
+  }
+
 }
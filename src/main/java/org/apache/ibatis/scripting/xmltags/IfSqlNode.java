@@ -24,9 +24,16 @@ public class IfSqlNode implements SqlNode {
   private final SqlNode contents;
 
   public IfSqlNode(SqlNode contents, String test) {
+    this(contents, test, new OgnlExpressionEngine());
+  }
+
+  /**
+   * @since 3.5.17
+   */
+  public IfSqlNode(SqlNode contents, String test, ExpressionEngine expressionEngine) {
     this.test = test;
     this.contents = contents;
-    this.evaluator = new ExpressionEvaluator();
+    this.evaluator = new ExpressionEvaluator(expressionEngine);
   }
 
   @Override
@@ -15,6 +15,8 @@
  */
 package org.apache.ibatis.scripting.xmltags;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.regex.Pattern;
 
 import org.apache.ibatis.parsing.GenericTokenParser;
@@ -26,19 +28,43 @@ import org.apache.ibatis.type.SimpleTypeRegistry;
  * @author Clinton Begin
  */
 public class TextSqlNode implements SqlNode {
+  private static final char FRAGMENT_SEPARATOR = '\u0000';
+
   private final String text;
   private final Pattern injectionFilter;
+  private final ExpressionEngine expressionEngine;
+  // the text split around its ${} expressions once, or null if the text cannot be split
+  private final String[] fragments;
+  private final String[] expressions;
 
   public TextSqlNode(String text) {
     this(text, null);
   }
 
   public TextSqlNode(String text, Pattern injectionFilter) {
+    this(text, injectionFilter, new OgnlExpressionEngine());
+  }
+
+  /**
+   * @since 3.5.17
+   */
+  public TextSqlNode(String text, Pattern injectionFilter, ExpressionEngine expressionEngine) {
     this.text = text;
     this.injectionFilter = injectionFilter;
+    this.expressionEngine = expressionEngine;
+    List<String> tokens = new ArrayList<>();
+    String template = text == null || text.indexOf(FRAGMENT_SEPARATOR) != -1 ? null : createParser(content -> {
+      tokens.add(content);
+      return String.valueOf(FRAGMENT_SEPARATOR);
+    }).parse(text);
+    this.expressions = template == null ? null : tokens.toArray(new String[0]);
+    this.fragments = template == null ? null : split(template, expressions.length + 1);
   }
 
   public boolean isDynamic() {
+    if (expressions != null) {
+      return expressions.length > 0;
+    }
     DynamicCheckerTokenParser checker = new DynamicCheckerTokenParser();
     GenericTokenParser parser = createParser(checker);
     parser.parse(text);
@@ -47,11 +73,31 @@ public class TextSqlNode implements SqlNode {
 
   @Override
   public boolean apply(DynamicContext context) {
-    GenericTokenParser parser = createParser(new BindingTokenParser(context, injectionFilter));
-    context.appendSql(parser.parse(text));
+    BindingTokenParser handler = new BindingTokenParser(context, injectionFilter, expressionEngine);
+    if (fragments == null) {
+      context.appendSql(createParser(handler).parse(text));
+      return true;
+    }
+    StringBuilder sql = new StringBuilder(text.length() + 16).append(fragments[0]);
+    for (int i = 0; i < expressions.length; i++) {
+      sql.append(handler.handleToken(expressions[i])).append(fragments[i + 1]);
+    }
+    context.appendSql(sql.toString());
     return true;
   }
 
+  private static String[] split(String template, int count) {
+    String[] fragments = new String[count];
+    int start = 0;
+    for (int i = 0; i < count - 1; i++) {
+      int end = template.indexOf(FRAGMENT_SEPARATOR, start);
+      fragments[i] = template.substring(start, end);
+      start = end + 1;
+    }
+    fragments[count - 1] = template.substring(start);
+    return fragments;
+  }
+
   private GenericTokenParser createParser(TokenHandler handler) {
     return new GenericTokenParser("${", "}", handler);
   }
@@ -60,10 +106,12 @@ public class TextSqlNode implements SqlNode {
 
     private final DynamicContext context;
     private final Pattern injectionFilter;
+    private final ExpressionEngine expressionEngine;
 
-    public BindingTokenParser(DynamicContext context, Pattern injectionFilter) {
+    public BindingTokenParser(DynamicContext context, Pattern injectionFilter, ExpressionEngine expressionEngine) {
       this.context = context;
       this.injectionFilter = injectionFilter;
+      this.expressionEngine = expressionEngine;
     }
 
     @Override
@@ -74,7 +122,7 @@ public class TextSqlNode implements SqlNode {
       } else if (SimpleTypeRegistry.isSimpleType(parameter.getClass())) {
         context.getBindings().put("value", parameter);
       }
-      Object value = OgnlCache.getValue(content, context.getBindings());
+      Object value = expressionEngine.getValue(content, context.getBindings());
       String srtValue = value == null ? "" : String.valueOf(value); // issue #274 return "" instead of "null"
       checkInjection(srtValue);
       return srtValue;
@@ -79,7 +79,7 @@ public class TrimSqlNode implements SqlNode {
     private StringBuilder sqlBuffer;
 
     public FilteredDynamicContext(DynamicContext delegate) {
-      super(configuration, null);
+      super(delegate);
       this.delegate = delegate;
       this.prefixApplied = false;
       this.suffixApplied = false;
@@ -87,12 +87,17 @@ public class TrimSqlNode implements SqlNode {
     }
 
     public void applyAll() {
-      sqlBuffer = new StringBuilder(sqlBuffer.toString().trim());
-      String trimmedUppercaseSql = sqlBuffer.toString().toUpperCase(Locale.ENGLISH);
-      if (trimmedUppercaseSql.length() > 0) {
-        applyPrefix(sqlBuffer, trimmedUppercaseSql);
-        applySuffix(sqlBuffer, trimmedUppercaseSql);
+      String trimmedSql = sqlBuffer.toString().trim();
+      if (trimmedSql.isEmpty()) {
+        delegate.appendSql(trimmedSql);
+        return;
       }
+      String trimmedUppercaseSql = trimmedSql.toUpperCase(Locale.ENGLISH);
+      sqlBuffer = new StringBuilder(
+          trimmedSql.length() + (prefix == null ? 0 : prefix.length() + 1) + (suffix == null ? 0 : suffix.length() + 1))
+              .append(trimmedSql);
+      applyPrefix(sqlBuffer, trimmedUppercaseSql);
+      applySuffix(sqlBuffer, trimmedUppercaseSql);
       delegate.appendSql(sqlBuffer.toString());
     }
 
@@ -127,8 +132,12 @@ public class TrimSqlNode implements SqlNode {
       }
       prefixApplied = true;
       if (prefixesToOverride != null) {
-        prefixesToOverride.stream().filter(trimmedUppercaseSql::startsWith).findFirst()
-            .ifPresent(toRemove -> sql.delete(0, toRemove.trim().length()));
+        for (String toRemove : prefixesToOverride) {
+          if (trimmedUppercaseSql.startsWith(toRemove)) {
+            sql.delete(0, toRemove.trim().length());
+            break;
+          }
+        }
       }
       if (prefix != null) {
         sql.insert(0, " ").insert(0, prefix);
@@ -141,13 +150,14 @@ public class TrimSqlNode implements SqlNode {
       }
       suffixApplied = true;
       if (suffixesToOverride != null) {
-        suffixesToOverride.stream()
-            .filter(toRemove -> trimmedUppercaseSql.endsWith(toRemove) || trimmedUppercaseSql.endsWith(toRemove.trim()))
-            .findFirst().ifPresent(toRemove -> {
-              int start = sql.length() - toRemove.trim().length();
-              int end = sql.length();
-              sql.delete(start, end);
-            });
+        for (String toRemove : suffixesToOverride) {
+          if (trimmedUppercaseSql.endsWith(toRemove) || trimmedUppercaseSql.endsWith(toRemove.trim())) {
+            int start = sql.length() - toRemove.trim().length();
+            int end = sql.length();
+            sql.delete(start, end);
+            break;
+          }
+        }
       }
       if (suffix != null) {
         sql.append(" ").append(suffix);
@@ -41,7 +41,8 @@ public class XMLLanguageDriver implements LanguageDriver {
 
   @Override
   public SqlSource createSqlSource(Configuration configuration, XNode script, Class<?> parameterType) {
-    XMLScriptBuilder builder = new XMLScriptBuilder(configuration, script, parameterType);
+    XMLScriptBuilder builder = new XMLScriptBuilder(configuration, script, parameterType,
+        getArrayBindingDialect(configuration));
     return builder.parseScriptNode();
   }
 
@@ -54,7 +55,7 @@ public class XMLLanguageDriver implements LanguageDriver {
     }
     // issue #127
     script = PropertyParser.parse(script, configuration.getVariables());
-    TextSqlNode textSqlNode = new TextSqlNode(script);
+    TextSqlNode textSqlNode = new TextSqlNode(script, null, configuration.getExpressionEngine());
     if (textSqlNode.isDynamic()) {
       return new DynamicSqlSource(configuration, textSqlNode);
     } else {
@@ -62,4 +63,19 @@ public class XMLLanguageDriver implements LanguageDriver {
     }
   }
 
+  /**
+   * Returns the dialect used by a <code>foreach</code> that binds its items as one array. The default implementation
+   * detects it from the {@link Configuration#getDatabaseId() database id}.
+   *
+   * @param configuration
+   *          the configuration
+   *
+   * @return the dialect, or null to render one parameter per item
+   *
+   * @since 3.5.17
+   */
+  protected ArrayBindingDialect getArrayBindingDialect(Configuration configuration) {
+    return ArrayBindingDialect.forDatabaseId(configuration.getDatabaseId());
+  }
+
 }
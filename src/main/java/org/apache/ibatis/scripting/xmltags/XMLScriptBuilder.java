@@ -37,6 +37,7 @@ public class XMLScriptBuilder extends BaseBuilder {
   private final XNode context;
   private boolean isDynamic;
   private final Class<?> parameterType;
+  private final ArrayBindingDialect arrayBindingDialect;
   private final Map<String, NodeHandler> nodeHandlerMap = new HashMap<>();
 
   public XMLScriptBuilder(Configuration configuration, XNode context) {
@@ -44,9 +45,23 @@ public class XMLScriptBuilder extends BaseBuilder {
   }
 
   public XMLScriptBuilder(Configuration configuration, XNode context, Class<?> parameterType) {
+    this(configuration, context, parameterType, null);
+  }
+
+  /**
+   * @param arrayBindingDialect
+   *          the dialect used by a <code>foreach</code> with <code>bindAsArray</code>, or {@code null} if the database
+   *          does not support array parameters, in which case such a <code>foreach</code> renders one parameter per
+   *          item
+   *
+   * @since 3.5.17
+   */
+  public XMLScriptBuilder(Configuration configuration, XNode context, Class<?> parameterType,
+      ArrayBindingDialect arrayBindingDialect) {
     super(configuration);
     this.context = context;
     this.parameterType = parameterType;
+    this.arrayBindingDialect = arrayBindingDialect;
     initNodeHandlerMap();
   }
 
@@ -80,7 +95,7 @@ public class XMLScriptBuilder extends BaseBuilder {
       XNode child = node.newXNode(children.item(i));
       if (child.getNode().getNodeType() == Node.CDATA_SECTION_NODE || child.getNode().getNodeType() == Node.TEXT_NODE) {
         String data = child.getStringBody("");
-        TextSqlNode textSqlNode = new TextSqlNode(data);
+        TextSqlNode textSqlNode = new TextSqlNode(data, null, configuration.getExpressionEngine());
         if (textSqlNode.isDynamic()) {
           contents.add(textSqlNode);
           isDynamic = true;
@@ -104,16 +119,12 @@ public class XMLScriptBuilder extends BaseBuilder {
     void handleNode(XNode nodeToHandle, List<SqlNode> targetContents);
   }
 
-  private static class BindHandler implements NodeHandler {
-    public BindHandler() {
-      // Prevent Synthetic Access
-    }
-
+  private class BindHandler implements NodeHandler {
     @Override
     public void handleNode(XNode nodeToHandle, List<SqlNode> targetContents) {
       final String name = nodeToHandle.getStringAttribute("name");
       final String expression = nodeToHandle.getStringAttribute("value");
-      final VarDeclSqlNode node = new VarDeclSqlNode(name, expression);
+      final VarDeclSqlNode node = new VarDeclSqlNode(name, expression, configuration.getExpressionEngine());
       targetContents.add(node);
     }
   }
@@ -176,8 +187,13 @@ public class XMLScriptBuilder extends BaseBuilder {
       String open = nodeToHandle.getStringAttribute("open");
       String close = nodeToHandle.getStringAttribute("close");
       String separator = nodeToHandle.getStringAttribute("separator");
+      Integer chunkSize = nodeToHandle.getIntAttribute("chunkSize");
+      if (chunkSize != null && chunkSize <= 0) {
+        throw new BuilderException("The chunkSize of a foreach must be positive, but was " + chunkSize + ".");
+      }
+      boolean bindAsArray = nodeToHandle.getBooleanAttribute("bindAsArray", false);
       ForEachSqlNode forEachSqlNode = new ForEachSqlNode(configuration, mixedSqlNode, collection, nullable, index, item,
-          open, close, separator);
+          open, close, separator, chunkSize, bindAsArray ? arrayBindingDialect : null);
       targetContents.add(forEachSqlNode);
     }
   }
@@ -191,7 +207,7 @@ public class XMLScriptBuilder extends BaseBuilder {
     public void handleNode(XNode nodeToHandle, List<SqlNode> targetContents) {
       MixedSqlNode mixedSqlNode = parseDynamicTags(nodeToHandle);
       String test = nodeToHandle.getStringAttribute("test");
-      IfSqlNode ifSqlNode = new IfSqlNode(mixedSqlNode, test);
+      IfSqlNode ifSqlNode = new IfSqlNode(mixedSqlNode, test, configuration.getExpressionEngine());
       targetContents.add(ifSqlNode);
     }
   }
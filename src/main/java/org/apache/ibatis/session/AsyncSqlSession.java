@@ -0,0 +1,299 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.reflection.ExceptionUtil;
+
+/**
+ * Runs the statements of a {@link SqlSession} on an {@link Executor} and returns their results as
+ * {@link CompletableFuture}s, so that the calling thread does not wait for the database.
+ * <p>
+ * The statements of a session run one after the other in the order they were submitted, each one after the previous one
+ * completed, so they all use the same connection and transaction. Statements of different sessions run at the same
+ * time. By default, statements run on virtual threads when the JVM supports them, or on daemon platform threads
+ * otherwise. See {@link Configuration#setAsyncExecutor(Executor)}.
+ * <p>
+ * The methods of a mapper returned by {@link #getMapper(Class)} that return a {@link CompletableFuture} are submitted
+ * like the other statements. Its other methods are submitted as well, and wait for the result.
+ *
+ * @since 3.5.17
+ */
+public class AsyncSqlSession {
+
+  private final SqlSession sqlSession;
+  private final Executor executor;
+  private final SqlSession mapperSession;
+  private final ReentrantLock lock = new ReentrantLock();
+  private CompletableFuture<?> last = CompletableFuture.completedFuture(null);
+  private boolean closed;
+  private volatile Thread runningThread;
+
+  public AsyncSqlSession(SqlSession sqlSession) {
+    this(sqlSession, sqlSession.getConfiguration().getAsyncExecutor());
+  }
+
+  /**
+   * @param sqlSession
+   *          the session that executes the statements
+   * @param executor
+   *          the executor that runs the statements, or {@code null} to use the default executor
+   */
+  public AsyncSqlSession(SqlSession sqlSession, Executor executor) {
+    this.sqlSession = sqlSession;
+    this.executor = executor == null ? DefaultExecutorHolder.EXECUTOR : executor;
+    this.mapperSession = (SqlSession) Proxy.newProxyInstance(SqlSession.class.getClassLoader(),
+        new Class[] { SqlSession.class }, new MapperSessionInterceptor());
+  }
+
+  /**
+   * Returns the asynchronous session that a mapper was obtained from.
+   *
+   * @param sqlSession
+   *          the session passed to a mapper method
+   *
+   * @return the asynchronous session, or {@code null} if the mapper was not obtained from an asynchronous session
+   */
+  public static AsyncSqlSession from(SqlSession sqlSession) {
+    if (sqlSession != null && Proxy.isProxyClass(sqlSession.getClass())) {
+      InvocationHandler handler = Proxy.getInvocationHandler(sqlSession);
+      if (handler instanceof MapperSessionInterceptor) {
+        return ((MapperSessionInterceptor) handler).getAsyncSqlSession();
+      }
+    }
+    return null;
+  }
+
+  public <T> CompletableFuture<T> selectOne(String statement) {
+    return execute(session -> session.selectOne(statement));
+  }
+
+  public <T> CompletableFuture<T> selectOne(String statement, Object parameter) {
+    return execute(session -> session.selectOne(statement, parameter));
+  }
+
+  public <E> CompletableFuture<List<E>> selectList(String statement) {
+    return execute(session -> session.selectList(statement));
+  }
+
+  public <E> CompletableFuture<List<E>> selectList(String statement, Object parameter) {
+    return execute(session -> session.selectList(statement, parameter));
+  }
+
+  public <E> CompletableFuture<List<E>> selectList(String statement, Object parameter, RowBounds rowBounds) {
+    return execute(session -> session.selectList(statement, parameter, rowBounds));
+  }
+
+  public <K, V> CompletableFuture<Map<K, V>> selectMap(String statement, Object parameter, String mapKey) {
+    return execute(session -> session.selectMap(statement, parameter, mapKey));
+  }
+
+  public CompletableFuture<Integer> insert(String statement) {
+    return execute(session -> session.insert(statement));
+  }
+
+  public CompletableFuture<Integer> insert(String statement, Object parameter) {
+    return execute(session -> session.insert(statement, parameter));
+  }
+
+  public CompletableFuture<Integer> update(String statement) {
+    return execute(session -> session.update(statement));
+  }
+
+  public CompletableFuture<Integer> update(String statement, Object parameter) {
+    return execute(session -> session.update(statement, parameter));
+  }
+
+  public CompletableFuture<Integer> delete(String statement) {
+    return execute(session -> session.delete(statement));
+  }
+
+  public CompletableFuture<Integer> delete(String statement, Object parameter) {
+    return execute(session -> session.delete(statement, parameter));
+  }
+
+  public CompletableFuture<List<BatchResult>> flushStatements() {
+    return execute(SqlSession::flushStatements);
+  }
+
+  public CompletableFuture<Void> commit() {
+    return execute(session -> {
+      session.commit();
+      return null;
+    });
+  }
+
+  public CompletableFuture<Void> commit(boolean force) {
+    return execute(session -> {
+      session.commit(force);
+      return null;
+    });
+  }
+
+  public CompletableFuture<Void> rollback() {
+    return execute(session -> {
+      session.rollback();
+      return null;
+    });
+  }
+
+  public CompletableFuture<Void> rollback(boolean force) {
+    return execute(session -> {
+      session.rollback(force);
+      return null;
+    });
+  }
+
+  /**
+   * Closes the session after the statements submitted so far. Statements submitted afterwards fail.
+   *
+   * @return a future that completes when the session is closed
+   */
+  public CompletableFuture<Void> close() {
+    lock.lock();
+    try {
+      if (closed) {
+        return CompletableFuture.completedFuture(null);
+      }
+      CompletableFuture<Void> future = submit(session -> {
+        session.close();
+        return null;
+      });
+      closed = true;
+      return future;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * Submits work that uses the session. The work runs after the statements submitted before, and must not wait for
+   * statements submitted to this session, as they only run when it has returned.
+   *
+   * @param work
+   *          the work
+   * @param <T>
+   *          the type of the result
+   *
+   * @return a future that completes with the result of the work
+   */
+  public <T> CompletableFuture<T> execute(Function<SqlSession, T> work) {
+    lock.lock();
+    try {
+      if (closed) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(new SqlSessionException("Error: The asynchronous session is closed."));
+        return future;
+      }
+      return submit(work);
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private <T> CompletableFuture<T> submit(Function<SqlSession, T> work) {
+    CompletableFuture<T> future = last.handle((result, e) -> null).thenApplyAsync(ignored -> run(work), executor);
+    last = future;
+    return future;
+  }
+
+  private <T> T run(Function<SqlSession, T> work) {
+    runningThread = Thread.currentThread();
+    try {
+      return work.apply(sqlSession);
+    } finally {
+      runningThread = null;
+    }
+  }
+
+  public <T> T getMapper(Class<T> type) {
+    return getConfiguration().getMapper(type, mapperSession);
+  }
+
+  public Configuration getConfiguration() {
+    return sqlSession.getConfiguration();
+  }
+
+  private class MapperSessionInterceptor implements InvocationHandler {
+
+    public MapperSessionInterceptor() {
+      // Prevent Synthetic Access
+    }
+
+    AsyncSqlSession getAsyncSqlSession() {
+      return AsyncSqlSession.this;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+      if (Thread.currentThread() == runningThread || "getConfiguration".equals(method.getName())) {
+        return invokeSession(method, args);
+      }
+      try {
+        return execute(session -> {
+          try {
+            return invokeSession(method, args);
+          } catch (Throwable t) {
+            throw new CompletionException(t);
+          }
+        }).join();
+      } catch (CompletionException e) {
+        throw e.getCause();
+      }
+    }
+
+    private Object invokeSession(Method method, Object[] args) throws Throwable {
+      try {
+        return method.invoke(sqlSession, args);
+      } catch (Throwable t) {
+        throw ExceptionUtil.unwrapThrowable(t);
+      }
+    }
+  }
+
+  private static class DefaultExecutorHolder {
+    static final Executor EXECUTOR = createDefaultExecutor();
+
+    private static Executor createDefaultExecutor() {
+      try {
+        return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+      } catch (ReflectiveOperationException e) {
+        // virtual threads require Java 21
+        AtomicInteger count = new AtomicInteger();
+        return Executors.newCachedThreadPool(runnable -> {
+          Thread thread = new Thread(runnable, "mybatis-async-" + count.incrementAndGet());
+          thread.setDaemon(true);
+          return thread;
+        });
+      }
+    }
+  }
+
+}
@@ -0,0 +1,69 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+import java.util.List;
+
+/**
+ * The outcome of a {@link BulkLoader bulk load}.
+ *
+ * @since 3.5.17
+ */
+public class BulkLoadResult {
+
+  private final long rowCount;
+  private final long updateCount;
+  private final List<Throwable> errors;
+
+  public BulkLoadResult(long rowCount, long updateCount, List<Throwable> errors) {
+    this.rowCount = rowCount;
+    this.updateCount = updateCount;
+    this.errors = errors;
+  }
+
+  /**
+   * Returns the number of parameter objects whose rows were committed.
+   *
+   * @return the number of committed rows
+   */
+  public long getRowCount() {
+    return rowCount;
+  }
+
+  /**
+   * Returns the sum of the update counts reported by the driver for the committed rows. Drivers that do not report the
+   * counts of batched statements report none.
+   *
+   * @return the number of updated rows
+   */
+  public long getUpdateCount() {
+    return updateCount;
+  }
+
+  /**
+   * Returns the failures that stopped the load, at most one per session plus one for reading the parameter objects.
+   *
+   * @return the failures, empty if the load succeeded
+   */
+  public List<Throwable> getErrors() {
+    return errors;
+  }
+
+  public boolean isSuccessful() {
+    return errors.isEmpty();
+  }
+
+}
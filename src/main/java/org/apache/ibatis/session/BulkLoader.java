@@ -0,0 +1,281 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.apache.ibatis.executor.BatchResult;
+
+/**
+ * Executes an update statement for a large number of parameter objects over several sessions in parallel.
+ * <p>
+ * The calling thread reads the parameter objects and hands them to the sessions through a bounded queue, so it waits
+ * when the sessions fall behind. Each session uses a {@link ExecutorType#BATCH batch executor} on its own connection
+ * and commits every {@link #commitSize(int) commit size} rows. When a session fails, the loading stops: the rows that
+ * were not committed yet are rolled back and the failures are reported by the {@link BulkLoadResult}.
+ * </p>
+ * <p>
+ * As the rows are spread over several transactions, the order in which they are written is not defined and a failed
+ * load may have committed part of the rows.
+ * </p>
+ *
+ * <pre>
+ * BulkLoadResult result = sqlSessionFactory.bulkLoader("org.mybatis.example.RowMapper.insertRow").sessions(8)
+ *     .commitSize(10000).load(rows);
+ * </pre>
+ *
+ * @since 3.5.17
+ *
+ * @see SqlSessionFactory#bulkLoader(String)
+ */
+public class BulkLoader {
+
+  private static final long POLL_MILLIS = 100;
+  private static final Object NULL = new Object();
+
+  private final SqlSessionFactory sqlSessionFactory;
+  private final String statement;
+  private int sessions = 4;
+  private int queueCapacity = 1000;
+  private int commitSize = 1000;
+  private Executor executor;
+
+  public BulkLoader(SqlSessionFactory sqlSessionFactory, String statement) {
+    this.sqlSessionFactory = sqlSessionFactory;
+    this.statement = statement;
+  }
+
+  /**
+   * Sets the number of sessions, each with its own connection, that write the rows. Default: 4.
+   *
+   * @param sessions
+   *          the number of sessions
+   *
+   * @return this loader
+   */
+  public BulkLoader sessions(int sessions) {
+    this.sessions = requirePositive(sessions, "sessions");
+    return this;
+  }
+
+  /**
+   * Sets the number of parameter objects that can wait for a session before the calling thread waits. Default: 1000.
+   *
+   * @param queueCapacity
+   *          the capacity of the queue
+   *
+   * @return this loader
+   */
+  public BulkLoader queueCapacity(int queueCapacity) {
+    this.queueCapacity = requirePositive(queueCapacity, "queueCapacity");
+    return this;
+  }
+
+  /**
+   * Sets the number of rows a session writes in one transaction. Default: 1000.
+   *
+   * @param commitSize
+   *          the number of rows per transaction
+   *
+   * @return this loader
+   */
+  public BulkLoader commitSize(int commitSize) {
+    this.commitSize = requirePositive(commitSize, "commitSize");
+    return this;
+  }
+
+  /**
+   * Sets the executor that runs the sessions. It must be able to run all sessions at the same time. By default, each
+   * load starts its own threads.
+   *
+   * @param executor
+   *          the executor
+   *
+   * @return this loader
+   */
+  public BulkLoader executor(Executor executor) {
+    this.executor = executor;
+    return this;
+  }
+
+  /**
+   * Executes the statement once per parameter object of a stream.
+   *
+   * @param parameters
+   *          the parameter objects
+   *
+   * @return the result
+   */
+  public BulkLoadResult load(Stream<?> parameters) {
+    return load(parameters.iterator());
+  }
+
+  /**
+   * Executes the statement once per parameter object of an iterator, returning when all rows are written or the loading
+   * failed.
+   *
+   * @param parameters
+   *          the parameter objects
+   *
+   * @return the result
+   */
+  public BulkLoadResult load(Iterator<?> parameters) {
+    BlockingQueue<Object> queue = new ArrayBlockingQueue<>(queueCapacity);
+    AtomicBoolean produced = new AtomicBoolean();
+    AtomicBoolean failed = new AtomicBoolean();
+    CountDownLatch finished = new CountDownLatch(sessions);
+    List<Partition> partitions = new ArrayList<>(sessions);
+    List<Throwable> errors = new ArrayList<>();
+    try {
+      for (int i = 0; i < sessions; i++) {
+        Partition partition = new Partition(queue, produced, failed, finished);
+        if (executor != null) {
+          executor.execute(partition);
+        } else {
+          Thread thread = new Thread(partition, "mybatis-bulk-load-" + i);
+          thread.setDaemon(true);
+          thread.start();
+        }
+        partitions.add(partition);
+      }
+      while (!failed.get() && parameters.hasNext()) {
+        Object parameter = parameters.next();
+        Object element = parameter == null ? NULL : parameter;
+        while (!failed.get() && !queue.offer(element, POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+          // wait for a session to take the parameter object or fail
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      failed.set(true);
+      errors.add(e);
+    } catch (RuntimeException e) {
+      failed.set(true);
+      errors.add(e);
+    } finally {
+      produced.set(true);
+      // the partitions that could not be started will never count down
+      for (int i = partitions.size(); i < sessions; i++) {
+        finished.countDown();
+      }
+    }
+    awaitUninterruptibly(finished);
+    long rowCount = 0;
+    long updateCount = 0;
+    for (Partition partition : partitions) {
+      rowCount += partition.rowCount;
+      updateCount += partition.updateCount;
+      if (partition.error != null) {
+        errors.add(partition.error);
+      }
+    }
+    return new BulkLoadResult(rowCount, updateCount, Collections.unmodifiableList(errors));
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    boolean interrupted = false;
+    while (true) {
+      try {
+        latch.await();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static int requirePositive(int value, String name) {
+    if (value <= 0) {
+      throw new IllegalArgumentException("The " + name + " of a bulk load must be positive, but was " + value + ".");
+    }
+    return value;
+  }
+
+  private class Partition implements Runnable {
+    private final BlockingQueue<Object> queue;
+    private final AtomicBoolean produced;
+    private final AtomicBoolean failed;
+    private final CountDownLatch finished;
+    private long rowCount;
+    private long updateCount;
+    private Throwable error;
+
+    Partition(BlockingQueue<Object> queue, AtomicBoolean produced, AtomicBoolean failed, CountDownLatch finished) {
+      this.queue = queue;
+      this.produced = produced;
+      this.failed = failed;
+      this.finished = finished;
+    }
+
+    @Override
+    public void run() {
+      try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH, false)) {
+        int pending = 0;
+        while (!failed.get()) {
+          // read the flag before polling so that the last parameter objects are not missed
+          boolean done = produced.get();
+          Object element = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+          if (element == null) {
+            if (done) {
+              break;
+            }
+            continue;
+          }
+          sqlSession.update(statement, element == NULL ? null : element);
+          if (++pending == commitSize) {
+            commit(sqlSession, pending);
+            pending = 0;
+          }
+        }
+        if (!failed.get() && pending > 0) {
+          commit(sqlSession, pending);
+        }
+      } catch (Throwable t) {
+        error = t;
+        failed.set(true);
+      } finally {
+        finished.countDown();
+      }
+    }
+
+    private void commit(SqlSession sqlSession, int rows) {
+      List<BatchResult> results = sqlSession.flushStatements();
+      sqlSession.commit();
+      rowCount += rows;
+      for (BatchResult result : results) {
+        for (int count : result.getUpdateCounts()) {
+          if (count > 0) {
+            updateCount += count;
+          }
+        }
+      }
+    }
+  }
+
+}
@@ -0,0 +1,32 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.session;
+
+/**
+ * Granularity at which writes invalidate second level cache entries.
+ *
+ * @since 3.5.17
+ */
+public enum CacheInvalidationScope {
+  /**
+   * A statement that flushes the cache clears the whole cache of its namespace.
+   */
+  NAMESPACE,
+  /**
+   * A statement that flushes the cache invalidates, in every namespace, the entries read from the tables it writes.
+   */
+  TABLE
+}
@@ -15,8 +15,10 @@
  */
 package org.apache.ibatis.session;
 
+import java.lang.management.ManagementFactory;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -29,6 +31,10 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.BiFunction;
 
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
 import org.apache.ibatis.binding.MapperRegistry;
 import org.apache.ibatis.builder.CacheRefResolver;
 import org.apache.ibatis.builder.IncompleteElementException;
@@ -36,11 +42,19 @@ import org.apache.ibatis.builder.ResultMapResolver;
 import org.apache.ibatis.builder.annotation.MethodResolver;
 import org.apache.ibatis.builder.xml.XMLStatementBuilder;
 import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.CacheStatistics;
+import org.apache.ibatis.cache.TableVersions;
+import org.apache.ibatis.cache.decorators.ConcurrentLruCache;
 import org.apache.ibatis.cache.decorators.FifoCache;
 import org.apache.ibatis.cache.decorators.LruCache;
 import org.apache.ibatis.cache.decorators.SoftCache;
 import org.apache.ibatis.cache.decorators.WeakCache;
+import org.apache.ibatis.cache.impl.OffHeapCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.cache.serializer.BinaryCacheSerializer;
+import org.apache.ibatis.cache.serializer.CacheSerializer;
+import org.apache.ibatis.cache.serializer.JavaCacheSerializer;
 import org.apache.ibatis.datasource.jndi.JndiDataSourceFactory;
 import org.apache.ibatis.datasource.pooled.PooledDataSourceFactory;
 import org.apache.ibatis.datasource.unpooled.UnpooledDataSourceFactory;
@@ -88,6 +102,9 @@ import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
 import org.apache.ibatis.scripting.LanguageDriver;
 import org.apache.ibatis.scripting.LanguageDriverRegistry;
 import org.apache.ibatis.scripting.defaults.RawLanguageDriver;
+import org.apache.ibatis.scripting.xmltags.CompiledExpressionEngine;
+import org.apache.ibatis.scripting.xmltags.ExpressionEngine;
+import org.apache.ibatis.scripting.xmltags.OgnlExpressionEngine;
 import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
 import org.apache.ibatis.transaction.Transaction;
 import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
@@ -118,12 +135,22 @@ public class Configuration {
   protected boolean shrinkWhitespacesInSql;
   protected boolean nullableOnForEach;
   protected boolean argNameBasedConstructorAutoMapping;
+  protected boolean useCompiledResultMappings;
+  protected boolean useCompiledForEach;
+  protected Class<? extends CacheSerializer> cacheSerializerImpl;
+  protected boolean cacheStatisticsJmxEnabled;
+  protected int dynamicSqlShapeCacheSize = 64;
+  protected ExpressionEngine expressionEngine = new OgnlExpressionEngine();
+  protected Integer maxBatchStatements;
+  protected Integer batchSize;
+  protected java.util.concurrent.Executor asyncExecutor;
 
   protected String logPrefix;
   protected Class<? extends Log> logImpl;
   protected Class<? extends VFS> vfsImpl;
   protected Class<?> defaultSqlProviderType;
   protected LocalCacheScope localCacheScope = LocalCacheScope.SESSION;
+  protected CacheInvalidationScope cacheInvalidationScope = CacheInvalidationScope.NAMESPACE;
   protected JdbcType jdbcTypeForNull = JdbcType.OTHER;
   protected Set<String> lazyLoadTriggerMethods = new HashSet<>(
       Arrays.asList("equals", "clone", "hashCode", "toString"));
@@ -161,6 +188,9 @@ public class Configuration {
           .conflictMessageProducer((savedValue, targetValue) -> ". please check " + savedValue.getResource() + " and "
               + targetValue.getResource());
   protected final Map<String, Cache> caches = new StrictMap<>("Caches collection");
+  protected final Map<String, CacheStatistics> cacheStatistics = new ConcurrentHashMap<>();
+  protected final Map<String, ObjectName> cacheStatisticsMBeanNames = new ConcurrentHashMap<>();
+  protected final TableVersions tableVersions = new TableVersions();
   protected final Map<String, ResultMap> resultMaps = new StrictMap<>("Result Maps collection");
   protected final Map<String, ParameterMap> parameterMaps = new StrictMap<>("Parameter Maps collection");
   protected final Map<String, KeyGenerator> keyGenerators = new StrictMap<>("Key Generators collection");
@@ -197,16 +227,24 @@ public class Configuration {
     typeAliasRegistry.registerAlias("UNPOOLED", UnpooledDataSourceFactory.class);
 
     typeAliasRegistry.registerAlias("PERPETUAL", PerpetualCache.class);
+    typeAliasRegistry.registerAlias("OFF_HEAP", OffHeapCache.class);
     typeAliasRegistry.registerAlias("FIFO", FifoCache.class);
     typeAliasRegistry.registerAlias("LRU", LruCache.class);
+    typeAliasRegistry.registerAlias("CONCURRENT_LRU", ConcurrentLruCache.class);
     typeAliasRegistry.registerAlias("SOFT", SoftCache.class);
     typeAliasRegistry.registerAlias("WEAK", WeakCache.class);
 
+    typeAliasRegistry.registerAlias("JAVA_SERIALIZER", JavaCacheSerializer.class);
+    typeAliasRegistry.registerAlias("BINARY_SERIALIZER", BinaryCacheSerializer.class);
+
     typeAliasRegistry.registerAlias("DB_VENDOR", VendorDatabaseIdProvider.class);
 
     typeAliasRegistry.registerAlias("XML", XMLLanguageDriver.class);
     typeAliasRegistry.registerAlias("RAW", RawLanguageDriver.class);
 
+    typeAliasRegistry.registerAlias("OGNL_EXPRESSION_ENGINE", OgnlExpressionEngine.class);
+    typeAliasRegistry.registerAlias("COMPILED_EXPRESSION_ENGINE", CompiledExpressionEngine.class);
+
     typeAliasRegistry.registerAlias("SLF4J", Slf4jImpl.class);
     typeAliasRegistry.registerAlias("COMMONS_LOGGING", JakartaCommonsLoggingImpl.class);
     typeAliasRegistry.registerAlias("LOG4J", Log4jImpl.class);
@@ -342,6 +380,246 @@ public class Configuration {
     this.argNameBasedConstructorAutoMapping = argNameBasedConstructorAutoMapping;
   }
 
+  /**
+   * Gets whether property mappings and auto-mappings are compiled into direct setter calls.
+   *
+   * @return {@code true} if result mappings are compiled
+   *
+   * @since 3.5.17
+   */
+  public boolean isUseCompiledResultMappings() {
+    return useCompiledResultMappings;
+  }
+
+  /**
+   * Sets whether property mappings and auto-mappings are compiled into direct setter calls instead of going through
+   * {@link org.apache.ibatis.reflection.MetaObject} for every column of every row. Mappings that cannot be compiled
+   * (nested properties, nested selects, custom object wrappers, ...) keep using the default path.
+   *
+   * @param useCompiledResultMappings
+   *          {@code true} to compile result mappings
+   *
+   * @since 3.5.17
+   */
+  public void setUseCompiledResultMappings(boolean useCompiledResultMappings) {
+    this.useCompiledResultMappings = useCompiledResultMappings;
+  }
+
+  /**
+   * Gets whether the plain text contents of {@code <foreach>} elements are rendered from a compiled template.
+   *
+   * @return {@code true} if foreach contents are compiled
+   *
+   * @since 3.5.17
+   */
+  public boolean isUseCompiledForEach() {
+    return useCompiledForEach;
+  }
+
+  /**
+   * Sets whether the plain text contents of {@code <foreach>} elements are rendered from a compiled template instead of
+   * being rendered item by item. The items are then bound as one list per variable and their parameters read them by
+   * position (e.g. {@code __frch_item_0[3]}) instead of being bound one by one (e.g. {@code __frch_item_3}), which
+   * plugins inspecting the parameter names must take into account.
+   *
+   * @param useCompiledForEach
+   *          {@code true} to compile foreach contents
+   *
+   * @since 3.5.17
+   */
+  public void setUseCompiledForEach(boolean useCompiledForEach) {
+    this.useCompiledForEach = useCompiledForEach;
+  }
+
+  /**
+   * Gets the serializer that read-write caches use to copy cached objects.
+   *
+   * @return the serializer type, {@code null} if java serialization is used
+   *
+   * @since 3.5.17
+   */
+  public Class<? extends CacheSerializer> getCacheSerializerImpl() {
+    return cacheSerializerImpl;
+  }
+
+  /**
+   * Sets the serializer that read-write caches use to copy cached objects.
+   *
+   * @param cacheSerializerImpl
+   *          the serializer type, {@code null} to use java serialization
+   *
+   * @since 3.5.17
+   */
+  public void setCacheSerializerImpl(Class<? extends CacheSerializer> cacheSerializerImpl) {
+    this.cacheSerializerImpl = cacheSerializerImpl;
+  }
+
+  /**
+   * Gets whether the statistics of second level caches are registered as JMX MBeans.
+   *
+   * @return {@code true} if cache statistics are registered as MBeans
+   *
+   * @since 3.5.17
+   */
+  public boolean isCacheStatisticsJmxEnabled() {
+    return cacheStatisticsJmxEnabled;
+  }
+
+  /**
+   * Sets whether the statistics of second level caches are registered as JMX MBeans in the platform MBean server, under
+   * {@code org.apache.ibatis:type=CacheStatistics,configuration=<configuration>,id=<cache id>}, where the configuration
+   * key tells apart the caches of configurations sharing the same server. A cache built later with the same id replaces
+   * the MBean. Only caches added after this is enabled are registered, and the MBeans stay registered until
+   * {@link #unregisterCacheStatisticsMBeans()} is called.
+   *
+   * @param cacheStatisticsJmxEnabled
+   *          {@code true} to register cache statistics as MBeans
+   *
+   * @since 3.5.17
+   */
+  public void setCacheStatisticsJmxEnabled(boolean cacheStatisticsJmxEnabled) {
+    this.cacheStatisticsJmxEnabled = cacheStatisticsJmxEnabled;
+  }
+
+  /**
+   * Gets the maximum number of distinct SQL texts per dynamic statement whose parsed parameter placeholders are kept.
+   *
+   * @return the maximum number of cached SQL shapes per statement, {@code 0} if disabled
+   *
+   * @since 3.5.17
+   */
+  public int getDynamicSqlShapeCacheSize() {
+    return dynamicSqlShapeCacheSize;
+  }
+
+  /**
+   * Sets the maximum number of distinct SQL texts per dynamic statement whose parsed parameter placeholders
+   * ({@code #{...}}) are kept, so that rendering a dynamic statement to a SQL text seen before skips parsing its
+   * placeholders and resolving their type handlers again. Once a statement reached the limit, other SQL texts are
+   * parsed on every call.
+   *
+   * @param dynamicSqlShapeCacheSize
+   *          the maximum number of cached SQL shapes per statement, {@code 0} to disable
+   *
+   * @since 3.5.17
+   */
+  public void setDynamicSqlShapeCacheSize(int dynamicSqlShapeCacheSize) {
+    this.dynamicSqlShapeCacheSize = dynamicSqlShapeCacheSize;
+  }
+
+  /**
+   * Gets the engine that evaluates the expressions of dynamic SQL.
+   *
+   * @return the expression engine
+   *
+   * @since 3.5.17
+   */
+  public ExpressionEngine getExpressionEngine() {
+    return expressionEngine;
+  }
+
+  /**
+   * Sets the engine that evaluates the {@code test}, {@code collection}, {@code <bind>} and {@code ${}} expressions of
+   * dynamic SQL. It applies to the statements built after it is set.
+   *
+   * @param expressionEngine
+   *          the expression engine, {@code null} to use OGNL
+   *
+   * @since 3.5.17
+   *
+   * @see org.apache.ibatis.scripting.xmltags.CompiledExpressionEngine
+   */
+  public void setExpressionEngine(ExpressionEngine expressionEngine) {
+    if (expressionEngine == null) {
+      expressionEngine = new OgnlExpressionEngine();
+    }
+    this.expressionEngine = expressionEngine;
+  }
+
+  /**
+   * Gets the maximum number of statements a batch executor keeps open to group the updates by statement.
+   *
+   * @return the maximum number of grouped statements, or {@code null} if updates are grouped only while they repeat the
+   *         previous statement
+   *
+   * @since 3.5.17
+   */
+  public Integer getMaxBatchStatements() {
+    return maxBatchStatements;
+  }
+
+  /**
+   * Sets the maximum number of statements a batch executor keeps open to group the updates by statement. When set, an
+   * update that declares its tables is added to the batch of an earlier open statement with the same SQL, unless the
+   * SQL of a statement opened since then names one of its declared tables or of the tables named in its own SQL, so
+   * interleaved updates of several tables are still sent in few batches. The declared tables must include the tables
+   * the update reads or references through foreign keys, otherwise it could be executed before the update of a row it
+   * depends on. When the limit is reached, the pending batches are executed before a new statement is opened.
+   *
+   * @param maxBatchStatements
+   *          the maximum number of grouped statements, or {@code null} to add an update only to the batch of the
+   *          previous update
+   *
+   * @since 3.5.17
+   */
+  public void setMaxBatchStatements(Integer maxBatchStatements) {
+    this.maxBatchStatements = maxBatchStatements;
+  }
+
+  /**
+   * Gets the number of rows after which a batch executor executes the batches added so far.
+   *
+   * @return the batch size, or {@code null} if batches are executed only when the statements are flushed
+   *
+   * @since 3.5.17
+   */
+  public Integer getBatchSize() {
+    return batchSize;
+  }
+
+  /**
+   * Sets the number of rows after which a batch executor executes the batches added so far. When a statement has that
+   * many rows waiting, the pending rows of all open statements are executed in order, their generated keys are
+   * processed and their parameter objects are released, so that the batch results returned by a flush aggregate the
+   * update counts of all rows but only hold the parameter objects of the rows executed last, see
+   * {@link org.apache.ibatis.executor.BatchResult}.
+   *
+   * @param batchSize
+   *          the batch size, or {@code null} to execute the batches only when the statements are flushed
+   *
+   * @since 3.5.17
+   */
+  public void setBatchSize(Integer batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Gets the executor that runs the statements of an {@link AsyncSqlSession}.
+   *
+   * @return the executor, or {@code null} if the sessions use virtual threads when the JVM supports them, or daemon
+   *         platform threads otherwise
+   *
+   * @since 3.5.17
+   */
+  public java.util.concurrent.Executor getAsyncExecutor() {
+    return asyncExecutor;
+  }
+
+  /**
+   * Sets the executor that runs the statements of an {@link AsyncSqlSession}. The statements of one session never run
+   * at the same time, but the executor must be able to run the statements of all open sessions at the same time, as a
+   * statement occupies its thread while it waits for the database.
+   *
+   * @param asyncExecutor
+   *          the executor, or {@code null} to use virtual threads when the JVM supports them, or daemon platform
+   *          threads otherwise
+   *
+   * @since 3.5.17
+   */
+  public void setAsyncExecutor(java.util.concurrent.Executor asyncExecutor) {
+    this.asyncExecutor = asyncExecutor;
+  }
+
   public String getDatabaseId() {
     return databaseId;
   }
@@ -566,6 +844,43 @@ public class Configuration {
     this.localCacheScope = localCacheScope;
   }
 
+  /**
+   * Gets the granularity at which writes invalidate second level cache entries.
+   *
+   * @return the cache invalidation scope
+   *
+   * @since 3.5.17
+   */
+  public CacheInvalidationScope getCacheInvalidationScope() {
+    return cacheInvalidationScope;
+  }
+
+  /**
+   * Sets the granularity at which writes invalidate second level cache entries. With
+   * {@link CacheInvalidationScope#TABLE}, a statement that flushes the cache invalidates only the entries, in any
+   * namespace, read from the tables it writes. The tables of a statement are declared with its {@code tables} attribute
+   * or derived from its SQL.
+   *
+   * @param cacheInvalidationScope
+   *          the cache invalidation scope
+   *
+   * @since 3.5.17
+   */
+  public void setCacheInvalidationScope(CacheInvalidationScope cacheInvalidationScope) {
+    this.cacheInvalidationScope = cacheInvalidationScope;
+  }
+
+  /**
+   * Gets the table version counters used when the cache invalidation scope is {@link CacheInvalidationScope#TABLE}.
+   *
+   * @return the table versions
+   *
+   * @since 3.5.17
+   */
+  public TableVersions getTableVersions() {
+    return tableVersions;
+  }
+
   public JdbcType getJdbcTypeForNull() {
     return jdbcTypeForNull;
   }
@@ -736,7 +1051,7 @@ public class Configuration {
       executor = new SimpleExecutor(this, transaction);
     }
     if (cacheEnabled) {
-      executor = new CachingExecutor(executor);
+      executor = new CachingExecutor(executor, this);
     }
     return (Executor) interceptorChain.pluginAll(executor);
   }
@@ -777,6 +1092,97 @@ public class Configuration {
     return caches.get(id);
   }
 
+  /**
+   * Adds the statistics of a second level cache.
+   *
+   * @param statistics
+   *          the statistics
+   *
+   * @since 3.5.17
+   */
+  public void addCacheStatistics(CacheStatistics statistics) {
+    cacheStatistics.put(statistics.getId(), statistics);
+    if (cacheStatisticsJmxEnabled) {
+      registerCacheStatisticsMBean(statistics);
+    }
+  }
+
+  /**
+   * Gets the statistics of a second level cache.
+   *
+   * @param id
+   *          the cache id, i.e. the namespace that declares the cache
+   *
+   * @return the statistics, {@code null} if the cache does not collect statistics
+   *
+   * @since 3.5.17
+   */
+  public CacheStatistics getCacheStatistics(String id) {
+    return cacheStatistics.get(id);
+  }
+
+  /**
+   * Gets the statistics of all second level caches that collect them.
+   *
+   * @return the statistics
+   *
+   * @since 3.5.17
+   */
+  public Collection<CacheStatistics> getCacheStatistics() {
+    return Collections.unmodifiableCollection(cacheStatistics.values());
+  }
+
+  /**
+   * Gets the name under which the statistics of a second level cache are registered as a JMX MBean.
+   *
+   * @param id
+   *          the cache id
+   *
+   * @return the MBean name, {@code null} if the statistics of the cache are not registered
+   *
+   * @since 3.5.17
+   */
+  public ObjectName getCacheStatisticsMBeanName(String id) {
+    return cacheStatisticsMBeanNames.get(id);
+  }
+
+  /**
+   * Unregisters the cache statistics MBeans of this configuration from the platform MBean server. Call it when the
+   * configuration is discarded, e.g. on application undeploy, so that the MBeans do not keep it reachable.
+   *
+   * @since 3.5.17
+   */
+  public void unregisterCacheStatisticsMBeans() {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    for (Iterator<ObjectName> iterator = cacheStatisticsMBeanNames.values().iterator(); iterator.hasNext();) {
+      ObjectName name = iterator.next();
+      iterator.remove();
+      try {
+        if (server.isRegistered(name)) {
+          server.unregisterMBean(name);
+        }
+      } catch (JMException e) {
+        throw new CacheException("Error unregistering the cache statistics MBean '" + name + "'.  Cause: " + e, e);
+      }
+    }
+  }
+
+  private void registerCacheStatisticsMBean(CacheStatistics statistics) {
+    try {
+      MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+      ObjectName name = new ObjectName("org.apache.ibatis:type=CacheStatistics,configuration="
+          + Integer.toHexString(System.identityHashCode(this)) + ",id=" + ObjectName.quote(statistics.getId()));
+      if (server.isRegistered(name)) {
+        server.unregisterMBean(name);
+      }
+      server.registerMBean(statistics, name);
+      cacheStatisticsMBeanNames.put(statistics.getId(), name);
+    } catch (JMException e) {
+      throw new CacheException(
+          "Error registering the statistics of cache '" + statistics.getId() + "' as an MBean.  Cause: " + e, e);
+    }
+  }
+
   public boolean hasCache(String id) {
     return caches.containsKey(id);
   }
@@ -42,4 +42,46 @@ public interface SqlSessionFactory {
 
   Configuration getConfiguration();
 
+  /**
+   * Creates a loader that executes an update statement for a large number of parameter objects over several sessions in
+   * parallel.
+   *
+   * @param statement
+   *          the id of the insert, update or delete statement
+   *
+   * @return the loader
+   *
+   * @since 3.5.17
+   */
+  default BulkLoader bulkLoader(String statement) {
+    return new BulkLoader(this, statement);
+  }
+
+  /**
+   * Opens a session whose statements run on the {@link Configuration#getAsyncExecutor() asynchronous executor}.
+   *
+   * @return the session
+   *
+   * @since 3.5.17
+   */
+  default AsyncSqlSession openAsyncSession() {
+    return new AsyncSqlSession(openSession());
+  }
+
+  /**
+   * Opens a session whose statements run on the {@link Configuration#getAsyncExecutor() asynchronous executor}.
+   *
+   * @param execType
+   *          the executor type of the session
+   * @param autoCommit
+   *          whether the statements are committed automatically
+   *
+   * @return the session
+   *
+   * @since 3.5.17
+   */
+  default AsyncSqlSession openAsyncSession(ExecutorType execType, boolean autoCommit) {
+    return new AsyncSqlSession(openSession(execType, autoCommit));
+  }
+
 }
@@ -40,6 +40,7 @@ import java.util.Properties;
 import org.apache.ibatis.builder.mapper.CustomMapper;
 import org.apache.ibatis.builder.typehandler.CustomIntegerTypeHandler;
 import org.apache.ibatis.builder.xml.XMLConfigBuilder;
+import org.apache.ibatis.cache.serializer.BinaryCacheSerializer;
 import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
 import org.apache.ibatis.domain.blog.Author;
 import org.apache.ibatis.domain.blog.Blog;
@@ -54,9 +55,12 @@ import org.apache.ibatis.logging.slf4j.Slf4jImpl;
 import org.apache.ibatis.mapping.Environment;
 import org.apache.ibatis.mapping.ResultSetType;
 import org.apache.ibatis.scripting.defaults.RawLanguageDriver;
+import org.apache.ibatis.scripting.xmltags.CompiledExpressionEngine;
+import org.apache.ibatis.scripting.xmltags.OgnlExpressionEngine;
 import org.apache.ibatis.scripting.xmltags.XMLLanguageDriver;
 import org.apache.ibatis.session.AutoMappingBehavior;
 import org.apache.ibatis.session.AutoMappingUnknownColumnBehavior;
+import org.apache.ibatis.session.CacheInvalidationScope;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.ExecutorType;
 import org.apache.ibatis.session.LocalCacheScope;
@@ -111,6 +115,15 @@ class XmlConfigBuilderTest {
       assertThat(config.isArgNameBasedConstructorAutoMapping()).isFalse();
       assertThat(config.getDefaultSqlProviderType()).isNull();
       assertThat(config.isNullableOnForEach()).isFalse();
+      assertThat(config.isUseCompiledResultMappings()).isFalse();
+      assertThat(config.isUseCompiledForEach()).isFalse();
+      assertNull(config.getCacheSerializerImpl());
+      assertThat(config.isCacheStatisticsJmxEnabled()).isFalse();
+      assertThat(config.getCacheInvalidationScope()).isEqualTo(CacheInvalidationScope.NAMESPACE);
+      assertThat(config.getDynamicSqlShapeCacheSize()).isEqualTo(64);
+      assertThat(config.getExpressionEngine()).isInstanceOf(OgnlExpressionEngine.class);
+      assertNull(config.getMaxBatchStatements());
+      assertNull(config.getBatchSize());
     }
   }
 
@@ -217,6 +230,15 @@ class XmlConfigBuilderTest {
       assertThat(config.isArgNameBasedConstructorAutoMapping()).isTrue();
       assertThat(config.getDefaultSqlProviderType().getName()).isEqualTo(MySqlProvider.class.getName());
       assertThat(config.isNullableOnForEach()).isTrue();
+      assertThat(config.isUseCompiledResultMappings()).isTrue();
+      assertThat(config.isUseCompiledForEach()).isTrue();
+      assertThat(config.getCacheSerializerImpl()).isEqualTo(BinaryCacheSerializer.class);
+      assertThat(config.isCacheStatisticsJmxEnabled()).isTrue();
+      assertThat(config.getCacheInvalidationScope()).isEqualTo(CacheInvalidationScope.TABLE);
+      assertThat(config.getDynamicSqlShapeCacheSize()).isEqualTo(16);
+      assertThat(config.getExpressionEngine()).isInstanceOf(CompiledExpressionEngine.class);
+      assertThat(config.getMaxBatchStatements()).isEqualTo(8);
+      assertThat(config.getBatchSize()).isEqualTo(1000);
 
       assertThat(config.getTypeAliasRegistry().getTypeAliases().get("blogauthor")).isEqualTo(Author.class);
       assertThat(config.getTypeAliasRegistry().getTypeAliases().get("blog")).isEqualTo(Blog.class);
@@ -15,20 +15,33 @@
  */
 package org.apache.ibatis.builder.xml.dynamic;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.IOException;
 import java.io.Reader;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.domain.blog.Author;
 import org.apache.ibatis.io.Resources;
 import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.scripting.ScriptingException;
+import org.apache.ibatis.scripting.xmltags.ArrayBindingDialect;
 import org.apache.ibatis.scripting.xmltags.ChooseSqlNode;
 import org.apache.ibatis.scripting.xmltags.DynamicSqlSource;
 import org.apache.ibatis.scripting.xmltags.ForEachSqlNode;
@@ -36,11 +49,13 @@ import org.apache.ibatis.scripting.xmltags.IfSqlNode;
 import org.apache.ibatis.scripting.xmltags.MixedSqlNode;
 import org.apache.ibatis.scripting.xmltags.SetSqlNode;
 import org.apache.ibatis.scripting.xmltags.SqlNode;
+import org.apache.ibatis.scripting.xmltags.StaticTextSqlNode;
 import org.apache.ibatis.scripting.xmltags.TextSqlNode;
 import org.apache.ibatis.scripting.xmltags.WhereSqlNode;
 import org.apache.ibatis.session.Configuration;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.type.JdbcType;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -338,6 +353,194 @@ class DynamicSqlSourceTest extends BaseDataTest {
     assertEquals("__frch_u_0", boundSql.getParameterMappings().get(3).getProperty());
   }
 
+  @Test
+  void shouldSubstituteEveryExpressionOfText() throws Exception {
+    Map<String, Object> parameterObject = new HashMap<>();
+    parameterObject.put("column", "ID");
+    parameterObject.put("table", "BLOG");
+    TextSqlNode text = new TextSqlNode("SELECT ${column} FROM ${table} WHERE NAME = '\\${name}' AND ${column} = #{id}");
+    DynamicSqlSource source = createDynamicSqlSource(text);
+    BoundSql boundSql = source.getBoundSql(parameterObject);
+    assertEquals("SELECT ID FROM BLOG WHERE NAME = '${name}' AND ID = ?", boundSql.getSql());
+    assertTrue(text.isDynamic());
+    assertFalse(new TextSqlNode("SELECT * FROM BLOG WHERE NAME = '\\${name}'").isDynamic());
+  }
+
+  @Test
+  void shouldReuseParsedPlaceholdersOfSameSqlText() throws Exception {
+    DynamicSqlSource source = createDynamicSqlSource(new TextSqlNode("SELECT * FROM BLOG"),
+        new IfSqlNode(mixedContents(new TextSqlNode("WHERE ID = #{id}")), "id != null"));
+    BoundSql first = source.getBoundSql(Collections.singletonMap("id", 1));
+    BoundSql second = source.getBoundSql(Collections.singletonMap("id", 2));
+    BoundSql other = source.getBoundSql(Collections.singletonMap("id", null));
+    assertEquals("SELECT * FROM BLOG WHERE ID = ?", second.getSql());
+    assertSame(first.getParameterMappings(), second.getParameterMappings());
+    assertEquals("SELECT * FROM BLOG", other.getSql());
+    assertEquals(0, other.getParameterMappings().size());
+  }
+
+  @Test
+  void shouldParseAgainWhenTypeOfBoundValueChanges() throws Exception {
+    DynamicSqlSource source = createDynamicSqlSource(new TextSqlNode("SELECT * FROM BLOG WHERE ID in"),
+        new ForEachSqlNode(new Configuration(), mixedContents(new TextSqlNode("#{item}")), "array", null, "item", "(",
+            ")", ","));
+    BoundSql integers = source.getBoundSql(Collections.singletonMap("array", new Integer[] { 1 }));
+    BoundSql strings = source.getBoundSql(Collections.singletonMap("array", new String[] { "1" }));
+    assertEquals(integers.getSql(), strings.getSql());
+    assertEquals(Integer.class, integers.getParameterMappings().get(0).getJavaType());
+    assertEquals(String.class, strings.getParameterMappings().get(0).getJavaType());
+  }
+
+  @Test
+  void shouldParseOnEveryCallWhenShapeCacheIsDisabled() {
+    Configuration configuration = new Configuration();
+    configuration.setDynamicSqlShapeCacheSize(0);
+    DynamicSqlSource source = new DynamicSqlSource(configuration,
+        mixedContents(new TextSqlNode("SELECT * FROM BLOG WHERE ID = #{id}")));
+    BoundSql first = source.getBoundSql(Collections.singletonMap("id", 1));
+    BoundSql second = source.getBoundSql(Collections.singletonMap("id", 2));
+    assertNotSame(first.getParameterMappings(), second.getParameterMappings());
+  }
+
+  @Test
+  void shouldBindEachItemOfPlainTextForEachByDefault() {
+    Map<String, Object> parameterObject = Collections.singletonMap("list", Arrays.asList(1, 2, 3));
+    DynamicSqlSource source = new DynamicSqlSource(new Configuration(),
+        mixedContents(new StaticTextSqlNode("SELECT * FROM BLOG WHERE ID in"), new ForEachSqlNode(new Configuration(),
+            mixedContents(new StaticTextSqlNode("#{item}")), "list", null, null, "item", "(", ")", ",")));
+    BoundSql boundSql = source.getBoundSql(parameterObject);
+    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    assertEquals(3, parameterMappings.size());
+    for (int i = 0; i < 3; i++) {
+      assertEquals("__frch_item_" + i, parameterMappings.get(i).getProperty());
+      assertEquals(i + 1, boundSql.getAdditionalParameter("__frch_item_" + i));
+    }
+  }
+
+  @Test
+  void shouldRenderPlainTextForEachAsResolvedParameters() {
+    Map<String, Object> parameterObject = Collections.singletonMap("list", Arrays.asList(1, 2, 3));
+    Configuration compiled = new Configuration();
+    compiled.setUseCompiledForEach(true);
+    DynamicSqlSource plain = new DynamicSqlSource(compiled,
+        mixedContents(new StaticTextSqlNode("SELECT * FROM BLOG WHERE ID in"), new ForEachSqlNode(compiled,
+            mixedContents(new StaticTextSqlNode("#{item}")), "list", null, null, "item", "(", ")", ",")));
+    DynamicSqlSource perItem = new DynamicSqlSource(new Configuration(),
+        mixedContents(new StaticTextSqlNode("SELECT * FROM BLOG WHERE ID in"), new ForEachSqlNode(new Configuration(),
+            mixedContents(new TextSqlNode("#{item}")), "list", null, null, "item", "(", ")", ",")));
+    BoundSql boundSql = plain.getBoundSql(parameterObject);
+    assertEquals(perItem.getBoundSql(parameterObject).getSql(), boundSql.getSql());
+    assertEquals(Arrays.asList(1, 2, 3), boundSql.getAdditionalParameter("__frch_item_0"));
+    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    assertEquals(3, parameterMappings.size());
+    for (int i = 0; i < 3; i++) {
+      assertEquals("__frch_item_0[" + i + "]", parameterMappings.get(i).getProperty());
+      assertEquals(Integer.class, parameterMappings.get(i).getJavaType());
+      assertEquals(i + 1, boundSql.getAdditionalParameter(parameterMappings.get(i).getProperty()));
+    }
+  }
+
+  @Test
+  void shouldResolvePropertiesAndAttributesOfForEachItems() {
+    Map<String, Object> parameterObject = Collections.singletonMap("authors",
+        Arrays.asList(new Author(7), new Author(8)));
+    Configuration compiled = new Configuration();
+    compiled.setUseCompiledForEach(true);
+    DynamicSqlSource source = new DynamicSqlSource(compiled,
+        mixedContents(new StaticTextSqlNode("INSERT INTO AUTHOR_INDEX VALUES"),
+            new ForEachSqlNode(compiled,
+                mixedContents(new StaticTextSqlNode("(#{i}, #{author.id, jdbcType=NUMERIC}, #{other})")), "authors",
+                null, "i", "author", null, null, ",")));
+    BoundSql boundSql = source.getBoundSql(parameterObject);
+    assertEquals("INSERT INTO AUTHOR_INDEX VALUES  (?, ?, ?) , (?, ?, ?)", boundSql.getSql());
+    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    assertEquals("__frch_i_0[1]", parameterMappings.get(3).getProperty());
+    assertEquals(Integer.class, parameterMappings.get(3).getJavaType());
+    assertEquals("__frch_author_0[1].id", parameterMappings.get(4).getProperty());
+    assertEquals(int.class, parameterMappings.get(4).getJavaType());
+    assertEquals(JdbcType.NUMERIC, parameterMappings.get(4).getJdbcType());
+    assertEquals(8, boundSql.getAdditionalParameter("__frch_author_0[1].id"));
+    assertEquals("other", parameterMappings.get(5).getProperty());
+    // the parsed placeholders and the mappings of the items are reused by the next rendering
+    List<ParameterMapping> next = source.getBoundSql(parameterObject).getParameterMappings();
+    assertSame(parameterMappings.get(4), next.get(4));
+    assertSame(parameterMappings.get(5), next.get(5));
+  }
+
+  @Test
+  void shouldSplitForEachIntoChunks() {
+    Map<String, Object> parameterObject = Collections.singletonMap("list", Arrays.asList(1, 2, 3, 4, 5));
+    DynamicSqlSource source = new DynamicSqlSource(new Configuration(),
+        mixedContents(new StaticTextSqlNode("SELECT * FROM BLOG WHERE ID in"), new ForEachSqlNode(new Configuration(),
+            mixedContents(new StaticTextSqlNode("#{item}")), "list", null, "index", "item", "(", ")", ",", 2)));
+    BoundSql boundSql = source.getBoundSql(parameterObject);
+    assertEquals("SELECT * FROM BLOG WHERE ID in (  ? , ? )", boundSql.getSql());
+    assertEquals(2, boundSql.getAdditionalParameter("__frch_item_1"));
+    List<BoundSql> chunks = boundSql.getRemainingChunks();
+    assertEquals(2, chunks.size());
+    assertEquals(3, chunks.get(0).getAdditionalParameter("__frch_item_0"));
+    assertEquals(2, chunks.get(0).getAdditionalParameter("__frch_index_0"));
+    assertEquals("SELECT * FROM BLOG WHERE ID in (  ? )", chunks.get(1).getSql());
+    assertEquals(5, chunks.get(1).getAdditionalParameter("__frch_item_0"));
+    assertTrue(
+        source.getBoundSql(Collections.singletonMap("list", Arrays.asList(1, 2))).getRemainingChunks().isEmpty());
+  }
+
+  @Test
+  void shouldRejectChunkedForEachNestedInAnotherForEach() {
+    Map<String, Object> parameterObject = Collections.singletonMap("lists",
+        Arrays.asList(Arrays.asList(1, 2), Arrays.asList(3)));
+    DynamicSqlSource source = new DynamicSqlSource(new Configuration(),
+        mixedContents(new StaticTextSqlNode("SELECT * FROM BLOG WHERE"),
+            new ForEachSqlNode(new Configuration(),
+                mixedContents(new ForEachSqlNode(new Configuration(), mixedContents(new StaticTextSqlNode("#{id}")),
+                    "list", null, null, "id", "ID in (", ")", ",", 1)),
+                "lists", null, null, "list", null, null, "OR")));
+    ScriptingException e = assertThrows(ScriptingException.class, () -> source.getBoundSql(parameterObject));
+    assertEquals("A foreach with a chunkSize cannot be nested in another foreach.", e.getMessage());
+  }
+
+  @Test
+  void shouldBindForEachItemsAsOneArray() {
+    Map<String, Object> parameterObject = Collections.singletonMap("list", Arrays.asList(1, 2, 3));
+    DynamicSqlSource source = new DynamicSqlSource(new Configuration(),
+        mixedContents(new StaticTextSqlNode("SELECT * FROM BLOG WHERE ID in"),
+            new ForEachSqlNode(new Configuration(), mixedContents(new StaticTextSqlNode(" #{item} ")), "list", null,
+                null, "item", "(", ")", ",", null, ArrayBindingDialect.H2)));
+    BoundSql boundSql = source.getBoundSql(parameterObject);
+    assertEquals("SELECT * FROM BLOG WHERE ID in ( SELECT * FROM UNNEST(CAST(? AS INTEGER ARRAY)) )",
+        boundSql.getSql());
+    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    assertEquals(1, parameterMappings.size());
+    assertEquals(Integer[].class, parameterMappings.get(0).getJavaType());
+    assertEquals(JdbcType.ARRAY, parameterMappings.get(0).getJdbcType());
+    assertArrayEquals(new Integer[] { 1, 2, 3 },
+        (Object[]) boundSql.getAdditionalParameter(parameterMappings.get(0).getProperty()));
+  }
+
+  @Test
+  void shouldRejectArrayBindingOfForEachWithOtherContents() {
+    Configuration configuration = new Configuration();
+    assertThrows(BuilderException.class,
+        () -> new ForEachSqlNode(configuration, mixedContents(new StaticTextSqlNode("(#{item}, #{item})")), "list",
+            null, null, "item", "(", ")", ",", null, ArrayBindingDialect.HSQLDB));
+    assertThrows(BuilderException.class,
+        () -> new ForEachSqlNode(configuration, mixedContents(new StaticTextSqlNode("#{item.id}")), "list", null, null,
+            "item", "(", ")", ",", null, ArrayBindingDialect.HSQLDB));
+    assertThrows(BuilderException.class,
+        () -> new ForEachSqlNode(configuration, mixedContents(new TextSqlNode("#{item}")), "list", null, null, "item",
+            "(", ")", ",", null, ArrayBindingDialect.HSQLDB));
+  }
+
+  @Test
+  void shouldDetectArrayBindingDialectFromDatabaseId() {
+    assertEquals(ArrayBindingDialect.POSTGRESQL, ArrayBindingDialect.forDatabaseId("PostgreSQL"));
+    assertEquals(ArrayBindingDialect.H2, ArrayBindingDialect.forDatabaseId("H2"));
+    assertEquals(ArrayBindingDialect.HSQLDB, ArrayBindingDialect.forDatabaseId("HSQL Database Engine"));
+    assertNull(ArrayBindingDialect.forDatabaseId("Apache Derby"));
+    assertNull(ArrayBindingDialect.forDatabaseId(null));
+  }
+
   private DynamicSqlSource createDynamicSqlSource(SqlNode... contents) throws IOException, SQLException {
     createBlogDataSource();
     final String resource = "org/apache/ibatis/builder/MapperConfig.xml";
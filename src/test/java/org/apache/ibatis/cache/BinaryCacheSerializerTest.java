@@ -0,0 +1,176 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.apache.ibatis.cache.serializer.BinaryCacheSerializer;
+import org.apache.ibatis.cache.serializer.JavaCacheSerializer;
+import org.junit.jupiter.api.Test;
+
+class BinaryCacheSerializerTest {
+
+  private final BinaryCacheSerializer serializer = new BinaryCacheSerializer();
+
+  @Test
+  void shouldCopyValues() {
+    Timestamp timestamp = new Timestamp(1234567890123L);
+    timestamp.setNanos(123456789);
+    List<Object> values = Arrays.asList(null, 1, -2L, (short) 3, (byte) 4, 'c', 1.5f, 2.5d, true, false, "text あ",
+        new BigDecimal("-12345.678900"), new BigInteger("123456789012345678901234567890"), new Date(1234567890123L),
+        new java.sql.Date(1234567890123L), new java.sql.Time(1234567890123L), timestamp, LocalDate.of(2020, 2, 29),
+        LocalTime.of(23, 59, 59, 999), LocalDateTime.of(2020, 2, 29, 23, 59, 59, 999), Instant.ofEpochSecond(-1, 5),
+        Color.GREEN, Color.BLUE, UUID.randomUUID());
+    for (Object value : values) {
+      assertThat(copy(value)).isEqualTo(value);
+    }
+    assertThat(copy(new byte[] { 1, 2, 3 })).isEqualTo(new byte[] { 1, 2, 3 });
+    assertThat(copy(new int[] { 1, 2, 3 })).isEqualTo(new int[] { 1, 2, 3 });
+    assertThat(copy(new String[] { "a", null })).isEqualTo(new String[] { "a", null });
+  }
+
+  @Test
+  void shouldCopyBeansThatAreNotSerializable() {
+    Author author = new Author(1, "Jim");
+    author.tags.add("one");
+    author.properties.put("key", new BigDecimal("10.5"));
+    author.colors = new Color[] { Color.RED };
+    author.secret = "secret";
+
+    Author copy = copy(author);
+
+    assertThat(copy).isNotSameAs(author);
+    assertThat(copy.id).isEqualTo(1);
+    assertThat(copy.name).isEqualTo("Jim");
+    assertThat(copy.tags).isInstanceOf(LinkedHashSet.class).containsExactly("one");
+    assertThat(copy.properties).containsEntry("key", new BigDecimal("10.5"));
+    assertThat(copy.colors).containsExactly(Color.RED);
+    assertThat(copy.secret).isNull();
+  }
+
+  @Test
+  void shouldKeepSharedAndCyclicReferences() {
+    Author author = new Author(1, "Jim");
+    Post first = new Post(author);
+    Post second = new Post(author);
+    author.posts.add(first);
+    author.posts.add(second);
+    List<Post> posts = new ArrayList<>(Arrays.asList(first, second, first));
+
+    List<Post> copy = copy(posts);
+
+    assertThat(copy).hasSize(3);
+    assertThat(copy.get(0)).isSameAs(copy.get(2));
+    assertThat(copy.get(0).author).isSameAs(copy.get(1).author);
+    assertThat(copy.get(0).author.posts).containsExactly(copy.get(0), copy.get(1));
+  }
+
+  @Test
+  void shouldFallBackToJavaSerializationForOtherTypes() {
+    List<String> list = Collections.unmodifiableList(new ArrayList<>(Arrays.asList("a", "b")));
+    assertThat(copy(list)).isEqualTo(list);
+    assertThrows(CacheException.class, () -> serializer.serialize(Collections.singletonList(new Author(1, "Jim"))));
+  }
+
+  @Test
+  void shouldBeSmallerThanJavaSerialization() {
+    List<Row> rows = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      rows.add(new Row(i, "name" + i));
+    }
+    byte[] binary = serializer.serialize(rows);
+    byte[] java = new JavaCacheSerializer().serialize(rows);
+    assertThat(binary.length).isLessThan(java.length);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T copy(T value) {
+    return (T) serializer.deserialize(serializer.serialize(value));
+  }
+
+  enum Color {
+    RED, GREEN, BLUE {
+      @Override
+      public String toString() {
+        return "blue";
+      }
+    }
+  }
+
+  static class Author {
+    private final int id;
+    private String name;
+    private final LinkedHashSet<String> tags = new LinkedHashSet<>();
+    private final Map<String, Object> properties = new HashMap<>();
+    private final List<Post> posts = new ArrayList<>();
+    private Color[] colors;
+    private transient String secret;
+
+    Author() {
+      this(0, null);
+    }
+
+    Author(int id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+  }
+
+  static class Post {
+    private Author author;
+
+    Post() {
+    }
+
+    Post(Author author) {
+      this.author = author;
+    }
+  }
+
+  static class Row implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private int id;
+    private String name;
+
+    Row() {
+    }
+
+    Row(int id, String name) {
+      this.id = id;
+      this.name = name;
+    }
+  }
+
+}
@@ -0,0 +1,124 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.decorators.BlockingCache;
+import org.apache.ibatis.cache.decorators.SynchronizedCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class BlockingCacheTest {
+
+  private final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+  @AfterEach
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void shouldHandOffLoadedValueToWaitingThreads() throws Exception {
+    BlockingCache cache = newCache();
+    cache.setHandOffLoadedValues(true);
+    assertThat(cache.getObject("key")).isNull();
+
+    List<Future<Object>> waiters = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      waiters.add(executor.submit(() -> cache.getObject("key")));
+    }
+    Thread.sleep(100);
+    for (Future<Object> waiter : waiters) {
+      assertThat(waiter.isDone()).isFalse();
+    }
+
+    Object value = new Object();
+    cache.putObject("key", value);
+    for (Future<Object> waiter : waiters) {
+      assertThat(waiter.get(5, TimeUnit.SECONDS)).isSameAs(value);
+    }
+  }
+
+  @Test
+  void shouldReadLoadedValueFromCacheWhenNotHandingOff() throws Exception {
+    BlockingCache cache = newCache();
+    assertThat(cache.getObject("key")).isNull();
+    Future<Object> waiter = executor.submit(() -> cache.getObject("key"));
+    Thread.sleep(100);
+    cache.putObject("key", "value");
+    assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+  }
+
+  @Test
+  void shouldLetAnotherThreadLoadWhenLoaderGivesUp() throws Exception {
+    BlockingCache cache = newCache();
+    assertThat(cache.getObject("key")).isNull();
+    Future<Object> waiter = executor.submit(() -> {
+      Object value = cache.getObject("key");
+      // the waiter is the new loader
+      cache.putObject("key", "loaded");
+      return value;
+    });
+    Thread.sleep(100);
+    cache.removeObject("key");
+    assertThat(waiter.get(5, TimeUnit.SECONDS)).isNull();
+    assertThat(cache.getObject("key")).isEqualTo("loaded");
+  }
+
+  @Test
+  void shouldGiveUpWaitingAfterTimeout() throws Exception {
+    BlockingCache cache = newCache();
+    cache.setTimeout(50);
+    assertThat(cache.getObject("key")).isNull();
+    Future<Object> waiter = executor.submit(() -> cache.getObject("key"));
+    Exception e = assertThrows(Exception.class, () -> waiter.get(5, TimeUnit.SECONDS));
+    assertThat(e.getCause()).isInstanceOf(CacheException.class);
+    cache.removeObject("key");
+  }
+
+  @Test
+  void shouldNotWaitForKeyLoadedByCurrentThread() {
+    BlockingCache cache = newCache();
+    assertThat(cache.getObject("key")).isNull();
+    assertThat(cache.getObject("key")).isNull();
+    cache.putObject("key", "value");
+    assertThat(cache.getObject("key")).isEqualTo("value");
+  }
+
+  @Test
+  void shouldIgnoreReleaseOfKeyThatIsNotLoading() {
+    BlockingCache cache = newCache();
+    cache.putObject("key", "value");
+    cache.removeObject("other");
+    assertThat(cache.getObject("key")).isEqualTo("value");
+    assertThat(cache.getSize()).isEqualTo(1);
+  }
+
+  private BlockingCache newCache() {
+    return new BlockingCache(new SynchronizedCache(new PerpetualCache("default")));
+  }
+
+}
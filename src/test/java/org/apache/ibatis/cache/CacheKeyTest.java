@@ -88,6 +88,32 @@ class CacheKeyTest {
     assertEquals(key1, key2);
   }
 
+  @Test
+  void shouldGrowBeyondExpectedUpdateCount() {
+    CacheKey key1 = new CacheKey(2);
+    CacheKey key2 = new CacheKey();
+    for (int i = 0; i < 20; i++) {
+      key1.update(i);
+      key2.update(i);
+    }
+    assertEquals(20, key1.getUpdateCount());
+    assertEquals(key1, key2);
+    assertEquals(key1.hashCode(), key2.hashCode());
+    assertEquals(key1.toString(), key2.toString());
+  }
+
+  @Test
+  void shouldNotShareComponentsWithClone() throws Exception {
+    CacheKey key = new CacheKey(new Object[] { "a", "b" });
+    CacheKey clone = key.clone();
+    assertEquals(key, clone);
+    clone.update("c");
+    assertEquals(2, key.getUpdateCount());
+    assertEquals(3, clone.getUpdateCount());
+    assertNotEquals(key, clone);
+    assertEquals(new CacheKey(new Object[] { "a", "b", "c" }), clone);
+  }
+
   @Test
   void throwExceptionWhenTryingToUpdateNullCacheKey() {
     CacheKey cacheKey = CacheKey.NULL_CACHE_KEY;
@@ -0,0 +1,134 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.cache.decorators.ConcurrentLruCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentLruCacheTest {
+
+  @Test
+  void shouldRemoveLeastRecentlyUsedItemInBeyondFiveEntries() {
+    ConcurrentLruCache cache = new ConcurrentLruCache(new PerpetualCache("default"));
+    cache.setSize(5);
+    for (int i = 0; i < 5; i++) {
+      cache.putObject(i, i);
+    }
+    assertEquals(0, cache.getObject(0));
+    cache.putObject(5, 5);
+    assertNull(cache.getObject(1));
+    assertEquals(5, cache.getSize());
+  }
+
+  @Test
+  void shouldRemoveItemOnDemand() {
+    Cache cache = new ConcurrentLruCache(new PerpetualCache("default"));
+    cache.putObject(0, 0);
+    assertNotNull(cache.getObject(0));
+    cache.removeObject(0);
+    assertNull(cache.getObject(0));
+  }
+
+  @Test
+  void shouldFlushAllItemsOnDemand() {
+    Cache cache = new ConcurrentLruCache(new PerpetualCache("default"));
+    for (int i = 0; i < 5; i++) {
+      cache.putObject(i, i);
+    }
+    assertNotNull(cache.getObject(0));
+    assertNotNull(cache.getObject(4));
+    cache.clear();
+    assertNull(cache.getObject(0));
+    assertNull(cache.getObject(4));
+  }
+
+  @Test
+  void shouldNotExceedSizeWhenStriped() {
+    ConcurrentLruCache cache = new ConcurrentLruCache(new PerpetualCache("default"));
+    cache.setSize(256);
+    for (int i = 0; i < 10000; i++) {
+      cache.putObject(i, i);
+    }
+    assertTrue(cache.getSize() <= 256 + 16);
+    assertEquals(9999, cache.getObject(9999));
+  }
+
+  @Test
+  void shouldKeepFrequentlyUsedItemWithFrequencyAdmission() {
+    ConcurrentLruCache cache = new ConcurrentLruCache(new PerpetualCache("default"));
+    cache.setSize(5);
+    cache.setFrequencyAdmission(true);
+    for (int i = 0; i < 5; i++) {
+      cache.putObject(i, i);
+      cache.getObject(i);
+    }
+    // a key requested only once does not replace an entry that was read before
+    cache.putObject(5, 5);
+    assertNull(cache.getObject(5));
+    assertEquals(0, cache.getObject(0));
+    // once requested more often it is admitted
+    for (int i = 0; i < 3; i++) {
+      cache.getObject(6);
+    }
+    cache.putObject(6, 6);
+    assertEquals(6, cache.getObject(6));
+    assertEquals(5, cache.getSize());
+  }
+
+  @Test
+  void shouldSupportConcurrentAccess() throws Exception {
+    ConcurrentLruCache cache = new ConcurrentLruCache(new PerpetualCache("default"));
+    cache.setSize(512);
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < 8; t++) {
+        final int offset = t * 1000;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < 20000; i++) {
+            int key = offset + i % 1000;
+            Object value = cache.getObject(key);
+            if (value == null) {
+              cache.putObject(key, key);
+            } else {
+              assertEquals(key, value);
+            }
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertTrue(cache.getSize() <= 512 + 32);
+  }
+
+}
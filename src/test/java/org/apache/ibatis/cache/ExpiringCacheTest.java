@@ -0,0 +1,131 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.apache.ibatis.cache.decorators.ExpiringCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.junit.jupiter.api.Test;
+
+class ExpiringCacheTest {
+
+  @Test
+  void shouldExpireEntriesAfterWrite() throws Exception {
+    ExpiringCache cache = newCache();
+    cache.setExpireAfterWrite(100);
+    cache.putObject(0, 0);
+    assertEquals(0, cache.getObject(0));
+    Thread.sleep(200);
+    cache.putObject(1, 1);
+    assertNull(cache.getObject(0));
+    assertEquals(1, cache.getObject(1));
+    assertEquals(1, cache.getSize());
+  }
+
+  @Test
+  void shouldKeepReadEntriesWhenExpiringAfterAccess() throws Exception {
+    ExpiringCache cache = newCache();
+    cache.setExpireAfterAccess(300);
+    cache.putObject(0, 0);
+    cache.putObject(1, 1);
+    for (int i = 0; i < 5; i++) {
+      Thread.sleep(100);
+      assertEquals(0, cache.getObject(0));
+    }
+    assertNull(cache.getObject(1));
+    assertEquals(0, cache.getObject(0));
+  }
+
+  @Test
+  void shouldRemoveExpiredEntriesWhenSwept() throws Exception {
+    ExpiringCache cache = newCache();
+    cache.setExpireAfterWrite(100);
+    for (int i = 0; i < 10; i++) {
+      cache.putObject(i, i);
+    }
+    Thread.sleep(200);
+    cache.sweep();
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  void shouldRemoveExpiredEntriesInBackground() throws Exception {
+    ExpiringCache cache = newCache();
+    cache.setExpireAfterWrite(100);
+    cache.setSweepInterval(50);
+    for (int i = 0; i < 10; i++) {
+      cache.putObject(i, i);
+    }
+    long deadline = System.currentTimeMillis() + 5000;
+    while (cache.getSize() > 0 && System.currentTimeMillis() < deadline) {
+      Thread.sleep(50);
+    }
+    assertEquals(0, cache.getSize());
+  }
+
+  @Test
+  void shouldRestartExpirationWhenPutAgain() throws Exception {
+    ExpiringCache cache = newCache();
+    cache.setExpireAfterWrite(600);
+    cache.setSweepInterval(-1);
+    cache.putObject(0, 0);
+    Thread.sleep(400);
+    cache.putObject(0, 1);
+    Thread.sleep(400);
+    assertEquals(1, cache.getObject(0));
+  }
+
+  @Test
+  void shouldNotRemoveValuePutWhileExpiringPreviousOne() throws Exception {
+    ExpiringCache[] cache = new ExpiringCache[1];
+    cache[0] = new ExpiringCache(new PerpetualCache("DefaultCache") {
+      @Override
+      public void putObject(Object key, Object value) {
+        super.putObject(key, value);
+        // the sweeper runs right after the delegate stored the new value
+        cache[0].sweep();
+      }
+    });
+    cache[0].setExpireAfterWrite(100);
+    cache[0].setSweepInterval(-1);
+    cache[0].putObject(0, 0);
+    Thread.sleep(200);
+    cache[0].putObject(0, 1);
+    assertEquals(1, cache[0].getObject(0));
+  }
+
+  @Test
+  void shouldRemoveAndClearOnDemand() {
+    ExpiringCache cache = newCache();
+    cache.setExpireAfterWrite(60000);
+    for (int i = 0; i < 5; i++) {
+      cache.putObject(i, i);
+    }
+    cache.removeObject(0);
+    assertNull(cache.getObject(0));
+    assertEquals(4, cache.getSize());
+    cache.clear();
+    assertNull(cache.getObject(4));
+    assertEquals(0, cache.getSize());
+  }
+
+  private ExpiringCache newCache() {
+    return new ExpiringCache(new PerpetualCache("DefaultCache"));
+  }
+
+}
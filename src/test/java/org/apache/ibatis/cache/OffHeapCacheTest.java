@@ -0,0 +1,128 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.ibatis.cache.decorators.LoggingCache;
+import org.apache.ibatis.cache.impl.OffHeapCache;
+import org.apache.ibatis.cache.serializer.JavaCacheSerializer;
+import org.apache.ibatis.mapping.CacheBuilder;
+import org.junit.jupiter.api.Test;
+
+class OffHeapCacheTest {
+
+  @Test
+  void shouldReturnCopiesOfCachedObjects() {
+    OffHeapCache cache = new OffHeapCache("default");
+    List<String> value = new ArrayList<>(Arrays.asList("a", "b"));
+    cache.putObject(1, value);
+    cache.putObject(2, null);
+    assertThat(cache.getObject(1)).isEqualTo(value).isNotSameAs(value);
+    assertThat(cache.getObject(1)).isNotSameAs(cache.getObject(1));
+    assertThat(cache.getObject(2)).isNull();
+    assertThat(cache.getObject(3)).isNull();
+    assertThat(cache.getSize()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldStoreValuesLargerThanOneBlock() {
+    OffHeapCache cache = newCache(4096, 16);
+    StringBuilder value = new StringBuilder();
+    for (int i = 0; i < 100; i++) {
+      value.append(i);
+    }
+    cache.putObject(1, value.toString());
+    assertThat(cache.getObject(1)).isEqualTo(value.toString());
+    assertThat(cache.getUsedBytes()).isGreaterThan(16);
+  }
+
+  @Test
+  void shouldEvictLeastRecentlyUsedEntriesWhenFull() {
+    OffHeapCache cache = newCache(1024, 64);
+    for (int i = 0; i < 16; i++) {
+      cache.putObject(i, i);
+    }
+    assertThat(cache.getSize()).isEqualTo(16);
+    cache.getObject(0);
+    cache.putObject(16, 16);
+    assertThat(cache.getSize()).isEqualTo(16);
+    assertThat(cache.getObject(0)).isEqualTo(0);
+    assertThat(cache.getObject(1)).isNull();
+    assertThat(cache.getObject(16)).isEqualTo(16);
+  }
+
+  @Test
+  void shouldReuseMemoryOfReplacedAndRemovedEntries() {
+    OffHeapCache cache = newCache(1024, 64);
+    cache.putObject(1, "first");
+    cache.putObject(1, "second");
+    assertThat(cache.getUsedBytes()).isEqualTo(64);
+    assertThat(cache.removeObject(1)).isEqualTo("second");
+    assertThat(cache.getUsedBytes()).isZero();
+    cache.putObject(2, "third");
+    cache.clear();
+    assertThat(cache.getSize()).isZero();
+    assertThat(cache.getUsedBytes()).isZero();
+    assertThat(cache.getObject(2)).isNull();
+  }
+
+  @Test
+  void shouldNotCacheValuesLargerThanSegment() {
+    OffHeapCache cache = newCache(64, 16);
+    cache.putObject(1, "small");
+    cache.putObject(1, new byte[1024]);
+    assertThat(cache.getObject(1)).isNull();
+    assertThat(cache.getSize()).isZero();
+  }
+
+  @Test
+  void shouldBeConfiguredByCacheBuilder() {
+    Properties props = new Properties();
+    props.setProperty("capacity", "2048");
+    props.setProperty("blockSize", "32");
+    props.setProperty("serializer", JavaCacheSerializer.class.getName());
+    Cache cache = new CacheBuilder("test").implementation(OffHeapCache.class).properties(props).build();
+    assertThat(cache).isInstanceOf(LoggingCache.class);
+    cache.putObject(1, "value");
+    assertThat(cache.getObject(1)).isEqualTo("value");
+
+    props.setProperty("capacity", "16");
+    assertThrows(CacheException.class,
+        () -> new CacheBuilder("test").implementation(OffHeapCache.class).properties(props).build());
+  }
+
+  @Test
+  void shouldRejectBlocksLargerThanSegment() {
+    CacheException e = assertThrows(CacheException.class, () -> newCache(1L << 32, (1 << 30) + 1));
+    assertThat(e.getMessage()).contains("block size");
+  }
+
+  private OffHeapCache newCache(long capacity, int blockSize) {
+    OffHeapCache cache = new OffHeapCache("default");
+    cache.setCapacity(capacity);
+    cache.setBlockSize(blockSize);
+    cache.initialize();
+    return cache;
+  }
+
+}
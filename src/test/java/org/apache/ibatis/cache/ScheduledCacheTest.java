@@ -19,6 +19,13 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.cache.decorators.ConcurrentLruCache;
 import org.apache.ibatis.cache.decorators.LoggingCache;
 import org.apache.ibatis.cache.decorators.ScheduledCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
@@ -40,6 +47,43 @@ class ScheduledCacheTest {
     assertEquals(0, cache.getSize());
   }
 
+  @Test
+  void shouldClearStaleCacheOnceWhenUsedConcurrently() throws Exception {
+    AtomicInteger clears = new AtomicInteger();
+    Cache cache = new ConcurrentLruCache(new PerpetualCache("DefaultCache") {
+      @Override
+      public void clear() {
+        clears.incrementAndGet();
+        super.clear();
+      }
+    });
+    cache = new ScheduledCache(cache);
+    ((ScheduledCache) cache).setClearInterval(500);
+    Cache scheduledCache = new LoggingCache(cache);
+    scheduledCache.putObject(0, 0);
+    Thread.sleep(600);
+
+    int threads = 8;
+    CountDownLatch start = new CountDownLatch(1);
+    ExecutorService executor = Executors.newFixedThreadPool(threads);
+    try {
+      Future<?>[] futures = new Future<?>[threads];
+      for (int i = 0; i < threads; i++) {
+        futures[i] = executor.submit(() -> {
+          start.await();
+          return scheduledCache.getObject(0);
+        });
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        assertNull(future.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    assertEquals(1, clears.get());
+  }
+
   @Test
   void shouldRemoveItemOnDemand() {
     Cache cache = new PerpetualCache("DefaultCache");
@@ -16,13 +16,16 @@
 package org.apache.ibatis.cache;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.Serializable;
 import java.util.Objects;
 
 import org.apache.ibatis.cache.decorators.SerializedCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.cache.serializer.BinaryCacheSerializer;
 import org.junit.jupiter.api.Test;
 
 class SerializedCacheTest {
@@ -55,6 +58,27 @@ class SerializedCacheTest {
     assertThrows(CacheException.class, () -> cache.putObject(0, new CachingObjectWithoutSerializable(0)));
   }
 
+  @Test
+  void shouldCopyNonSerializableObjectWithBinarySerializer() {
+    SerializedCache cache = new SerializedCache(new PerpetualCache("default"), new BinaryCacheSerializer());
+    CachingObjectWithoutSerializable object = new CachingObjectWithoutSerializable(1);
+    cache.putObject(0, object);
+    Object copy = cache.getObject(0);
+    assertEquals(object, copy);
+    assertNotSame(object, copy);
+  }
+
+  @Test
+  void shouldCountSerializedBytes() {
+    SerializedCache cache = new SerializedCache(new PerpetualCache("default"));
+    assertEquals(0, cache.getSerializedCount());
+    assertEquals(0, cache.getSerializedBytes());
+    cache.putObject(0, new CachingObject(0));
+    cache.putObject(1, new CachingObject(1));
+    assertEquals(2, cache.getSerializedCount());
+    assertTrue(cache.getSerializedBytes() > 0);
+  }
+
   static class CachingObject implements Serializable {
     private static final long serialVersionUID = 1L;
     int x;
@@ -84,6 +108,9 @@ class SerializedCacheTest {
   static class CachingObjectWithoutSerializable {
     int x;
 
+    CachingObjectWithoutSerializable() {
+    }
+
     public CachingObjectWithoutSerializable(int x) {
       this.x = x;
     }
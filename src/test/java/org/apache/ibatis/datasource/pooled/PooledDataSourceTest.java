@@ -18,15 +18,20 @@ package org.apache.ibatis.datasource.pooled;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
+import org.apache.ibatis.executor.statement.StatementCache;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -158,4 +163,67 @@ class PooledDataSourceTest {
     assertEquals(0, poolState.getActiveConnectionCount());
     assertEquals(0, poolState.getIdleConnectionCount());
   }
+
+  @Test
+  void shouldKeepCachedStatementsOfConnectionReturnedToPool() throws Exception {
+    dataSource.setPoolMaximumCachedStatements(2);
+    Connection connection = dataSource.getConnection();
+    assertTrue(connection.isWrapperFor(StatementCache.class));
+    StatementCache statementCache = connection.unwrap(StatementCache.class);
+    PreparedStatement statement = connection.prepareStatement("SELECT 1 FROM INFORMATION_SCHEMA.SYSTEM_USERS");
+    statementCache.putStatement("SELECT 1 FROM INFORMATION_SCHEMA.SYSTEM_USERS", statement);
+    connection.close();
+
+    connection = dataSource.getConnection();
+    assertSame(statementCache, connection.unwrap(StatementCache.class));
+    assertSame(statement, statementCache.getStatement("SELECT 1 FROM INFORMATION_SCHEMA.SYSTEM_USERS"));
+    connection.close();
+  }
+
+  @Test
+  void shouldCloseLeastRecentlyUsedStatementWhenCacheIsFull() throws Exception {
+    dataSource.setPoolMaximumCachedStatements(2);
+    try (Connection connection = dataSource.getConnection()) {
+      StatementCache statementCache = connection.unwrap(StatementCache.class);
+      PreparedStatement first = connection.prepareStatement("SELECT 1 FROM INFORMATION_SCHEMA.SYSTEM_USERS");
+      PreparedStatement second = connection.prepareStatement("SELECT 2 FROM INFORMATION_SCHEMA.SYSTEM_USERS");
+      PreparedStatement third = connection.prepareStatement("SELECT 3 FROM INFORMATION_SCHEMA.SYSTEM_USERS");
+      statementCache.putStatement("first", first);
+      statementCache.putStatement("second", second);
+      statementCache.getStatement("first");
+      statementCache.putStatement("third", third);
+      assertEquals(2, statementCache.getStatementCount());
+      assertTrue(second.isClosed());
+      assertNull(statementCache.getStatement("second"));
+      assertSame(first, statementCache.getStatement("first"));
+      assertSame(third, statementCache.getStatement("third"));
+    }
+  }
+
+  @Test
+  void shouldCloseCachedStatementsOfReclaimedOverdueConnection() throws Exception {
+    dataSource.setPoolMaximumCachedStatements(2);
+    dataSource.setPoolMaximumActiveConnections(1);
+    dataSource.setPoolMaximumCheckoutTime(100);
+    Connection overdue = dataSource.getConnection();
+    StatementCache statementCache = overdue.unwrap(StatementCache.class);
+    PreparedStatement statement = overdue.prepareStatement("SELECT 1 FROM INFORMATION_SCHEMA.SYSTEM_USERS");
+    statementCache.putStatement("SELECT 1 FROM INFORMATION_SCHEMA.SYSTEM_USERS", statement);
+    Thread.sleep(200);
+
+    try (Connection connection = dataSource.getConnection()) {
+      assertEquals(1, dataSource.getPoolState().getClaimedOverdueConnectionCount());
+      assertTrue(statement.isClosed());
+      assertEquals(0, statementCache.getStatementCount());
+      assertNotSame(statementCache, connection.unwrap(StatementCache.class));
+    }
+  }
+
+  @Test
+  void shouldNotCacheStatementsByDefault() throws Exception {
+    try (Connection connection = dataSource.getConnection()) {
+      assertFalse(connection.isWrapperFor(StatementCache.class));
+    }
+  }
+
 }
@@ -15,7 +15,23 @@
  */
 package org.apache.ibatis.executor;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.executor.statement.StatementCache;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.jdbc.JdbcTransaction;
 import org.junit.jupiter.api.Test;
 
 class ReuseExecutorTest extends BaseExecutorTest {
@@ -30,6 +46,94 @@ class ReuseExecutorTest extends BaseExecutorTest {
     super.shouldFetchPostWithBlogWithCompositeKey();
   }
 
+  @Test
+  void shouldReuseStatementsCachedOnPooledConnectionAcrossExecutors() throws Exception {
+    PooledDataSource dataSource = BaseDataTest.createPooledDataSource(BaseDataTest.BLOG_PROPERTIES);
+    dataSource.setPoolMaximumActiveConnections(1);
+    dataSource.setPoolMaximumCachedStatements(10);
+    try {
+      MappedStatement selectStatement = ExecutorTestHelper.prepareSelectOneAuthorMappedStatement(config);
+      String key = StatementCache.keyOf(selectStatement, selectStatement.getBoundSql(101).getSql());
+
+      Executor executor = createExecutor(new JdbcTransaction(dataSource, null, false));
+      assertEquals(1, executor.query(selectStatement, 101, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER).size());
+      Connection connection = executor.getTransaction().getConnection();
+      StatementCache statementCache = connection.unwrap(StatementCache.class);
+      Statement statement = statementCache.getStatement(key);
+      executor.close(false);
+      assertFalse(statement.isClosed());
+
+      executor = createExecutor(new JdbcTransaction(dataSource, null, false));
+      assertEquals(1, executor.query(selectStatement, 101, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER).size());
+      assertSame(statementCache, executor.getTransaction().getConnection().unwrap(StatementCache.class));
+      assertSame(statement, statementCache.getStatement(key));
+      assertEquals(1, statementCache.getStatementCount());
+      executor.close(false);
+    } finally {
+      dataSource.forceCloseAll();
+    }
+  }
+
+  @Test
+  void shouldApplyTimeoutOfCurrentSessionToCachedStatement() throws Exception {
+    PooledDataSource dataSource = BaseDataTest.createPooledDataSource(BaseDataTest.BLOG_PROPERTIES);
+    dataSource.setPoolMaximumActiveConnections(1);
+    dataSource.setPoolMaximumCachedStatements(10);
+    try {
+      MappedStatement selectStatement = ExecutorTestHelper.prepareSelectOneAuthorMappedStatement(config);
+      String key = StatementCache.keyOf(selectStatement, selectStatement.getBoundSql(101).getSql());
+
+      Executor executor = createExecutor(new JdbcTransaction(dataSource, null, false) {
+        @Override
+        public Integer getTimeout() {
+          return 5;
+        }
+      });
+      executor.query(selectStatement, 101, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+      StatementCache statementCache = executor.getTransaction().getConnection().unwrap(StatementCache.class);
+      Statement statement = statementCache.getStatement(key);
+      assertEquals(5, statement.getQueryTimeout());
+      executor.close(false);
+
+      executor = createExecutor(new JdbcTransaction(dataSource, null, false));
+      executor.query(selectStatement, 101, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+      assertSame(statement, statementCache.getStatement(key));
+      // the default statement timeout, no longer lowered by the transaction timeout of the first session
+      assertEquals(5000, statement.getQueryTimeout());
+      executor.close(false);
+    } finally {
+      dataSource.forceCloseAll();
+    }
+  }
+
+  @Test
+  void shouldNotShareCachedStatementBetweenResultSetTypes() throws Exception {
+    PooledDataSource dataSource = BaseDataTest.createPooledDataSource(BaseDataTest.BLOG_PROPERTIES);
+    dataSource.setPoolMaximumActiveConnections(1);
+    dataSource.setPoolMaximumCachedStatements(10);
+    try {
+      MappedStatement selectStatement = ExecutorTestHelper.prepareSelectOneAuthorMappedStatement(config);
+      MappedStatement scrollableStatement = new MappedStatement.Builder(config, "selectAuthorScrollable",
+          selectStatement.getSqlSource(), SqlCommandType.SELECT).parameterMap(selectStatement.getParameterMap())
+              .resultMaps(selectStatement.getResultMaps()).resultSetType(ResultSetType.SCROLL_INSENSITIVE).build();
+
+      Executor executor = createExecutor(new JdbcTransaction(dataSource, null, false));
+      executor.query(selectStatement, 101, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER);
+      executor.close(false);
+
+      executor = createExecutor(new JdbcTransaction(dataSource, null, false));
+      assertEquals(1, executor.query(scrollableStatement, 101, RowBounds.DEFAULT, Executor.NO_RESULT_HANDLER).size());
+      StatementCache statementCache = executor.getTransaction().getConnection().unwrap(StatementCache.class);
+      assertEquals(2, statementCache.getStatementCount());
+      Statement scrollable = statementCache
+          .getStatement(StatementCache.keyOf(scrollableStatement, selectStatement.getBoundSql(101).getSql()));
+      assertEquals(ResultSet.TYPE_SCROLL_INSENSITIVE, scrollable.getResultSetType());
+      executor.close(false);
+    } finally {
+      dataSource.forceCloseAll();
+    }
+  }
+
   @Override
   protected Executor createExecutor(Transaction transaction) {
     return new ReuseExecutor(config, transaction);
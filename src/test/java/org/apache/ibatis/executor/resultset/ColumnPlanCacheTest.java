@@ -0,0 +1,153 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.resultset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.IntegerTypeHandler;
+import org.apache.ibatis.type.JdbcType;
+import org.apache.ibatis.type.StringTypeHandler;
+import org.junit.jupiter.api.Test;
+
+class ColumnPlanCacheTest {
+
+  private final Configuration configuration = new Configuration();
+  private final ColumnPlanCache cache = new ColumnPlanCache();
+
+  @Test
+  void shouldReusePlanWhenColumnsAreTheSame() throws SQLException {
+    ResultSetWrapper first = new ResultSetWrapper(resultSet("ID", Types.INTEGER), configuration, cache, 0);
+    assertThat(first.getTypeHandler(Integer.class, "ID")).isInstanceOf(IntegerTypeHandler.class);
+
+    ResultSetWrapper second = new ResultSetWrapper(resultSet("ID", Types.INTEGER), configuration, cache, 0);
+    assertThat(second.getColumnPlan()).isSameAs(first.getColumnPlan());
+    assertThat(second.getColumnNames()).containsExactly("ID");
+    assertThat(second.getJdbcTypes()).containsExactly(JdbcType.INTEGER);
+    assertThat(second.getTypeHandler(Integer.class, "ID")).isSameAs(first.getTypeHandler(Integer.class, "ID"));
+  }
+
+  @Test
+  void shouldReplacePlanWhenColumnsChange() throws SQLException {
+    ColumnPlan plan = new ResultSetWrapper(resultSet("ID", Types.INTEGER), configuration, cache, 0).getColumnPlan();
+
+    ColumnPlan renamed = new ResultSetWrapper(resultSet("NAME", Types.INTEGER), configuration, cache, 0)
+        .getColumnPlan();
+    assertThat(renamed).isNotSameAs(plan);
+    assertThat(renamed.columnNames).containsExactly("NAME");
+
+    ColumnPlan retyped = new ResultSetWrapper(resultSet("NAME", Types.VARCHAR), configuration, cache, 0)
+        .getColumnPlan();
+    assertThat(retyped).isNotSameAs(renamed);
+    assertThat(retyped.jdbcTypes).containsExactly(JdbcType.VARCHAR);
+
+    ColumnPlan widened = new ResultSetWrapper(resultSet("NAME", Types.VARCHAR, "ID", Types.INTEGER), configuration,
+        cache, 0).getColumnPlan();
+    assertThat(widened).isNotSameAs(retyped);
+    assertThat(widened.columnNames).containsExactly("NAME", "ID");
+  }
+
+  @Test
+  void shouldKeepOnePlanPerResultSet() throws SQLException {
+    ColumnPlan first = new ResultSetWrapper(resultSet("ID", Types.INTEGER), configuration, cache, 0).getColumnPlan();
+    ColumnPlan second = new ResultSetWrapper(resultSet("NAME", Types.VARCHAR), configuration, cache, 1).getColumnPlan();
+
+    assertThat(new ResultSetWrapper(resultSet("ID", Types.INTEGER), configuration, cache, 0).getColumnPlan())
+        .isSameAs(first);
+    assertThat(new ResultSetWrapper(resultSet("NAME", Types.VARCHAR), configuration, cache, 1).getColumnPlan())
+        .isSameAs(second);
+  }
+
+  @Test
+  void shouldNotShareUncachedPlans() throws SQLException {
+    ResultSetWrapper first = new ResultSetWrapper(resultSet("ID", Types.INTEGER), configuration);
+    ResultSetWrapper second = new ResultSetWrapper(resultSet("ID", Types.INTEGER), configuration);
+    assertThat(second.getColumnPlan()).isNotSameAs(first.getColumnPlan());
+  }
+
+  @Test
+  void shouldDropPlansOnClear() throws SQLException {
+    ColumnPlan plan = new ResultSetWrapper(resultSet("ID", Types.INTEGER), configuration, cache, 0).getColumnPlan();
+    cache.clear();
+    assertThat(new ResultSetWrapper(resultSet("ID", Types.INTEGER), configuration, cache, 0).getColumnPlan())
+        .isNotSameAs(plan);
+  }
+
+  @Test
+  void shouldResolveColumnIndexesOncePerPlan() throws SQLException {
+    ResultSet rs = resultSet("ID", Types.INTEGER, "NAME", Types.VARCHAR, "name", Types.VARCHAR);
+    when(rs.getString(2)).thenReturn("User1");
+    ResultSetWrapper first = new ResultSetWrapper(rs, configuration, cache, 0);
+    assertThat(first.getColumnIndex("id")).isEqualTo(1);
+    assertThat(first.getColumnIndex("name")).isEqualTo(2);
+    assertThat(first.getColumnIndex("MISSING")).isEqualTo(-1);
+    assertThat(first.getResult(new StringTypeHandler(), "Name")).isEqualTo("User1");
+    verify(rs, never()).getString("Name");
+
+    ResultSetWrapper second = new ResultSetWrapper(
+        resultSet("ID", Types.INTEGER, "NAME", Types.VARCHAR, "name", Types.VARCHAR), configuration, cache, 0);
+    assertThat(second.getColumnPlan().columnIndexes).containsEntry("name", 2).containsEntry("MISSING", -1);
+  }
+
+  @Test
+  void shouldResolveColumnIndexesAgainstLabelsWhenColumnNamesAreUsed() throws SQLException {
+    configuration.setUseColumnLabel(false);
+    ResultSet rs = resultSet("USER_ID", Types.INTEGER, "ID", Types.VARCHAR);
+    ResultSetMetaData metaData = rs.getMetaData();
+    when(metaData.getColumnName(1)).thenReturn("ID");
+    when(metaData.getColumnName(2)).thenReturn("NAME");
+    when(rs.getString("NAME")).thenReturn("User1");
+    ResultSetWrapper rsw = new ResultSetWrapper(rs, configuration, cache, 0);
+
+    assertThat(rsw.getColumnNames()).containsExactly("ID", "NAME");
+    // the driver resolves names against labels, so reading by index must too
+    assertThat(rsw.getColumnIndex("ID")).isEqualTo(2);
+    assertThat(rsw.getColumnIndex("NAME")).isEqualTo(-1);
+    assertThat(rsw.getJdbcType("ID")).isEqualTo(JdbcType.INTEGER);
+    assertThat(rsw.getResult(new StringTypeHandler(), "NAME")).isEqualTo("User1");
+
+    ResultSet relabeled = resultSet("USER_ID", Types.INTEGER, "USER_NAME", Types.VARCHAR);
+    when(relabeled.getMetaData().getColumnName(1)).thenReturn("ID");
+    when(relabeled.getMetaData().getColumnName(2)).thenReturn("NAME");
+    assertThat(new ResultSetWrapper(relabeled, configuration, cache, 0).getColumnPlan())
+        .isNotSameAs(rsw.getColumnPlan());
+  }
+
+  private ResultSet resultSet(Object... columns) throws SQLException {
+    ResultSet rs = mock(ResultSet.class);
+    ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+    when(rs.getMetaData()).thenReturn(metaData);
+    when(metaData.getColumnCount()).thenReturn(columns.length / 2);
+    for (int i = 0; i < columns.length / 2; i++) {
+      int type = (Integer) columns[i * 2 + 1];
+      when(metaData.getColumnLabel(i + 1)).thenReturn((String) columns[i * 2]);
+      when(metaData.getColumnType(i + 1)).thenReturn(type);
+      when(metaData.getColumnClassName(i + 1))
+          .thenReturn(type == Types.INTEGER ? Integer.class.getName() : String.class.getName());
+    }
+    return rs;
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -24,6 +24,12 @@ import java.lang.reflect.Field;
 import org.apache.ibatis.builder.InitializingObject;
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.cache.decorators.BlockingCache;
+import org.apache.ibatis.cache.decorators.ConcurrentLruCache;
+import org.apache.ibatis.cache.decorators.ExpiringCache;
+import org.apache.ibatis.cache.decorators.LoggingCache;
+import org.apache.ibatis.cache.decorators.LruCache;
+import org.apache.ibatis.cache.decorators.SynchronizedCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -44,6 +50,47 @@ class CacheBuilderTest {
         "Failed cache initialization for 'test' on 'org.apache.ibatis.mapping.CacheBuilderTest$InitializingFailureCache'");
   }
 
+  @Test
+  void testSynchronizedCacheIsNotAddedForConcurrentEviction() {
+    Cache cache = new CacheBuilder("test").addDecorator(ConcurrentLruCache.class).build();
+    Assertions.assertThat(cache).isInstanceOf(LoggingCache.class);
+    Assertions.assertThat((Cache) unwrap(cache)).isInstanceOf(ConcurrentLruCache.class);
+
+    cache = new CacheBuilder("test").addDecorator(LruCache.class).build();
+    Assertions.assertThat(cache).isInstanceOf(SynchronizedCache.class);
+  }
+
+  @Test
+  void testExpiringCacheIsAddedInsideLoggingCache() {
+    Cache cache = new CacheBuilder("test").expireAfterWrite(60000L).build();
+    Assertions.assertThat(cache).isInstanceOf(LoggingCache.class);
+    Cache expiringCache = unwrap(cache);
+    Assertions.assertThat(expiringCache).isInstanceOf(ExpiringCache.class);
+    Assertions.assertThat((Cache) unwrap(expiringCache)).isInstanceOf(SynchronizedCache.class);
+
+    cache = new CacheBuilder("test").expireAfterAccess(60000L).blocking(true).build();
+    Assertions.assertThat(cache).isInstanceOf(BlockingCache.class);
+    Cache loggingCache = unwrap(cache);
+    Assertions.assertThat(loggingCache).isInstanceOf(LoggingCache.class);
+    Assertions.assertThat((Cache) unwrap(loggingCache)).isInstanceOf(ExpiringCache.class);
+
+    cache = new CacheBuilder("test").addDecorator(ConcurrentLruCache.class).expireAfterWrite(60000L).build();
+    expiringCache = unwrap(cache);
+    Assertions.assertThat((Cache) unwrap(expiringCache)).isInstanceOf(ConcurrentLruCache.class);
+
+    cache = new CacheBuilder("test").expireAfterWrite(0L).build();
+    Assertions.assertThat(cache).isInstanceOf(SynchronizedCache.class);
+  }
+
+  @Test
+  void testLoadedValuesAreHandedOffOnlyForReadOnlyCaches() {
+    Cache cache = new CacheBuilder("test").blocking(true).build();
+    Assertions.assertThat(((BlockingCache) cache).isHandOffLoadedValues()).isTrue();
+
+    cache = new CacheBuilder("test").readWrite(true).blocking(true).build();
+    Assertions.assertThat(((BlockingCache) cache).isHandOffLoadedValues()).isFalse();
+  }
+
   @SuppressWarnings("unchecked")
   private <T> T unwrap(Cache cache) {
     Field field;
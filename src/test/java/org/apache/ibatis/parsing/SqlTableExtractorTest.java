@@ -0,0 +1,65 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.parsing;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class SqlTableExtractorTest {
+
+  @ParameterizedTest
+  @CsvSource(delimiter = '|', value = { "select id, name from author where id = ?|author",
+      "SELECT * FROM Blog b JOIN author a ON a.id = b.author_id LEFT OUTER JOIN post p USING (blog_id)|blog,author,post",
+      "select * from blog b, author as a, post where b.id = ?|blog,author,post",
+      "select * from \"Public\".\"Blog\" inner join [dbo].[Author] on 1 = 1|blog,author",
+      "insert into author (id, name) values (?, ?)|author",
+      "insert into author_copy select * from author|author_copy,author",
+      "update author set name = ? where id in (select author_id from blog)|author,blog",
+      "delete from post where blog_id = ?|post",
+      "select * from (select * from author) a where name = 'from blog'|author",
+      "select * from author where id = ? -- join blog|author",
+      "select * from author /* join blog */ for update of author nowait|author",
+      "insert into tag (id) values (?) on duplicate key update name = ?|tag", "select next value for seq|''",
+      "call refresh_author(?)|''",
+      "select * from blog b join author a on a.id = b.author_id, post p where p.blog_id = b.id|blog,author,post",
+      "select * from blog b left join author a on a.id = f(b.author_id, 1), post|blog,author,post",
+      "select a.id, b.id from author a, (select id from blog) b, post order by a.id, b.id|author,blog,post",
+      "merge into author a using author_copy c on (a.id = c.id) when matched then update set a.name = c.name|author,author_copy",
+      "insert into tag (id) values (?) on conflict (id) do update set name = ?|tag",
+      "select * from \"order\" o join \"value\" v on v.id = o.id|order,value" })
+  void shouldExtractTables(String sql, String expected) {
+    String[] tables = expected.isEmpty() ? new String[0] : expected.split(",");
+    assertThat(SqlTableExtractor.extract(sql)).containsExactly(tables);
+  }
+
+  @ParameterizedTest
+  @CsvSource(delimiter = '|', value = { "select * from order where id = ?", "insert into value (id) values (?)",
+      "select * from blog b join start s on s.id = b.id",
+      "update author set name = ? where id in (select id from order)", "select * from author, order" })
+  void shouldNotReportTablesWhenTableNamesCannotBeToldFromKeywords(String sql) {
+    assertThat(SqlTableExtractor.extract(sql)).isEmpty();
+  }
+
+  @ParameterizedTest
+  @CsvSource(delimiter = '|', value = { "author|author", "  Author , BLOG|author,blog", "\"Public\".\"Blog\"|blog",
+      "author, author|author" })
+  void shouldNormalizeTableNames(String names, String expected) {
+    assertThat(SqlTableExtractor.normalizeTableNames(names.split(","))).containsExactly(expected.split(","));
+  }
+
+}
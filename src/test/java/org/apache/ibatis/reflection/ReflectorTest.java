@@ -20,6 +20,8 @@ import static com.googlecode.catchexception.apis.BDDCatchException.when;
 import static org.assertj.core.api.BDDAssertions.then;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.Serializable;
@@ -362,4 +364,33 @@ class ReflectorTest {
         "Ambiguous setters defined for property 'bool' in class '" + Bean.class.getName().replace("$", "\\$")
             + "' with types '(java.lang.Integer|boolean)' and '(java.lang.Integer|boolean)'\\.");
   }
+
+  @Test
+  void shouldProvideSetterHandles() throws Throwable {
+    @SuppressWarnings("unused")
+    class Bean {
+      private int count;
+      private String name;
+
+      public void setName(String name) {
+        this.name = name;
+      }
+
+      public void setAmbiguous(String value) {
+      }
+
+      public void setAmbiguous(Integer value) {
+      }
+    }
+    ReflectorFactory reflectorFactory = new DefaultReflectorFactory();
+    Reflector reflector = reflectorFactory.findForClass(Bean.class);
+    Bean bean = new Bean();
+    reflector.getSetterHandle("name").invokeExact((Object) bean, (Object) "foo");
+    reflector.getSetterHandle("count").invokeExact((Object) bean, (Object) 3);
+    assertEquals("foo", bean.name);
+    assertEquals(3, bean.count);
+    assertSame(reflector.getSetterHandle("name"), reflector.getSetterHandle("name"));
+    assertNull(reflector.getSetterHandle("ambiguous"));
+    assertNull(reflector.getSetterHandle("unknown"));
+  }
 }
@@ -0,0 +1,156 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.scripting.xmltags;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Section;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class CompiledExpressionEngineTest {
+
+  private final CompiledExpressionEngine engine = new CompiledExpressionEngine();
+
+  @ParameterizedTest
+  @ValueSource(strings = { "name", "name != null", "name == null", "name != null and name != ''", "name eq 'jane'",
+      "name == \"jane\"", "name.length() > 3", "name.trim().isEmpty()", "missing == null",
+      "ids != null && ids.size() > 0", "ids.size() == 3", "ids.isEmpty()", "!ids.isEmpty()", "not empty.isEmpty()",
+      "count > 1", "count >= 2", "count lt 3", "count lte 2", "count gt 2.5", "count gte 2 and count < 10",
+      "count == 2L", "ratio > 0.5", "flag", "flag == true", "flag or missing", "missing || count", "missing && count",
+      "(count > 1 or flag) and name", "author.username == 'jane'", "author.username != null and author.id > 0",
+      "author.favouriteSection.name() == 'NEWS'", "inner.author.bio", "inner.size", "letter == \"c\"", "missing.name",
+      "_parameter.name", "_databaseId == null", "count != 2", "1 == 1.0", "'1' == 1" })
+  void shouldMatchOgnl(String expression) {
+    Map<String, Object> bindings = bindings();
+    assertEquals(OgnlCache.getValue(expression, bindings), engine.getValue(expression, bindings));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "name != null", "ids.size() > 0", "!ids.isEmpty()", "count gte 2 and count < 10",
+      "author.username == 'jane'", "(flag or missing) and name.length() == 4", "letter == \"c\"" })
+  void shouldCompileCommonExpressions(String expression) {
+    assertTrue(engine.isCompiled(expression));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "count + 1 > 2", "count == 2L", "ids[0] == 1", "ids.contains(1)",
+      "@java.lang.Math@max(1, 2)", "#this", "name in {'jane'}", "flag ? 1 : 0", "name = 'x'", "name == 'it\\'s'",
+      "count == 010", "count == 1e1", "name.substring(1)", "-count < 0", "name instanceof String" })
+  void shouldFallBackToOgnlForOtherExpressions(String expression) {
+    assertFalse(engine.isCompiled(expression));
+  }
+
+  @Test
+  void shouldFallBackToOgnlWhenCompiledCodeCannotEvaluate() {
+    Map<String, Object> bindings = bindings();
+    // pseudo property of a map, property of an array and getter of a non-public class
+    assertEquals(1, engine.getValue("inner.size", bindings));
+    assertEquals(3, engine.getValue("array.length", bindings));
+    assertEquals(2, engine.getValue("hidden.value", bindings));
+    assertEquals(Boolean.TRUE, engine.getValue("author.username.isEmpty() == false", bindings));
+  }
+
+  @Test
+  void shouldReportErrorsLikeOgnl() {
+    Map<String, Object> bindings = bindings();
+    BuilderException e = assertThrows(BuilderException.class, () -> engine.getValue("name.unknown", bindings));
+    assertTrue(e.getMessage().contains("name.unknown"));
+  }
+
+  @Test
+  void shouldReportGetterExceptionsWithoutCallingGetterAgain() {
+    Failing failing = new Failing();
+    Map<String, Object> bindings = new DynamicContext(new Configuration(), failing).getBindings();
+    BuilderException e = assertThrows(BuilderException.class,
+        () -> engine.getValue("_parameter.value != null", bindings));
+    assertTrue(e.getMessage().contains("_parameter.value != null"));
+    assertEquals(IllegalStateException.class, e.getCause().getClass());
+    assertEquals(1, failing.calls);
+
+    assertThrows(BuilderException.class, () -> engine.getValue("value != null", bindings));
+    assertEquals(2, failing.calls);
+  }
+
+  @Test
+  void shouldResolveNamesAgainstBeanParameter() {
+    Author author = new Author(1, "jane", null, null, null, Section.NEWS);
+    Map<String, Object> bindings = new DynamicContext(new Configuration(), author).getBindings();
+    assertEquals(Boolean.TRUE, engine.getValue("username != null and password == null", bindings));
+    assertEquals(Boolean.TRUE, engine.getValue("favouriteSection.name() == 'NEWS'", bindings));
+  }
+
+  @Test
+  void shouldBeUsedByConfiguredStatements() {
+    Configuration configuration = new Configuration();
+    configuration.setExpressionEngine(engine);
+    IfSqlNode node = new IfSqlNode(new StaticTextSqlNode("a = 1"), "name != null and count > 1",
+        configuration.getExpressionEngine());
+    DynamicContext context = new DynamicContext(configuration, parameter());
+    assertTrue(node.apply(context));
+    assertEquals("a = 1", context.getSql());
+  }
+
+  private Map<String, Object> bindings() {
+    return new DynamicContext(new Configuration(), parameter()).getBindings();
+  }
+
+  private Map<String, Object> parameter() {
+    Map<String, Object> inner = new HashMap<>();
+    inner.put("author", new Author(2, "joe", null, null, "bio", Section.VIDEOS));
+    Map<String, Object> parameter = new HashMap<>();
+    parameter.put("name", "jane");
+    parameter.put("ids", Arrays.asList(1, 2, 3));
+    parameter.put("empty", Collections.emptyList());
+    parameter.put("count", 2);
+    parameter.put("ratio", 0.75d);
+    parameter.put("flag", Boolean.FALSE);
+    parameter.put("letter", "c");
+    parameter.put("author", new Author(1, "jane", null, null, null, Section.NEWS));
+    parameter.put("inner", inner);
+    parameter.put("array", new int[] { 1, 2, 3 });
+    parameter.put("hidden", new Hidden());
+    return parameter;
+  }
+
+  static class Hidden {
+    public int getValue() {
+      return 2;
+    }
+  }
+
+  public static class Failing {
+    private int calls;
+
+    public String getValue() {
+      calls++;
+      throw new IllegalStateException("failed");
+    }
+  }
+
+}
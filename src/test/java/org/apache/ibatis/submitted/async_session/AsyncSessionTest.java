@@ -0,0 +1,186 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.async_session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.AsyncSqlSession;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionException;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class AsyncSessionTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (
+        Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/async_session/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+  }
+
+  @BeforeEach
+  void createTable() throws Exception {
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/async_session/CreateDB.sql");
+  }
+
+  @Test
+  void shouldReturnResultsOfMapperMethodsAsFutures() {
+    AsyncSqlSession asyncSession = sqlSessionFactory.openAsyncSession();
+    try {
+      Mapper mapper = asyncSession.getMapper(Mapper.class);
+      CompletableFuture<User> user = mapper.getUser(1);
+      CompletableFuture<List<User>> users = mapper.getUsers();
+      assertThat(user.join().getName()).isEqualTo("User1");
+      assertThat(users.join()).extracting(User::getName).containsExactly("User1", "User2");
+    } finally {
+      asyncSession.close().join();
+    }
+  }
+
+  @Test
+  void shouldRunStatementsOfSessionInOrderInOneTransaction() {
+    AsyncSqlSession asyncSession = sqlSessionFactory.openAsyncSession();
+    try {
+      Mapper mapper = asyncSession.getMapper(Mapper.class);
+      CompletableFuture<Integer> inserted = mapper.insertUser(new User(3, "User3"));
+      CompletableFuture<List<User>> usersBeforeRollback = mapper.getUsers();
+      asyncSession.rollback(true);
+      CompletableFuture<List<User>> usersAfterRollback = mapper.getUsers();
+      CompletableFuture<Void> deleted = mapper.deleteUsers();
+      CompletableFuture<Void> committed = asyncSession.commit(true);
+      assertThat(inserted.join()).isEqualTo(1);
+      assertThat(usersBeforeRollback.join()).hasSize(3);
+      assertThat(usersAfterRollback.join()).hasSize(2);
+      assertThat(deleted.join()).isNull();
+      committed.join();
+    } finally {
+      asyncSession.close().join();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getMapper(Mapper.class).getUsers().join()).isEmpty();
+    }
+  }
+
+  @Test
+  void shouldRunBlockingMapperMethodsOnSession() {
+    AsyncSqlSession asyncSession = sqlSessionFactory.openAsyncSession();
+    try {
+      Mapper mapper = asyncSession.getMapper(Mapper.class);
+      mapper.insertUser(new User(3, "User3"));
+      assertThat(mapper.getUserNow(3).getName()).isEqualTo("User3");
+      assertThat(asyncSession.execute(session -> session.getMapper(Mapper.class).getUserNow(2)).join().getName())
+          .isEqualTo("User2");
+    } finally {
+      asyncSession.rollback(true);
+      asyncSession.close().join();
+    }
+  }
+
+  @Test
+  void shouldRunStatementsOfSessionsAtTheSameTime() {
+    CountDownLatch started = new CountDownLatch(2);
+    List<AsyncSqlSession> asyncSessions = new ArrayList<>();
+    List<CompletableFuture<Boolean>> results = new ArrayList<>();
+    for (int i = 0; i < 2; i++) {
+      AsyncSqlSession asyncSession = sqlSessionFactory.openAsyncSession();
+      asyncSessions.add(asyncSession);
+      results.add(asyncSession.execute(session -> {
+        started.countDown();
+        try {
+          return started.await(10, TimeUnit.SECONDS)
+              && session.selectList("org.apache.ibatis.submitted.async_session.Mapper.getUsers").size() == 2;
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          return false;
+        }
+      }));
+    }
+    assertThat(results).allSatisfy(result -> assertThat(result.join()).isTrue());
+    asyncSessions.forEach(asyncSession -> asyncSession.close().join());
+  }
+
+  @Test
+  void shouldFailOnlyTheFutureOfAFailedStatement() {
+    AsyncSqlSession asyncSession = sqlSessionFactory.openAsyncSession();
+    try {
+      CompletableFuture<User> failed = asyncSession.selectOne("unknownStatement");
+      CompletableFuture<List<User>> users = asyncSession
+          .selectList("org.apache.ibatis.submitted.async_session.Mapper.getUsers");
+      assertThatThrownBy(failed::join).isInstanceOf(CompletionException.class);
+      assertThat(users.join()).hasSize(2);
+    } finally {
+      asyncSession.close().join();
+    }
+  }
+
+  @Test
+  void shouldFailStatementsAfterClose() {
+    AsyncSqlSession asyncSession = sqlSessionFactory.openAsyncSession();
+    asyncSession.close().join();
+    assertThatThrownBy(() -> asyncSession.getMapper(Mapper.class).getUsers().join())
+        .isInstanceOf(CompletionException.class).hasCauseInstanceOf(SqlSessionException.class);
+    assertThatThrownBy(() -> asyncSession.getMapper(Mapper.class).getUserNow(1))
+        .isInstanceOf(SqlSessionException.class);
+  }
+
+  @Test
+  void shouldRunStatementsOnConfiguredExecutor() {
+    AtomicInteger executed = new AtomicInteger();
+    sqlSessionFactory.getConfiguration().setAsyncExecutor(command -> {
+      executed.incrementAndGet();
+      new Thread(command).start();
+    });
+    try {
+      AsyncSqlSession asyncSession = sqlSessionFactory.openAsyncSession();
+      assertThat(asyncSession.getMapper(Mapper.class).getUser(2).join().getName()).isEqualTo("User2");
+      asyncSession.close().join();
+    } finally {
+      sqlSessionFactory.getConfiguration().setAsyncExecutor(null);
+    }
+    assertThat(executed).hasValue(2);
+  }
+
+  @Test
+  void shouldCompleteFuturesOfBlockingSession() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      CompletableFuture<User> user = mapper.getUser(1);
+      assertThat(user).isDone();
+      assertThat(user.join().getName()).isEqualTo("User1");
+    }
+  }
+
+}
@@ -0,0 +1,180 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_grouping;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchGroupingTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/batch_grouping/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+  }
+
+  @BeforeEach
+  void createTables() throws Exception {
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/batch_grouping/CreateDB.sql");
+  }
+
+  @AfterEach
+  void resetMaxBatchStatements() {
+    sqlSessionFactory.getConfiguration().setMaxBatchStatements(4);
+    sqlSessionFactory.getConfiguration().setBatchSize(null);
+  }
+
+  @Test
+  void shouldGroupInterleavedInsertsOfParentsAndChildren() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 3; i++) {
+        mapper.insertParent(new Item(i, null, "Parent" + i));
+        mapper.insertChild(new Item(i * 10, i, "Child" + i));
+        mapper.insertChild(new Item(i * 10 + 1, i, "Child" + i));
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).hasSize(2);
+      assertThat(results.get(0).getParameterObjects()).hasSize(3);
+      assertThat(results.get(0).getUpdateCounts()).containsExactly(1, 1, 1);
+      assertThat(results.get(1).getParameterObjects()).hasSize(6);
+      sqlSession.commit();
+      assertThat(mapper.getParents()).extracting(Item::getName).containsExactly("Parent1", "Parent2", "Parent3");
+      assertThat(mapper.getChildren()).extracting(Item::getParentId).containsExactly(1, 1, 2, 2, 3, 3);
+    }
+  }
+
+  @Test
+  void shouldNotInsertChildBeforeItsParent() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.insertParent(new Item(1, null, "Parent1"));
+      sqlSession.flushStatements();
+      mapper.insertChild(new Item(10, 1, "Child1"));
+      mapper.insertParent(new Item(2, null, "Parent2"));
+      mapper.insertChild(new Item(20, 2, "Child2"));
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).extracting(result -> result.getMappedStatement().getId().replaceAll(".*\\.", ""))
+          .containsExactly("insertChild", "insertParent", "insertChild");
+      sqlSession.commit();
+      assertThat(mapper.getChildren()).extracting(Item::getParentId).containsExactly(1, 2);
+    }
+  }
+
+  @Test
+  void shouldNotMoveUpdateWithoutDeclaredTables() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.insertParent(new Item(1, null, "Parent1"));
+      sqlSession.flushStatements();
+      mapper.insertChildWithoutTables(new Item(10, 1, "Child1"));
+      mapper.insertAudit("inserted");
+      mapper.insertParent(new Item(2, null, "Parent2"));
+      mapper.insertChildWithoutTables(new Item(20, 2, "Child2"));
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).extracting(result -> result.getParameterObjects().size()).containsExactly(1, 1, 1, 1);
+      sqlSession.commit();
+      assertThat(mapper.getChildren()).extracting(Item::getParentId).containsExactly(1, 2);
+    }
+  }
+
+  @Test
+  void shouldNotGroupAcrossUpdateOfSameTable() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.insertParent(new Item(1, null, "Parent1"));
+      mapper.insertAudit("inserted");
+      mapper.updateParent(new Item(1, null, "Renamed"));
+      mapper.insertAudit("updated");
+      mapper.insertParent(new Item(2, null, "Parent2"));
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).extracting(result -> result.getParameterObjects().size()).containsExactly(1, 2, 1, 1);
+      assertThat(results.get(3).getMappedStatement().getId()).endsWith("insertParent");
+      sqlSession.commit();
+      assertThat(mapper.getParents()).extracting(Item::getName).containsExactly("Renamed", "Parent2");
+    }
+  }
+
+  @Test
+  void shouldExecutePendingBatchesWhenMaxStatementsIsReached() {
+    sqlSessionFactory.getConfiguration().setMaxBatchStatements(2);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.insertParent(new Item(1, null, "Parent1"));
+      mapper.insertChild(new Item(10, 1, "Child1"));
+      mapper.insertAudit("inserted");
+      mapper.insertParent(new Item(2, null, "Parent2"));
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).extracting(result -> result.getMappedStatement().getId().replaceAll(".*\\.", ""))
+          .containsExactly("insertParent", "insertChild", "insertAudit", "insertParent");
+      sqlSession.commit();
+      assertThat(mapper.getParents()).hasSize(2);
+    }
+  }
+
+  @Test
+  void shouldExecuteGroupsInOrderWhenBatchSizeIsReached() {
+    sqlSessionFactory.getConfiguration().setBatchSize(2);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 1; i <= 3; i++) {
+        mapper.insertParent(new Item(i, null, "Parent" + i));
+        mapper.insertChild(new Item(i * 10, i, "Child" + i));
+        mapper.insertChild(new Item(i * 10 + 1, i, "Child" + i));
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).hasSize(2);
+      assertThat(results.get(0).getUpdateCounts()).containsExactly(1, 1, 1);
+      assertThat(results.get(1).getUpdateCounts()).containsExactly(1, 1, 1, 1, 1, 1);
+      sqlSession.commit();
+      assertThat(mapper.getChildren()).extracting(Item::getParentId).containsExactly(1, 1, 2, 2, 3, 3);
+    }
+  }
+
+  @Test
+  void shouldOnlyAppendToPreviousStatementByDefault() {
+    sqlSessionFactory.getConfiguration().setMaxBatchStatements(null);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.insertParent(new Item(1, null, "Parent1"));
+      mapper.insertChild(new Item(10, 1, "Child1"));
+      mapper.insertParent(new Item(2, null, "Parent2"));
+      mapper.insertParent(new Item(3, null, "Parent3"));
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).extracting(result -> result.getParameterObjects().size()).containsExactly(1, 1, 2);
+    }
+  }
+
+}
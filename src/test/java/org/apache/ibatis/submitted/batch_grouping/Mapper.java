@@ -0,0 +1,51 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_grouping;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+public interface Mapper {
+
+  @Insert("insert into parent (id, name) values (#{id}, #{name})")
+  @Options(tables = "parent")
+  void insertParent(Item parent);
+
+  @Update("update parent set name = #{name} where id = #{id}")
+  void updateParent(Item parent);
+
+  @Insert("insert into child (id, parent_id, name) values (#{id}, #{parentId}, #{name})")
+  @Options(tables = "child, parent")
+  void insertChild(Item child);
+
+  @Insert("insert into child (id, parent_id, name) values (#{id}, #{parentId}, #{name})")
+  void insertChildWithoutTables(Item child);
+
+  @Insert("insert into audit (message) values (#{message})")
+  @Options(tables = "audit")
+  void insertAudit(String message);
+
+  @Select("select id, name from parent order by id")
+  List<Item> getParents();
+
+  @Select("select id, parent_id as parentId, name from child order by id")
+  List<Item> getChildren();
+
+}
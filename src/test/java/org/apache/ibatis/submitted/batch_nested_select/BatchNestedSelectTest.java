@@ -0,0 +1,82 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_nested_select;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BatchNestedSelectTest {
+
+  private static final String GET_BLOGS = "org.apache.ibatis.submitted.batch_nested_select.Mapper.getBlogs";
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/batch_nested_select/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/batch_nested_select/CreateDB.sql");
+  }
+
+  @BeforeEach
+  void resetCount() {
+    StatementCounter.COUNT.set(0);
+  }
+
+  @Test
+  void shouldLoadNestedResultsOfAllRowsWithOneQueryPerMapping() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Blog> blogs = sqlSession.selectList(GET_BLOGS);
+      assertBlogs(blogs);
+      assertThat(StatementCounter.COUNT).hasValue(3);
+    }
+  }
+
+  @Test
+  void shouldLoadNestedResultsForEachRowWhenRowsAreHandedToResultHandler() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Blog> blogs = new ArrayList<>();
+      sqlSession.select(GET_BLOGS, context -> blogs.add((Blog) context.getResultObject()));
+      assertBlogs(blogs);
+      // the author of the second blog comes from the local cache
+      assertThat(StatementCounter.COUNT).hasValue(6);
+    }
+  }
+
+  private void assertBlogs(List<Blog> blogs) {
+    assertThat(blogs).extracting(Blog::getTitle).containsExactly("Blog1", "Blog2", "Blog3");
+    assertThat(blogs).extracting(blog -> blog.getAuthor().getName()).containsExactly("Author1", "Author1", "Author2");
+    assertThat(blogs.get(0).getPosts()).extracting(Post::getSubject).containsExactly("Post1", "Post2");
+    assertThat(blogs.get(1).getPosts()).extracting(Post::getSubject).containsExactly("Post3");
+    assertThat(blogs.get(2).getPosts()).isEmpty();
+  }
+
+}
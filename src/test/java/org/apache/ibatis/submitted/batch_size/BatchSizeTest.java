@@ -0,0 +1,91 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_size;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class BatchSizeTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/batch_size/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/batch_size/CreateDB.sql");
+  }
+
+  @Test
+  void shouldExecuteBatchEveryBatchSizeRows() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<Person> persons = new ArrayList<>();
+      for (int i = 1; i <= 5; i++) {
+        Person person = new Person("Person" + i);
+        persons.add(person);
+        mapper.insertPerson(person);
+      }
+      assertThat(persons).extracting(Person::getId).filteredOn(id -> id != null).hasSize(4);
+      assertThat(persons.get(4).getId()).isNull();
+
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).hasSize(1);
+      assertThat(results.get(0).getUpdateCounts()).containsExactly(1, 1, 1, 1, 1);
+      assertThat(results.get(0).getParameterObjects()).containsExactly(persons.get(4));
+      assertThat(persons).extracting(Person::getId).doesNotContainNull().doesNotHaveDuplicates();
+      sqlSession.commit();
+      assertThat(mapper.countPersons()).isEqualTo(5);
+    }
+  }
+
+  @Test
+  @SuppressWarnings("deprecation")
+  void shouldKeepFirstParameterObjectWhenAllRowsWereExecuted() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<Person> persons = new ArrayList<>();
+      for (int i = 1; i <= 4; i++) {
+        Person person = new Person("Person" + i);
+        persons.add(person);
+        mapper.insertPerson(person);
+      }
+
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertThat(results).hasSize(1);
+      assertThat(results.get(0).getUpdateCounts()).containsExactly(1, 1, 1, 1);
+      assertThat(results.get(0).getParameterObjects()).isEmpty();
+      assertThat(results.get(0).getParameterObject()).isSameAs(persons.get(0));
+      sqlSession.rollback(true);
+    }
+  }
+
+}
@@ -0,0 +1,136 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.bulk_load;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.Reader;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.BulkLoadResult;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class BulkLoadTest {
+
+  private static final String INSERT_NUMBER = "org.apache.ibatis.submitted.bulk_load.Mapper.insertNumber";
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/bulk_load/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+  }
+
+  @BeforeEach
+  void createTable() throws Exception {
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/bulk_load/CreateDB.sql");
+  }
+
+  @Test
+  void shouldLoadAllRowsOverSeveralSessions() {
+    BulkLoadResult result = sqlSessionFactory.bulkLoader(INSERT_NUMBER).sessions(4).queueCapacity(10).commitSize(100)
+        .load(IntStream.rangeClosed(1, 2500).boxed());
+    assertThat(result.isSuccessful()).isTrue();
+    assertThat(result.getRowCount()).isEqualTo(2500);
+    assertThat(result.getUpdateCount()).isEqualTo(2500);
+    assertThat(countNumbers()).isEqualTo(2500);
+  }
+
+  @Test
+  void shouldRunSessionsOnGivenExecutor() {
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      BulkLoadResult result = sqlSessionFactory.bulkLoader(INSERT_NUMBER).sessions(2).executor(executor)
+          .load(IntStream.rangeClosed(1, 50).boxed());
+      assertThat(result.getRowCount()).isEqualTo(50);
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(countNumbers()).isEqualTo(50);
+  }
+
+  @Test
+  void shouldStopAndReportFailure() {
+    BulkLoadResult result = sqlSessionFactory.bulkLoader(INSERT_NUMBER).sessions(2).commitSize(10)
+        .load(Stream.concat(IntStream.rangeClosed(1, 1000).boxed(), Stream.of(1)));
+    assertThat(result.isSuccessful()).isFalse();
+    assertThat(result.getErrors()).isNotEmpty().allMatch(PersistenceException.class::isInstance);
+    assertThat(result.getRowCount()).isLessThan(1001);
+    assertThat((long) countNumbers()).isEqualTo(result.getRowCount());
+  }
+
+  @Test
+  void shouldReportFailureToReadParameters() {
+    BulkLoadResult result = sqlSessionFactory.bulkLoader(INSERT_NUMBER).sessions(2)
+        .load(IntStream.rangeClosed(1, 20).boxed().peek(id -> {
+          if (id == 20) {
+            throw new IllegalStateException("unreadable");
+          }
+        }));
+    assertThat(result.getErrors()).singleElement().isInstanceOf(IllegalStateException.class);
+    assertThat(result.getRowCount()).isZero();
+    assertThat(countNumbers()).isZero();
+  }
+
+  @Test
+  void shouldStopStartedSessionsWhenExecutorRejectsOne() {
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    AtomicInteger submitted = new AtomicInteger();
+    try {
+      BulkLoadResult result = sqlSessionFactory.bulkLoader(INSERT_NUMBER).sessions(2).executor(command -> {
+        if (submitted.incrementAndGet() > 1) {
+          throw new RejectedExecutionException("full");
+        }
+        executor.execute(command);
+      }).load(IntStream.rangeClosed(1, 20).boxed());
+      assertThat(result.getErrors()).singleElement().isInstanceOf(RejectedExecutionException.class);
+      assertThat(result.getRowCount()).isZero();
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(countNumbers()).isZero();
+  }
+
+  @Test
+  void shouldRejectInvalidSettings() {
+    assertThatThrownBy(() -> sqlSessionFactory.bulkLoader(INSERT_NUMBER).sessions(0))
+        .isInstanceOf(IllegalArgumentException.class).hasMessageContaining("sessions");
+  }
+
+  private int countNumbers() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      return sqlSession.getMapper(Mapper.class).countNumbers();
+    }
+  }
+
+}
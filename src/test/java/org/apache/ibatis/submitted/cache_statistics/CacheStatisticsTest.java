@@ -0,0 +1,116 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.cache_statistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.lang.management.ManagementFactory;
+
+import javax.management.ObjectName;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.cache.CacheStatistics;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CacheStatisticsTest {
+
+  private static final String NAMESPACE = PersonMapper.class.getName();
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/cache_statistics/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/cache_statistics/CreateDB.sql");
+  }
+
+  @AfterEach
+  void tearDown() {
+    sqlSessionFactory.getConfiguration().unregisterCacheStatisticsMBeans();
+  }
+
+  @Test
+  void shouldCountCacheActivity() {
+    CacheStatistics statistics = sqlSessionFactory.getConfiguration().getCacheStatistics(NAMESPACE);
+    assertThat(sqlSessionFactory.getConfiguration().getCacheStatistics()).containsExactly(statistics);
+
+    for (int i = 0; i < 2; i++) {
+      try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+        assertThat(sqlSession.getMapper(PersonMapper.class).getPerson(1).getName()).isEqualTo("Jane");
+      }
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      // evicts person 1 from the cache of size 1
+      sqlSession.getMapper(PersonMapper.class).getPerson(2);
+      sqlSession.rollback(true);
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(PersonMapper.class).getPerson(2);
+      sqlSession.commit(true);
+    }
+
+    assertThat(statistics.getHits()).isEqualTo(1);
+    assertThat(statistics.getMisses()).isEqualTo(3);
+    assertThat(statistics.getHitRatio()).isEqualTo(0.25);
+    assertThat(statistics.getPuts()).isEqualTo(2);
+    assertThat(statistics.getEvictions()).isEqualTo(1);
+    assertThat(statistics.getSerializedBytes()).isPositive();
+    assertThat(statistics.getLoads()).isEqualTo(3);
+    assertThat(statistics.getLoadTimeNanos()).isPositive();
+    assertThat(statistics.getCommits()).isEqualTo(2);
+    assertThat(statistics.getRollbacks()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldRegisterStatisticsAsMBean() throws Exception {
+    ObjectName name = sqlSessionFactory.getConfiguration().getCacheStatisticsMBeanName(NAMESPACE);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(PersonMapper.class).getPerson(1);
+    }
+    assertThat(ManagementFactory.getPlatformMBeanServer().getAttribute(name, "Misses")).isEqualTo(1L);
+  }
+
+  @Test
+  void shouldRegisterStatisticsOfEachConfigurationUnderItsOwnName() throws Exception {
+    SqlSessionFactory other;
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/cache_statistics/mybatis-config.xml")) {
+      other = new SqlSessionFactoryBuilder().build(reader);
+    }
+    ObjectName name = sqlSessionFactory.getConfiguration().getCacheStatisticsMBeanName(NAMESPACE);
+    ObjectName otherName = other.getConfiguration().getCacheStatisticsMBeanName(NAMESPACE);
+    assertThat(otherName).isNotEqualTo(name);
+    assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(name)).isTrue();
+
+    other.getConfiguration().unregisterCacheStatisticsMBeans();
+
+    assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(otherName)).isFalse();
+    assertThat(ManagementFactory.getPlatformMBeanServer().isRegistered(name)).isTrue();
+    assertThat(other.getConfiguration().getCacheStatisticsMBeanName(NAMESPACE)).isNull();
+  }
+
+}
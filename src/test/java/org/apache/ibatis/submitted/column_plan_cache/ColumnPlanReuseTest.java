@@ -0,0 +1,70 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.column_plan_cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ColumnPlanReuseTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/column_plan_cache/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/column_plan_cache/CreateDB.sql");
+  }
+
+  @Test
+  void shouldMapEachExecutionWithItsOwnColumns() {
+    for (int i = 0; i < 2; i++) {
+      assertUsers(getUsers(false, false, false), null, null);
+      assertUsers(getUsers(true, false, false), "User1", null);
+      assertUsers(getUsers(true, true, false), "User1", 1980);
+      assertUsers(getUsers(false, true, false), null, 1980);
+      // same column name with another type
+      assertUsers(getUsers(false, false, true), null, "User1");
+      assertUsers(getUsers(false, true, false), null, 1980);
+    }
+  }
+
+  private List<User> getUsers(boolean withName, boolean withBirthYear, boolean renameName) {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      return sqlSession.getMapper(Mapper.class).getUsers(withName, withBirthYear, renameName);
+    }
+  }
+
+  private void assertUsers(List<User> users, String name, Object birthYear) {
+    assertThat(users).extracting(User::getId).containsExactly(1, 2);
+    assertThat(users.get(0).getName()).isEqualTo(name);
+    assertThat(users.get(0).getBirthYear()).isEqualTo(birthYear);
+  }
+
+}
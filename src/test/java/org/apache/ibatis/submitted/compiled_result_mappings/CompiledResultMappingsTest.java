@@ -0,0 +1,128 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.compiled_result_mappings;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class CompiledResultMappingsTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/compiled_result_mappings/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/compiled_result_mappings/CreateDB.sql");
+  }
+
+  @AfterEach
+  void resetSettings() {
+    sqlSessionFactory.getConfiguration().setCallSettersOnNulls(false);
+  }
+
+  @Test
+  void shouldAutoMapThroughCompiledSetters() {
+    assertThat(sqlSessionFactory.getConfiguration().isUseCompiledResultMappings()).isTrue();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<User> users = sqlSession.getMapper(Mapper.class).getUsers();
+      assertThat(users).hasSize(2);
+      User user1 = users.get(0);
+      assertThat(user1.getId()).isEqualTo(1);
+      assertThat(user1.getName()).isEqualTo("User1");
+      assertThat(user1.getAge()).isEqualTo(30);
+      assertThat(user1.getScore()).isEqualByComparingTo(new BigDecimal("12.50"));
+      assertThat(user1.isActive()).isTrue();
+      assertThat(user1.getNickname()).isEqualTo("one");
+      assertThat(user1.getEmail()).isEqualTo("user1@example.com");
+      User user2 = users.get(1);
+      assertThat(user2.getAge()).isZero();
+      assertThat(user2.getScore()).isNull();
+      assertThat(user2.getNickname()).isEqualTo("none");
+    }
+  }
+
+  @Test
+  void shouldCallSettersOnNullsExceptForPrimitives() {
+    sqlSessionFactory.getConfiguration().setCallSettersOnNulls(true);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      User user = sqlSession.getMapper(Mapper.class).getUserWithResultMap(2);
+      assertThat(user.getName()).isEqualTo("User2");
+      assertThat(user.getAge()).isZero();
+      assertThat(user.getNickname()).isNull();
+    }
+  }
+
+  @Test
+  void shouldMapExplicitResultMap() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      User user = sqlSession.getMapper(Mapper.class).getUserWithResultMap(1);
+      assertThat(user.getName()).isEqualTo("User1");
+      assertThat(user.getAge()).isEqualTo(30);
+      assertThat(user.getEmail()).isEqualTo("user1@example.com");
+      // autoMapping="false"
+      assertThat(user.getScore()).isNull();
+    }
+  }
+
+  @Test
+  void shouldFallBackForNestedProperties() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      User user = sqlSession.getMapper(Mapper.class).getUserWithAddress(1);
+      assertThat(user.getName()).isEqualTo("User1");
+      assertThat(user.getAddress().getCity()).isEqualTo("Tokyo");
+    }
+  }
+
+  @Test
+  void shouldMapNestedResultMaps() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      User user = sqlSession.getMapper(Mapper.class).getUserWithPets(1);
+      assertThat(user.getName()).isEqualTo("User1");
+      assertThat(user.getPets()).extracting(Pet::getName).containsExactly("Chien", "Chat");
+    }
+  }
+
+  @Test
+  void shouldWrapExceptionThrownBySetter() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThatThrownBy(mapper::getAllPets).isInstanceOf(PersistenceException.class)
+          .hasCauseInstanceOf(ReflectionException.class).hasMessageContaining("Could not set property 'name'")
+          .hasMessageContaining("Pets must have a name");
+    }
+  }
+
+}
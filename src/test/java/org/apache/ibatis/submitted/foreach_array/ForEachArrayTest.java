@@ -0,0 +1,86 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.foreach_array;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.type.JdbcType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class ForEachArrayTest {
+
+  private static SqlSessionFactory setUp(String environment) throws Exception {
+    SqlSessionFactory sqlSessionFactory;
+    try (
+        Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/foreach_array/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader, environment);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/foreach_array/CreateDB.sql");
+    return sqlSessionFactory;
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = { "development-hsql", "development-h2" })
+  void shouldBindItemsAsOneArray(String environment) throws Exception {
+    SqlSessionFactory sqlSessionFactory = setUp(environment);
+    Map<String, Object> parameterObject = Collections.singletonMap("ids", Arrays.asList(1, 3, 5));
+    BoundSql boundSql = sqlSessionFactory.getConfiguration()
+        .getMappedStatement("org.apache.ibatis.submitted.foreach_array.Mapper.getUsersByIds")
+        .getBoundSql(parameterObject);
+    assertThat(boundSql.getParameterMappings()).singleElement()
+        .satisfies(mapping -> assertThat(mapping.getJdbcType()).isEqualTo(JdbcType.ARRAY));
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = mapper.getUsersByIds(Arrays.asList(1, 3, 5));
+      assertThat(users).extracting(User::getName).containsExactly("User1", "User3", "User5");
+      users = mapper.getUsersByNames(new LinkedHashSet<>(Arrays.asList("User4", "User2", "Other")));
+      assertThat(users).extracting(User::getId).containsExactly(2, 4);
+    }
+  }
+
+  @Test
+  void shouldBindOneParameterPerItemWithoutKnownDialect() throws Exception {
+    Configuration configuration = new Configuration(setUp("development-hsql").getConfiguration().getEnvironment());
+    configuration.addMapper(Mapper.class);
+    Map<String, Object> parameterObject = Collections.singletonMap("ids", Arrays.asList(1, 3, 5));
+    BoundSql boundSql = configuration
+        .getMappedStatement("org.apache.ibatis.submitted.foreach_array.Mapper.getUsersByIds")
+        .getBoundSql(parameterObject);
+    assertThat(boundSql.getParameterMappings()).hasSize(3);
+    try (SqlSession sqlSession = new SqlSessionFactoryBuilder().build(configuration).openSession()) {
+      List<User> users = sqlSession.getMapper(Mapper.class).getUsersByIds(Arrays.asList(1, 3, 5));
+      assertThat(users).extracting(User::getName).containsExactly("User1", "User3", "User5");
+    }
+  }
+
+}
@@ -0,0 +1,123 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.foreach_chunks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class ForEachChunksTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/foreach_chunks/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/foreach_chunks/CreateDB.sql");
+  }
+
+  @Test
+  void shouldMergeResultsOfChunks() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = mapper.getUsersByIds(Arrays.asList(1, 2, 3, 4, 5));
+      assertThat(users).extracting(User::getName).containsExactly("User1", "User2", "User3", "User4", "User5");
+      assertThat(mapper.getUsersByIds(Arrays.asList(5))).extracting(User::getName).containsExactly("User5");
+    }
+  }
+
+  @Test
+  void shouldCacheChunkedQueryUnderAllChunks() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = mapper.getUsersByIds(Arrays.asList(1, 2, 3));
+      assertThat(mapper.getUsersByIds(Arrays.asList(1, 2, 3))).isSameAs(users);
+      assertThat(mapper.getUsersByIds(Arrays.asList(1, 2, 4))).extracting(User::getName).containsExactly("User1",
+          "User2", "User4");
+    }
+  }
+
+  @Test
+  void shouldBindPropertiesOfItems() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = mapper
+          .getUsersLike(Arrays.asList(new User(2, "User2"), new User(3, "Other"), new User(4, "User4")));
+      assertThat(users).extracting(User::getId).containsExactly(2, 4);
+    }
+  }
+
+  @Test
+  void shouldKeepPositionsOfItemsAcrossChunks() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = mapper.getUsersAtPositions(Arrays.asList("User1", "User2", "Other", "User4", "User5"));
+      assertThat(users).extracting(User::getId).containsExactly(1, 2, 4, 5);
+    }
+  }
+
+  @Test
+  void shouldRejectNestedResultMapsSpanningChunks() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThatThrownBy(() -> mapper.getIdsByName(Arrays.asList(1, 2, 3))).isInstanceOf(PersistenceException.class)
+          .hasMessageContaining("does not support nested result maps");
+      assertThat(mapper.getIdsByName(Arrays.asList(1, 2))).extracting(row -> row.get("ids"))
+          .containsExactly(Arrays.asList(1), Arrays.asList(2));
+    }
+  }
+
+  @Test
+  void shouldApplyParameterMapToEveryChunk() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      Map<String, Object> parameter = new HashMap<>();
+      parameter.put("name", "User4");
+      parameter.put("ids", Arrays.asList(1, 2, 3, 4, 5));
+      List<User> users = mapper.getUsersByIdsExceptName(parameter);
+      assertThat(users).extracting(User::getId).containsExactly(1, 2, 3, 5);
+    }
+  }
+
+  @Test
+  void shouldRejectChunkedUpdates() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThatThrownBy(() -> mapper.deleteUsers(Arrays.asList(1, 2, 3))).isInstanceOf(PersistenceException.class)
+          .hasMessageContaining("only select statements support");
+      assertThat(mapper.deleteUsers(Arrays.asList(6, 7))).isZero();
+    }
+  }
+
+}
@@ -0,0 +1,37 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.foreach_chunks;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Param;
+
+public interface Mapper {
+
+  List<User> getUsersByIds(@Param("ids") List<Integer> ids);
+
+  List<User> getUsersLike(@Param("users") List<User> users);
+
+  List<User> getUsersAtPositions(@Param("names") List<String> names);
+
+  List<Map<String, Object>> getIdsByName(@Param("ids") List<Integer> ids);
+
+  List<User> getUsersByIdsExceptName(Map<String, Object> parameter);
+
+  int deleteUsers(@Param("ids") List<Integer> ids);
+
+}
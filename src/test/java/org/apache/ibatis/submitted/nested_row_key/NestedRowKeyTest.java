@@ -0,0 +1,80 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.nested_row_key;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class NestedRowKeyTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/nested_row_key/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/nested_row_key/CreateDB.sql");
+  }
+
+  @Test
+  void shouldMergeUnorderedRowsByCompositeIds() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Order> orders = sqlSession.selectList("org.apache.ibatis.submitted.nested_row_key.Mapper.getOrders");
+      orders.sort(Comparator.comparing(Order::getId));
+      assertThat(orders).extracting(Order::getCustomer).containsExactly("Customer1", "Customer2", "Customer3");
+
+      List<OrderLine> lines = orders.get(0).getLines();
+      lines.sort(Comparator.comparing(OrderLine::getLineNo));
+      assertThat(lines).extracting(OrderLine::getProduct).containsExactly("Product1", "Product2");
+      assertThat(lines.get(0).getNotes()).containsExactly("a", "d");
+      assertThat(lines.get(1).getNotes()).containsExactly("c", "e");
+
+      // same line number, but another order
+      assertThat(orders.get(1).getLines()).singleElement().satisfies(line -> {
+        assertThat(line.getProduct()).isEqualTo("Product1");
+        assertThat(line.getNotes()).containsExactly("b");
+      });
+
+      assertThat(orders.get(2).getLines()).isEmpty();
+    }
+  }
+
+  @Test
+  void shouldNotMergeRowsOfTheSameResultMapWithAnotherColumnPrefix() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Order> orders = sqlSession.selectList("org.apache.ibatis.submitted.nested_row_key.Mapper.getOrderAddresses");
+      assertThat(orders).singleElement().satisfies(order -> {
+        assertThat(order.getBilling().getStreet()).isEqualTo("Billing1");
+        assertThat(order.getShipping().getStreet()).isEqualTo("Shipping1");
+      });
+    }
+  }
+
+}
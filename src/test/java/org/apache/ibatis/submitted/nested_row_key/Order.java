@@ -0,0 +1,68 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.nested_row_key;
+
+import java.util.List;
+
+public class Order {
+
+  private Integer id;
+  private String customer;
+  private List<OrderLine> lines;
+  private Address billing;
+  private Address shipping;
+
+  public Integer getId() {
+    return id;
+  }
+
+  public void setId(Integer id) {
+    this.id = id;
+  }
+
+  public String getCustomer() {
+    return customer;
+  }
+
+  public void setCustomer(String customer) {
+    this.customer = customer;
+  }
+
+  public List<OrderLine> getLines() {
+    return lines;
+  }
+
+  public void setLines(List<OrderLine> lines) {
+    this.lines = lines;
+  }
+
+  public Address getBilling() {
+    return billing;
+  }
+
+  public void setBilling(Address billing) {
+    this.billing = billing;
+  }
+
+  public Address getShipping() {
+    return shipping;
+  }
+
+  public void setShipping(Address shipping) {
+    this.shipping = shipping;
+  }
+
+}
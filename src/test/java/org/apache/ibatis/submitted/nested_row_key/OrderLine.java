@@ -0,0 +1,59 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.nested_row_key;
+
+import java.util.List;
+
+public class OrderLine {
+
+  private Integer orderId;
+  private Integer lineNo;
+  private String product;
+  private List<String> notes;
+
+  public Integer getOrderId() {
+    return orderId;
+  }
+
+  public void setOrderId(Integer orderId) {
+    this.orderId = orderId;
+  }
+
+  public Integer getLineNo() {
+    return lineNo;
+  }
+
+  public void setLineNo(Integer lineNo) {
+    this.lineNo = lineNo;
+  }
+
+  public String getProduct() {
+    return product;
+  }
+
+  public void setProduct(String product) {
+    this.product = product;
+  }
+
+  public List<String> getNotes() {
+    return notes;
+  }
+
+  public void setNotes(List<String> notes) {
+    this.notes = notes;
+  }
+
+}
@@ -0,0 +1,40 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.table_cache_invalidation;
+
+import org.apache.ibatis.annotations.CacheNamespace;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+@CacheNamespace
+public interface AuthorMapper {
+
+  @Update("update author set name = #{name} where id = #{id}")
+  int updateName(@Param("id") Integer id, @Param("name") String name);
+
+  @Update("call 0")
+  void callWithoutTables();
+
+  @Select("select name from tag where id = #{id}")
+  String getTagName(Integer id);
+
+  @Options(tables = "author")
+  @Select("select name from author_name where id = #{id}")
+  String getNameFromView(Integer id);
+
+}
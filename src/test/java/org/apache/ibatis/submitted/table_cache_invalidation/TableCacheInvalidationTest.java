@@ -0,0 +1,147 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.table_cache_invalidation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.cache.CacheStatistics;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.CacheInvalidationScope;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TableCacheInvalidationTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/table_cache_invalidation/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/table_cache_invalidation/CreateDB.sql");
+  }
+
+  @Test
+  void shouldInvalidateEntriesOfOtherNamespacesReadFromWrittenTable() {
+    assertThat(getAuthorName()).isEqualTo("Jane");
+    assertThat(getTitle()).isEqualTo("Caching");
+
+    updateAuthorName("Joan");
+
+    assertThat(getAuthorName()).isEqualTo("Joan");
+    assertThat(getTitle()).isEqualTo("Caching");
+    CacheStatistics statistics = statistics(BlogMapper.class);
+    assertThat(statistics.getLoads()).isEqualTo(3);
+  }
+
+  @Test
+  void shouldKeepEntriesOfUntouchedTablesInWritingNamespace() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getMapper(AuthorMapper.class).getTagName(1)).isEqualTo("sql");
+    }
+
+    updateAuthorName("Joan");
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getMapper(AuthorMapper.class).getTagName(1)).isEqualTo("sql");
+    }
+    assertThat(statistics(AuthorMapper.class).getLoads()).isEqualTo(1);
+  }
+
+  @Test
+  void shouldInvalidateEntriesOfDeclaredTables() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getMapper(AuthorMapper.class).getNameFromView(1)).isEqualTo("Jane");
+    }
+
+    updateAuthorName("Joan");
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getMapper(AuthorMapper.class).getNameFromView(1)).isEqualTo("Joan");
+    }
+  }
+
+  @Test
+  void shouldInvalidateAllEntriesWhenWrittenTablesAreUnknown() {
+    assertThat(getAuthorName()).isEqualTo("Jane");
+    assertThat(getTitle()).isEqualTo("Caching");
+
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(AuthorMapper.class).callWithoutTables();
+      assertThat(sqlSession.getMapper(BlogMapper.class).getTitle(1)).isEqualTo("Caching");
+      sqlSession.commit();
+    }
+
+    assertThat(getAuthorName()).isEqualTo("Jane");
+    assertThat(getTitle()).isEqualTo("Caching");
+    assertThat(statistics(BlogMapper.class).getLoads()).isEqualTo(5);
+  }
+
+  @Test
+  void shouldNotServeEntriesOfTablesWrittenInCurrentTransaction() {
+    assertThat(getAuthorName()).isEqualTo("Jane");
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(AuthorMapper.class).updateName(1, "Joan");
+      assertThat(sqlSession.getMapper(BlogMapper.class).getAuthorName(1)).isEqualTo("Joan");
+      sqlSession.rollback();
+    }
+    assertThat(getAuthorName()).isEqualTo("Jane");
+    assertThat(statistics(BlogMapper.class).getLoads()).isEqualTo(2);
+  }
+
+  @Test
+  void shouldKeepOtherNamespacesStaleWithNamespaceScope() {
+    sqlSessionFactory.getConfiguration().setCacheInvalidationScope(CacheInvalidationScope.NAMESPACE);
+    assertThat(getAuthorName()).isEqualTo("Jane");
+
+    updateAuthorName("Joan");
+
+    assertThat(getAuthorName()).isEqualTo("Jane");
+  }
+
+  private String getAuthorName() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      return sqlSession.getMapper(BlogMapper.class).getAuthorName(1);
+    }
+  }
+
+  private String getTitle() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      return sqlSession.getMapper(BlogMapper.class).getTitle(1);
+    }
+  }
+
+  private void updateAuthorName(String name) {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(AuthorMapper.class).updateName(1, name);
+      sqlSession.commit();
+    }
+  }
+
+  private CacheStatistics statistics(Class<?> mapperType) {
+    return sqlSessionFactory.getConfiguration().getCacheStatistics(mapperType.getName());
+  }
+
+}
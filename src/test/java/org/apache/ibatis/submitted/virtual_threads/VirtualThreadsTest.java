@@ -0,0 +1,130 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.virtual_threads;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.datasource.pooled.PooledDataSource;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.AsyncSqlSession;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs many sessions at the same time, on virtual threads when the JVM supports them, against a small connection pool
+ * and a shared cache.
+ */
+class VirtualThreadsTest {
+
+  private static final int TASKS = 2000;
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/virtual_threads/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+  }
+
+  @BeforeEach
+  void createTable() throws Exception {
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/virtual_threads/CreateDB.sql");
+    sqlSessionFactory.getConfiguration().getCache(Mapper.class.getName()).clear();
+  }
+
+  @Test
+  void shouldRunManySessionsAtTheSameTime() throws Exception {
+    Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+    ExecutorService executor = newExecutor();
+    try {
+      for (int i = 0; i < TASKS; i++) {
+        int task = i;
+        executor.execute(() -> {
+          try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+            Mapper mapper = sqlSession.getMapper(Mapper.class);
+            if (task % 10 == 0) {
+              mapper.insertUser(new User(100 + task, "User" + task));
+              sqlSession.commit();
+            } else {
+              int id = task % 2 + 1;
+              assertThat(mapper.getUser(id).getName()).isEqualTo("User" + id);
+            }
+          } catch (Throwable t) {
+            errors.add(t);
+          }
+        });
+      }
+    } finally {
+      executor.shutdown();
+    }
+    assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+    assertThat(errors).isEmpty();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertThat(sqlSession.getMapper(Mapper.class).countUsers()).isEqualTo(2 + TASKS / 10);
+    }
+    assertNoActiveConnections();
+  }
+
+  @Test
+  void shouldRunManyAsynchronousSessionsAtTheSameTime() {
+    List<CompletableFuture<User>> users = new ArrayList<>();
+    List<CompletableFuture<Void>> closed = new ArrayList<>();
+    for (int i = 0; i < TASKS; i++) {
+      AsyncSqlSession asyncSession = sqlSessionFactory.openAsyncSession();
+      users.add(asyncSession.getMapper(Mapper.class).getUserAsync(i % 2 + 1));
+      // a session holds its connection until it is closed
+      closed.add(asyncSession.close());
+    }
+    for (int i = 0; i < TASKS; i++) {
+      assertThat(users.get(i).join().getName()).isEqualTo("User" + (i % 2 + 1));
+    }
+    CompletableFuture.allOf(closed.toArray(new CompletableFuture[0])).join();
+    assertNoActiveConnections();
+  }
+
+  private static ExecutorService newExecutor() {
+    try {
+      return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newFixedThreadPool(64);
+    }
+  }
+
+  private static void assertNoActiveConnections() {
+    PooledDataSource dataSource = (PooledDataSource) sqlSessionFactory.getConfiguration().getEnvironment()
+        .getDataSource();
+    assertThat(dataSource.getPoolState().getActiveConnectionCount()).isZero();
+  }
+
+}
@@ -0,0 +1,42 @@
+--
+--    Copyright 2009-2026 the original author or authors.
+--
+--    Licensed under the Apache License, Version 2.0 (the "License");
+--    you may not use this file except in compliance with the License.
+--    You may obtain a copy of the License at
+--
+--       https://www.apache.org/licenses/LICENSE-2.0
+--
+--    Unless required by applicable law or agreed to in writing, software
+--    distributed under the License is distributed on an "AS IS" BASIS,
+--    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+--    See the License for the specific language governing permissions and
+--    limitations under the License.
+--
+
+drop table pets if exists;
+drop table users if exists;
+
+create table users (
+  id int,
+  name varchar(20),
+  age int,
+  score decimal(5, 2),
+  active boolean,
+  nickname varchar(20),
+  email varchar(50),
+  city varchar(20)
+);
+
+create table pets (
+  id int,
+  owner_id int,
+  name varchar(20)
+);
+
+insert into users values(1, 'User1', 30, 12.50, true, 'one', 'user1@example.com', 'Tokyo');
+insert into users values(2, 'User2', null, null, false, null, null, 'Osaka');
+
+insert into pets values(1, 1, 'Chien');
+insert into pets values(2, 1, 'Chat');
+insert into pets values(3, 2, 'Unnamed');
@@ -0,0 +1,68 @@
+--
+--    Copyright 2009-2026 the original author or authors.
+--
+--    Licensed under the Apache License, Version 2.0 (the "License");
+--    you may not use this file except in compliance with the License.
+--    You may obtain a copy of the License at
+--
+--       https://www.apache.org/licenses/LICENSE-2.0
+--
+--    Unless required by applicable law or agreed to in writing, software
+--    distributed under the License is distributed on an "AS IS" BASIS,
+--    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+--    See the License for the specific language governing permissions and
+--    limitations under the License.
+--
+
+
+drop table shipping_addresses if exists;
+drop table billing_addresses if exists;
+drop table line_notes if exists;
+drop table order_lines if exists;
+drop table orders if exists;
+
+create table orders (
+  id int,
+  customer varchar(20)
+);
+
+create table order_lines (
+  order_id int,
+  line_no int,
+  product varchar(20)
+);
+
+create table line_notes (
+  order_id int,
+  line_no int,
+  text varchar(20)
+);
+
+create table billing_addresses (
+  id int,
+  order_id int,
+  street varchar(20)
+);
+
+create table shipping_addresses (
+  id int,
+  order_id int,
+  street varchar(20)
+);
+
+insert into orders (id, customer) values (1, 'Customer1');
+insert into orders (id, customer) values (2, 'Customer2');
+insert into orders (id, customer) values (3, 'Customer3');
+
+insert into order_lines (order_id, line_no, product) values (1, 1, 'Product1');
+insert into order_lines (order_id, line_no, product) values (1, 2, 'Product2');
+insert into order_lines (order_id, line_no, product) values (2, 1, 'Product1');
+
+insert into line_notes (order_id, line_no, text) values (1, 1, 'a');
+insert into line_notes (order_id, line_no, text) values (2, 1, 'b');
+insert into line_notes (order_id, line_no, text) values (1, 2, 'c');
+insert into line_notes (order_id, line_no, text) values (1, 1, 'd');
+insert into line_notes (order_id, line_no, text) values (1, 2, 'e');
+
+insert into billing_addresses (id, order_id, street) values (1, 1, 'Billing1');
+insert into shipping_addresses (id, order_id, street) values (1, 1, 'Shipping1');
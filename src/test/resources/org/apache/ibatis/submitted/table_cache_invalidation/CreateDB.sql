@@ -0,0 +1,42 @@
+--
+--    Copyright 2009-2026 the original author or authors.
+--
+--    Licensed under the Apache License, Version 2.0 (the "License");
+--    you may not use this file except in compliance with the License.
+--    You may obtain a copy of the License at
+--
+--       https://www.apache.org/licenses/LICENSE-2.0
+--
+--    Unless required by applicable law or agreed to in writing, software
+--    distributed under the License is distributed on an "AS IS" BASIS,
+--    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+--    See the License for the specific language governing permissions and
+--    limitations under the License.
+--
+
+drop view author_name if exists;
+drop table blog if exists;
+drop table author if exists;
+drop table tag if exists;
+
+create table author (
+  id int,
+  name varchar(20)
+);
+
+create table blog (
+  id int,
+  author_id int,
+  title varchar(20)
+);
+
+create table tag (
+  id int,
+  name varchar(20)
+);
+
+create view author_name as select id, name from author;
+
+insert into author (id, name) values (1, 'Jane');
+insert into blog (id, author_id, title) values (1, 1, 'Caching');
+insert into tag (id, name) values (1, 'sql');